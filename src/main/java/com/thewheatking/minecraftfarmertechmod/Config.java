@@ -28,6 +28,10 @@ public class Config {
             .comment("A list of items to log on common setup.")
             .defineListAllowEmpty("items", List.of("minecraft:iron_ingot"), () -> "", Config::validateItemName);
 
+    public static final ModConfigSpec.IntValue OFFLINE_CATCH_UP_MAX_TICKS = BUILDER
+            .comment("Most ticks of work a machine fast-forwards when its chunk loads again (0 disables catch-up)")
+            .defineInRange("offlineCatchUpMaxTicks", 72000, 0, Integer.MAX_VALUE);
+
     static final ModConfigSpec SPEC = BUILDER.build();
 
     private static boolean validateItemName(final Object obj) {
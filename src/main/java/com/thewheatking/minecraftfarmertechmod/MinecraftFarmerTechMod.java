@@ -4,6 +4,7 @@ import com.thewheatking.minecraftfarmertechmod.attachment.ModAttachments;
 import com.thewheatking.minecraftfarmertechmod.block.ModBlocks;
 import com.thewheatking.minecraftfarmertechmod.block.entity.ModBlockEntities;
 import com.thewheatking.minecraftfarmertechmod.component.ModDataComponents;
+import com.thewheatking.minecraftfarmertechmod.datamap.ModDataMaps;
 import com.thewheatking.minecraftfarmertechmod.effect.ModEffects;
 import com.thewheatking.minecraftfarmertechmod.enchantment.ModEnchantmentEffects;
 import com.thewheatking.minecraftfarmertechmod.energy.ModEnergyCapabilities;
@@ -66,6 +67,7 @@ public class MinecraftFarmerTechMod {
         ModPotions.register(modEventBus);
         ModEnchantmentEffects.register(modEventBus);
         ModAttachments.ATTACHMENT_TYPES.register(modEventBus);
+        ModDataMaps.register(modEventBus);
         // Register hybrid system components
         HybridBlocks.register(modEventBus);
         HybridItems.register(modEventBus);
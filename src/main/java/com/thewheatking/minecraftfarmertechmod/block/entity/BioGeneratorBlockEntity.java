@@ -1,5 +1,8 @@
 package com.thewheatking.minecraftfarmertechmod.block.entity;
 
+import com.thewheatking.minecraftfarmertechmod.common.util.JobSchedule;
+import com.thewheatking.minecraftfarmertechmod.common.util.OfflineCatchUp;
+import com.thewheatking.minecraftfarmertechmod.common.util.PeriodicTask;
 import com.thewheatking.minecraftfarmertechmod.energy.MftEnergyStorage;
 import com.thewheatking.minecraftfarmertechmod.item.ModItems;
 import com.thewheatking.minecraftfarmertechmod.screen.BioGeneratorMenu;
@@ -13,7 +16,6 @@ import net.minecraft.world.SimpleContainer;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.AbstractContainerMenu;
-import net.minecraft.world.inventory.ContainerData;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
 import net.minecraft.world.level.Level;
@@ -31,6 +33,7 @@ public class BioGeneratorBlockEntity extends BlockEntity implements MenuProvider
     private final ItemStackHandler itemHandler = new ItemStackHandler(2) {
         @Override
         protected void onContentsChanged(int slot) {
+            schedule.markInputsChanged();
             setChanged();
         }
 
@@ -58,44 +61,24 @@ public class BioGeneratorBlockEntity extends BlockEntity implements MenuProvider
         }
     };
 
-    protected final ContainerData data;
     private int progress = 0;
     private int maxProgress = 32000; // How much energy per bio fuel (32000 RF = 26+ minutes at 60RF/tick)
     private int fuelBurnTime = 0;
     private int maxFuelBurnTime = 0;
+    private long lastSimulatedTick = OfflineCatchUp.NEVER_SIMULATED;
 
-    public BioGeneratorBlockEntity(BlockPos pos, BlockState blockState) {
-        super(ModBlockEntities.BIO_GENERATOR.get(), pos, blockState);
-        this.data = new ContainerData() {
-            @Override
-            public int get(int index) {
-                return switch (index) {
-                    case 0 -> BioGeneratorBlockEntity.this.progress;
-                    case 1 -> BioGeneratorBlockEntity.this.maxProgress;
-                    case 2 -> BioGeneratorBlockEntity.this.fuelBurnTime;
-                    case 3 -> BioGeneratorBlockEntity.this.maxFuelBurnTime;
-                    case 4 -> BioGeneratorBlockEntity.this.energyStorage.getEnergyStored();
-                    case 5 -> BioGeneratorBlockEntity.this.energyStorage.getMaxEnergyStored();
-                    default -> 0;
-                };
-            }
+    // While burning with nobody taking the output the ticks are skipped and credited with catchUp
+    private final JobSchedule schedule = new JobSchedule();
+    private final PeriodicTask outputRecheckTask;
+    private boolean burning = false;
 
-            @Override
-            public void set(int index, int value) {
-                switch (index) {
-                    case 0 -> BioGeneratorBlockEntity.this.progress = value;
-                    case 1 -> BioGeneratorBlockEntity.this.maxProgress = value;
-                    case 2 -> BioGeneratorBlockEntity.this.fuelBurnTime = value;
-                    case 3 -> BioGeneratorBlockEntity.this.maxFuelBurnTime = value;
-                    case 4 -> BioGeneratorBlockEntity.this.energyStorage.setEnergyStored(value);
-                }
-            }
+    private static final int ENERGY_PER_TICK = 60;
+    private static final int BIO_FUEL_BURN_TIME = 533; // 32000 RF / 60 RF per tick
+    private static final int OUTPUT_RECHECK_INTERVAL = 20; // Consumers are looked for once a second while skipping
 
-            @Override
-            public int getCount() {
-                return 6;
-            }
-        };
+    public BioGeneratorBlockEntity(BlockPos pos, BlockState blockState) {
+        super(ModBlockEntities.BIO_GENERATOR.get(), pos, blockState);
+        this.outputRecheckTask = new PeriodicTask("output_recheck", pos, OUTPUT_RECHECK_INTERVAL);
     }
 
     public void drops() {
@@ -114,7 +97,7 @@ public class BioGeneratorBlockEntity extends BlockEntity implements MenuProvider
     @Nullable
     @Override
     public AbstractContainerMenu createMenu(int containerId, Inventory playerInventory, Player player) {
-        return new BioGeneratorMenu(containerId, playerInventory, this, this.data);
+        return new BioGeneratorMenu(containerId, playerInventory, this);
     }
 
     public IItemHandler getItemHandler() {
@@ -125,6 +108,15 @@ public class BioGeneratorBlockEntity extends BlockEntity implements MenuProvider
         return (IEnergyStorage) this.energyStorage;
     }
 
+    public int getProgress() { return progress; }
+    public int getMaxProgress() { return maxProgress; }
+    public int getFuelBurnTime() {
+        long skipped = burning && level != null ? schedule.skippedTicks(level.getGameTime()) : 0;
+        return (int) Math.max(0, fuelBurnTime - skipped);
+    }
+
+    public int getMaxFuelBurnTime() { return maxFuelBurnTime; }
+
     @Override
     protected void saveAdditional(CompoundTag tag, HolderLookup.Provider registries) {
         tag.put("inventory", itemHandler.serializeNBT(registries));
@@ -132,6 +124,7 @@ public class BioGeneratorBlockEntity extends BlockEntity implements MenuProvider
         tag.putInt("progress", progress);
         tag.putInt("fuel_burn_time", fuelBurnTime);
         tag.putInt("max_fuel_burn_time", maxFuelBurnTime);
+        tag.putLong("last_simulated_tick", level != null ? schedule.simulatedUpTo(level.getGameTime()) : lastSimulatedTick);
         super.saveAdditional(tag, registries);
     }
 
@@ -143,6 +136,59 @@ public class BioGeneratorBlockEntity extends BlockEntity implements MenuProvider
         progress = tag.getInt("progress");
         fuelBurnTime = tag.getInt("fuel_burn_time");
         maxFuelBurnTime = tag.getInt("max_fuel_burn_time");
+        if (tag.contains("last_simulated_tick")) {
+            lastSimulatedTick = tag.getLong("last_simulated_tick");
+        }
+    }
+
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        if (level != null && !level.isClientSide()) {
+            long elapsed = OfflineCatchUp.elapsedTicks(level, lastSimulatedTick);
+            if (elapsed > 0) {
+                catchUp(elapsed);
+                setChanged();
+            }
+            lastSimulatedTick = level.getGameTime();
+            schedule.reset(lastSimulatedTick);
+        }
+    }
+
+    /**
+     * Closed-form version of tick for the time the chunk was unloaded
+     * Fuel keeps burning when the buffer is full, so only the fuel supply limits the run.
+     */
+    private void catchUp(long elapsedTicks) {
+        ItemStack fuelStack = itemHandler.getStackInSlot(0);
+        int fuelItems = hasRecipe() ? fuelStack.getCount() : 0;
+
+        OfflineCatchUp.BurnResult burn = OfflineCatchUp.burn(elapsedTicks, fuelBurnTime, BIO_FUEL_BURN_TIME, fuelItems);
+        if (burn.ticks() <= 0) {
+            return;
+        }
+
+        int space = energyStorage.getMaxEnergyStored() - energyStorage.getEnergyStored();
+        int perTick = Math.min(ENERGY_PER_TICK, energyStorage.receiveEnergy(ENERGY_PER_TICK, true));
+        int generated = (int) Math.min(space, (long) perTick * burn.ticks());
+        if (generated > 0) {
+            energyStorage.setEnergyStored(energyStorage.getEnergyStored() + generated);
+            progress += generated;
+        }
+
+        if (burn.itemsConsumed() > 0) {
+            maxFuelBurnTime = BIO_FUEL_BURN_TIME;
+            fuelStack.shrink(burn.itemsConsumed());
+
+            // Empty buckets come back, up to a full stack
+            ItemStack outputStack = itemHandler.getStackInSlot(1);
+            if (outputStack.isEmpty()) {
+                itemHandler.setStackInSlot(1, new ItemStack(Items.BUCKET, Math.min(64, burn.itemsConsumed())));
+            } else if (outputStack.getItem() == Items.BUCKET) {
+                outputStack.setCount(Math.min(64, outputStack.getCount() + burn.itemsConsumed()));
+            }
+        }
+        fuelBurnTime = burn.remainingBurnTime();
     }
 
     public void tick(Level level, BlockPos pos, BlockState state) {
@@ -150,8 +196,19 @@ public class BioGeneratorBlockEntity extends BlockEntity implements MenuProvider
             return;
         }
 
+        long gameTime = level.getGameTime();
+        if (!schedule.isDue(gameTime)) {
+            return;
+        }
+        long skipped = schedule.skippedTicks(gameTime);
+        if (skipped > 0 && burning) {
+            catchUp(skipped);
+        }
+
         // Distribute energy to adjacent blocks
+        int stored = energyStorage.getEnergyStored();
         distributeEnergy();
+        boolean distributed = energyStorage.getEnergyStored() < stored;
 
         // Check if we're currently burning fuel
         if (isBurning()) {
@@ -173,6 +230,22 @@ public class BioGeneratorBlockEntity extends BlockEntity implements MenuProvider
                 level.setBlock(pos, state.setValue(com.thewheatking.minecraftfarmertechmod.block.custom.BioGeneratorBlock.LIT, false), 3);
             }
         }
+
+        burning = isBurning();
+        schedule.ran(gameTime, nextEventTick(gameTime, distributed));
+    }
+
+    /**
+     * The next tick that does more than burn, when the fuel runs out
+     * Generators that pushed energy this tick run every tick, stored energy is offered once a second otherwise.
+     */
+    private long nextEventTick(long gameTime, boolean distributed) {
+        if (distributed || (!burning && hasRecipe())) {
+            return gameTime + 1;
+        }
+        long recheck = energyStorage.getEnergyStored() > 0 || burning
+                ? outputRecheckTask.nextDue(gameTime) : JobSchedule.NO_EVENT;
+        return burning ? Math.min(gameTime + fuelBurnTime, recheck) : recheck;
     }
 
     private void distributeEnergy() {
@@ -197,7 +270,7 @@ public class BioGeneratorBlockEntity extends BlockEntity implements MenuProvider
 
     private void generateEnergy() {
         // Generate 60 RF per tick (Tier 3)
-        int energyGenerated = Math.min(60, energyStorage.getMaxEnergyStored() - energyStorage.getEnergyStored());
+        int energyGenerated = Math.min(ENERGY_PER_TICK, energyStorage.getMaxEnergyStored() - energyStorage.getEnergyStored());
         if (energyGenerated > 0) {
             energyStorage.receiveEnergy(energyGenerated, false);
             progress += energyGenerated;
@@ -217,8 +290,8 @@ public class BioGeneratorBlockEntity extends BlockEntity implements MenuProvider
         ItemStack fuelStack = itemHandler.getStackInSlot(0);
         if (fuelStack.getItem() == ModItems.BIO_FUEL.get()) {
             // Set fuel burn time (32000 RF / 60 RF per tick = 533 ticks = 26.65 seconds)
-            fuelBurnTime = 533; // About 26+ seconds per bucket
-            maxFuelBurnTime = 533;
+            fuelBurnTime = BIO_FUEL_BURN_TIME; // About 26+ seconds per bucket
+            maxFuelBurnTime = BIO_FUEL_BURN_TIME;
 
             // Consume the bio fuel and return empty bucket
             fuelStack.shrink(1);
@@ -1,10 +1,14 @@
 package com.thewheatking.minecraftfarmertechmod.block.entity;
 
 import com.thewheatking.minecraftfarmertechmod.block.custom.CoalGeneratorBlock;
+import com.thewheatking.minecraftfarmertechmod.common.util.JobSchedule;
+import com.thewheatking.minecraftfarmertechmod.common.util.OfflineCatchUp;
+import com.thewheatking.minecraftfarmertechmod.common.util.PeriodicTask;
 import com.thewheatking.minecraftfarmertechmod.energy.MftEnergyNetwork;
 import com.thewheatking.minecraftfarmertechmod.energy.MftEnergyStorage;
 import com.thewheatking.minecraftfarmertechmod.energy.IEnergyStorage;
 import com.thewheatking.minecraftfarmertechmod.screen.CoalGeneratorMenu;
+import com.thewheatking.minecraftfarmertechmod.datamap.FuelRegistry;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.HolderLookup;
@@ -16,10 +20,8 @@ import net.minecraft.world.SimpleContainer;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.AbstractContainerMenu;
-import net.minecraft.world.inventory.ContainerData;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.item.Items;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
@@ -36,6 +38,7 @@ public class CoalGeneratorBlockEntity extends BlockEntity implements MenuProvide
     private final ItemStackHandler itemHandler = new ItemStackHandler(1) {
         @Override
         protected void onContentsChanged(int slot) {
+            schedule.markInputsChanged();
             setChanged();
         }
 
@@ -46,45 +49,35 @@ public class CoalGeneratorBlockEntity extends BlockEntity implements MenuProvide
     };
 
     // Energy storage: 50,000 RF capacity, generates 20 RF/tick
-    private final IEnergyStorage energyStorage = new MftEnergyStorage(50000, 100, 100, 0);
+    private final IEnergyStorage energyStorage = new MftEnergyStorage(50000, 100, 100, 0) {
+        @Override
+        public int extractEnergy(int maxExtract, boolean simulate) {
+            int extracted = super.extractEnergy(maxExtract, simulate);
+            if (extracted > 0 && !simulate) {
+                schedule.markInputsChanged(); // A full buffer has room again
+            }
+            return extracted;
+        }
+    };
 
-    protected final ContainerData data;
     private int burnTime = 0;
     private int maxBurnTime = 0;
     private int energyGenerated = 0;
+    private long lastSimulatedTick = OfflineCatchUp.NEVER_SIMULATED;
+
+    // While burning with nobody taking the output the ticks are skipped and credited with catchUp
+    private final JobSchedule schedule = new JobSchedule();
+    private final PeriodicTask outputRecheckTask;
+    private boolean generating = false;
 
     // Generation settings
     private static final int ENERGY_PER_TICK = 20; // RF/tick generation rate
     private static final int TOTAL_GENERATION_TIME = 200; // How long to generate energy from one fuel
+    private static final int OUTPUT_RECHECK_INTERVAL = 20; // Consumers are looked for once a second while skipping
 
     public CoalGeneratorBlockEntity(BlockPos pPos, BlockState pBlockState) {
         super(ModBlockEntities.COAL_GENERATOR.get(), pPos, pBlockState);
-        this.data = new ContainerData() {
-            @Override
-            public int get(int pIndex) {
-                return switch (pIndex) {
-                    case 0 -> CoalGeneratorBlockEntity.this.burnTime;
-                    case 1 -> CoalGeneratorBlockEntity.this.maxBurnTime;
-                    case 2 -> CoalGeneratorBlockEntity.this.energyStorage.getEnergyStored();
-                    case 3 -> CoalGeneratorBlockEntity.this.energyStorage.getMaxEnergyStored();
-                    default -> 0;
-                };
-            }
-
-            @Override
-            public void set(int pIndex, int pValue) {
-                switch (pIndex) {
-                    case 0 -> CoalGeneratorBlockEntity.this.burnTime = pValue;
-                    case 1 -> CoalGeneratorBlockEntity.this.maxBurnTime = pValue;
-                    case 2 -> ((MftEnergyStorage)CoalGeneratorBlockEntity.this.energyStorage).setEnergyStored(pValue);
-                }
-            }
-
-            @Override
-            public int getCount() {
-                return 4;
-            }
-        };
+        this.outputRecheckTask = new PeriodicTask("output_recheck", pPos, OUTPUT_RECHECK_INTERVAL);
     }
 
     public static void tick(Level pLevel, BlockPos pPos, BlockState pState, CoalGeneratorBlockEntity pBlockEntity) {
@@ -94,6 +87,15 @@ public class CoalGeneratorBlockEntity extends BlockEntity implements MenuProvide
     }
 
     private void serverTick(Level pLevel, BlockPos pPos, BlockState pState) {
+        long gameTime = pLevel.getGameTime();
+        if (!schedule.isDue(gameTime)) {
+            return;
+        }
+        long skipped = schedule.skippedTicks(gameTime);
+        if (skipped > 0 && generating) {
+            catchUp(skipped);
+        }
+
         boolean wasLit = pState.getValue(CoalGeneratorBlock.LIT);
         boolean isGenerating = false;
 
@@ -115,14 +117,81 @@ public class CoalGeneratorBlockEntity extends BlockEntity implements MenuProvide
         }
 
         // Add this to the end of serverTick() in CoalGeneratorBlockEntity
+        boolean distributed = false;
         if (isGenerating) {
+            int stored = energyStorage.getEnergyStored();
             MftEnergyNetwork network = new MftEnergyNetwork(pLevel);
             network.discoverNetwork(pPos);
             network.distributeEnergy();
+            distributed = energyStorage.getEnergyStored() < stored;
         }
 
         // Mark changed for data sync
         setChanged();
+
+        generating = isGenerating;
+        schedule.ran(gameTime, nextEventTick(gameTime, distributed));
+    }
+
+    /**
+     * The next tick that does more than burn and fill the buffer, when the fuel or the room runs out
+     * Generators that pushed energy this tick run every tick.
+     */
+    private long nextEventTick(long gameTime, boolean distributed) {
+        if (!generating) {
+            return JobSchedule.NO_EVENT; // Waits for fuel or for energy to be taken
+        }
+        if (distributed) {
+            return gameTime + 1;
+        }
+        int space = energyStorage.getMaxEnergyStored() - energyStorage.getEnergyStored();
+        long ticksToFill = (space + ENERGY_PER_TICK - 1) / ENERGY_PER_TICK;
+        return Math.min(gameTime + Math.min(burnTime, ticksToFill), outputRecheckTask.nextDue(gameTime));
+    }
+
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        if (level != null && !level.isClientSide()) {
+            long elapsed = OfflineCatchUp.elapsedTicks(level, lastSimulatedTick);
+            if (elapsed > 0) {
+                catchUp(elapsed);
+                setChanged();
+            }
+            lastSimulatedTick = level.getGameTime();
+            schedule.reset(lastSimulatedTick);
+        }
+    }
+
+    /**
+     * Closed-form version of serverTick for the time the chunk was unloaded
+     * Burns until the fuel runs out or the buffer is full, whichever comes first.
+     */
+    private void catchUp(long elapsedTicks) {
+        int space = energyStorage.getMaxEnergyStored() - energyStorage.getEnergyStored();
+        int perTick = Math.min(ENERGY_PER_TICK, energyStorage.receiveEnergy(ENERGY_PER_TICK, true));
+        if (space <= 0 || perTick <= 0) {
+            return;
+        }
+        long ticksToFill = (space + perTick - 1) / perTick;
+
+        ItemStack fuelStack = itemHandler.getStackInSlot(0);
+        int fuelBurnTime = getBurnTime(fuelStack.getItem());
+        OfflineCatchUp.BurnResult burn = OfflineCatchUp.burn(Math.min(elapsedTicks, ticksToFill),
+                burnTime, fuelBurnTime, fuelStack.getCount());
+        if (burn.ticks() <= 0) {
+            return;
+        }
+
+        int generated = (int) Math.min(space, perTick * burn.ticks());
+        ((MftEnergyStorage) energyStorage).setEnergyStored(energyStorage.getEnergyStored() + generated);
+        this.energyGenerated += generated;
+
+        if (burn.itemsConsumed() > 0) {
+            maxBurnTime = fuelBurnTime;
+            FuelRegistry.consume(itemHandler, 0, burn.itemsConsumed());
+        }
+        burnTime = burn.remainingBurnTime();
     }
 
     private boolean canGenerate() {
@@ -136,7 +205,7 @@ public class CoalGeneratorBlockEntity extends BlockEntity implements MenuProvide
             if (fuelBurnTime > 0) {
                 burnTime = fuelBurnTime;
                 maxBurnTime = fuelBurnTime;
-                itemHandler.extractItem(0, 1, false);
+                FuelRegistry.consume(itemHandler, 0, 1);
             }
         }
     }
@@ -154,13 +223,8 @@ public class CoalGeneratorBlockEntity extends BlockEntity implements MenuProvide
     }
 
     private int getBurnTime(Item item) {
-        // Burn times for different fuels (in ticks)
-        if (item == Items.COAL) return 1600;
-        if (item == Items.CHARCOAL) return 1600;
-        if (item == Items.COAL_BLOCK) return 16000;
-        if (item == Items.STICK) return 100;
-        if (item == Items.WOODEN_PICKAXE || item == Items.WOODEN_AXE || item == Items.WOODEN_SHOVEL) return 200;
-        return 0;
+        // Burn times (in ticks) come from the generator_fuels data map, vanilla furnace fuels otherwise
+        return FuelRegistry.getBurnTime(item);
     }
 
     public void drops() {
@@ -179,6 +243,13 @@ public class CoalGeneratorBlockEntity extends BlockEntity implements MenuProvide
         return itemHandler;
     }
 
+    public int getBurnTime() {
+        long skipped = generating && level != null ? schedule.skippedTicks(level.getGameTime()) : 0;
+        return (int) Math.max(0, burnTime - skipped);
+    }
+
+    public int getMaxBurnTime() { return maxBurnTime; }
+
     @Override
     public Component getDisplayName() {
         return Component.translatable("block.minecraftfarmertechmod.coal_generator");
@@ -187,7 +258,7 @@ public class CoalGeneratorBlockEntity extends BlockEntity implements MenuProvide
     @Nullable
     @Override
     public AbstractContainerMenu createMenu(int pContainerId, Inventory pPlayerInventory, Player pPlayer) {
-        return new CoalGeneratorMenu(pContainerId, pPlayerInventory, this, this.data);
+        return new CoalGeneratorMenu(pContainerId, pPlayerInventory, this);
     }
 
     @Override
@@ -198,6 +269,8 @@ public class CoalGeneratorBlockEntity extends BlockEntity implements MenuProvide
         pTag.putInt("burn_time", burnTime);
         pTag.putInt("max_burn_time", maxBurnTime);
         pTag.putInt("energy_generated", energyGenerated);
+        pTag.putLong("last_simulated_tick",
+                level != null ? schedule.simulatedUpTo(level.getGameTime()) : lastSimulatedTick);
     }
 
     @Override
@@ -210,5 +283,8 @@ public class CoalGeneratorBlockEntity extends BlockEntity implements MenuProvide
         burnTime = pTag.getInt("burn_time");
         maxBurnTime = pTag.getInt("max_burn_time");
         energyGenerated = pTag.getInt("energy_generated");
+        if (pTag.contains("last_simulated_tick")) {
+            lastSimulatedTick = pTag.getLong("last_simulated_tick");
+        }
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.thewheatking.minecraftfarmertechmod.block.entity;
 
+import com.thewheatking.minecraftfarmertechmod.common.util.PeriodicTask;
 import com.thewheatking.minecraftfarmertechmod.energy.MftEnergyNetwork;
 import com.thewheatking.minecraftfarmertechmod.energy.MftEnergyStorage;
 import com.thewheatking.minecraftfarmertechmod.energy.IEnergyStorage;
@@ -20,13 +21,14 @@ public class EnergyCableBlockEntity extends BlockEntity {
 
     private final IEnergyStorage energyStorage;
     private MftEnergyNetwork network;
-    private int tickCounter = 0;
+    private final PeriodicTask networkTask;
 
     public EnergyCableBlockEntity(BlockPos pPos, BlockState pBlockState) {
         super(ModBlockEntities.ENERGY_CABLE.get(), pPos, pBlockState);
 
         // Cables have small buffer and high transfer rate
         this.energyStorage = new MftEnergyStorage(1000, 1000, 1000, 0);
+        this.networkTask = new PeriodicTask("cable_network", pPos, 20);
     }
 
     public static void tick(Level pLevel, BlockPos pPos, BlockState pState, EnergyCableBlockEntity pBlockEntity) {
@@ -36,10 +38,8 @@ public class EnergyCableBlockEntity extends BlockEntity {
     }
 
     private void serverTick(Level pLevel, BlockPos pPos, BlockState pState) {
-        tickCounter++;
-
-        // Update network every 20 ticks (1 second)
-        if (tickCounter % 20 == 0) {
+        // Update network every 20 ticks (1 second), offset by position
+        if (networkTask.isDue(pLevel.getGameTime())) {
             if (network == null) {
                 network = new MftEnergyNetwork(pLevel);
             }
@@ -1,7 +1,11 @@
 package com.thewheatking.minecraftfarmertechmod.block.entity;
 
 import com.thewheatking.minecraftfarmertechmod.block.custom.IronFurnaceBlock;
+import com.thewheatking.minecraftfarmertechmod.common.util.JobSchedule;
+import com.thewheatking.minecraftfarmertechmod.common.util.MachineRecipeCache;
+import com.thewheatking.minecraftfarmertechmod.common.util.OfflineCatchUp;
 import com.thewheatking.minecraftfarmertechmod.screen.IronFurnaceMenu;
+import com.thewheatking.minecraftfarmertechmod.datamap.FuelRegistry;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.HolderLookup;
@@ -13,13 +17,11 @@ import net.minecraft.world.SimpleContainer;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.AbstractContainerMenu;
-import net.minecraft.world.inventory.ContainerData;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.item.Items;
 import net.minecraft.world.item.crafting.RecipeType;
+import net.minecraft.world.item.crafting.RecipeHolder;
 import net.minecraft.world.item.crafting.SmeltingRecipe;
-import net.minecraft.world.item.crafting.SingleRecipeInput;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
@@ -33,6 +35,10 @@ public class IronFurnaceBlockEntity extends BlockEntity implements MenuProvider
     private final ItemStackHandler itemHandler = new ItemStackHandler(4) {
         @Override
         protected void onContentsChanged(int slot) {
+            if (slot == 0) {
+                recipeCache.onInputChanged(getStackInSlot(0));
+            }
+            schedule.markInputsChanged();
             setChanged();
         }
 
@@ -47,41 +53,22 @@ public class IronFurnaceBlockEntity extends BlockEntity implements MenuProvider
         }
     };
 
-    protected final ContainerData data;
+    // Input slot recipe, and a separate entry for insertion checks so hoppers don't evict it
+    private final MachineRecipeCache<SmeltingRecipe> recipeCache = new MachineRecipeCache<>(RecipeType.SMELTING);
+    private final MachineRecipeCache<SmeltingRecipe> validInputCache = new MachineRecipeCache<>(RecipeType.SMELTING);
+
     private int progress = 0;
     private int maxProgress = 50; // Four Times as fast as regular furnace (200 -> 50)
     private int fuelTime = 0;
     private int maxFuelTime = 0;
+    private long lastSimulatedTick = OfflineCatchUp.NEVER_SIMULATED;
+
+    // Between a smelt or fuel item finishing nothing but the counters moves, so those ticks are skipped
+    private final JobSchedule schedule = new JobSchedule();
+    private boolean smelting = false;
 
     public IronFurnaceBlockEntity(BlockPos pPos, BlockState pBlockState) {
         super(ModBlockEntities.IRON_FURNACE.get(), pPos, pBlockState);
-        this.data = new ContainerData() {
-            @Override
-            public int get(int pIndex) {
-                return switch (pIndex) {
-                    case 0 -> IronFurnaceBlockEntity.this.progress;
-                    case 1 -> IronFurnaceBlockEntity.this.maxProgress;
-                    case 2 -> IronFurnaceBlockEntity.this.fuelTime;
-                    case 3 -> IronFurnaceBlockEntity.this.maxFuelTime;
-                    default -> 0;
-                };
-            }
-
-            @Override
-            public void set(int pIndex, int pValue) {
-                switch (pIndex) {
-                    case 0 -> IronFurnaceBlockEntity.this.progress = pValue;
-                    case 1 -> IronFurnaceBlockEntity.this.maxProgress = pValue;
-                    case 2 -> IronFurnaceBlockEntity.this.fuelTime = pValue;
-                    case 3 -> IronFurnaceBlockEntity.this.maxFuelTime = pValue;
-                }
-            }
-
-            @Override
-            public int getCount() {
-                return 4;
-            }
-        };
     }
 
     public void drops() {
@@ -100,7 +87,7 @@ public class IronFurnaceBlockEntity extends BlockEntity implements MenuProvider
     @Nullable
     @Override
     public AbstractContainerMenu createMenu(int pContainerId, Inventory pPlayerInventory, Player pPlayer) {
-        return new IronFurnaceMenu(pContainerId, pPlayerInventory, this, this.data);
+        return new IronFurnaceMenu(pContainerId, pPlayerInventory, this);
     }
 
     @Override
@@ -109,6 +96,8 @@ public class IronFurnaceBlockEntity extends BlockEntity implements MenuProvider
         pTag.putInt("iron_furnace.progress", progress);
         pTag.putInt("iron_furnace.fuel_time", fuelTime);
         pTag.putInt("iron_furnace.max_fuel_time", maxFuelTime);
+        pTag.putLong("iron_furnace.last_simulated_tick",
+                level != null ? schedule.simulatedUpTo(level.getGameTime()) : lastSimulatedTick);
         super.saveAdditional(pTag, pRegistries);
     }
 
@@ -119,10 +108,103 @@ public class IronFurnaceBlockEntity extends BlockEntity implements MenuProvider
         progress = pTag.getInt("iron_furnace.progress");
         fuelTime = pTag.getInt("iron_furnace.fuel_time");
         maxFuelTime = pTag.getInt("iron_furnace.max_fuel_time");
+        if (pTag.contains("iron_furnace.last_simulated_tick")) {
+            lastSimulatedTick = pTag.getLong("iron_furnace.last_simulated_tick");
+        }
+    }
+
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        if (level != null && !level.isClientSide()) {
+            long elapsed = OfflineCatchUp.elapsedTicks(level, lastSimulatedTick);
+            if (elapsed > 0) {
+                catchUp(elapsed);
+                setChanged();
+            }
+            lastSimulatedTick = level.getGameTime();
+            schedule.reset(lastSimulatedTick);
+        }
+    }
+
+    /**
+     * Closed-form version of tick for the time the chunk was unloaded
+     * Smelts as many items as time, input, output space and fuel allow. Lit fuel keeps burning afterwards.
+     */
+    private void catchUp(long elapsedTicks) {
+        Optional<SmeltingRecipe> recipe = hasRecipe() ? getCurrentRecipe() : Optional.empty();
+        if (recipe.isEmpty()) {
+            fuelTime = (int) Math.max(0, fuelTime - elapsedTicks);
+            progress = 0;
+            return;
+        }
+
+        ItemStack result = recipe.get().getResultItem(level.registryAccess());
+        int perCraft = Math.max(1, result.getCount());
+        int outputRoom = getOutputRoom(2, result) + getOutputRoom(3, result);
+        int maxCrafts = Math.min(itemHandler.getStackInSlot(0).getCount(), outputRoom / perCraft);
+
+        ItemStack fuelStack = itemHandler.getStackInSlot(1);
+        long workTicks = Math.min(elapsedTicks, (long) maxCrafts * maxProgress - progress);
+        OfflineCatchUp.BurnResult burn = OfflineCatchUp.burn(workTicks, fuelTime,
+                getBurnTime(fuelStack.getItem()), fuelStack.getCount());
+
+        int crafts = (int) Math.min(maxCrafts, (progress + burn.ticks()) / maxProgress);
+        boolean stillSmelting = burn.ticks() == elapsedTicks && crafts < maxCrafts;
+        progress = stillSmelting ? (int) ((progress + burn.ticks()) % maxProgress) : 0;
+
+        if (crafts > 0) {
+            int remaining = crafts * perCraft;
+            remaining = insertOutput(2, result, remaining);
+            insertOutput(3, result, remaining);
+            itemHandler.extractItem(0, crafts, false);
+        }
+        if (burn.itemsConsumed() > 0) {
+            maxFuelTime = getBurnTime(fuelStack.getItem());
+            FuelRegistry.consume(itemHandler, 1, burn.itemsConsumed());
+        }
+
+        // Whatever fuel is still lit burns down for the rest of the gap
+        fuelTime = (int) Math.max(0, burn.remainingBurnTime() - (elapsedTicks - burn.ticks()));
+    }
+
+    private int getOutputRoom(int slot, ItemStack result) {
+        ItemStack stack = itemHandler.getStackInSlot(slot);
+        if (stack.isEmpty()) {
+            return result.getMaxStackSize();
+        }
+        return stack.getItem() == result.getItem() ? stack.getMaxStackSize() - stack.getCount() : 0;
+    }
+
+    private int insertOutput(int slot, ItemStack result, int count) {
+        int toInsert = Math.min(count, getOutputRoom(slot, result));
+        if (toInsert > 0) {
+            ItemStack stack = itemHandler.getStackInSlot(slot);
+            if (stack.isEmpty()) {
+                itemHandler.setStackInSlot(slot, new ItemStack(result.getItem(), toInsert));
+            } else {
+                stack.grow(toInsert);
+            }
+        }
+        return count - toInsert;
     }
 
     public void tick(Level pLevel, BlockPos pPos, BlockState pState) {
-        if (hasRecipe() && hasFuel()) {
+        long gameTime = pLevel.getGameTime();
+        if (!schedule.isDue(gameTime)) {
+            return;
+        }
+        long skipped = schedule.skippedTicks(gameTime);
+        if (skipped > 0) {
+            // The skipped ticks only counted down, see nextEventTick
+            fuelTime -= (int) skipped;
+            if (smelting) {
+                progress += (int) skipped;
+            }
+        }
+
+        smelting = hasRecipe() && hasFuel();
+        if (smelting) {
             increaseCraftingProcess();
             setChanged(pLevel, pPos, pState);
 
@@ -142,6 +224,18 @@ public class IronFurnaceBlockEntity extends BlockEntity implements MenuProvider
         if (!pState.equals(blockState)) {
             pLevel.setBlock(pPos, blockState, 3);
         }
+
+        schedule.ran(gameTime, nextEventTick(gameTime));
+    }
+
+    /**
+     * The next tick that does more than count down, when the item in progress is done or the fuel burns out
+     */
+    private long nextEventTick(long gameTime) {
+        if (hasRecipe() && hasFuel()) {
+            return fuelTime > 0 ? gameTime + Math.min(maxProgress - progress, fuelTime) : gameTime + 1;
+        }
+        return fuelTime > 0 ? gameTime + fuelTime : JobSchedule.NO_EVENT;
     }
 
     private void resetProgress() {
@@ -192,7 +286,7 @@ public class IronFurnaceBlockEntity extends BlockEntity implements MenuProvider
             if (burnTime > 0) {
                 fuelTime = burnTime;
                 maxFuelTime = burnTime;
-                itemHandler.extractItem(1, 1, false);
+                FuelRegistry.consume(itemHandler, 1, 1);
             }
         }
     }
@@ -212,9 +306,7 @@ public class IronFurnaceBlockEntity extends BlockEntity implements MenuProvider
     }
 
     private Optional<SmeltingRecipe> getCurrentRecipe() {
-        SingleRecipeInput recipeInput = new SingleRecipeInput(itemHandler.getStackInSlot(0));
-        return this.level.getRecipeManager().getRecipeFor(RecipeType.SMELTING, recipeInput, level)
-                .map(holder -> holder.value());
+        return recipeCache.getRecipe(level, itemHandler.getStackInSlot(0)).map(RecipeHolder::value);
     }
 
     private boolean canInsertItemIntoOutputSlot(Item item) {
@@ -229,8 +321,7 @@ public class IronFurnaceBlockEntity extends BlockEntity implements MenuProvider
     }
 
     private boolean isValidInput(ItemStack stack) {
-        SingleRecipeInput recipeInput = new SingleRecipeInput(stack);
-        return this.level != null && this.level.getRecipeManager().getRecipeFor(RecipeType.SMELTING, recipeInput, level).isPresent();
+        return validInputCache.hasRecipe(level, stack);
     }
 
     private boolean isFuel(ItemStack stack) {
@@ -238,15 +329,28 @@ public class IronFurnaceBlockEntity extends BlockEntity implements MenuProvider
     }
 
     private int getBurnTime(Item item) {
-        if (item == Items.COAL || item == Items.CHARCOAL) return 1600;
-        if (item == Items.COAL_BLOCK) return 16000;
-        if (item == Items.LAVA_BUCKET) return 20000;
-        if (item == Items.STICK) return 100;
-        if (item == Items.WOODEN_PICKAXE || item == Items.WOODEN_AXE || item == Items.WOODEN_SHOVEL || item == Items.WOODEN_HOE || item == Items.WOODEN_SWORD) return 200;
-        return 0;
+        // Burn times (in ticks) come from the generator_fuels data map, vanilla furnace fuels otherwise
+        return FuelRegistry.getBurnTime(item);
     }
 
     public ItemStackHandler getItemHandler() {
         return itemHandler;
     }
+
+    // Counters advance linearly while ticks are skipped, so the menu sees live values
+    public int getProgress() {
+        return smelting ? (int) Math.min(maxProgress, progress + skippedTicks()) : progress;
+    }
+
+    public int getMaxProgress() { return maxProgress; }
+
+    public int getFuelTime() {
+        return (int) Math.max(0, fuelTime - skippedTicks());
+    }
+
+    private long skippedTicks() {
+        return level != null ? schedule.skippedTicks(level.getGameTime()) : 0;
+    }
+
+    public int getMaxFuelTime() { return maxFuelTime; }
 }
\ No newline at end of file
@@ -1,9 +1,14 @@
 package com.thewheatking.minecraftfarmertechmod.block.entity;
 
+import com.thewheatking.minecraftfarmertechmod.common.util.JobSchedule;
+import com.thewheatking.minecraftfarmertechmod.common.util.OfflineCatchUp;
 import com.thewheatking.minecraftfarmertechmod.config.SideConfig;
 import com.thewheatking.minecraftfarmertechmod.config.SideConfigurable;
+import com.thewheatking.minecraftfarmertechmod.datamap.PlantMatterRegistry;
 import com.thewheatking.minecraftfarmertechmod.energy.IEnergyStorage;
 import com.thewheatking.minecraftfarmertechmod.energy.MftEnergyStorage;
+import com.thewheatking.minecraftfarmertechmod.fluid.ModFluids;
+import com.thewheatking.minecraftfarmertechmod.hybrid.HybridItems;
 import com.thewheatking.minecraftfarmertechmod.item.ModItems;
 import com.thewheatking.minecraftfarmertechmod.screen.LiquifierMenu;
 import com.thewheatking.minecraftfarmertechmod.screen.SideConfigMenu;
@@ -18,21 +23,29 @@ import net.minecraft.world.SimpleContainer;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.AbstractContainerMenu;
-import net.minecraft.world.inventory.ContainerData;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.material.Fluid;
+import net.minecraft.world.level.material.Fluids;
+import net.neoforged.neoforge.fluids.FluidStack;
+import net.neoforged.neoforge.fluids.capability.IFluidHandler;
+import net.neoforged.neoforge.fluids.capability.templates.FluidTank;
 import net.neoforged.neoforge.items.IItemHandler;
 import net.neoforged.neoforge.items.ItemStackHandler;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 public class LiquifierBlockEntity extends BlockEntity implements MenuProvider, SideConfigurable {
-    private final ItemStackHandler itemHandler = new ItemStackHandler(4) {
+    private final ItemStackHandler itemHandler = new ItemStackHandler(SLOT_COUNT) {
         @Override
         protected void onContentsChanged(int slot) {
+            if (slot == SPEED_UPGRADE_SLOT) {
+                updateEnergyLimits();
+            }
+            schedule.markInputsChanged();
             setChanged();
         }
 
@@ -43,17 +56,46 @@ public class LiquifierBlockEntity extends BlockEntity implements MenuProvider, S
                 case 1 -> stack.getItem() == Items.WATER_BUCKET; // Water input
                 case 2 -> stack.getItem() == Items.BUCKET; // Empty bucket input
                 case 3 -> false; // Bio fuel output - no manual input
+                case 4 -> stack.is(HybridItems.SPEED_UPGRADE.get()); // Speed upgrades, batch size
+                case 5 -> stack.is(HybridItems.EFFICIENCY_UPGRADE.get()); // Efficiency upgrades, energy per item
                 default -> false;
             };
         }
+
+        @Override
+        public int getSlotLimit(int slot) {
+            return slot >= SPEED_UPGRADE_SLOT ? MAX_UPGRADES : super.getSlotLimit(slot);
+        }
+    };
+
+    // Fluid tanks - water is filled from buckets or pipes, bio fuel is bottled or pumped out
+    private final FluidTank waterTank = new FluidTank(TANK_CAPACITY, stack -> stack.is(Fluids.WATER)) {
+        @Override
+        protected void onContentsChanged() {
+            schedule.markInputsChanged();
+            setChanged();
+        }
     };
 
-    // Energy storage - can only receive energy, not provide it
-    private final MftEnergyStorage energyStorage = new MftEnergyStorage(10000, 100, 0) {
+    private final FluidTank bioFuelTank = new FluidTank(TANK_CAPACITY, stack -> stack.is(ModFluids.BIOFUEL.get())) {
+        @Override
+        protected void onContentsChanged() {
+            schedule.markInputsChanged();
+            setChanged();
+        }
+    };
+
+    private final IFluidHandler fluidHandler = new SideAwareFluidHandler(null);
+
+    // Energy storage - can only receive energy, not provide it, buffer and rate grow with the batch size
+    private final MftEnergyStorage energyStorage = new MftEnergyStorage(ENERGY_CAPACITY_PER_ITEM, ENERGY_RECEIVE_PER_ITEM, 0) {
         @Override
         public int receiveEnergy(int maxReceive, boolean simulate) {
             int received = super.receiveEnergy(maxReceive, simulate);
             if (received > 0 && !simulate) {
+                if (processingEnergy == 0) {
+                    schedule.markInputsChanged(); // May have been waiting for energy
+                }
                 setChanged();
             }
             return received;
@@ -63,60 +105,68 @@ public class LiquifierBlockEntity extends BlockEntity implements MenuProvider, S
     // Side configuration
     private SideConfig sideConfig = new SideConfig();
 
+    // One wrapper per side, queried by hoppers and pipes every tick, rebuilt only when the side config changes
+    private final IItemHandler[] sideItemHandlers = new IItemHandler[Direction.values().length];
+    private final IFluidHandler[] sideFluidHandlers = new IFluidHandler[Direction.values().length];
+
     public static final int PLANT_SLOT = 0;
     public static final int WATER_INPUT_SLOT = 1;
     public static final int EMPTY_BUCKET_SLOT = 2;
     public static final int BIO_FUEL_OUTPUT_SLOT = 3;
+    public static final int SPEED_UPGRADE_SLOT = 4;
+    public static final int EFFICIENCY_UPGRADE_SLOT = 5;
+    public static final int SLOT_COUNT = 6;
 
     // Energy consumption per processing tick
-    private static final int ENERGY_PER_TICK = 20; // 20 RF per tick when processing
+    private static final int ENERGY_PER_TICK = 20; // 20 RF per tick per item in the batch
+    private static final int ENERGY_CAPACITY_PER_ITEM = 10000; // Five cycles of a full batch
+    private static final int ENERGY_RECEIVE_PER_ITEM = 100;    // Five times what a full batch draws
+
+    // Batch processing - every speed upgrade adds items per cycle, every efficiency upgrade cuts energy per item
+    private static final int MAX_UPGRADES = 8;
+    private static final int ITEMS_PER_SPEED_UPGRADE = 4;
+    private static final float EFFICIENCY_PER_UPGRADE = 0.15f;
 
-    protected final ContainerData data;
     private int progress = 0;
     private int maxProgress = 100; // 5 seconds
-    private int waterLevel = 0; // In mB (millibuckets)
-    private int bioFuelLevel = 0; // In mB
     private float bioFuelProgress = 0.0f; // Fractional progress toward next bucket
+    private long lastSimulatedTick = OfflineCatchUp.NEVER_SIMULATED;
 
-    public LiquifierBlockEntity(BlockPos pPos, BlockState pBlockState) {
-        super(ModBlockEntities.LIQUIFIER.get(), pPos, pBlockState);
-        this.data = new ContainerData() {
-            @Override
-            public int get(int pIndex) {
-                return switch (pIndex) {
-                    case 0 -> LiquifierBlockEntity.this.progress;
-                    case 1 -> LiquifierBlockEntity.this.maxProgress;
-                    case 2 -> LiquifierBlockEntity.this.waterLevel;
-                    case 3 -> LiquifierBlockEntity.this.bioFuelLevel;
-                    case 4 -> LiquifierBlockEntity.this.energyStorage.getEnergyStored();
-                    case 5 -> LiquifierBlockEntity.this.energyStorage.getMaxEnergyStored();
-                    default -> 0;
-                };
-            }
+    // Mid-cycle ticks only count up and drain energy, so they are skipped until the cycle ends or the energy runs out
+    private final JobSchedule schedule = new JobSchedule();
+    private int processingEnergy = 0; // Energy per tick of the running cycle, 0 while idle
 
-            @Override
-            public void set(int pIndex, int pValue) {
-                switch (pIndex) {
-                    case 0 -> LiquifierBlockEntity.this.progress = pValue;
-                    case 1 -> LiquifierBlockEntity.this.maxProgress = pValue;
-                    case 2 -> LiquifierBlockEntity.this.waterLevel = pValue;
-                    case 3 -> LiquifierBlockEntity.this.bioFuelLevel = pValue;
-                    case 4 -> LiquifierBlockEntity.this.energyStorage.setEnergyStored(pValue);
-                    case 5 -> { /* Max energy is read-only */ }
-                }
-            }
+    private static final int TANK_CAPACITY = 10000; // mB, for both water and bio fuel
+    private static final int WATER_PER_ITEM = 10; // mB of water per plant item
 
-            @Override
-            public int getCount() {
-                return 6; // Added energy fields
-            }
-        };
+    public LiquifierBlockEntity(BlockPos pPos, BlockState pBlockState) {
+        super(ModBlockEntities.LIQUIFIER.get(), pPos, pBlockState);
+        rebuildSideHandlers();
     }
 
     public IItemHandler getItemHandler() {
         return itemHandler;
     }
 
+    // Counters advance linearly while ticks are skipped, so the menu sees live values
+    public int getProgress() {
+        return (int) Math.min(maxProgress, progress + skippedTicks());
+    }
+
+    public int getMaxProgress() { return maxProgress; }
+    public int getWaterAmount() { return waterTank.getFluidAmount(); }
+    public int getBioFuelAmount() { return bioFuelTank.getFluidAmount(); }
+
+    public int getEnergyStored() {
+        return (int) Math.max(0, energyStorage.getEnergyStored() - skippedTicks() * processingEnergy);
+    }
+
+    private long skippedTicks() {
+        return processingEnergy > 0 && level != null ? schedule.skippedTicks(level.getGameTime()) : 0;
+    }
+
+    public int getMaxEnergyStored() { return energyStorage.getMaxEnergyStored(); }
+
     /**
      * Gets the item handler for the given direction, respecting side configuration
      */
@@ -125,7 +175,7 @@ public class LiquifierBlockEntity extends BlockEntity implements MenuProvider, S
             return itemHandler; // Internal access gets full handler
         }
 
-        return new SideAwareItemHandler(itemHandler, direction, sideConfig);
+        return sideItemHandlers[direction.get3DDataValue()];
     }
     private static class SideAwareItemHandler implements IItemHandler {
         private final IItemHandler wrapped;
@@ -167,7 +217,7 @@ public class LiquifierBlockEntity extends BlockEntity implements MenuProvider, S
             } else if (stack.getItem() == Items.BUCKET) {
                 // Empty buckets always go to empty bucket slot
                 return wrapped.insertItem(EMPTY_BUCKET_SLOT, stack, simulate);
-            } else if (isPlantMatterItem(stack)) {
+            } else if (PlantMatterRegistry.isPlantMatter(stack)) {
                 // Plant matter always goes to plant slot
                 return wrapped.insertItem(PLANT_SLOT, stack, simulate);
             }
@@ -210,19 +260,94 @@ public class LiquifierBlockEntity extends BlockEntity implements MenuProvider, S
 
             return wrapped.isItemValid(slot, stack);
         }
+    }
 
-        private boolean isPlantMatterItem(ItemStack stack) {
-            if(stack.getItem() == Items.WHEAT || stack.getItem() == Items.CARROT ||
-                    stack.getItem() == Items.POTATO || stack.getItem() == Items.BEETROOT) {
-                return true;
-            }
+    /**
+     * Gets the fluid handler for the given direction, respecting side configuration
+     * Input sides accept water, output sides give up bio fuel, so pumps and pipes skip the buckets.
+     */
+    public IFluidHandler getFluidHandler(@Nullable Direction direction) {
+        if (direction == null) {
+            return fluidHandler; // Internal access gets both tanks
+        }
+        return sideFluidHandlers[direction.get3DDataValue()];
+    }
+
+    private class SideAwareFluidHandler implements IFluidHandler {
+        private static final int WATER_TANK = 0;
+        private static final int BIO_FUEL_TANK = 1;
+
+        @Nullable
+        private final Direction side;
+
+        private SideAwareFluidHandler(@Nullable Direction side) {
+            this.side = side;
+        }
+
+        private FluidTank tank(int tank) {
+            return tank == WATER_TANK ? waterTank : bioFuelTank;
+        }
+
+        private boolean canFill() {
+            return side == null || sideConfig.canInput(side);
+        }
+
+        private boolean canDrain() {
+            return side == null || sideConfig.canOutput(side);
+        }
+
+        @Override
+        public int getTanks() {
+            return 2;
+        }
 
-            String itemName = stack.getItem().toString().toLowerCase();
-            return itemName.contains("sapling") || itemName.contains("leaves") ||
-                    itemName.contains("flower") || itemName.contains("grass") ||
-                    itemName.contains("fern") || itemName.contains("seed");
+        @Override
+        public FluidStack getFluidInTank(int tank) {
+            return tank(tank).getFluid();
+        }
+
+        @Override
+        public int getTankCapacity(int tank) {
+            return tank(tank).getCapacity();
+        }
+
+        @Override
+        public boolean isFluidValid(int tank, FluidStack stack) {
+            // Only the water tank can be filled from outside
+            return tank == WATER_TANK && canFill() && waterTank.isFluidValid(stack);
+        }
+
+        @Override
+        public int fill(FluidStack resource, FluidAction action) {
+            return canFill() ? waterTank.fill(resource, action) : 0;
+        }
+
+        @Override
+        public FluidStack drain(FluidStack resource, FluidAction action) {
+            return canDrain() ? bioFuelTank.drain(resource, action) : FluidStack.EMPTY;
+        }
+
+        @Override
+        public FluidStack drain(int maxDrain, FluidAction action) {
+            return canDrain() ? bioFuelTank.drain(maxDrain, action) : FluidStack.EMPTY;
+        }
+    }
+
+    /**
+     * Recreates the per-side wrappers for the current side config, sides without item I/O get no fluid handler
+     */
+    private void rebuildSideHandlers() {
+        for (Direction direction : Direction.values()) {
+            int index = direction.get3DDataValue();
+            sideItemHandlers[index] = new SideAwareItemHandler(itemHandler, direction, sideConfig);
+            sideFluidHandlers[index] = sideConfig.canInput(direction) || sideConfig.canOutput(direction)
+                    ? new SideAwareFluidHandler(direction) : null;
         }
     }
+
+    private static void setAmount(FluidTank tank, Fluid fluid, int amount) {
+        tank.setFluid(amount > 0 ? new FluidStack(fluid, Math.min(amount, tank.getCapacity())) : FluidStack.EMPTY);
+    }
     /**
      * Gets the energy storage for the given direction, respecting side configuration
      */
@@ -241,17 +366,16 @@ public class LiquifierBlockEntity extends BlockEntity implements MenuProvider, S
 
     @Override
     public void setSideConfig(SideConfig config) {
-        this.sideConfig = config;
+        if (sideConfig.equals(config)) {
+            return; // Applying an unchanged config, the handlers and neighbours' caches are still right
+        }
+        // A copy, so the menu editing its config further can't change ours behind the handlers' back
+        this.sideConfig = config.copy();
+        rebuildSideHandlers();
         setChanged();
 
-        // Add debug logging
-        System.out.println("Setting side config: " + config.serializeNBT());
-
-        // Also ensure NBT gets updated
-        if (level != null && !level.isClientSide) {
-            level.blockEntityChanged(getBlockPos());
-            System.out.println("Marked block entity as changed on server");
-        }
+        // Neighbours cache our handlers, make them query again
+        invalidateCapabilities();
     }
     @Override
     public void openConfigGui(Player player) {
@@ -284,67 +408,233 @@ public class LiquifierBlockEntity extends BlockEntity implements MenuProvider, S
     @Nullable
     @Override
     public AbstractContainerMenu createMenu(int pContainerId, Inventory pPlayerInventory, Player pPlayer) {
-        return new LiquifierMenu(pContainerId, pPlayerInventory, this, this.data);
+        return new LiquifierMenu(pContainerId, pPlayerInventory, this);
     }
 
     @Override
     protected void saveAdditional(CompoundTag pTag, HolderLookup.Provider pRegistries) {
         pTag.put("inventory", itemHandler.serializeNBT(pRegistries));
         pTag.putInt("progress", progress);
-        pTag.putInt("waterLevel", waterLevel);
-        pTag.putInt("bioFuelLevel", bioFuelLevel);
+        pTag.put("waterTank", waterTank.writeToNBT(pRegistries, new CompoundTag()));
+        pTag.put("bioFuelTank", bioFuelTank.writeToNBT(pRegistries, new CompoundTag()));
         pTag.putFloat("bioFuelProgress", bioFuelProgress);
         pTag.put("energy", energyStorage.serializeNBT());
         pTag.put("sideConfig", sideConfig.serializeNBT());
+        pTag.putLong("lastSimulatedTick", level != null ? schedule.simulatedUpTo(level.getGameTime()) : lastSimulatedTick);
         super.saveAdditional(pTag, pRegistries);
     }
 
     @Override
     protected void loadAdditional(CompoundTag pTag, HolderLookup.Provider pRegistries) {
         super.loadAdditional(pTag, pRegistries);
-        itemHandler.deserializeNBT(pRegistries, pTag.getCompound("inventory"));
+        loadInventory(pTag.getCompound("inventory"), pRegistries);
+        updateEnergyLimits(); // Before the energy, which the base capacity would clip
         progress = pTag.getInt("progress");
-        waterLevel = pTag.getInt("waterLevel");
-        bioFuelLevel = pTag.getInt("bioFuelLevel");
+        if (pTag.contains("waterTank")) {
+            waterTank.readFromNBT(pRegistries, pTag.getCompound("waterTank"));
+            bioFuelTank.readFromNBT(pRegistries, pTag.getCompound("bioFuelTank"));
+        } else {
+            // Saved before the tanks, levels were plain mB counts
+            setAmount(waterTank, Fluids.WATER, pTag.getInt("waterLevel"));
+            setAmount(bioFuelTank, ModFluids.BIOFUEL.get(), pTag.getInt("bioFuelLevel"));
+        }
         bioFuelProgress = pTag.getFloat("bioFuelProgress");
         energyStorage.deserializeNBT(pTag.getCompound("energy"));
+        if (pTag.contains("lastSimulatedTick")) {
+            lastSimulatedTick = pTag.getLong("lastSimulatedTick");
+        }
         if (pTag.contains("sideConfig")) {
+            SideConfig previous = sideConfig.copy();
             sideConfig.deserializeNBT(pTag.getCompound("sideConfig"));
-            System.out.println("Loaded side config: " + pTag.getCompound("sideConfig"));
-        } else {
-            System.out.println("No side config found in NBT");
+            if (!sideConfig.equals(previous)) {
+                rebuildSideHandlers();
+                if (level != null) {
+                    invalidateCapabilities();
+                }
+            }
+        }
+    }
+
+    /**
+     * Older saves have four slots, deserializing them would shrink the handler and lose the upgrade slots
+     */
+    private void loadInventory(CompoundTag tag, HolderLookup.Provider registries) {
+        itemHandler.deserializeNBT(registries, tag);
+        if (itemHandler.getSlots() < SLOT_COUNT) {
+            ItemStack[] stacks = new ItemStack[itemHandler.getSlots()];
+            for (int i = 0; i < stacks.length; i++) {
+                stacks[i] = itemHandler.getStackInSlot(i);
+            }
+            itemHandler.setSize(SLOT_COUNT);
+            for (int i = 0; i < stacks.length; i++) {
+                itemHandler.setStackInSlot(i, stacks[i]);
+            }
+        }
+    }
+
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        if (level != null && !level.isClientSide()) {
+            long elapsed = OfflineCatchUp.elapsedTicks(level, lastSimulatedTick);
+            if (elapsed > 0) {
+                catchUp(elapsed);
+                setChanged();
+            }
+            lastSimulatedTick = level.getGameTime();
+            schedule.reset(lastSimulatedTick);
+        }
+    }
+
+    /**
+     * Closed-form version of tick for the time the chunk was unloaded
+     * Processes as many plants as time, stored energy, water and bio fuel output space allow, a batch per cycle.
+     */
+    private void catchUp(long elapsedTicks) {
+        ItemStack waterBuckets = itemHandler.getStackInSlot(WATER_INPUT_SLOT);
+        int waterBucketCount = waterBuckets.getItem() == Items.WATER_BUCKET ? waterBuckets.getCount() : 0;
+        int emptyBucketCount = itemHandler.getStackInSlot(EMPTY_BUCKET_SLOT).getItem() == Items.BUCKET
+                ? itemHandler.getStackInSlot(EMPTY_BUCKET_SLOT).getCount() : 0;
+        ItemStack output = itemHandler.getStackInSlot(BIO_FUEL_OUTPUT_SLOT);
+        int outputRoom = output.isEmpty() ? 64
+                : output.getItem() == ModItems.BIO_FUEL_BUCKET.get() ? 64 - output.getCount() : 0;
+        int waterLevel = waterTank.getFluidAmount();
+        int bioFuelLevel = bioFuelTank.getFluidAmount();
+
+        int processed = 0;
+        if (hasRecipe()) {
+            ItemStack plantStack = itemHandler.getStackInSlot(PLANT_SLOT);
+            float yield = getBioFuelYield(plantStack);
+
+            // Items each resource allows; emptied water buckets can be filled with bio fuel too
+            int waterItems = (waterLevel + waterBucketCount * 1000) / WATER_PER_ITEM;
+            int fuelBucketRoom = (TANK_CAPACITY - bioFuelLevel) / 1000
+                    + Math.min(emptyBucketCount + waterBucketCount, outputRoom);
+            int outputItems = yield > 0 ? (int) ((fuelBucketRoom + 1 - bioFuelProgress) / yield) : plantStack.getCount();
+            int resourceItems = Math.min(plantStack.getCount(), Math.min(waterItems, outputItems));
+
+            // Full batches at the full batch rate, a short last batch is charged the same
+            int batchSize = getBatchSize();
+            int energyPerTick = getEnergyPerTick(Math.min(batchSize, resourceItems));
+            long cycles = (resourceItems + batchSize - 1) / batchSize;
+            long energyTicks = energyStorage.getEnergyStored() / energyPerTick;
+            long resourceTicks = Math.max(0, cycles * maxProgress - progress);
+            long ticksRun = Math.min(elapsedTicks, Math.min(energyTicks, resourceTicks));
+
+            processed = (int) Math.min(resourceItems, (progress + ticksRun) / maxProgress * batchSize);
+            // A cycle cut short by time or energy keeps its progress, only running out of plants or water ends it
+            progress = ticksRun < resourceTicks ? (int) ((progress + ticksRun) % maxProgress) : 0;
+            // Set directly, the storage is receive-only to the outside
+            energyStorage.setEnergyStored(energyStorage.getEnergyStored() - (int) (ticksRun * energyPerTick));
+
+            if (processed > 0) {
+                plantStack.shrink(processed);
+                itemHandler.setStackInSlot(PLANT_SLOT, plantStack);
+                bioFuelProgress += processed * yield;
+            }
+        }
+
+        // Water used, then refill from buckets the way handleWaterInput would have
+        int waterNeeded = processed * WATER_PER_ITEM;
+        int bucketsPoured = 0;
+        while (waterLevel < waterNeeded && bucketsPoured < waterBucketCount) {
+            waterLevel += 1000;
+            bucketsPoured++;
+        }
+        waterLevel -= Math.min(waterLevel, waterNeeded);
+        while (waterLevel + 1000 <= TANK_CAPACITY && bucketsPoured < waterBucketCount) {
+            waterLevel += 1000;
+            bucketsPoured++;
+        }
+        setAmount(waterTank, Fluids.WATER, waterLevel);
+        if (bucketsPoured > 0) {
+            waterBuckets.shrink(bucketsPoured);
+            itemHandler.setStackInSlot(WATER_INPUT_SLOT, waterBuckets);
+            emptyBucketCount = Math.min(64, emptyBucketCount + bucketsPoured);
+        }
+
+        // Whole buckets of bio fuel, bottled into empty buckets while there is room
+        int fuel = bioFuelLevel;
+        if (bioFuelProgress >= 1.0f) {
+            int bucketsToAdd = (int) bioFuelProgress;
+            fuel += bucketsToAdd * 1000;
+            bioFuelProgress -= bucketsToAdd;
+        }
+        int bottled = Math.min(fuel / 1000, Math.min(emptyBucketCount, outputRoom));
+        if (bottled > 0) {
+            fuel -= bottled * 1000;
+            emptyBucketCount -= bottled;
+            if (output.isEmpty()) {
+                itemHandler.setStackInSlot(BIO_FUEL_OUTPUT_SLOT, new ItemStack(ModItems.BIO_FUEL_BUCKET.get(), bottled));
+            } else {
+                output.grow(bottled);
+            }
+        }
+        setAmount(bioFuelTank, ModFluids.BIOFUEL.get(), fuel);
+
+        if (bucketsPoured > 0 || bottled > 0) {
+            itemHandler.setStackInSlot(EMPTY_BUCKET_SLOT,
+                    emptyBucketCount > 0 ? new ItemStack(Items.BUCKET, emptyBucketCount) : ItemStack.EMPTY);
         }
     }
 
     public void tick(Level pLevel, BlockPos pPos, BlockState pState) {
+        long gameTime = pLevel.getGameTime();
+        if (!schedule.isDue(gameTime)) {
+            return;
+        }
+        long skipped = schedule.skippedTicks(gameTime);
+        if (skipped > 0 && processingEnergy > 0) {
+            progress += (int) skipped;
+            energyStorage.setEnergyStored(energyStorage.getEnergyStored() - (int) (skipped * processingEnergy));
+        }
+
         // Handle water bucket input
-        handleWaterInput();
+        boolean handledBuckets = handleWaterInput();
 
         // Handle bio fuel bucket output
-        handleBioFuelOutput();
+        handledBuckets |= handleBioFuelOutput();
 
-        // Process plant matter if we have resources AND energy
-        if(hasRecipe() && hasWater() && hasEnergy()) {
+        // Process plant matter if we have resources AND energy, energy scales with the items in the batch
+        int batch = getCurrentBatch();
+        if(hasRecipe() && hasWater() && hasEnergy(batch)) {
             increaseCraftingProcess();
 
-            // Consume energy while processing
-            energyStorage.extractEnergy(ENERGY_PER_TICK, false);
+            // Consume energy while processing, set directly as the storage is receive-only to the outside
+            energyStorage.setEnergyStored(energyStorage.getEnergyStored() - getEnergyPerTick(batch));
             setChanged();
 
             if(hasProgressFinished()) {
-                processPlantMatter();
+                processPlantMatter(batch);
                 resetProgress();
             }
-        } else {
-            resetProgress();
+        } else if (!hasRecipe() || !hasWater()) {
+            resetProgress(); // Out of energy only pauses the cycle
+        }
+
+        batch = getCurrentBatch();
+        processingEnergy = hasRecipe() && hasWater() && hasEnergy(batch) ? getEnergyPerTick(batch) : 0;
+        schedule.ran(gameTime, handledBuckets ? gameTime + 1 : nextEventTick(gameTime));
+    }
+
+    /**
+     * The next tick that does more than count up, when the cycle finishes or the energy runs short
+     * The tanks only change at the end of a cycle, so no bucket can be filled or emptied before then.
+     */
+    private long nextEventTick(long gameTime) {
+        if (processingEnergy == 0) {
+            return JobSchedule.NO_EVENT; // Waits for plants, water or energy
         }
+        long energyTicks = energyStorage.getEnergyStored() / processingEnergy;
+        return gameTime + Math.min(maxProgress - progress, energyTicks + 1);
     }
 
-    private void handleWaterInput() {
+    private boolean handleWaterInput() {
         ItemStack waterBucket = this.itemHandler.getStackInSlot(WATER_INPUT_SLOT);
-        if(!waterBucket.isEmpty() && waterBucket.getItem() == Items.WATER_BUCKET && waterLevel < 10000) {
+        if(!waterBucket.isEmpty() && waterBucket.getItem() == Items.WATER_BUCKET
+                && waterTank.getSpace() >= 1000) {
             // Add 1000 mB (1 bucket) of water
-            waterLevel = Math.min(waterLevel + 1000, 10000);
+            waterTank.fill(new FluidStack(Fluids.WATER, 1000), IFluidHandler.FluidAction.EXECUTE);
 
             // Remove the water bucket
             waterBucket.shrink(1);
@@ -358,21 +648,23 @@ public class LiquifierBlockEntity extends BlockEntity implements MenuProvider, S
                 emptyBucketSlot.grow(1);
             }
             // If empty bucket slot is full, the empty bucket is lost (or you could add overflow logic)
+            return true;
         }
+        return false;
     }
 
-    private void handleBioFuelOutput() {
+    private boolean handleBioFuelOutput() {
         ItemStack emptyBucket = this.itemHandler.getStackInSlot(EMPTY_BUCKET_SLOT);
         ItemStack currentOutput = this.itemHandler.getStackInSlot(BIO_FUEL_OUTPUT_SLOT);
 
         // Check if we have an empty bucket, enough bio fuel, and space in output
         if(!emptyBucket.isEmpty() &&
                 emptyBucket.getItem() == Items.BUCKET &&
-                bioFuelLevel >= 1000 &&
+                bioFuelTank.getFluidAmount() >= 1000 &&
                 (currentOutput.isEmpty() || (currentOutput.getItem() == ModItems.BIO_FUEL_BUCKET.get() && currentOutput.getCount() < 64))) {
 
             // Convert 1000 mB bio fuel to 1 bio fuel bucket
-            bioFuelLevel -= 1000;
+            bioFuelTank.drain(1000, IFluidHandler.FluidAction.EXECUTE);
 
             // Remove one empty bucket
             emptyBucket.shrink(1);
@@ -387,78 +679,87 @@ public class LiquifierBlockEntity extends BlockEntity implements MenuProvider, S
             }
 
             setChanged(); // Mark as changed so the GUI updates
+            return true;
         }
+        return false;
     }
 
     private boolean hasWater() {
-        return waterLevel >= 10; // Need at least 10 mB for processing
+        return waterTank.getFluidAmount() >= WATER_PER_ITEM; // Need water for at least one item
+    }
+
+    private boolean hasEnergy(int batch) {
+        return energyStorage.getEnergyStored() >= getEnergyPerTick(batch); // Need at least one tick's worth of energy
+    }
+
+    // ========== BATCH PROCESSING ==========
+
+    /**
+     * Most plant items one cycle takes, one without speed upgrades
+     */
+    public int getBatchSize() {
+        return 1 + ITEMS_PER_SPEED_UPGRADE * itemHandler.getStackInSlot(SPEED_UPGRADE_SLOT).getCount();
+    }
+
+    /**
+     * Sizes the energy buffer and receive rate to the batch, a full batch of 33 draws 660 FE/t
+     */
+    private void updateEnergyLimits() {
+        int batchSize = getBatchSize();
+        energyStorage.setLimits(ENERGY_CAPACITY_PER_ITEM * batchSize, ENERGY_RECEIVE_PER_ITEM * batchSize);
     }
 
-    private boolean hasEnergy() {
-        return energyStorage.getEnergyStored() >= ENERGY_PER_TICK; // Need at least one tick's worth of energy
+    /**
+     * Items the current cycle will process, limited by the plant stack and the water in the tank
+     */
+    private int getCurrentBatch() {
+        int plants = itemHandler.getStackInSlot(PLANT_SLOT).getCount();
+        return Math.max(1, Math.min(getBatchSize(), Math.min(plants, waterTank.getFluidAmount() / WATER_PER_ITEM)));
+    }
+
+    /**
+     * Energy for one tick of a cycle, proportional to its items and cut by efficiency upgrades
+     */
+    private int getEnergyPerTick(int batch) {
+        int efficiencyUpgrades = itemHandler.getStackInSlot(EFFICIENCY_UPGRADE_SLOT).getCount();
+        return Math.max(1, Math.round(ENERGY_PER_TICK * batch / (1.0f + EFFICIENCY_PER_UPGRADE * efficiencyUpgrades)));
     }
 
     private void resetProgress() {
         progress = 0;
     }
 
-    private void processPlantMatter() {
+    private void processPlantMatter(int batch) {
         ItemStack plantStack = this.itemHandler.getStackInSlot(PLANT_SLOT);
-        if(!plantStack.isEmpty() && waterLevel >= 10) {
+        int items = Math.min(batch, Math.min(plantStack.getCount(), waterTank.getFluidAmount() / WATER_PER_ITEM));
+        if(items > 0) {
             float bioFuelYield = getBioFuelYield(plantStack);
-            bioFuelProgress += bioFuelYield;
+            bioFuelProgress += bioFuelYield * items;
 
-            // Use 10 mB of water per processing
-            waterLevel -= 10;
+            // Use 10 mB of water per item
+            waterTank.drain(items * WATER_PER_ITEM, IFluidHandler.FluidAction.EXECUTE);
 
-            // Consume one plant item
-            plantStack.shrink(1);
+            // Consume the batch
+            plantStack.shrink(items);
             this.itemHandler.setStackInSlot(PLANT_SLOT, plantStack);
 
-            // Check if we've accumulated enough for a full bucket (1000 mB)
+            // Check if we've accumulated enough for a full bucket (1000 mB), anything past a full tank is lost
             if(bioFuelProgress >= 1.0f) {
                 int bucketsToAdd = (int) bioFuelProgress;
-                bioFuelLevel = Math.min(bioFuelLevel + (bucketsToAdd * 1000), 10000);
+                bioFuelTank.fill(new FluidStack(ModFluids.BIOFUEL.get(), bucketsToAdd * 1000), IFluidHandler.FluidAction.EXECUTE);
                 bioFuelProgress -= bucketsToAdd;
             }
         }
     }
 
     private float getBioFuelYield(ItemStack stack) {
-        // Basic crops: 0.1 bio fuel each
-        if(stack.getItem() == Items.WHEAT || stack.getItem() == Items.CARROT ||
-                stack.getItem() == Items.POTATO || stack.getItem() == Items.POISONOUS_POTATO || stack.getItem() == Items.BEETROOT) {
-            return 0.1f;
-        }
-
-        // Saplings and leaves: 0.5 bio fuel each
-        if(stack.getItem().toString().contains("sapling") ||
-                stack.getItem().toString().contains("leaves")) {
-            return 0.5f;
-        }
-
-        // Flowers and tall grass: 0.2 bio fuel each
-        if(stack.getItem().toString().contains("flower") ||
-                stack.getItem() == Items.GRASS_BLOCK || stack.getItem() == Items.TALL_GRASS || stack.getItem() == Items.SHORT_GRASS ||
-                stack.getItem() == Items.FERN || stack.getItem() == Items.LARGE_FERN) {
-            return 0.2f;
-        }
-
-        return 0.1f; // Default for other plant items
+        // Compiled from the bio_fuel_yields data map, plant matter without an entry yields the default
+        return PlantMatterRegistry.getYield(stack);
     }
 
     private boolean isPlantMatter(ItemStack stack) {
-        // Check for basic crops
-        if(stack.getItem() == Items.WHEAT || stack.getItem() == Items.CARROT ||
-                stack.getItem() == Items.POTATO || stack.getItem() == Items.BEETROOT) {
-            return true;
-        }
-
-        // Check for plant-based items (this is a simple check - you might want to expand this)
-        String itemName = stack.getItem().toString().toLowerCase();
-        return itemName.contains("sapling") || itemName.contains("leaves") ||
-                itemName.contains("flower") || itemName.contains("grass") ||
-                itemName.contains("fern") || itemName.contains("seed");
+        // Anything in the plant_matter tag or with a bio fuel yield
+        return PlantMatterRegistry.isPlantMatter(stack);
     }
 
     private boolean hasProgressFinished() {
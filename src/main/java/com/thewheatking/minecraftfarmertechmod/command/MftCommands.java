@@ -0,0 +1,102 @@
+package com.thewheatking.minecraftfarmertechmod.command;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import com.thewheatking.minecraftfarmertechmod.MinecraftFarmerTechMod;
+import com.thewheatking.minecraftfarmertechmod.common.util.MftProfiler;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.RegisterCommandsEvent;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Server commands for MFT
+ */
+@EventBusSubscriber(modid = MinecraftFarmerTechMod.MOD_ID, bus = EventBusSubscriber.Bus.GAME)
+public class MftCommands {
+
+    private static final int DEFAULT_REPORT_COUNT = 10;
+
+    @SubscribeEvent
+    public static void onRegisterCommands(RegisterCommandsEvent event) {
+        register(event.getDispatcher());
+    }
+
+    private static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
+        dispatcher.register(Commands.literal("mft")
+                .requires(source -> source.hasPermission(Commands.LEVEL_GAMEMASTERS))
+                .then(Commands.literal("profile")
+                        .then(Commands.literal("start").executes(MftCommands::startProfile))
+                        .then(Commands.literal("stop").executes(MftCommands::stopProfile))
+                        .then(Commands.literal("report")
+                                .executes(context -> reportProfile(context, DEFAULT_REPORT_COUNT))
+                                .then(Commands.argument("count", IntegerArgumentType.integer(1, 100))
+                                        .executes(context -> reportProfile(context,
+                                                IntegerArgumentType.getInteger(context, "count")))))));
+    }
+
+    // ========== PROFILE ==========
+
+    private static int startProfile(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        if (!MftProfiler.start(getGameTime(source))) {
+            source.sendFailure(Component.literal("MFT profiler is already running"));
+            return 0;
+        }
+        source.sendSuccess(() -> Component.literal("MFT profiler started"), true);
+        return 1;
+    }
+
+    private static int stopProfile(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        if (!MftProfiler.stop(getGameTime(source))) {
+            source.sendFailure(Component.literal("MFT profiler is not running"));
+            return 0;
+        }
+        source.sendSuccess(() -> Component.literal("MFT profiler stopped, use /mft profile report"), true);
+        return 1;
+    }
+
+    private static int reportProfile(CommandContext<CommandSourceStack> context, int count) {
+        CommandSourceStack source = context.getSource();
+        MftProfiler.Session session = MftProfiler.getReportSession();
+        if (session == null) {
+            source.sendFailure(Component.literal("No MFT profile recorded, use /mft profile start"));
+            return 0;
+        }
+
+        long gameTime = getGameTime(source);
+        long ticks = Math.max(1, session.getDurationTicks(gameTime));
+        source.sendSuccess(() -> Component.literal("MFT profile over " + ticks + " ticks, top " + count + " positions:"), false);
+
+        for (Map.Entry<MftProfiler.Site, MftProfiler.Stat> entry : session.getTopSites(count)) {
+            MftProfiler.Site site = entry.getKey();
+            MftProfiler.Stat stat = entry.getValue();
+            String line = String.format(Locale.ROOT, "%s %s @ %s: %.1f us/tick (%d calls, max %.1f us)",
+                    site.category(), site.name(), site.pos().toShortString(),
+                    stat.getTotalNanos() / 1000.0 / ticks, stat.getCount(), stat.getMaxNanos() / 1000.0);
+            source.sendSuccess(() -> Component.literal(line), false);
+        }
+
+        try {
+            Path report = session.writeReport(source.getServer().getServerDirectory(), gameTime, count);
+            source.sendSuccess(() -> Component.literal("Full report written to " + report.getFileName()), false);
+        } catch (IOException e) {
+            MinecraftFarmerTechMod.LOGGER.error("Failed to write MFT profile report", e);
+            source.sendFailure(Component.literal("Failed to write report: " + e.getMessage()));
+        }
+        return 1;
+    }
+
+    private static long getGameTime(CommandSourceStack source) {
+        return source.getServer().getTickCount();
+    }
+}
@@ -1,14 +1,28 @@
 package com.thewheatking.minecraftfarmertechmod.common.blockentity.base;
 
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.MapCodec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import com.thewheatking.minecraftfarmertechmod.common.sync.SyncFieldSet;
+import com.thewheatking.minecraftfarmertechmod.common.util.CompactNbt;
+import com.thewheatking.minecraftfarmertechmod.common.util.MftProfiler;
+import com.thewheatking.minecraftfarmertechmod.common.util.OfflineCatchUp;
+import com.thewheatking.minecraftfarmertechmod.common.util.PeriodicTask;
 import com.thewheatking.minecraftfarmertechmod.energy.HybridEnergyStorage;
 import com.thewheatking.minecraftfarmertechmod.energy.HybridEnergyCapabilityProviders;
+import com.thewheatking.minecraftfarmertechmod.network.MachineSyncManager;
+import io.netty.buffer.Unpooled;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.HolderLookup;
+import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.Connection;
+import net.minecraft.network.RegistryFriendlyByteBuf;
 import net.minecraft.network.chat.Component;
+import net.minecraft.network.codec.ByteBufCodecs;
 import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.Containers;
 import net.minecraft.world.MenuProvider;
 import net.minecraft.world.SimpleContainer;
@@ -57,6 +71,29 @@ public abstract class BaseMachineBlockEntity extends BlockEntity
     protected boolean needsUpdate = false;
     protected int tickCounter = 0;
     protected static final int SYNC_INTERVAL = 20; // Sync every second
+    protected final PeriodicTask syncTask;
+    private boolean lastSyncDue = false;
+    private SyncFieldSet syncFields;
+
+    // Idle sleep - a sleeping machine skips its server tick until something wakes it
+    protected static final int IDLE_TICKS_BEFORE_SLEEP = 100;
+    protected static final int OUTPUT_RECHECK_INTERVAL = 20; // Pending output is retried once a second while asleep
+    protected final PeriodicTask outputRecheckTask;
+    private int idleTicks = 0;
+    private boolean sleeping = false;
+    private boolean chunkUnloading = false;
+    private boolean activityThisTick = false;
+    private long scheduledWakeTick = -1L;
+
+    // Packed ticking - set while a MachineTickGroup ticks this machine instead of its own ticker
+    private MachineTickGroup<?> tickGroup;
+    private int tickSlot = -1;
+
+    // Offline catch-up - the game tick this machine was last simulated at
+    protected long lastSimulatedTick = OfflineCatchUp.NEVER_SIMULATED;
+
+    @Nullable
+    private String profilerKey;
 
     // Upgrade system
     protected boolean hasEfficiencyUpgrade = false;
@@ -74,6 +111,8 @@ public abstract class BaseMachineBlockEntity extends BlockEntity
         this.energyMaxReceive = 1000;
         this.energyMaxExtract = 1000;
         this.inventorySize = 0;
+        this.syncTask = new PeriodicTask("sync", pos, SYNC_INTERVAL);
+        this.outputRecheckTask = new PeriodicTask("output_recheck", pos, OUTPUT_RECHECK_INTERVAL);
 
         // Initialize energy storage and inventory
         initializeEnergyStorage();
@@ -94,6 +133,8 @@ public abstract class BaseMachineBlockEntity extends BlockEntity
         this.energyMaxReceive = energyMaxReceive;
         this.energyMaxExtract = energyMaxExtract;
         this.inventorySize = inventorySize;
+        this.syncTask = new PeriodicTask("sync", pos, SYNC_INTERVAL);
+        this.outputRecheckTask = new PeriodicTask("output_recheck", pos, OUTPUT_RECHECK_INTERVAL);
 
         // Initialize energy storage and inventory
         initializeEnergyStorage();
@@ -106,6 +147,8 @@ public abstract class BaseMachineBlockEntity extends BlockEntity
      */
     protected void initializeEnergyStorage() {
         this.energyStorage = createEnergyStorage();
+        this.energyStorage.setReceiveListener(this::wake);
+        this.energyStorage.setExtractListener(this::wake);
     }
 
     /**
@@ -149,11 +192,49 @@ public abstract class BaseMachineBlockEntity extends BlockEntity
     public static void tick(Level level, BlockPos pos, BlockState state, BaseMachineBlockEntity blockEntity) {
         if (level.isClientSide()) {
             blockEntity.clientTick();
-        } else {
-            blockEntity.serverTick();
+        } else if (!blockEntity.isTickManaged()) {
+            blockEntity.tickIfAwake();
+        }
+    }
+
+    /**
+     * Runs the server tick unless the machine is asleep, then updates the idle counter
+     */
+    protected final void tickIfAwake() {
+        if (sleeping) {
+            return;
+        }
+
+        int energyBefore = energyStorage.getEnergyStored();
+        activityThisTick = false;
+
+        long profileStart = MftProfiler.begin();
+        serverTick();
+        MftProfiler.end(MftProfiler.Category.BLOCK_ENTITY, getProfilerKey(), worldPosition, profileStart);
+
+        if (activityThisTick || energyStorage.getEnergyStored() != energyBefore || !canSleep() || !isIdle()) {
+            idleTicks = 0;
+        } else if (++idleTicks >= IDLE_TICKS_BEFORE_SLEEP) {
+            if (hasPendingOutput()) {
+                // A consumer freeing buffer space sends no signal, so retry the push on a slow, phase-shifted beat
+                sleepUntil(outputRecheckTask.nextDue(level.getGameTime()));
+            } else {
+                sleep();
+            }
         }
     }
 
+    /**
+     * Gets the name this machine is grouped under in profiler reports, the block entity type id
+     */
+    public String getProfilerKey() {
+        if (profilerKey == null) {
+            ResourceLocation id = BuiltInRegistries.BLOCK_ENTITY_TYPE.getKey(getType());
+            profilerKey = id != null ? id.toString() : getClass().getSimpleName();
+        }
+        return profilerKey;
+    }
+
     protected void serverTick() {
         tickCounter++;
 
@@ -171,10 +252,12 @@ public abstract class BaseMachineBlockEntity extends BlockEntity
         // Apply upgrades
         applyUpgrades();
 
-        // Sync with client periodically
-        if (tickCounter % SYNC_INTERVAL == 0) {
+        // Sync with client periodically, phase-shifted per position
+        boolean syncTick = syncTask.isDue(level.getGameTime());
+        if (syncTick) {
             syncToClient();
         }
+        lastSyncDue = syncTick;
 
         // Mark for update if needed
         if (needsUpdate) {
@@ -426,32 +509,258 @@ public abstract class BaseMachineBlockEntity extends BlockEntity
         return hasCapacityUpgrade;
     }
 
+    // Idle sleep
+
+    /**
+     * Whether this machine may sleep at all
+     * Override to return false for machines that poll the world without a wake trigger
+     */
+    protected boolean canSleep() {
+        return true;
+    }
+
+    /**
+     * Whether this machine holds energy it would push out if a neighbour had room
+     * Such machines never sleep indefinitely, they wake every OUTPUT_RECHECK_INTERVAL ticks to try again.
+     * Matches distributeEnergy, override alongside handleEnergyDistribution.
+     */
+    protected boolean hasPendingOutput() {
+        return canOutputEnergy() && energyStorage.getEnergyStored() > 0;
+    }
+
+    /**
+     * Whether this tick did nothing useful. Energy movement and markUpdated() already count as activity.
+     * Override in subclasses with their own notion of work.
+     */
+    protected boolean isIdle() {
+        return !isActive && !isWorking;
+    }
+
+    /**
+     * Wakes the machine on inventory change, received or extracted energy, neighbour update or menu open
+     */
+    public void wake() {
+        activityThisTick = true;
+        idleTicks = 0;
+        if (sleeping) {
+            sleeping = false;
+            scheduledWakeTick = -1L;
+            MachineSleepTracker.remove(this);
+        }
+    }
+
+    /**
+     * Wakes the machine at its scheduled tick. A pending-output recheck that moves nothing goes straight back
+     * to sleep instead of idling through the full countdown again.
+     */
+    void wakeScheduled() {
+        wake();
+        if (hasPendingOutput()) {
+            idleTicks = IDLE_TICKS_BEFORE_SLEEP - 1;
+        }
+    }
+
+    private void sleep() {
+        sleeping = true;
+        idleTicks = 0;
+        MachineSleepTracker.add(this);
+    }
+
+    /**
+     * Sleeps until the given game tick, unless woken earlier
+     */
+    private void sleepUntil(long wakeTick) {
+        sleep();
+        scheduledWakeTick = wakeTick;
+        MachineSleepTracker.schedule(this, wakeTick);
+    }
+
+    public boolean isSleeping() {
+        return sleeping;
+    }
+
+    public long getScheduledWakeTick() {
+        return scheduledWakeTick;
+    }
+
     // Networking and synchronization
 
+    /**
+     * Checks if this tick was this machine's periodic sync tick
+     */
+    protected boolean isSyncTick() {
+        return lastSyncDue;
+    }
+
+    /**
+     * Queues this machine for the end-of-tick delta sync. Only changed sync fields are sent,
+     * so calling this on every work tick or transfer is cheap.
+     */
     public void markUpdated() {
         needsUpdate = true;
         if (level != null && !level.isClientSide()) {
-            level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), 3);
+            wake();
+            MachineSyncManager.queue(this);
         }
     }
 
     protected void syncToClient() {
         if (level != null && !level.isClientSide()) {
-            level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), 3);
+            MachineSyncManager.queue(this);
+        }
+    }
+
+    /**
+     * Gets the delta-synced fields, registering them on first use
+     */
+    public SyncFieldSet getSyncFields() {
+        if (syncFields == null) {
+            syncFields = new SyncFieldSet();
+            registerSyncFields(syncFields);
         }
+        return syncFields;
+    }
+
+    /**
+     * Declares the fields clients need for rendering and GUIs
+     * Override in subclasses to add fields, always calling super first so bit indices stay stable.
+     * Each field is compared by value every flush, so register typed fields rather than building a compound.
+     * Inventory contents are not included, menus sync their own slots.
+     */
+    protected void registerSyncFields(SyncFieldSet fields) {
+        fields.add("energy", ByteBufCodecs.VAR_INT,
+                        this::getSyncedEnergy, value -> energyStorage.setEnergyStored(value))
+                .add("active", ByteBufCodecs.BOOL, () -> isActive, value -> isActive = value)
+                .add("powered", ByteBufCodecs.BOOL, () -> isPowered, value -> isPowered = value)
+                .add("working", ByteBufCodecs.BOOL, () -> isWorking, value -> isWorking = value)
+                .add("workProgress", ByteBufCodecs.VAR_INT, () -> workProgress, value -> workProgress = value)
+                .add("maxWorkTime", ByteBufCodecs.VAR_INT, () -> maxWorkTime, value -> maxWorkTime = value)
+                .add("upgrades", ByteBufCodecs.VAR_INT, this::getUpgradeBits, this::setUpgradeBits);
+    }
+
+    /**
+     * The energy clients see in this machine's storage
+     * Override when the energy is held somewhere else, the client still stores it in its own storage.
+     */
+    protected int getSyncedEnergy() {
+        return energyStorage.getEnergyStored();
+    }
+
+    private int getUpgradeBits() {
+        return (hasEfficiencyUpgrade ? 1 : 0) | (hasSpeedUpgrade ? 2 : 0) | (hasCapacityUpgrade ? 4 : 0);
+    }
+
+    private void setUpgradeBits(int bits) {
+        hasEfficiencyUpgrade = (bits & 1) != 0;
+        hasSpeedUpgrade = (bits & 2) != 0;
+        hasCapacityUpgrade = (bits & 4) != 0;
     }
 
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        if (level != null && !level.isClientSide()) {
+            // Fast-forward the work missed while the chunk was unloaded
+            long elapsed = OfflineCatchUp.elapsedTicks(level, lastSimulatedTick);
+            if (elapsed > 0) {
+                catchUp(elapsed);
+                setChanged();
+            }
+            lastSimulatedTick = level.getGameTime();
+
+            MachineTickManager.register(this);
+
+            // Clients receive the full state with the chunk, deltas start from here
+            getSyncFields().captureBaseline();
+        }
+    }
+
+    /**
+     * Applies elapsedTicks of missed work in one step
+     * Override in subclasses with a closed-form version of performOperation(), limited by fuel, inputs
+     * and output space. Scheduled jobs need nothing here, their end tick has already passed.
+     */
+    protected void catchUp(long elapsedTicks) {
+        // Override in subclasses
+    }
+
+    // Packed ticking
+
+    /**
+     * Opt-in: return a new group to have every machine of this type ticked together in one loop
+     * Called once per level for the first machine of the type that loads.
+     */
+    protected MachineTickGroup<?> createTickGroup() {
+        return null;
+    }
+
+    public boolean isTickManaged() {
+        return tickGroup != null;
+    }
+
+    public MachineTickGroup<?> getTickGroup() {
+        return tickGroup;
+    }
+
+    public int getTickSlot() {
+        return tickSlot;
+    }
+
+    void setTickSlot(MachineTickGroup<?> group, int slot) {
+        this.tickGroup = group;
+        this.tickSlot = slot;
+    }
+
+    @Override
+    public void onChunkUnloaded() {
+        super.onChunkUnloaded();
+        chunkUnloading = true;
+    }
+
+    /**
+     * Whether the block entity is going away with its chunk, rather than its block being broken or replaced
+     */
+    protected boolean isChunkUnloading() {
+        return chunkUnloading;
+    }
+
+    @Override
+    public void setRemoved() {
+        super.setRemoved();
+        MachineTickManager.unregister(this);
+        if (sleeping) {
+            sleeping = false;
+            MachineSleepTracker.remove(this);
+        }
+    }
+
+    /**
+     * Chunk data carries only the synced fields, inventories and saved-only state stay on the server
+     */
     @Override
     public CompoundTag getUpdateTag(HolderLookup.Provider registries) {
         CompoundTag tag = super.getUpdateTag(registries);
-        saveAdditional(tag, registries);
+        if (level != null) {
+            RegistryFriendlyByteBuf buf = new RegistryFriendlyByteBuf(Unpooled.buffer(), level.registryAccess());
+            try {
+                getSyncFields().writeSnapshot(buf);
+                byte[] data = new byte[buf.readableBytes()];
+                buf.readBytes(data);
+                tag.putByteArray("Sync", data);
+            } finally {
+                buf.release();
+            }
+        }
         return tag;
     }
 
     @Override
     public void handleUpdateTag(CompoundTag tag, HolderLookup.Provider lookupProvider) {
-        super.handleUpdateTag(tag, lookupProvider);
-        loadAdditional(tag, lookupProvider);
+        if (level != null && tag.contains("Sync")) {
+            RegistryFriendlyByteBuf buf = new RegistryFriendlyByteBuf(
+                    Unpooled.wrappedBuffer(tag.getByteArray("Sync")), level.registryAccess());
+            getSyncFields().readSnapshot(buf);
+        }
     }
 
     @Override
@@ -461,40 +770,54 @@ public abstract class BaseMachineBlockEntity extends BlockEntity
 
     @Override
     public void onDataPacket(Connection net, ClientboundBlockEntityDataPacket pkt, HolderLookup.Provider lookupProvider) {
-        super.onDataPacket(net, pkt, lookupProvider);
+        // The packet only carries the sync fields, a full load would reset the client state it leaves out
         handleUpdateTag(pkt.getTag(), lookupProvider);
     }
 
-    // NBT serialization - FIXED for Minecraft 1.21
+    // NBT serialization - compact codec format, see CompactNbt
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int FLAG_ACTIVE = 1;
+    private static final int FLAG_POWERED = 1 << 1;
+    private static final int FLAG_WORKING = 1 << 2;
+    private static final int FLAG_EFFICIENCY_UPGRADE = 1 << 3;
+    private static final int FLAG_SPEED_UPGRADE = 1 << 4;
+    private static final int FLAG_CAPACITY_UPGRADE = 1 << 5;
+
+    /**
+     * Saved machine state. Multipliers are not saved, they are rebuilt from the upgrade flags.
+     */
+    private record SavedState(int flags, int workProgress, int maxWorkTime, long lastSimulatedTick) {
+        static final MapCodec<SavedState> CODEC = RecordCodecBuilder.mapCodec(instance -> instance.group(
+                Codec.INT.optionalFieldOf("f", 0).forGetter(SavedState::flags),
+                Codec.INT.optionalFieldOf("wp", 0).forGetter(SavedState::workProgress),
+                Codec.INT.optionalFieldOf("wt", 200).forGetter(SavedState::maxWorkTime),
+                Codec.LONG.optionalFieldOf("ls", OfflineCatchUp.NEVER_SIMULATED).forGetter(SavedState::lastSimulatedTick)
+        ).apply(instance, SavedState::new));
+    }
+
+    private int packStateFlags() {
+        return (isActive ? FLAG_ACTIVE : 0)
+                | (isPowered ? FLAG_POWERED : 0)
+                | (isWorking ? FLAG_WORKING : 0)
+                | (hasEfficiencyUpgrade ? FLAG_EFFICIENCY_UPGRADE : 0)
+                | (hasSpeedUpgrade ? FLAG_SPEED_UPGRADE : 0)
+                | (hasCapacityUpgrade ? FLAG_CAPACITY_UPGRADE : 0);
+    }
 
     @Override
     protected void saveAdditional(CompoundTag tag, HolderLookup.Provider registries) {
         super.saveAdditional(tag, registries);
+        tag.putInt(CompactNbt.VERSION_KEY, FORMAT_VERSION);
 
-        // Save energy storage
-        tag.put("EnergyStorage", energyStorage.serializeNBT());
-
-        // Save inventory
+        tag.put("E", energyStorage.serializeNBT());
         if (inventory != null) {
             tag.put("Inventory", inventory.serializeNBT(registries));
         }
 
-        // Save machine state
-        tag.putBoolean("IsActive", isActive);
-        tag.putBoolean("IsPowered", isPowered);
-        tag.putBoolean("IsWorking", isWorking);
-        tag.putInt("WorkProgress", workProgress);
-        tag.putInt("MaxWorkTime", maxWorkTime);
-
-        // Save upgrades
-        tag.putBoolean("HasEfficiencyUpgrade", hasEfficiencyUpgrade);
-        tag.putBoolean("HasSpeedUpgrade", hasSpeedUpgrade);
-        tag.putBoolean("HasCapacityUpgrade", hasCapacityUpgrade);
-
-        // Save multipliers
-        tag.putDouble("EfficiencyMultiplier", efficiencyMultiplier);
-        tag.putDouble("SpeedMultiplier", speedMultiplier);
-        tag.putDouble("CapacityMultiplier", capacityMultiplier);
+        long savedTick = level != null ? level.getGameTime() : lastSimulatedTick;
+        CompactNbt.write(SavedState.CODEC, new SavedState(packStateFlags(), workProgress, maxWorkTime, savedTick), tag);
 
         // Save additional data for subclasses
         saveAdditionalData(tag, registries);
@@ -504,35 +827,56 @@ public abstract class BaseMachineBlockEntity extends BlockEntity
     protected void loadAdditional(CompoundTag tag, HolderLookup.Provider registries) {
         super.loadAdditional(tag, registries);
 
-        // Load energy storage
+        if (CompactNbt.version(tag) == CompactNbt.LEGACY_VERSION) {
+            loadLegacyState(tag, registries);
+        } else {
+            energyStorage.deserializeNBT(tag.getCompound("E"));
+            if (inventory != null && tag.contains("Inventory")) {
+                inventory.deserializeNBT(registries, tag.getCompound("Inventory"));
+            }
+
+            CompactNbt.read(SavedState.CODEC, tag).ifPresent(state -> {
+                int flags = state.flags();
+                isActive = (flags & FLAG_ACTIVE) != 0;
+                isPowered = (flags & FLAG_POWERED) != 0;
+                isWorking = (flags & FLAG_WORKING) != 0;
+                hasEfficiencyUpgrade = (flags & FLAG_EFFICIENCY_UPGRADE) != 0;
+                hasSpeedUpgrade = (flags & FLAG_SPEED_UPGRADE) != 0;
+                hasCapacityUpgrade = (flags & FLAG_CAPACITY_UPGRADE) != 0;
+                workProgress = state.workProgress();
+                maxWorkTime = state.maxWorkTime();
+                lastSimulatedTick = state.lastSimulatedTick();
+            });
+        }
+        applyUpgrades();
+
+        // Load additional data for subclasses
+        loadAdditionalData(tag, registries);
+    }
+
+    /**
+     * Reads the string-keyed format written before FORMAT_VERSION 1
+     */
+    private void loadLegacyState(CompoundTag tag, HolderLookup.Provider registries) {
         if (tag.contains("EnergyStorage")) {
             energyStorage.deserializeNBT(tag.getCompound("EnergyStorage"));
         }
-
-        // Load inventory
         if (inventory != null && tag.contains("Inventory")) {
             inventory.deserializeNBT(registries, tag.getCompound("Inventory"));
         }
 
-        // Load machine state
         isActive = tag.getBoolean("IsActive");
         isPowered = tag.getBoolean("IsPowered");
         isWorking = tag.getBoolean("IsWorking");
         workProgress = tag.getInt("WorkProgress");
-        maxWorkTime = tag.getInt("MaxWorkTime");
+        maxWorkTime = tag.contains("MaxWorkTime") ? tag.getInt("MaxWorkTime") : 200;
+        if (tag.contains("LastSimulatedTick")) {
+            lastSimulatedTick = tag.getLong("LastSimulatedTick");
+        }
 
-        // Load upgrades
         hasEfficiencyUpgrade = tag.getBoolean("HasEfficiencyUpgrade");
         hasSpeedUpgrade = tag.getBoolean("HasSpeedUpgrade");
         hasCapacityUpgrade = tag.getBoolean("HasCapacityUpgrade");
-
-        // Load multipliers
-        efficiencyMultiplier = tag.getDouble("EfficiencyMultiplier");
-        speedMultiplier = tag.getDouble("SpeedMultiplier");
-        capacityMultiplier = tag.getDouble("CapacityMultiplier");
-
-        // Load additional data for subclasses
-        loadAdditionalData(tag, registries);
     }
 
     /**
@@ -593,7 +937,7 @@ public abstract class BaseMachineBlockEntity extends BlockEntity
     public void forceCompleteWork() {
         if (canOperate()) {
             completeWork();
-            workProgress = 0;
+            clearScheduledJob();
             needsUpdate = true;
         }
     }
@@ -602,6 +946,9 @@ public abstract class BaseMachineBlockEntity extends BlockEntity
      * Resets machine state
      */
     public void resetMachine() {
+        if (level != null) {
+            cancelScheduledJob();
+        }
         isActive = false;
         isPowered = false;
         isWorking = false;
@@ -0,0 +1,106 @@
+package com.thewheatking.minecraftfarmertechmod.common.blockentity.base;
+
+import com.thewheatking.minecraftfarmertechmod.MinecraftFarmerTechMod;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectRBTreeMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectSortedMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.level.BlockEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Server-side index of sleeping machines, woken by neighbour changes or at their scheduled game tick
+ */
+@EventBusSubscriber(modid = MinecraftFarmerTechMod.MOD_ID, bus = EventBusSubscriber.Bus.GAME)
+public class MachineSleepTracker {
+
+    private static final Map<LevelAccessor, Long2ObjectMap<BaseMachineBlockEntity>> SLEEPING = new IdentityHashMap<>();
+    private static final Map<LevelAccessor, Long2ObjectSortedMap<List<BaseMachineBlockEntity>>> SCHEDULED = new IdentityHashMap<>();
+
+    static void add(BaseMachineBlockEntity machine) {
+        Level level = machine.getLevel();
+        if (level == null || level.isClientSide()) {
+            return;
+        }
+        SLEEPING.computeIfAbsent(level, key -> new Long2ObjectOpenHashMap<>())
+                .put(machine.getBlockPos().asLong(), machine);
+    }
+
+    /**
+     * Wakes the machine at the start of the given game tick, before block entities tick
+     */
+    static void schedule(BaseMachineBlockEntity machine, long wakeTick) {
+        Level level = machine.getLevel();
+        if (level == null || level.isClientSide()) {
+            return;
+        }
+        SCHEDULED.computeIfAbsent(level, key -> new Long2ObjectRBTreeMap<>())
+                .computeIfAbsent(wakeTick, key -> new ArrayList<>())
+                .add(machine);
+    }
+
+    static void remove(BaseMachineBlockEntity machine) {
+        Long2ObjectMap<BaseMachineBlockEntity> sleeping = SLEEPING.get(machine.getLevel());
+        if (sleeping != null) {
+            sleeping.remove(machine.getBlockPos().asLong(), machine);
+        }
+    }
+
+    public static int getSleepingCount(Level level) {
+        Long2ObjectMap<BaseMachineBlockEntity> sleeping = SLEEPING.get(level);
+        return sleeping != null ? sleeping.size() : 0;
+    }
+
+    @SubscribeEvent
+    public static void onNeighborNotify(BlockEvent.NeighborNotifyEvent event) {
+        Long2ObjectMap<BaseMachineBlockEntity> sleeping = SLEEPING.get(event.getLevel());
+        if (sleeping == null || sleeping.isEmpty()) {
+            return;
+        }
+
+        BlockPos pos = event.getPos();
+        for (Direction direction : event.getNotifiedSides()) {
+            BaseMachineBlockEntity machine = sleeping.get(pos.relative(direction).asLong());
+            if (machine != null) {
+                machine.wake();
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelTick(LevelTickEvent.Pre event) {
+        Long2ObjectSortedMap<List<BaseMachineBlockEntity>> scheduled = SCHEDULED.get(event.getLevel());
+        if (scheduled == null || scheduled.isEmpty()) {
+            return;
+        }
+
+        long gameTime = event.getLevel().getGameTime();
+        while (!scheduled.isEmpty() && scheduled.firstLongKey() <= gameTime) {
+            long wakeTick = scheduled.firstLongKey();
+            for (BaseMachineBlockEntity machine : scheduled.remove(wakeTick)) {
+                // Skip entries left behind by machines that were woken early or rescheduled
+                if (machine.isSleeping() && machine.getScheduledWakeTick() == wakeTick) {
+                    machine.wakeScheduled();
+                }
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        SLEEPING.remove(event.getLevel());
+        SCHEDULED.remove(event.getLevel());
+    }
+}
@@ -0,0 +1,85 @@
+package com.thewheatking.minecraftfarmertechmod.common.blockentity.base;
+
+import net.minecraft.server.level.ServerLevel;
+
+import java.util.Arrays;
+
+/**
+ * Packed tick state for every loaded machine of one block entity type
+ */
+public abstract class MachineTickGroup<T extends BaseMachineBlockEntity> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private BaseMachineBlockEntity[] machines = new BaseMachineBlockEntity[0];
+    protected int size = 0;
+
+    // ========== MEMBERSHIP ==========
+
+    final void register(T machine) {
+        if (size == machines.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, machines.length * 2);
+            machines = Arrays.copyOf(machines, capacity);
+            grow(capacity);
+        }
+
+        int slot = size++;
+        machines[slot] = machine;
+        machine.setTickSlot(this, slot);
+        capture(slot, machine);
+    }
+
+    final void unregister(T machine) {
+        int slot = machine.getTickSlot();
+        if (slot < 0 || slot >= size || machines[slot] != machine) {
+            return;
+        }
+
+        release(slot, machine);
+        machine.setTickSlot(null, -1);
+
+        int last = --size;
+        if (slot != last) {
+            machines[slot] = machines[last];
+            move(last, slot);
+            machines[slot].setTickSlot(this, slot);
+        }
+        machines[last] = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected final T machine(int slot) {
+        return (T) machines[slot];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // ========== SUBCLASS HOOKS ==========
+
+    /**
+     * Resizes every packed array to the new capacity
+     */
+    protected abstract void grow(int capacity);
+
+    /**
+     * Copies the machine's hot fields into the arrays at slot
+     */
+    public abstract void capture(int slot, T machine);
+
+    /**
+     * Copies the arrays at slot back into the machine's fields
+     */
+    protected abstract void release(int slot, T machine);
+
+    /**
+     * Moves packed values from one slot to another, used to keep slots dense
+     */
+    protected abstract void move(int from, int to);
+
+    /**
+     * Ticks every machine in the group
+     */
+    protected abstract void tick(ServerLevel level, long gameTime);
+}
@@ -0,0 +1,101 @@
+package com.thewheatking.minecraftfarmertechmod.common.blockentity.base;
+
+import com.thewheatking.minecraftfarmertechmod.MinecraftFarmerTechMod;
+import com.thewheatking.minecraftfarmertechmod.common.util.MftProfiler;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.block.entity.BlockEntityType;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
+
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Central ticker for machines that opt into packed per-type ticking
+ */
+@EventBusSubscriber(modid = MinecraftFarmerTechMod.MOD_ID, bus = EventBusSubscriber.Bus.GAME)
+public class MachineTickManager {
+
+    private static final Map<LevelAccessor, Map<BlockEntityType<?>, MachineTickGroup<?>>> GROUPS = new IdentityHashMap<>();
+
+    /**
+     * Registers the machine with its type's group, creating the group on first use
+     * Returns false if the machine does not opt in.
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends BaseMachineBlockEntity> boolean register(T machine) {
+        Level level = machine.getLevel();
+        if (level == null || level.isClientSide()) {
+            return false;
+        }
+
+        Map<BlockEntityType<?>, MachineTickGroup<?>> groups = GROUPS.computeIfAbsent(level, key -> new LinkedHashMap<>());
+        MachineTickGroup<T> group = (MachineTickGroup<T>) groups.get(machine.getType());
+        if (group == null) {
+            group = (MachineTickGroup<T>) machine.createTickGroup();
+            if (group == null) {
+                return false;
+            }
+            groups.put(machine.getType(), group);
+        }
+
+        group.register(machine);
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T extends BaseMachineBlockEntity> void unregister(T machine) {
+        MachineTickGroup<T> group = (MachineTickGroup<T>) machine.getTickGroup();
+        if (group != null) {
+            group.unregister(machine);
+        }
+    }
+
+    public static int getManagedCount(Level level) {
+        Map<BlockEntityType<?>, MachineTickGroup<?>> groups = GROUPS.get(level);
+        if (groups == null) {
+            return 0;
+        }
+        int count = 0;
+        for (MachineTickGroup<?> group : groups.values()) {
+            count += group.size();
+        }
+        return count;
+    }
+
+    @SubscribeEvent
+    public static void onLevelTick(LevelTickEvent.Post event) {
+        if (!(event.getLevel() instanceof ServerLevel serverLevel)) {
+            return;
+        }
+
+        Map<BlockEntityType<?>, MachineTickGroup<?>> groups = GROUPS.get(serverLevel);
+        if (groups == null) {
+            return;
+        }
+
+        long gameTime = serverLevel.getGameTime();
+        for (Map.Entry<BlockEntityType<?>, MachineTickGroup<?>> entry : groups.entrySet()) {
+            MachineTickGroup<?> group = entry.getValue();
+            if (group.size() > 0) {
+                long profileStart = MftProfiler.begin();
+                group.tick(serverLevel, gameTime);
+                if (profileStart != 0L) {
+                    MftProfiler.end(MftProfiler.Category.BLOCK_ENTITY,
+                            BuiltInRegistries.BLOCK_ENTITY_TYPE.getKey(entry.getKey()) + " (grouped)", null, profileStart);
+                }
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        GROUPS.remove(event.getLevel());
+    }
+}
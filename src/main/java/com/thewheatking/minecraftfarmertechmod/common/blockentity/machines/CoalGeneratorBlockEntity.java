@@ -1,24 +1,35 @@
 package com.thewheatking.minecraftfarmertechmod.common.blockentity.machines;
 
 import com.thewheatking.minecraftfarmertechmod.common.blockentity.base.BaseMachineBlockEntity;
+import com.thewheatking.minecraftfarmertechmod.common.blockentity.base.MachineTickGroup;
+import com.thewheatking.minecraftfarmertechmod.common.util.OfflineCatchUp;
+import com.thewheatking.minecraftfarmertechmod.common.util.PeriodicTask;
 import com.thewheatking.minecraftfarmertechmod.energy.HybridEnergyStorage;
 import com.thewheatking.minecraftfarmertechmod.hybrid.HybridBlockEntities;
+import com.thewheatking.minecraftfarmertechmod.datamap.FuelRegistry;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.HolderLookup;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.item.Items;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.state.BlockState;
+import net.neoforged.neoforge.capabilities.BlockCapabilityCache;
+import net.neoforged.neoforge.capabilities.Capabilities;
 import net.neoforged.neoforge.common.CommonHooks;
+import net.neoforged.neoforge.energy.IEnergyStorage;
 import net.neoforged.neoforge.items.ItemStackHandler;
 
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * CORRECTED: Enhanced Coal Generator - Basic tier power generation with hybrid energy system
  * Burns coal and other fuel items to generate energy using the new hybrid architecture
@@ -40,6 +51,10 @@ public class CoalGeneratorBlockEntity extends BaseMachineBlockEntity {
     private int totalBurnTime = 0;
     private boolean isBurning = false;
 
+    // Neighbour energy capabilities, pushed to every tick so they are looked up once and kept valid by NeoForge
+    @Nullable
+    private List<BlockCapabilityCache<IEnergyStorage, Direction>> neighbourCaches;
+
     public CoalGeneratorBlockEntity(BlockPos pos, BlockState state) {
         super(HybridBlockEntities.HYBRID_COAL_GENERATOR.get(), pos, state,
                 ENERGY_CAPACITY, 0, ENERGY_TRANSFER, INVENTORY_SIZE); // Can't receive energy, only generate
@@ -61,6 +76,9 @@ public class CoalGeneratorBlockEntity extends BaseMachineBlockEntity {
             protected void onContentsChanged(int slot) {
                 CoalGeneratorBlockEntity.this.setChanged();
                 CoalGeneratorBlockEntity.this.markUpdated();
+                if (isTickManaged()) {
+                    managedGroup().fuelReady[getTickSlot()] = !getStackInSlot(FUEL_SLOT).isEmpty();
+                }
             }
 
             @Override
@@ -74,7 +92,7 @@ public class CoalGeneratorBlockEntity extends BaseMachineBlockEntity {
     @Override
     protected boolean canOperate() {
         // Can operate if we have fuel or are currently burning, and have space for energy
-        return (isBurning || !inventory.getStackInSlot(FUEL_SLOT).isEmpty())
+        return (isBurning() || !inventory.getStackInSlot(FUEL_SLOT).isEmpty())
                 && energyStorage.getEnergyStored() < energyStorage.getMaxEnergyStored();
     }
 
@@ -114,8 +132,7 @@ public class CoalGeneratorBlockEntity extends BaseMachineBlockEntity {
                 isWorking = true;
 
                 // Consume one item
-                fuelStack.shrink(1);
-                inventory.setStackInSlot(FUEL_SLOT, fuelStack);
+                FuelRegistry.consume(inventory, FUEL_SLOT, 1);
                 markUpdated();
             }
         }
@@ -126,6 +143,39 @@ public class CoalGeneratorBlockEntity extends BaseMachineBlockEntity {
         }
     }
 
+    @Override
+    protected void catchUp(long elapsedTicks) {
+        // Energy accepted per burning tick, then how many ticks until the buffer is full
+        int perTick = energyStorage.receiveEnergy((int)(ENERGY_GENERATION_RATE * efficiencyMultiplier), true);
+        int space = energyStorage.getMaxEnergyStored() - energyStorage.getEnergyStored();
+        if (space <= 0) {
+            return;
+        }
+        long ticksToFill = perTick > 0 ? (space + perTick - 1) / perTick : elapsedTicks;
+
+        ItemStack fuelStack = inventory.getStackInSlot(FUEL_SLOT);
+        OfflineCatchUp.BurnResult burn = OfflineCatchUp.burn(Math.min(elapsedTicks, ticksToFill),
+                isBurning ? burnTime : 0, getBurnTime(fuelStack.getItem()), fuelStack.getCount());
+        if (burn.ticks() <= 0) {
+            return;
+        }
+
+        energyStorage.setEnergyStored(energyStorage.getEnergyStored() + (int) Math.min(space, perTick * burn.ticks()));
+        if (burn.itemsConsumed() > 0) {
+            totalBurnTime = getBurnTime(fuelStack.getItem());
+            maxWorkTime = totalBurnTime;
+            FuelRegistry.consume(inventory, FUEL_SLOT, burn.itemsConsumed());
+        }
+
+        burnTime = burn.remainingBurnTime();
+        isBurning = burnTime > 0;
+        isWorking = isBurning;
+        workProgress = burnTime;
+        if (!isBurning) {
+            totalBurnTime = 0;
+        }
+    }
+
     @Override
     protected boolean canOutputEnergy(Direction direction) {
         // Generators can output energy on all sides
@@ -138,6 +188,31 @@ public class CoalGeneratorBlockEntity extends BaseMachineBlockEntity {
         return false;
     }
 
+    @Override
+    protected void distributeEnergy() {
+        if (!(level instanceof ServerLevel serverLevel) || energyStorage.getEnergyStored() <= 0) {
+            return;
+        }
+        if (neighbourCaches == null) {
+            neighbourCaches = new ArrayList<>(6);
+            for (Direction direction : Direction.values()) {
+                neighbourCaches.add(BlockCapabilityCache.create(Capabilities.EnergyStorage.BLOCK, serverLevel,
+                        worldPosition.relative(direction), direction.getOpposite()));
+            }
+        }
+
+        for (BlockCapabilityCache<IEnergyStorage, Direction> cache : neighbourCaches) {
+            IEnergyStorage neighbour = cache.getCapability();
+            if (neighbour == null || !neighbour.canReceive()) continue;
+
+            int accepted = neighbour.receiveEnergy(Math.min(energyMaxExtract, energyStorage.getEnergyStored()), true);
+            if (accepted > 0) {
+                neighbour.receiveEnergy(energyStorage.extractEnergy(accepted, false), false);
+                if (energyStorage.getEnergyStored() <= 0) break;
+            }
+        }
+    }
+
     @Override
     protected int getEnergyPerTick() {
         // Generators don't consume energy, they produce it
@@ -150,30 +225,100 @@ public class CoalGeneratorBlockEntity extends BaseMachineBlockEntity {
         return true;
     }
 
+    // ========== PACKED TICKING ==========
+
+    @Override
+    protected MachineTickGroup<?> createTickGroup() {
+        return new CoalGeneratorTickGroup();
+    }
+
+    private CoalGeneratorTickGroup managedGroup() {
+        return (CoalGeneratorTickGroup) getTickGroup();
+    }
+
+    void captureTickState(CoalGeneratorTickGroup group, int slot) {
+        applyUpgrades();
+        group.burnTime[slot] = isBurning ? burnTime : 0;
+        group.totalBurnTime[slot] = totalBurnTime;
+        group.generation[slot] = getEnergyGenerationRate();
+        group.upkeepPhase[slot] = PeriodicTask.phaseFor(worldPosition, CoalGeneratorTickGroup.UPKEEP_INTERVAL);
+        group.fuelReady[slot] = !inventory.getStackInSlot(FUEL_SLOT).isEmpty();
+        group.storages[slot] = energyStorage;
+    }
+
+    void releaseTickState(CoalGeneratorTickGroup group, int slot) {
+        burnTime = group.burnTime[slot];
+        totalBurnTime = group.totalBurnTime[slot];
+        isBurning = burnTime > 0;
+    }
+
+    /**
+     * Lights the next fuel item for a managed generator, mirroring performOperation
+     */
+    void igniteManaged(CoalGeneratorTickGroup group, int slot) {
+        ItemStack fuelStack = inventory.getStackInSlot(FUEL_SLOT);
+        int fuelBurnTime = getBurnTime(fuelStack.getItem());
+        if (fuelBurnTime <= 0) {
+            group.fuelReady[slot] = false;
+            return;
+        }
+
+        group.burnTime[slot] = fuelBurnTime;
+        group.totalBurnTime[slot] = fuelBurnTime;
+        maxWorkTime = fuelBurnTime;
+        isWorking = true;
+
+        FuelRegistry.consume(inventory, FUEL_SLOT, 1);
+        markUpdated();
+    }
+
+    void onManagedBurnOut() {
+        isWorking = false;
+        markUpdated();
+    }
+
+    void pushEnergyManaged() {
+        distributeEnergy();
+    }
+
+    /**
+     * Periodic state refresh for a managed generator, standing in for the per-tick bookkeeping in serverTick
+     */
+    void upkeepManaged(CoalGeneratorTickGroup group, int slot) {
+        applyUpgrades();
+        group.generation[slot] = getEnergyGenerationRate();
+
+        boolean wasActive = isActive;
+        isActive = canOperate();
+        isPowered = energyStorage.getEnergyStored() > 0;
+        isWorking = group.burnTime[slot] > 0;
+        workProgress = group.burnTime[slot];
+        if (wasActive != isActive) {
+            onActiveStateChanged(isActive);
+        }
+
+        syncToClient();
+    }
+
     // Fuel handling methods
     private boolean isFuelItem(ItemStack stack) {
         return getBurnTime(stack.getItem()) > 0;
     }
 
     private int getBurnTime(Item item) {
-        // Burn times for different fuels (in ticks)
-        if (item == Items.COAL) return 1600;
-        if (item == Items.CHARCOAL) return 1600;
-        if (item == Items.COAL_BLOCK) return 16000;
-        if (item == Items.STICK) return 100;
-        if (item == Items.WOODEN_PICKAXE || item == Items.WOODEN_AXE || item == Items.WOODEN_SHOVEL) return 200;
-        return 0;
+        // Burn times (in ticks) come from the generator_fuels data map, vanilla furnace fuels otherwise
+        return FuelRegistry.getBurnTime(item);
     }
 
     // Static tick method for block entity ticker
     public static void tick(Level level, BlockPos pos, BlockState state, CoalGeneratorBlockEntity blockEntity) {
         if (level.isClientSide()) {
             blockEntity.clientTick();
-        } else {
+        } else if (!blockEntity.isTickManaged()) {
             boolean wasLit = blockEntity.isBurning();
 
-            // Call the base machine tick
-            blockEntity.serverTick();
+            // Call the base machine tick, skipped while asleep
+            blockEntity.tickIfAwake();
 
             // Update block state if burning state changed
             if (wasLit != blockEntity.isBurning()) {
@@ -188,9 +333,9 @@ public class CoalGeneratorBlockEntity extends BaseMachineBlockEntity {
     @Override
     protected void saveAdditionalData(CompoundTag tag, HolderLookup.Provider registries) {
         super.saveAdditionalData(tag, registries);
-        tag.putInt("BurnTime", burnTime);
-        tag.putInt("TotalBurnTime", totalBurnTime);
-        tag.putBoolean("IsBurning", isBurning);
+        tag.putInt("BurnTime", getBurnTime());
+        tag.putInt("TotalBurnTime", getTotalBurnTime());
+        tag.putBoolean("IsBurning", isBurning());
     }
 
     @Override
@@ -206,6 +351,10 @@ public class CoalGeneratorBlockEntity extends BaseMachineBlockEntity {
             workProgress = burnTime;
             isWorking = true;
         }
+
+        if (isTickManaged()) {
+            managedGroup().capture(getTickSlot(), this);
+        }
     }
 
     // GUI creation
@@ -222,26 +371,29 @@ public class CoalGeneratorBlockEntity extends BaseMachineBlockEntity {
     }
 
     // Getters for GUI display
+    // Read through the tick group while managed, the fields are only current while unmanaged
     public boolean isBurning() {
-        return isBurning;
+        return isTickManaged() ? managedGroup().burnTime[getTickSlot()] > 0 : isBurning;
     }
 
     public int getBurnTime() {
-        return burnTime;
+        return isTickManaged() ? managedGroup().burnTime[getTickSlot()] : burnTime;
     }
 
     public int getTotalBurnTime() {
-        return totalBurnTime;
+        return isTickManaged() ? managedGroup().totalBurnTime[getTickSlot()] : totalBurnTime;
     }
 
     public float getBurnProgress() {
-        if (totalBurnTime == 0) return 0.0f;
-        return (float) burnTime / totalBurnTime;
+        int total = getTotalBurnTime();
+        if (total == 0) return 0.0f;
+        return (float) getBurnTime() / total;
     }
 
     public int getBurnProgressScaled(int scale) {
-        if (totalBurnTime == 0) return 0;
-        return burnTime * scale / totalBurnTime;
+        int total = getTotalBurnTime();
+        if (total == 0) return 0;
+        return getBurnTime() * scale / total;
     }
 
     public int getEnergyGenerationRate() {
@@ -262,8 +414,8 @@ public class CoalGeneratorBlockEntity extends BaseMachineBlockEntity {
     public String getDebugInfo() {
         return String.format("%s, Burning: %s (%d/%d ticks), Generation: %d FE/t (%.1f%% efficiency)",
                 super.getDebugInfo(),
-                isBurning ? "Yes" : "No",
-                burnTime, totalBurnTime,
+                isBurning() ? "Yes" : "No",
+                getBurnTime(), getTotalBurnTime(),
                 getEnergyGenerationRate(),
                 efficiencyMultiplier * 100);
     }
@@ -0,0 +1,86 @@
+package com.thewheatking.minecraftfarmertechmod.common.blockentity.machines;
+
+import com.thewheatking.minecraftfarmertechmod.common.blockentity.base.MachineTickGroup;
+import com.thewheatking.minecraftfarmertechmod.energy.HybridEnergyStorage;
+import net.minecraft.server.level.ServerLevel;
+
+import java.util.Arrays;
+
+/**
+ * Packed ticking for hybrid coal generators
+ */
+public class CoalGeneratorTickGroup extends MachineTickGroup<CoalGeneratorBlockEntity> {
+
+    static final int UPKEEP_INTERVAL = 20; // Upgrades, state flags and client sync
+
+    int[] burnTime = new int[0];
+    int[] totalBurnTime = new int[0];
+    int[] generation = new int[0];
+    int[] upkeepPhase = new int[0];
+    boolean[] fuelReady = new boolean[0];
+    HybridEnergyStorage[] storages = new HybridEnergyStorage[0];
+
+    @Override
+    protected void grow(int capacity) {
+        burnTime = Arrays.copyOf(burnTime, capacity);
+        totalBurnTime = Arrays.copyOf(totalBurnTime, capacity);
+        generation = Arrays.copyOf(generation, capacity);
+        upkeepPhase = Arrays.copyOf(upkeepPhase, capacity);
+        fuelReady = Arrays.copyOf(fuelReady, capacity);
+        storages = Arrays.copyOf(storages, capacity);
+    }
+
+    @Override
+    public void capture(int slot, CoalGeneratorBlockEntity machine) {
+        machine.captureTickState(this, slot);
+    }
+
+    @Override
+    protected void release(int slot, CoalGeneratorBlockEntity machine) {
+        machine.releaseTickState(this, slot);
+        storages[slot] = null;
+    }
+
+    @Override
+    protected void move(int from, int to) {
+        burnTime[to] = burnTime[from];
+        totalBurnTime[to] = totalBurnTime[from];
+        generation[to] = generation[from];
+        upkeepPhase[to] = upkeepPhase[from];
+        fuelReady[to] = fuelReady[from];
+        storages[to] = storages[from];
+        storages[from] = null;
+    }
+
+    @Override
+    protected void tick(ServerLevel level, long gameTime) {
+        for (int i = 0; i < size; i++) {
+            HybridEnergyStorage storage = storages[i];
+
+            // Same rules as CoalGeneratorBlockEntity#performOperation: nothing burns while the buffer is full
+            if (storage.getEnergyStored() < storage.getMaxEnergyStored()) {
+                if (burnTime[i] > 0) {
+                    burnTime[i]--;
+                    storage.receiveEnergy(generation[i], false);
+
+                    if (burnTime[i] == 0) {
+                        totalBurnTime[i] = 0;
+                        machine(i).onManagedBurnOut();
+                    }
+                }
+
+                if (burnTime[i] == 0 && fuelReady[i]) {
+                    machine(i).igniteManaged(this, i);
+                }
+            }
+
+            if (storage.getEnergyStored() > 0) {
+                machine(i).pushEnergyManaged();
+            }
+
+            if ((gameTime + upkeepPhase[i]) % UPKEEP_INTERVAL == 0) {
+                machine(i).upkeepManaged(this, i);
+            }
+        }
+    }
+}
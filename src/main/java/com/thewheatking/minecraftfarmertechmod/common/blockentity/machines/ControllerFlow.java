@@ -0,0 +1,87 @@
+package com.thewheatking.minecraftfarmertechmod.common.blockentity.machines;
+
+import com.thewheatking.minecraftfarmertechmod.config.SideConfig;
+import net.minecraft.core.Direction;
+import net.neoforged.neoforge.energy.IEnergyStorage;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Per-tick flow budget of the energy controller and the rules its ports route by
+ * The budget rolls over lazily on the first transfer of a tick, so a sleeping controller still limits correctly.
+ */
+final class ControllerFlow {
+
+    private long budgetTick = -1L;
+    private int flowThisTick = 0;
+    private int flowLastTick = 0;
+    private boolean forwarding = false; // Set while a transfer is in progress, refuses re-entrant calls
+
+    /**
+     * Starts a new flow budget on the first transfer of each game tick
+     */
+    private void rollBudget(long gameTime) {
+        if (gameTime != budgetTick) {
+            flowLastTick = gameTime == budgetTick + 1 ? flowThisTick : 0;
+            flowThisTick = 0;
+            budgetTick = gameTime;
+        }
+    }
+
+    int remainingBudget(long gameTime, int limit) {
+        rollBudget(gameTime);
+        return Math.max(0, limit - flowThisTick);
+    }
+
+    int getFlowLastTick(long gameTime) {
+        if (gameTime == budgetTick) {
+            return flowLastTick;
+        }
+        // No transfer yet this tick, the open budget belongs to last tick if it is one tick old
+        return gameTime == budgetTick + 1 ? flowThisTick : 0;
+    }
+
+    /**
+     * Sides on the same cable network, energy is never passed back into its own network
+     */
+    static boolean sameNetwork(Map<Direction, ?> sideNetworks, Direction a, Direction b) {
+        Object network = sideNetworks.get(a);
+        return network != null && network == sideNetworks.get(b);
+    }
+
+    /**
+     * Moves energy between one side and the neighbours on the others, within the budget left this tick
+     * Pushes come in on input sides and go to output sides, pulls leave by an output side and draw from input sides.
+     *
+     * @param pull true to extract from the other sides, false to push into them
+     */
+    int transfer(long gameTime, int limit, SideConfig sides, Map<Direction, ?> sideNetworks,
+                 Function<Direction, IEnergyStorage> neighbours, Direction from, int amount, boolean pull, boolean simulate) {
+        if (forwarding || amount <= 0) return 0;
+        if (pull ? !sides.canOutputEnergy(from) : !sides.canInputEnergy(from)) return 0;
+
+        int budget = Math.min(amount, remainingBudget(gameTime, limit));
+        int moved = 0;
+        forwarding = true;
+        try {
+            for (Direction side : Direction.values()) {
+                if (moved >= budget) break;
+                if (side == from || sameNetwork(sideNetworks, side, from)) continue;
+                if (pull ? !sides.canInputEnergy(side) : !sides.canOutputEnergy(side)) continue;
+
+                IEnergyStorage other = neighbours.apply(side);
+                if (other == null) continue;
+                moved += pull ? other.extractEnergy(budget - moved, simulate)
+                        : other.receiveEnergy(budget - moved, simulate);
+            }
+        } finally {
+            forwarding = false;
+        }
+
+        if (!simulate) {
+            flowThisTick += moved;
+        }
+        return moved;
+    }
+}
@@ -1,6 +1,12 @@
 package com.thewheatking.minecraftfarmertechmod.common.blockentity.machines;
 
 import com.thewheatking.minecraftfarmertechmod.common.blockentity.base.BaseMachineBlockEntity;
+import com.thewheatking.minecraftfarmertechmod.common.blockentity.transmission.EnergyTransmissionBlockEntity;
+import com.thewheatking.minecraftfarmertechmod.common.history.EnergyHistoryStore;
+import com.thewheatking.minecraftfarmertechmod.common.history.HistorySlice;
+import com.thewheatking.minecraftfarmertechmod.common.sync.SyncFieldSet;
+import com.thewheatking.minecraftfarmertechmod.common.util.TimeSeries;
+import com.thewheatking.minecraftfarmertechmod.datamap.FuelRegistry;
 import com.thewheatking.minecraftfarmertechmod.hybrid.HybridBlockEntities;
 import com.thewheatking.minecraftfarmertechmod.hybrid.HybridMenuTypes;
 import net.minecraft.core.BlockPos;
@@ -8,17 +14,18 @@ import net.minecraft.core.Direction;
 import net.minecraft.core.HolderLookup;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.item.Item;
-import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.item.Items;
-import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.state.BlockState;
+import net.neoforged.neoforge.capabilities.BlockCapabilityCache;
 import net.neoforged.neoforge.capabilities.Capabilities;
 import net.neoforged.neoforge.energy.IEnergyStorage;
 
+import javax.annotation.Nullable;
 import java.util.*;
 
 /**
@@ -29,7 +36,7 @@ import java.util.*;
  * TAB 2 - Fuel Database: Search items to see their energy generation values
  *
  * • Must be placed between two cables (cables on different sides)
- * • Real-time energy flow monitoring (input/output amounts)
+ * • Energy passes through the analyzer, so input/output amounts are metered, not estimated
  * • Cable efficiency reports and loss calculations
  * • Fuel item database with search functionality
  * • Only shows items that can actually generate energy
@@ -47,8 +54,6 @@ public class EnergyAnalyzerBlockEntity extends BaseMachineBlockEntity {
     private static final int INVENTORY_SIZE = 9;             // Upgrade/component slots
 
     // Cable Connection State
-    private Direction inputCableSide = null;
-    private Direction outputCableSide = null;
     private boolean hasTwoCables = false;
     private boolean isAnalyzing = false;
 
@@ -59,11 +64,15 @@ public class EnergyAnalyzerBlockEntity extends BaseMachineBlockEntity {
     private float cableEfficiency = 100.0f;     // Efficiency percentage
     private int energyLoss = 0;                  // FE/tick lost to inefficiency
 
-    // Historical Data
-    private final Queue<Integer> inputHistory = new LinkedList<>();
-    private final Queue<Integer> outputHistory = new LinkedList<>();
-    private final Queue<Float> efficiencyHistory = new LinkedList<>();
+    // Pass-through metering, counted by the ports as energy actually moves
+    private final Map<Direction, FlowPort> ports = new EnumMap<>(Direction.class);
+    private final PassThroughMeter meter = new PassThroughMeter(ENERGY_TRANSFER_RATE);
+
+    // Historical Data (one sample per tick, plus second/minute/hour tiers)
     private static final int MAX_HISTORY_SIZE = 60;  // 3 seconds of data
+    private final TimeSeries inputHistory = new TimeSeries(MAX_HISTORY_SIZE, 20, MAX_HISTORY_SIZE, TimeSeries.DEFAULT_EMA_ALPHA);
+    private final TimeSeries outputHistory = new TimeSeries(MAX_HISTORY_SIZE, 20, MAX_HISTORY_SIZE, TimeSeries.DEFAULT_EMA_ALPHA);
+    private final TimeSeries efficiencyHistory = new TimeSeries(MAX_HISTORY_SIZE, 20, MAX_HISTORY_SIZE, TimeSeries.DEFAULT_EMA_ALPHA);
 
     // Statistics
     private long totalEnergyTransferred = 0L;
@@ -75,48 +84,26 @@ public class EnergyAnalyzerBlockEntity extends BaseMachineBlockEntity {
     private int analysisUpdateCounter = 0;
     private static final int ANALYSIS_UPDATE_INTERVAL = 5; // Update every 5 ticks
 
-    // Fuel Database (Tab 2) - Built-in fuel value database
-    private static final Map<Item, FuelData> FUEL_DATABASE = new HashMap<>();
+    // Fuel Database (Tab 2) - backed by the shared FuelRegistry
     private String currentSearchQuery = "";
-    private List<FuelData> searchResults = new ArrayList<>();
-
-    // Fuel Data Structure
-    public static class FuelData {
-        public final Item item;
-        public final String itemName;
-        public final int burnTime;           // Ticks
-        public final int totalFEGenerated;   // Total FE from full burn
-        public final int fePerTick;          // FE generated per tick
-        public final String fuelType;        // Coal, Wood, etc.
-
-        public FuelData(Item item, String itemName, int burnTime, int fePerTick, String fuelType) {
-            this.item = item;
-            this.itemName = itemName;
-            this.burnTime = burnTime;
-            this.fePerTick = fePerTick;
-            this.totalFEGenerated = burnTime * fePerTick;
-            this.fuelType = fuelType;
-        }
-    }
+    private List<FuelRegistry.Fuel> searchResults = List.of();
+    private int searchRevision = -1;    // FuelRegistry revision the results were computed for
 
     public EnergyAnalyzerBlockEntity(BlockPos pos, BlockState state) {
         super(HybridBlockEntities.ENERGY_ANALYZER.get(), pos, state,
                 ENERGY_CAPACITY, ENERGY_TRANSFER_RATE, ENERGY_TRANSFER_RATE, INVENTORY_SIZE);
-
-        initializeFuelDatabase();
     }
 
     @Override
-    public void serverTick(Level level, BlockPos pos, BlockState state) {
-        super.serverTick(level, pos, state);
-
-        // Scan for connected cables
-        scanConnectedCables();
+    protected void serverTick() {
+        // Rescan neighbours on the statistics interval, the ports keep their own capability caches
+        if (analysisUpdateCounter == 0) {
+            scanConnectedCables();
+        }
 
-        // Perform energy flow analysis if we have two cables
-        if (hasTwoCables) {
-            performEnergyAnalysis();
-        } else {
+        // Analysis runs in performOperation, without a powered cable pair the counts are dropped
+        super.serverTick();
+        if (!canOperate()) {
             resetAnalysisData();
         }
 
@@ -131,7 +118,7 @@ public class EnergyAnalyzerBlockEntity extends BaseMachineBlockEntity {
         isWorking = isAnalyzing && hasTwoCables;
 
         // Sync to client if state changed
-        if (wasWorking != isWorking && tickCounter % SYNC_INTERVAL == 0) {
+        if (wasWorking != isWorking && isSyncTick()) {
             setChanged();
             syncToClient();
         }
@@ -144,16 +131,20 @@ public class EnergyAnalyzerBlockEntity extends BaseMachineBlockEntity {
         Direction newInputSide = null;
         Direction newOutputSide = null;
         int cableCount = 0;
+        boolean keepsInput = false;
+        boolean keepsOutput = false;
 
         for (Direction direction : Direction.values()) {
             BlockPos neighborPos = worldPosition.relative(direction);
 
-            // Check if neighbor has energy capability (is a cable or energy device)
-            var energyCap = level.getCapability(Capabilities.EnergyStorage.BLOCK,
-                    neighborPos, direction.getOpposite());
+            // Check if neighbor is a cable or has energy capability
+            boolean connected = level.getBlockEntity(neighborPos) instanceof EnergyTransmissionBlockEntity
+                    || level.getCapability(Capabilities.EnergyStorage.BLOCK, neighborPos, direction.getOpposite()) != null;
 
-            if (energyCap != null) {
+            if (connected) {
                 cableCount++;
+                keepsInput |= direction == meter.getInputSide();
+                keepsOutput |= direction == meter.getOutputSide();
                 if (newInputSide == null) {
                     newInputSide = direction;
                 } else if (newOutputSide == null) {
@@ -162,55 +153,50 @@ public class EnergyAnalyzerBlockEntity extends BaseMachineBlockEntity {
             }
         }
 
+        // Keep the current pair (and the flow direction learned for it) while both cables are still there
+        if (keepsInput && keepsOutput) {
+            newInputSide = meter.getInputSide();
+            newOutputSide = meter.getOutputSide();
+        }
+
         // Update cable connection state
-        inputCableSide = newInputSide;
-        outputCableSide = newOutputSide;
-        hasTwoCables = (cableCount >= 2 && inputCableSide != null && outputCableSide != null);
+        boolean sidesChanged = meter.setSides(newInputSide, newOutputSide);
+        hasTwoCables = (cableCount >= 2 && newInputSide != null && newOutputSide != null);
 
         if (!hasTwoCables) {
             isAnalyzing = false;
         }
+
+        // Neighbours must look up the ports again
+        if (sidesChanged) {
+            invalidateCapabilities();
+        }
     }
 
     /**
      * Perform energy flow analysis between the two connected cables
      */
     private void performEnergyAnalysis() {
-        if (!hasTwoCables || inputCableSide == null || outputCableSide == null) return;
+        if (!hasTwoCables || meter.getInputSide() == null || meter.getOutputSide() == null) return;
 
         isAnalyzing = true;
 
-        // Get energy capabilities of both cables
-        BlockPos inputPos = worldPosition.relative(inputCableSide);
-        BlockPos outputPos = worldPosition.relative(outputCableSide);
-
-        var inputCap = level.getCapability(Capabilities.EnergyStorage.BLOCK,
-                inputPos, inputCableSide.getOpposite());
-        var outputCap = level.getCapability(Capabilities.EnergyStorage.BLOCK,
-                outputPos, outputCableSide.getOpposite());
-
-        if (inputCap != null && outputCap != null) {
-            // Measure energy flow by monitoring energy transfer
-            measureEnergyFlow(inputCap, outputCap);
+        // Take the counts the ports made since the last tick
+        collectFlowCounters();
 
-            // Calculate efficiency and losses
-            calculateEfficiency();
+        // Calculate efficiency and losses
+        calculateEfficiency();
 
-            // Update historical data
-            updateHistoricalData();
-        }
+        // Update historical data
+        updateHistoricalData();
     }
 
     /**
-     * Measure energy flow between input and output cables
+     * Turn the per-tick port counters into this tick's flow and start the next tick from zero
      */
-    private void measureEnergyFlow(IEnergyStorage inputCable, IEnergyStorage outputCable) {
-        // Estimate input by checking how much energy the input cable can provide
-        energyInput = Math.min(ENERGY_TRANSFER_RATE, inputCable.extractEnergy(Integer.MAX_VALUE, true));
-
-        // Estimate output by checking how much energy the output cable can accept
-        int outputCapacity = outputCable.receiveEnergy(Integer.MAX_VALUE, true);
-        energyOutput = Math.min(energyInput, outputCapacity);
+    private void collectFlowCounters() {
+        energyInput = (int) Math.min(Integer.MAX_VALUE, meter.getDrawn());
+        energyOutput = meter.getPassed();
 
         // Calculate throughput
         energyThroughput = energyOutput;
@@ -220,6 +206,8 @@ public class EnergyAnalyzerBlockEntity extends BaseMachineBlockEntity {
 
         // Update totals
         totalEnergyTransferred += energyThroughput;
+
+        meter.resetCounters();
     }
 
     /**
@@ -240,21 +228,10 @@ public class EnergyAnalyzerBlockEntity extends BaseMachineBlockEntity {
      * Update historical data for trending
      */
     private void updateHistoricalData() {
-        // Add new data points
-        inputHistory.offer(energyInput);
-        outputHistory.offer(energyOutput);
-        efficiencyHistory.offer(cableEfficiency);
-
-        // Maintain history size
-        while (inputHistory.size() > MAX_HISTORY_SIZE) {
-            inputHistory.poll();
-        }
-        while (outputHistory.size() > MAX_HISTORY_SIZE) {
-            outputHistory.poll();
-        }
-        while (efficiencyHistory.size() > MAX_HISTORY_SIZE) {
-            efficiencyHistory.poll();
-        }
+        // Rings overwrite the oldest sample, nothing to trim
+        inputHistory.add(energyInput);
+        outputHistory.add(energyOutput);
+        efficiencyHistory.add(cableEfficiency);
     }
 
     /**
@@ -262,10 +239,12 @@ public class EnergyAnalyzerBlockEntity extends BaseMachineBlockEntity {
      */
     private void updateAnalysisStatistics() {
         if (!efficiencyHistory.isEmpty()) {
-            averageEfficiency = (float) efficiencyHistory.stream()
-                    .mapToDouble(Float::doubleValue)
-                    .average()
-                    .orElse(100.0);
+            averageEfficiency = (float) efficiencyHistory.average();
+        }
+
+        // Long-term history goes to disk: input, output, loss, efficiency
+        if (hasTwoCables) {
+            EnergyHistoryStore.record(level, worldPosition, energyInput, energyOutput, energyLoss, cableEfficiency);
         }
     }
 
@@ -279,6 +258,103 @@ public class EnergyAnalyzerBlockEntity extends BaseMachineBlockEntity {
         energyLoss = 0;
         cableEfficiency = 100.0f;
         isAnalyzing = false;
+        meter.resetCounters();
+    }
+
+    // ========== PASS-THROUGH PORTS ==========
+
+    /**
+     * The two cable sides get a port each, other sides still reach the analyzer's own buffer
+     */
+    @Override
+    public IEnergyStorage getEnergyStorage(@Nullable Direction side) {
+        if (side != null && hasTwoCables && meter.otherSide(side) != null) {
+            return ports.computeIfAbsent(side, FlowPort::new);
+        }
+        return energyStorage;
+    }
+
+    /**
+     * One side of the pass-through. Energy received here goes straight into the neighbour on the other
+     * cable side and extraction here pulls from it, so nothing is buffered and every count is exact.
+     * Only the learned direction is open, so energy the far side pushes back is refused.
+     */
+    private final class FlowPort implements IEnergyStorage {
+        private final Direction side;
+        private BlockCapabilityCache<IEnergyStorage, Direction> neighbour;
+
+        private FlowPort(Direction side) {
+            this.side = side;
+        }
+
+        @Nullable
+        private IEnergyStorage neighbour() {
+            if (neighbour == null) {
+                if (!(level instanceof ServerLevel serverLevel)) return null;
+                neighbour = BlockCapabilityCache.create(Capabilities.EnergyStorage.BLOCK, serverLevel,
+                        worldPosition.relative(side), side.getOpposite());
+            }
+            IEnergyStorage storage = neighbour.getCapability();
+            if (storage != null) return storage;
+
+            // Cables register no block capability, the meter reaches their buffer directly
+            return level.getBlockEntity(worldPosition.relative(side)) instanceof EnergyTransmissionBlockEntity cable
+                    ? cable.getEnergyStorage(side.getOpposite()) : null;
+        }
+
+        @Nullable
+        private IEnergyStorage otherSide() {
+            Direction other = meter.otherSide(side);
+            return other != null ? ports.computeIfAbsent(other, FlowPort::new).neighbour() : null;
+        }
+
+        /**
+         * Loss fraction of the cable feeding this side, what it spends beyond what arrives here
+         */
+        private double feedLoss() {
+            return level != null && level.getBlockEntity(worldPosition.relative(side)) instanceof EnergyTransmissionBlockEntity cable
+                    ? cable.getLossMultiplier() : 0.0;
+        }
+
+        @Override
+        public int receiveEnergy(int maxReceive, boolean simulate) {
+            IEnergyStorage target = otherSide();
+            if (target == null || !meter.canEnter(side)) return 0;
+
+            int passed = meter.pass(side, target, maxReceive, simulate, feedLoss());
+            if (!simulate && passed > 0) {
+                wake();
+            }
+            return passed;
+        }
+
+        @Override
+        public int extractEnergy(int maxExtract, boolean simulate) {
+            IEnergyStorage source = otherSide();
+            if (source == null) return 0;
+
+            int passed = meter.pull(side, source, maxExtract, simulate);
+            if (!simulate && passed > 0) {
+                wake();
+            }
+            return passed;
+        }
+
+        // The port holds nothing, it reports an empty buffer of one tick's transfer
+        @Override
+        public int getEnergyStored() { return 0; }
+
+        @Override
+        public int getMaxEnergyStored() { return ENERGY_TRANSFER_RATE; }
+
+        @Override
+        public boolean canExtract() {
+            Direction other = meter.otherSide(side);
+            return other != null && meter.canEnter(other) && otherSide() != null;
+        }
+
+        @Override
+        public boolean canReceive() { return meter.canEnter(side) && otherSide() != null; }
     }
 
     @Override
@@ -288,7 +364,7 @@ public class EnergyAnalyzerBlockEntity extends BaseMachineBlockEntity {
 
     @Override
     protected void performOperation() {
-        // Main operation logic is handled in serverTick
+        performEnergyAnalysis();
     }
 
     @Override
@@ -303,81 +379,36 @@ public class EnergyAnalyzerBlockEntity extends BaseMachineBlockEntity {
 
     // ========== FUEL DATABASE SYSTEM ==========
 
-    /**
-     * Initialize the built-in fuel database
-     */
-    private void initializeFuelDatabase() {
-        if (!FUEL_DATABASE.isEmpty()) return; // Already initialized
-
-        // Coal and Charcoal
-        FUEL_DATABASE.put(Items.COAL, new FuelData(Items.COAL, "Coal", 1600, 40, "Coal"));
-        FUEL_DATABASE.put(Items.CHARCOAL, new FuelData(Items.CHARCOAL, "Charcoal", 1600, 40, "Coal"));
-        FUEL_DATABASE.put(Items.COAL_BLOCK, new FuelData(Items.COAL_BLOCK, "Coal Block", 16000, 40, "Coal"));
-
-        // Wood Items
-        FUEL_DATABASE.put(Items.STICK, new FuelData(Items.STICK, "Stick", 100, 20, "Wood"));
-        FUEL_DATABASE.put(Items.WOODEN_PICKAXE, new FuelData(Items.WOODEN_PICKAXE, "Wooden Pickaxe", 200, 20, "Wood"));
-        FUEL_DATABASE.put(Items.WOODEN_AXE, new FuelData(Items.WOODEN_AXE, "Wooden Axe", 200, 20, "Wood"));
-        FUEL_DATABASE.put(Items.WOODEN_SHOVEL, new FuelData(Items.WOODEN_SHOVEL, "Wooden Shovel", 200, 20, "Wood"));
-        FUEL_DATABASE.put(Items.WOODEN_HOE, new FuelData(Items.WOODEN_HOE, "Wooden Hoe", 200, 20, "Wood"));
-        FUEL_DATABASE.put(Items.WOODEN_SWORD, new FuelData(Items.WOODEN_SWORD, "Wooden Sword", 200, 20, "Wood"));
-
-        // Planks and Logs
-        FUEL_DATABASE.put(Items.OAK_PLANKS, new FuelData(Items.OAK_PLANKS, "Oak Planks", 300, 25, "Wood"));
-        FUEL_DATABASE.put(Items.BIRCH_PLANKS, new FuelData(Items.BIRCH_PLANKS, "Birch Planks", 300, 25, "Wood"));
-        FUEL_DATABASE.put(Items.SPRUCE_PLANKS, new FuelData(Items.SPRUCE_PLANKS, "Spruce Planks", 300, 25, "Wood"));
-        FUEL_DATABASE.put(Items.OAK_LOG, new FuelData(Items.OAK_LOG, "Oak Log", 300, 30, "Wood"));
-        FUEL_DATABASE.put(Items.BIRCH_LOG, new FuelData(Items.BIRCH_LOG, "Birch Log", 300, 30, "Wood"));
-
-        // Blaze and Lava
-        FUEL_DATABASE.put(Items.BLAZE_ROD, new FuelData(Items.BLAZE_ROD, "Blaze Rod", 2400, 60, "Blaze"));
-        FUEL_DATABASE.put(Items.LAVA_BUCKET, new FuelData(Items.LAVA_BUCKET, "Lava Bucket", 20000, 80, "Lava"));
-
-        // Paper and Books
-        FUEL_DATABASE.put(Items.PAPER, new FuelData(Items.PAPER, "Paper", 100, 15, "Paper"));
-        FUEL_DATABASE.put(Items.BOOK, new FuelData(Items.BOOK, "Book", 300, 15, "Paper"));
-
-        // Initialize search results with all items
-        searchResults = new ArrayList<>(FUEL_DATABASE.values());
-        searchResults.sort(Comparator.comparing(fuel -> fuel.itemName));
-    }
-
     /**
      * Search fuel database by item name
      */
     public void searchFuelDatabase(String query) {
         currentSearchQuery = query.toLowerCase().trim();
-        searchResults.clear();
-
-        if (currentSearchQuery.isEmpty()) {
-            // Show all items if no search query
-            searchResults = new ArrayList<>(FUEL_DATABASE.values());
-        } else {
-            // Filter by name containing query
-            for (FuelData fuelData : FUEL_DATABASE.values()) {
-                if (fuelData.itemName.toLowerCase().contains(currentSearchQuery)) {
-                    searchResults.add(fuelData);
-                }
-            }
-        }
-
-        // Sort results by name
-        searchResults.sort(Comparator.comparing(fuel -> fuel.itemName));
+        searchResults = FuelRegistry.search(currentSearchQuery);
+        searchRevision = FuelRegistry.getRevision();
         setChanged();
     }
 
     /**
      * Get fuel data for a specific item
      */
-    public FuelData getFuelData(Item item) {
-        return FUEL_DATABASE.get(item);
+    public FuelRegistry.Fuel getFuelData(Item item) {
+        return FuelRegistry.getFuel(item);
     }
 
     /**
      * Check if an item can be used as fuel
      */
     public boolean isFuelItem(Item item) {
-        return FUEL_DATABASE.containsKey(item);
+        return FuelRegistry.isFuel(item);
+    }
+
+    @Override
+    public void setRemoved() {
+        super.setRemoved();
+        if (level != null && !level.isClientSide() && !isChunkUnloading()) {
+            EnergyHistoryStore.delete(level, worldPosition);
+        }
     }
 
     // ========== GUI DATA METHODS ==========
@@ -385,8 +416,8 @@ public class EnergyAnalyzerBlockEntity extends BaseMachineBlockEntity {
     // Tab 1 - Cable Analysis
     public boolean hasTwoCables() { return hasTwoCables; }
     public boolean isAnalyzing() { return isAnalyzing; }
-    public Direction getInputCableSide() { return inputCableSide; }
-    public Direction getOutputCableSide() { return outputCableSide; }
+    public Direction getInputCableSide() { return meter.getInputSide(); }
+    public Direction getOutputCableSide() { return meter.getOutputSide(); }
 
     public int getEnergyInput() { return energyInput; }
     public int getEnergyOutput() { return energyOutput; }
@@ -399,23 +430,41 @@ public class EnergyAnalyzerBlockEntity extends BaseMachineBlockEntity {
     public int getPeakThroughput() { return peakThroughput; }
     public float getAverageEfficiency() { return averageEfficiency; }
 
-    public int[] getInputHistory() { return inputHistory.stream().mapToInt(Integer::intValue).toArray(); }
-    public int[] getOutputHistory() { return outputHistory.stream().mapToInt(Integer::intValue).toArray(); }
-    public float[] getEfficiencyHistory() { return efficiencyHistory.stream().mapToFloat(Float::floatValue).toArray(); }
+    public int[] getInputHistory() { return inputHistory.toIntArray(); }
+    public int[] getOutputHistory() { return outputHistory.toIntArray(); }
+    public float[] getEfficiencyHistory() { return efficiencyHistory.toFloatArray(); }
+    public TimeSeries getInputSeries() { return inputHistory; }
+    public TimeSeries getOutputSeries() { return outputHistory; }
+    public TimeSeries getEfficiencySeries() { return efficiencyHistory; }
+    public HistorySlice getStoredHistory(EnergyHistoryStore.Resolution resolution) {
+        return EnergyHistoryStore.read(level, worldPosition, resolution);
+    }
 
     // Tab 2 - Fuel Database
     public String getCurrentSearchQuery() { return currentSearchQuery; }
-    public List<FuelData> getSearchResults() { return new ArrayList<>(searchResults); }
-    public int getSearchResultCount() { return searchResults.size(); }
-    public int getTotalFuelTypes() { return FUEL_DATABASE.size(); }
+    public List<FuelRegistry.Fuel> getSearchResults() { return refreshSearchResults(); }
+    public int getSearchResultCount() { return refreshSearchResults().size(); }
+    public int getTotalFuelTypes() { return FuelRegistry.size(); }
+
+    /**
+     * Results are recomputed after a datapack reload changes the fuel table
+     */
+    private List<FuelRegistry.Fuel> refreshSearchResults() {
+        if (searchRevision != FuelRegistry.getRevision()) {
+            searchResults = FuelRegistry.search(currentSearchQuery);
+            searchRevision = FuelRegistry.getRevision();
+        }
+        return searchResults;
+    }
 
     // ========== NBT SERIALIZATION ==========
 
     @Override
     protected void saveAdditionalData(CompoundTag tag, HolderLookup.Provider registries) {
         // Save cable connection state
-        if (inputCableSide != null) tag.putString("InputCableSide", inputCableSide.name());
-        if (outputCableSide != null) tag.putString("OutputCableSide", outputCableSide.name());
+        if (meter.getInputSide() != null) tag.putString("InputCableSide", meter.getInputSide().name());
+        if (meter.getOutputSide() != null) tag.putString("OutputCableSide", meter.getOutputSide().name());
+        tag.putBoolean("FlowLearned", meter.isDirectionLearned());
         tag.putBoolean("HasTwoCables", hasTwoCables);
         tag.putBoolean("IsAnalyzing", isAnalyzing);
 
@@ -439,6 +488,8 @@ public class EnergyAnalyzerBlockEntity extends BaseMachineBlockEntity {
     @Override
     protected void loadAdditionalData(CompoundTag tag, HolderLookup.Provider registries) {
         // Load cable connection state
+        Direction inputCableSide = null;
+        Direction outputCableSide = null;
         if (tag.contains("InputCableSide")) {
             try {
                 inputCableSide = Direction.valueOf(tag.getString("InputCableSide"));
@@ -453,6 +504,7 @@ public class EnergyAnalyzerBlockEntity extends BaseMachineBlockEntity {
                 outputCableSide = null;
             }
         }
+        meter.restore(inputCableSide, outputCableSide, tag.getBoolean("FlowLearned"));
         hasTwoCables = tag.getBoolean("HasTwoCables");
         isAnalyzing = tag.getBoolean("IsAnalyzing");
 
@@ -471,38 +523,24 @@ public class EnergyAnalyzerBlockEntity extends BaseMachineBlockEntity {
 
         // Load search query and update results
         currentSearchQuery = tag.getString("SearchQuery");
-        if (!currentSearchQuery.isEmpty()) {
-            searchFuelDatabase(currentSearchQuery);
-        }
+        searchRevision = -1;
     }
 
     // ========== NETWORKING ==========
 
     @Override
-    protected void writeClientData(CompoundTag tag) {
-        super.writeClientData(tag);
-        // Send analysis data to client for GUI updates
-        tag.putBoolean("HasCables", hasTwoCables);
-        tag.putBoolean("Analyzing", isAnalyzing);
-        tag.putInt("Input", energyInput);
-        tag.putInt("Output", energyOutput);
-        tag.putFloat("Efficiency", cableEfficiency);
-        tag.putString("Search", currentSearchQuery);
-    }
-
-    @Override
-    protected void readClientData(CompoundTag tag) {
-        super.readClientData(tag);
-        // Receive analysis data from server
-        hasTwoCables = tag.getBoolean("HasCables");
-        isAnalyzing = tag.getBoolean("Analyzing");
-        energyInput = tag.getInt("Input");
-        energyOutput = tag.getInt("Output");
-        cableEfficiency = tag.getFloat("Efficiency");
-
-        String searchQuery = tag.getString("Search");
-        if (!searchQuery.equals(currentSearchQuery)) {
-            searchFuelDatabase(searchQuery);
-        }
+    protected void registerSyncFields(SyncFieldSet fields) {
+        super.registerSyncFields(fields);
+        // Analysis data for GUI updates
+        fields.add("hasCables", ByteBufCodecs.BOOL, () -> hasTwoCables, value -> hasTwoCables = value)
+                .add("analyzing", ByteBufCodecs.BOOL, () -> isAnalyzing, value -> isAnalyzing = value)
+                .add("input", ByteBufCodecs.VAR_INT, () -> energyInput, value -> energyInput = value)
+                .add("output", ByteBufCodecs.VAR_INT, () -> energyOutput, value -> energyOutput = value)
+                .add("efficiency", ByteBufCodecs.FLOAT, () -> cableEfficiency, value -> cableEfficiency = value)
+                .add("search", ByteBufCodecs.STRING_UTF8, () -> currentSearchQuery, value -> {
+                    if (!value.equals(currentSearchQuery)) {
+                        searchFuelDatabase(value);
+                    }
+                });
     }
 }
\ No newline at end of file
@@ -1,33 +1,59 @@
 package com.thewheatking.minecraftfarmertechmod.common.blockentity.machines;
 
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.MapCodec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
 import com.thewheatking.minecraftfarmertechmod.common.blockentity.base.BaseMachineBlockEntity;
+import com.thewheatking.minecraftfarmertechmod.common.blockentity.transmission.EnergyTransmissionBlockEntity;
+import com.thewheatking.minecraftfarmertechmod.common.util.CompactNbt;
+import com.thewheatking.minecraftfarmertechmod.config.SideConfig;
+import com.thewheatking.minecraftfarmertechmod.config.SideConfigurable;
+import com.thewheatking.minecraftfarmertechmod.energy.EnhancedMftEnergyNetwork;
 import com.thewheatking.minecraftfarmertechmod.screen.EnergyControllerMenu;
+import com.thewheatking.minecraftfarmertechmod.screen.SideConfigMenu;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.HolderLookup;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.MenuProvider;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.AbstractContainerMenu;
-import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
+import net.neoforged.neoforge.capabilities.BlockCapabilityCache;
 import net.neoforged.neoforge.capabilities.Capabilities;
 import net.neoforged.neoforge.energy.IEnergyStorage;
 
+import javax.annotation.Nullable;
 import java.util.*;
 
 import static com.thewheatking.minecraftfarmertechmod.hybrid.HybridBlockEntities.ENERGY_CONTROLLER;
 
-public class EnergyControllerBlockEntity extends BaseMachineBlockEntity {
+/**
+ * Energy Controller Block Entity - throttles the energy passed from its input sides to its output sides
+ */
+public class EnergyControllerBlockEntity extends BaseMachineBlockEntity implements SideConfigurable {
 
     // Power control settings
+    private static final int DEFAULT_FLOW_LIMIT = 1000;
+    private static final int DEFAULT_MAX_FLOW_LIMIT = 10000;
     private boolean powerEnabled = true;
-    private int energyFlowLimit = 1000; // FE/t
-    private int maxEnergyFlowLimit = 10000; // Maximum configurable limit
+    private int energyFlowLimit = DEFAULT_FLOW_LIMIT; // FE/t
+    private int maxEnergyFlowLimit = DEFAULT_MAX_FLOW_LIMIT; // Maximum configurable limit
 
     // Network management
     private final Set<BlockPos> connectedDevices = new HashSet<>();
-    private int networkEnergyUsage = 0;
-    private int controlRange = 16; // Blocks
+    private final Map<Direction, EnhancedMftEnergyNetwork> sideNetworks = new EnumMap<>(Direction.class);
+    private int networkEnergyUsage = 0; // FE passed through the controller last tick
+
+    // Throttling ports, the flow budget rolls over lazily so a sleeping controller still limits correctly
+    private final Map<Direction, FlowPort> ports = new EnumMap<>(Direction.class);
+    private final ControllerFlow flow = new ControllerFlow();
+
+    // Energy only enters on input sides and only leaves on output sides, so nothing is passed back
+    private SideConfig sideConfig = defaultSideConfig();
 
     // Emergency and safety
     private boolean emergencyShutdown = false;
@@ -43,9 +69,31 @@ public class EnergyControllerBlockEntity extends BaseMachineBlockEntity {
         super(ENERGY_CONTROLLER.get(), pos, state, 100000, 2000, 2000, 0); // High capacity, no inventory
     }
 
+    /**
+     * Energy comes in from above and the sides and leaves below until configured
+     */
+    private static SideConfig defaultSideConfig() {
+        SideConfig config = new SideConfig();
+        for (Direction direction : Direction.values()) {
+            config.setSideMode(direction, direction == Direction.DOWN
+                    ? SideConfig.SideMode.ENERGY_OUTPUT : SideConfig.SideMode.ENERGY_INPUT);
+        }
+        return config;
+    }
+
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        if (level != null && !level.isClientSide()) {
+            // The same-network check needs the side networks before the first transfer
+            scanAndManageNetwork();
+            lastScanTime = level.getGameTime();
+        }
+    }
+
     @Override
     protected boolean canOperate() {
-        return powerEnabled && !emergencyShutdown && energyStorage.getEnergyStored() > 50;
+        return powerEnabled && !emergencyShutdown;
     }
 
     @Override
@@ -54,48 +102,44 @@ public class EnergyControllerBlockEntity extends BaseMachineBlockEntity {
             scanAndManageNetwork();
             lastScanTime = level.getGameTime();
         }
-
-        if (powerEnabled && !emergencyShutdown) {
-            controlEnergyFlow();
-        }
     }
 
     /**
-     * Scans the network for connected energy devices
+     * Collects the devices of the cable networks on each side, plus machines touching the controller directly
      */
     private void scanAndManageNetwork() {
         Set<BlockPos> newConnectedDevices = new HashSet<>();
-        int totalUsage = 0;
         int activeCount = 0;
-
-        // Scan in a cube around the controller
-        BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
-        for (int x = -controlRange; x <= controlRange; x++) {
-            for (int y = -controlRange; y <= controlRange; y++) {
-                for (int z = -controlRange; z <= controlRange; z++) {
-                    mutablePos.set(worldPosition.getX() + x, worldPosition.getY() + y, worldPosition.getZ() + z);
-
-                    BlockEntity blockEntity = level.getBlockEntity(mutablePos);
-                    if (blockEntity != null) {
-                        IEnergyStorage energyStorage = level.getCapability(Capabilities.EnergyStorage.BLOCK, mutablePos, null);
-                        if (energyStorage != null) {
-                            BlockPos immutablePos = mutablePos.immutable();
-                            newConnectedDevices.add(immutablePos);
-
-                            // Estimate energy usage
-                            if (energyStorage.canReceive() || energyStorage.canExtract()) {
-                                activeCount++;
-                                totalUsage += Math.min(energyStorage.getEnergyStored(), 100); // Rough estimate
-                            }
-                        }
+        sideNetworks.clear();
+
+        for (Direction direction : Direction.values()) {
+            BlockPos neighborPos = worldPosition.relative(direction);
+            if (!level.isLoaded(neighborPos)) continue;
+
+            if (level.getBlockEntity(neighborPos) instanceof EnergyTransmissionBlockEntity cable) {
+                EnhancedMftEnergyNetwork network = cable.getConnectedNetwork();
+                if (network == null) continue;
+
+                sideNetworks.put(direction, network);
+                network.refreshTopology();
+                for (EnhancedMftEnergyNetwork.EnergyNode node : network.getEnergyNodes()) {
+                    if (!node.position.equals(worldPosition) && newConnectedDevices.add(node.position)
+                            && node.type != EnhancedMftEnergyNetwork.EnergyNode.NodeType.STORAGE) {
+                        activeCount++;
                     }
                 }
+            } else {
+                IEnergyStorage neighbor = port(direction).neighbor();
+                if (neighbor != null && newConnectedDevices.add(neighborPos)
+                        && (neighbor.canReceive() || neighbor.canExtract())) {
+                    activeCount++;
+                }
             }
         }
 
         connectedDevices.clear();
         connectedDevices.addAll(newConnectedDevices);
-        networkEnergyUsage = totalUsage;
+        networkEnergyUsage = flow.getFlowLastTick(level.getGameTime());
         activeConnections = activeCount;
 
         // Check network stability
@@ -104,27 +148,113 @@ public class EnergyControllerBlockEntity extends BaseMachineBlockEntity {
         setChanged();
     }
 
+    // ========== THROTTLING PORTS ==========
+
     /**
-     * Controls energy flow through the network
+     * Every side is a port, the internal buffer is only reachable without a side
      */
-    private void controlEnergyFlow() {
-        if (connectedDevices.isEmpty()) return;
-
-        int availableEnergy = Math.min(energyStorage.getEnergyStored(), energyFlowLimit);
-        int energyPerDevice = connectedDevices.size() > 0 ? availableEnergy / connectedDevices.size() : 0;
-
-        for (BlockPos devicePos : connectedDevices) {
-            BlockEntity device = level.getBlockEntity(devicePos);
-            if (device != null) {
-                IEnergyStorage deviceStorage = level.getCapability(Capabilities.EnergyStorage.BLOCK, devicePos, null);
-                if (deviceStorage != null && deviceStorage.canReceive()) {
-                    // Transfer limited energy to prevent overload
-                    int transferred = deviceStorage.receiveEnergy(energyPerDevice, false);
-                    energyStorage.extractEnergy(transferred, false);
-                    totalEnergyControlled += transferred;
-                }
+    @Override
+    public IEnergyStorage getEnergyStorage(@Nullable Direction side) {
+        return side != null ? port(side) : energyStorage;
+    }
+
+    private FlowPort port(Direction side) {
+        return ports.computeIfAbsent(side, FlowPort::new);
+    }
+
+    private boolean isEdgeOpen() {
+        return powerEnabled && !emergencyShutdown;
+    }
+
+    /**
+     * Moves energy between the port on one side and the neighbours on the others, within the flow budget
+     */
+    private int transfer(Direction from, int amount, boolean pull, boolean simulate) {
+        if (!isEdgeOpen() || level == null) return 0;
+
+        int moved = flow.transfer(level.getGameTime(), energyFlowLimit, sideConfig, sideNetworks,
+                side -> port(side).neighbor(), from, amount, pull, simulate);
+        if (!simulate && moved > 0) {
+            totalEnergyControlled += moved;
+            wake();
+        }
+        return moved;
+    }
+
+    /**
+     * One side of the controller. Holds no energy, transfers pass straight through to the other sides.
+     */
+    private final class FlowPort implements IEnergyStorage {
+        private final Direction side;
+        private BlockCapabilityCache<IEnergyStorage, Direction> neighbor;
+
+        private FlowPort(Direction side) {
+            this.side = side;
+        }
+
+        @Nullable
+        private IEnergyStorage neighbor() {
+            if (neighbor == null) {
+                if (!(level instanceof ServerLevel serverLevel)) return null;
+                neighbor = BlockCapabilityCache.create(Capabilities.EnergyStorage.BLOCK, serverLevel,
+                        worldPosition.relative(side), side.getOpposite());
             }
+            return neighbor.getCapability();
         }
+
+        @Override
+        public int receiveEnergy(int maxReceive, boolean simulate) {
+            return transfer(side, maxReceive, false, simulate);
+        }
+
+        @Override
+        public int extractEnergy(int maxExtract, boolean simulate) {
+            return transfer(side, maxExtract, true, simulate);
+        }
+
+        @Override
+        public int getEnergyStored() { return 0; }
+
+        @Override
+        public int getMaxEnergyStored() { return energyFlowLimit; }
+
+        @Override
+        public boolean canExtract() { return isEdgeOpen() && sideConfig.canOutputEnergy(side); }
+
+        @Override
+        public boolean canReceive() { return isEdgeOpen() && sideConfig.canInputEnergy(side); }
+    }
+
+    // ========== SIDE CONFIGURATION ==========
+
+    @Override
+    public SideConfig getSideConfig() {
+        return sideConfig;
+    }
+
+    @Override
+    public void setSideConfig(SideConfig config) {
+        this.sideConfig = config;
+        setChanged();
+
+        // Neighbours and the side networks see the ports' new directions
+        invalidateCapabilities();
+        markSideNetworksDirty();
+    }
+
+    @Override
+    public void openConfigGui(Player player) {
+        player.openMenu(new MenuProvider() {
+            @Override
+            public Component getDisplayName() {
+                return Component.literal("Configure " + EnergyControllerBlockEntity.this.getDisplayName().getString());
+            }
+
+            @Override
+            public AbstractContainerMenu createMenu(int containerId, Inventory playerInventory, Player player) {
+                return new SideConfigMenu(containerId, playerInventory, EnergyControllerBlockEntity.this);
+            }
+        }, getBlockPos());
     }
 
     // Public getter methods for the menu
@@ -160,10 +290,6 @@ public class EnergyControllerBlockEntity extends BaseMachineBlockEntity {
         return emergencyShutdown;
     }
 
-    public int getControlRange() {
-        return controlRange;
-    }
-
     public int getTotalEnergyControlled() {
         return totalEnergyControlled;
     }
@@ -174,6 +300,8 @@ public class EnergyControllerBlockEntity extends BaseMachineBlockEntity {
         if (!enabled) {
             // Disconnect all devices when power is disabled
             disconnectAllDevices();
+        } else {
+            markSideNetworksDirty();
         }
         setChanged();
     }
@@ -183,11 +311,6 @@ public class EnergyControllerBlockEntity extends BaseMachineBlockEntity {
         setChanged();
     }
 
-    public void setControlRange(int range) {
-        this.controlRange = Math.max(1, Math.min(range, 32)); // Max 32 block range
-        setChanged();
-    }
-
     public void triggerEmergencyShutdown() {
         this.emergencyShutdown = true;
         this.powerEnabled = false;
@@ -198,6 +321,7 @@ public class EnergyControllerBlockEntity extends BaseMachineBlockEntity {
     public void resetEmergencyShutdown() {
         this.emergencyShutdown = false;
         this.powerEnabled = true;
+        markSideNetworksDirty();
         setChanged();
     }
 
@@ -207,13 +331,18 @@ public class EnergyControllerBlockEntity extends BaseMachineBlockEntity {
     }
 
     /**
-     * Safely disconnects all devices by stopping energy transfer
+     * Cuts the edge: the ports now refuse every transfer, the networks on each side rescan and see that
      */
     private void disconnectAllDevices() {
-        // In a real implementation, you might want to send shutdown signals
-        // or gradually reduce power to prevent damage to connected devices
         networkEnergyUsage = 0;
         activeConnections = 0;
+        markSideNetworksDirty();
+    }
+
+    private void markSideNetworksDirty() {
+        for (EnhancedMftEnergyNetwork network : sideNetworks.values()) {
+            network.markDirty();
+        }
     }
 
     /**
@@ -272,33 +401,74 @@ public class EnergyControllerBlockEntity extends BaseMachineBlockEntity {
         return new EnergyControllerMenu(containerId, playerInventory, this);
     }
 
+    // ========== NBT SERIALIZATION ==========
+
+    // Flow usage, scan time and connection stats are measured again after loading and are not saved
+    private record SavedState(boolean powerEnabled, int flowLimit, int maxFlowLimit, boolean emergencyShutdown,
+                              int totalEnergyControlled, int sideModes) {
+        static final MapCodec<SavedState> CODEC = RecordCodecBuilder.mapCodec(instance -> instance.group(
+                Codec.BOOL.optionalFieldOf("pe", true).forGetter(SavedState::powerEnabled),
+                Codec.INT.optionalFieldOf("fl", DEFAULT_FLOW_LIMIT).forGetter(SavedState::flowLimit),
+                Codec.INT.optionalFieldOf("mf", DEFAULT_MAX_FLOW_LIMIT).forGetter(SavedState::maxFlowLimit),
+                Codec.BOOL.optionalFieldOf("es", false).forGetter(SavedState::emergencyShutdown),
+                Codec.INT.optionalFieldOf("tc", 0).forGetter(SavedState::totalEnergyControlled),
+                Codec.INT.optionalFieldOf("sm", packSideModes(defaultSideConfig())).forGetter(SavedState::sideModes)
+        ).apply(instance, SavedState::new));
+    }
+
+    /**
+     * Packs the six side modes three bits each, indexed by Direction#get3DDataValue
+     */
+    static int packSideModes(SideConfig config) {
+        int bits = 0;
+        for (Direction direction : Direction.values()) {
+            bits |= config.getSideMode(direction).ordinal() << (direction.get3DDataValue() * 3);
+        }
+        return bits;
+    }
+
+    static void unpackSideModes(int bits, SideConfig config) {
+        SideConfig.SideMode[] modes = SideConfig.SideMode.values();
+        for (Direction direction : Direction.values()) {
+            int ordinal = (bits >> (direction.get3DDataValue() * 3)) & 0x7;
+            config.setSideMode(direction, ordinal < modes.length ? modes[ordinal] : SideConfig.SideMode.NONE);
+        }
+    }
+
     @Override
-    protected void saveAdditional(CompoundTag tag, net.minecraft.core.HolderLookup.Provider provider) {
+    protected void saveAdditional(CompoundTag tag, HolderLookup.Provider provider) {
         super.saveAdditional(tag, provider);
-        tag.putBoolean("powerEnabled", powerEnabled);
-        tag.putInt("energyFlowLimit", energyFlowLimit);
-        tag.putInt("maxEnergyFlowLimit", maxEnergyFlowLimit);
-        tag.putInt("networkEnergyUsage", networkEnergyUsage);
-        tag.putInt("controlRange", controlRange);
-        tag.putBoolean("emergencyShutdown", emergencyShutdown);
-        tag.putLong("lastScanTime", lastScanTime);
-        tag.putInt("totalEnergyControlled", totalEnergyControlled);
-        tag.putInt("activeConnections", activeConnections);
-        tag.putBoolean("networkStable", networkStable);
+        CompactNbt.write(SavedState.CODEC, new SavedState(powerEnabled, energyFlowLimit, maxEnergyFlowLimit,
+                emergencyShutdown, totalEnergyControlled, packSideModes(sideConfig)), tag);
     }
 
     @Override
-    protected void loadAdditional(CompoundTag tag, net.minecraft.core.HolderLookup.Provider provider) {
+    protected void loadAdditional(CompoundTag tag, HolderLookup.Provider provider) {
         super.loadAdditional(tag, provider);
+
+        if (CompactNbt.version(tag) == CompactNbt.LEGACY_VERSION) {
+            loadLegacyState(tag);
+            return;
+        }
+
+        CompactNbt.read(SavedState.CODEC, tag).ifPresent(state -> {
+            powerEnabled = state.powerEnabled();
+            energyFlowLimit = state.flowLimit();
+            maxEnergyFlowLimit = state.maxFlowLimit();
+            emergencyShutdown = state.emergencyShutdown();
+            totalEnergyControlled = state.totalEnergyControlled();
+            unpackSideModes(state.sideModes(), sideConfig);
+        });
+    }
+
+    private void loadLegacyState(CompoundTag tag) {
         powerEnabled = tag.getBoolean("powerEnabled");
         energyFlowLimit = tag.getInt("energyFlowLimit");
         maxEnergyFlowLimit = tag.getInt("maxEnergyFlowLimit");
-        networkEnergyUsage = tag.getInt("networkEnergyUsage");
-        controlRange = tag.getInt("controlRange");
         emergencyShutdown = tag.getBoolean("emergencyShutdown");
-        lastScanTime = tag.getLong("lastScanTime");
         totalEnergyControlled = tag.getInt("totalEnergyControlled");
-        activeConnections = tag.getInt("activeConnections");
-        networkStable = tag.getBoolean("networkStable");
+        if (tag.contains("sideConfig")) {
+            sideConfig.deserializeNBT(tag.getCompound("sideConfig"));
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package com.thewheatking.minecraftfarmertechmod.common.blockentity.machines;
 
 import com.thewheatking.minecraftfarmertechmod.common.blockentity.base.BaseMachineBlockEntity;
+import com.thewheatking.minecraftfarmertechmod.common.sync.SyncFieldSet;
 import com.thewheatking.minecraftfarmertechmod.hybrid.HybridBlockEntities;
 import com.thewheatking.minecraftfarmertechmod.hybrid.HybridMenuTypes;
 import net.minecraft.core.BlockPos;
@@ -8,6 +9,7 @@ import net.minecraft.core.Direction;
 import net.minecraft.core.HolderLookup;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
+import net.minecraft.network.codec.ByteBufCodecs;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.AbstractContainerMenu;
@@ -107,7 +109,7 @@ public class EnergyConverterBlockEntity extends BaseMachineBlockEntity {
         isWorking = isConverting;
 
         // Sync to client if state changed
-        if (wasWorking != isWorking && tickCounter % SYNC_INTERVAL == 0) {
+        if (wasWorking != isWorking && isSyncTick()) {
             setChanged();
             syncToClient();
         }
@@ -411,33 +413,16 @@ public class EnergyConverterBlockEntity extends BaseMachineBlockEntity {
     // ========== NETWORKING ==========
 
     @Override
-    protected void writeClientData(CompoundTag tag) {
-        super.writeClientData(tag);
-        // Send conversion data to client for GUI updates
-        tag.putString("Mode", currentMode.name());
-        tag.putBoolean("Converting", isConverting);
-        tag.putInt("Progress", conversionProgress);
-        tag.putBoolean("ProtectionActive", protectionActive);
-        tag.putBoolean("RotationalActive", rotationalActive);
-        tag.putInt("StressUnits", stressUnits);
-        tag.putInt("RotationalSpeed", rotationalSpeed);
-    }
-
-    @Override
-    protected void readClientData(CompoundTag tag) {
-        super.readClientData(tag);
-        // Receive conversion data from server
-        try {
-            currentMode = ConversionMode.valueOf(tag.getString("Mode"));
-        } catch (IllegalArgumentException e) {
-            currentMode = ConversionMode.CABLE_PROTECTION;
-        }
-        isConverting = tag.getBoolean("Converting");
-        conversionProgress = tag.getInt("Progress");
-        protectionActive = tag.getBoolean("ProtectionActive");
-        rotationalActive = tag.getBoolean("RotationalActive");
-        stressUnits = tag.getInt("StressUnits");
-        rotationalSpeed = tag.getInt("RotationalSpeed");
+    protected void registerSyncFields(SyncFieldSet fields) {
+        super.registerSyncFields(fields);
+        // Conversion data for GUI updates
+        fields.add("mode", ByteBufCodecs.VAR_INT, () -> currentMode.ordinal(), value -> currentMode = ConversionMode.values()[value])
+                .add("converting", ByteBufCodecs.BOOL, () -> isConverting, value -> isConverting = value)
+                .add("progress", ByteBufCodecs.VAR_INT, () -> conversionProgress, value -> conversionProgress = value)
+                .add("protectionActive", ByteBufCodecs.BOOL, () -> protectionActive, value -> protectionActive = value)
+                .add("rotationalActive", ByteBufCodecs.BOOL, () -> rotationalActive, value -> rotationalActive = value)
+                .add("stressUnits", ByteBufCodecs.VAR_INT, () -> stressUnits, value -> stressUnits = value)
+                .add("rotationalSpeed", ByteBufCodecs.VAR_INT, () -> rotationalSpeed, value -> rotationalSpeed = value);
     }
 
     // ========== ROTATIONAL POWER SYSTEM ==========
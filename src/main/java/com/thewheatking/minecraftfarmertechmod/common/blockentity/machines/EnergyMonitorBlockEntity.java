@@ -1,15 +1,22 @@
 package com.thewheatking.minecraftfarmertechmod.common.blockentity.machines;
 
 import com.thewheatking.minecraftfarmertechmod.common.blockentity.base.BaseMachineBlockEntity;
+import com.thewheatking.minecraftfarmertechmod.common.blockentity.transmission.EnergyTransmissionBlockEntity;
+import com.thewheatking.minecraftfarmertechmod.common.history.EnergyHistoryStore;
+import com.thewheatking.minecraftfarmertechmod.common.history.HistorySlice;
+import com.thewheatking.minecraftfarmertechmod.common.util.PeriodicTask;
+import com.thewheatking.minecraftfarmertechmod.common.util.TimeSeries;
+import com.thewheatking.minecraftfarmertechmod.energy.EnhancedMftEnergyNetwork;
+import com.thewheatking.minecraftfarmertechmod.energy.NetworkTelemetry;
 import com.thewheatking.minecraftfarmertechmod.screen.EnergyMonitorMenu;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.level.block.state.BlockState;
-import net.neoforged.neoforge.energy.IEnergyStorage;
 
 import java.util.*;
 
@@ -42,11 +49,14 @@ public class EnergyMonitorBlockEntity extends BaseMachineBlockEntity {
     private boolean energyStarved = false;
     private boolean systemStable = true;
 
-    // Historical data (circular buffers)
-    private final int[] energyHistory = new int[60]; // Last 60 measurements
-    private final float[] efficiencyHistory = new float[60];
-    private final float[] loadHistory = new float[60];
-    private int historyIndex = 0;
+    // Historical data (last 60 measurements), exported in slot order for the menu's delta sync
+    private static final int GRAPH_LENGTH = 60;
+    private final TimeSeries energyHistory = new TimeSeries(GRAPH_LENGTH);
+    private final TimeSeries efficiencyHistory = new TimeSeries(GRAPH_LENGTH);
+    private final TimeSeries loadHistory = new TimeSeries(GRAPH_LENGTH);
+    private final int[] energyGraph = new int[GRAPH_LENGTH];
+    private final float[] efficiencyGraph = new float[GRAPH_LENGTH];
+    private final float[] loadGraph = new float[GRAPH_LENGTH];
 
     // Temperature and performance
     private int systemTemperature = 20; // Celsius
@@ -69,17 +79,18 @@ public class EnergyMonitorBlockEntity extends BaseMachineBlockEntity {
     private long lastUpdateTime = 0L;
     private int updateFrequency = 20; // Ticks between updates
 
-    // Performance tracking
-    private final Queue<Integer> usageHistory = new LinkedList<>();
+    // Performance tracking, one sample per update (every 20 ticks by default)
     private static final int MAX_HISTORY_SIZE = 100;
-    private int tickCounter = 0;
+    private final TimeSeries usageHistory = new TimeSeries(MAX_HISTORY_SIZE, 1, 60, TimeSeries.DEFAULT_EMA_ALPHA);
+    private final PeriodicTask updateTask;
+
+    // Network telemetry subscription
+    private EnhancedMftEnergyNetwork attachedNetwork;
+    private final NetworkTelemetry.Listener telemetryListener = this::onTelemetry;
 
     public EnergyMonitorBlockEntity(BlockPos pos, BlockState state) {
         super(ENERGY_MONITOR.get(), pos, state, 50000, 1000, 1000, 9);
-        // Initialize arrays
-        Arrays.fill(energyHistory, 0);
-        Arrays.fill(efficiencyHistory, 100.0f);
-        Arrays.fill(loadHistory, 0.0f);
+        this.updateTask = new PeriodicTask("monitor_update", pos, updateFrequency);
     }
 
     @Override
@@ -87,18 +98,25 @@ public class EnergyMonitorBlockEntity extends BaseMachineBlockEntity {
         return monitoring && energyStorage.getEnergyStored() > 10; // Needs minimal energy to monitor
     }
 
+    @Override
+    protected boolean canSleep() {
+        return false; // Monitoring samples connected devices on a timer, nothing wakes it
+    }
+
     @Override
     protected void performOperation() {
-        if (++tickCounter >= updateFrequency) {
+        if (updateTask.isDue(level.getGameTime())) {
             updateMonitoringData();
-            tickCounter = 0;
             lastUpdateTime = level.getGameTime();
         }
     }
 
     private void updateMonitoringData() {
-        // Scan for connected energy devices in range
-        scanEnergyNetwork();
+        // Readings arrive from the attached network's telemetry, closing the window here keeps them current
+        attachToNetwork();
+        if (attachedNetwork != null) {
+            attachedNetwork.tickTelemetry(level.getGameTime());
+        }
 
         // Update energy flow measurements
         updateEnergyFlow();
@@ -118,74 +136,70 @@ public class EnergyMonitorBlockEntity extends BaseMachineBlockEntity {
         setChanged();
     }
 
-    private void scanEnergyNetwork() {
-        connectedDevicesCount = 0;
-        activeDevicesCount = 0;
-        int totalInput = 0;
-        int totalOutput = 0;
-
-        // Scan in a cube around the monitor
-        BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
-        for (int x = -monitoringRange; x <= monitoringRange; x++) {
-            for (int y = -monitoringRange; y <= monitoringRange; y++) {
-                for (int z = -monitoringRange; z <= monitoringRange; z++) {
-                    mutablePos.set(worldPosition.getX() + x, worldPosition.getY() + y, worldPosition.getZ() + z);
-
-                    if (level.getBlockEntity(mutablePos) instanceof IEnergyStorage energyBE) {
-                        connectedDevicesCount++;
-
-                        // Check if device is active (has energy or is processing)
-                        if (energyBE.getEnergyStored() > 0 || energyBE.canReceive() || energyBE.canExtract()) {
-                            activeDevicesCount++;
-                        }
-
-                        // Estimate input/output based on capability
-                        if (energyBE.canExtract()) {
-                            totalOutput += Math.min(energyBE.getEnergyStored(), 1000); // Estimate
-                        }
-                        if (energyBE.canReceive()) {
-                            totalInput += Math.min(energyBE.getMaxEnergyStored() - energyBE.getEnergyStored(), 1000);
-                        }
-                    }
-                }
+    /**
+     * Attaches to the energy network of an adjacent cable, or detaches if there is none
+     */
+    private void attachToNetwork() {
+        EnhancedMftEnergyNetwork found = null;
+        for (Direction direction : Direction.values()) {
+            if (level.getBlockEntity(worldPosition.relative(direction)) instanceof EnergyTransmissionBlockEntity cable
+                    && cable.getConnectedNetwork() != null) {
+                found = cable.getConnectedNetwork();
+                break;
             }
         }
 
-        energyInput = totalInput;
-        energyOutput = totalOutput;
-    }
+        if (found == attachedNetwork) return;
 
-    private void updateEnergyFlow() {
-        int currentUsage = Math.abs(energyInput - energyOutput);
+        detachFromNetwork();
+        attachedNetwork = found;
+        if (found != null) {
+            found.getTelemetry().addListener(telemetryListener);
+        } else {
+            onTelemetry(NetworkTelemetry.Snapshot.EMPTY);
+        }
+    }
 
-        // Update usage history
-        usageHistory.offer(currentUsage);
-        if (usageHistory.size() > MAX_HISTORY_SIZE) {
-            usageHistory.poll();
+    private void detachFromNetwork() {
+        if (attachedNetwork != null) {
+            attachedNetwork.getTelemetry().removeListener(telemetryListener);
+            attachedNetwork = null;
         }
+    }
+
+    private void onTelemetry(NetworkTelemetry.Snapshot snapshot) {
+        energyInput = snapshot.inputPerTick();
+        energyOutput = snapshot.outputPerTick();
+        energyLossRate = snapshot.lossPerTick();
+        networkEfficiency = snapshot.efficiency();
+        systemLoadPercentage = snapshot.loadPercentage();
+        connectedDevicesCount = snapshot.nodeCount();
+        activeDevicesCount = snapshot.activeNodes();
+    }
 
-        // Calculate statistics
-        if (!usageHistory.isEmpty()) {
-            averageEnergyUsage = (int) usageHistory.stream().mapToInt(Integer::intValue).average().orElse(0);
-            peakEnergyUsage = usageHistory.stream().mapToInt(Integer::intValue).max().orElse(0);
-            minEnergyUsage = usageHistory.stream().mapToInt(Integer::intValue).min().orElse(0);
+    @Override
+    public void setRemoved() {
+        super.setRemoved();
+        detachFromNetwork();
+        if (level != null && !level.isClientSide() && !isChunkUnloading()) {
+            EnergyHistoryStore.delete(level, worldPosition);
         }
+    }
+
+    private void updateEnergyFlow() {
+        int currentUsage = energyOutput; // Measured energy delivered per tick
+
+        // Update usage history, the ring keeps the aggregates current
+        usageHistory.add(currentUsage);
+        averageEnergyUsage = (int) usageHistory.average();
+        peakEnergyUsage = (int) usageHistory.max();
+        minEnergyUsage = (int) usageHistory.min();
 
         totalEnergyProcessed += currentUsage;
     }
 
     private void calculateSystemMetrics() {
-        // System load percentage
-        int maxCapacity = connectedDevicesCount * 1000; // Estimated max capacity
-        systemLoadPercentage = maxCapacity > 0 ? (float) (energyInput + energyOutput) / maxCapacity * 100 : 0;
-
-        // Network efficiency (simplified calculation)
-        if (energyInput > 0) {
-            energyLossRate = Math.max(0, energyInput - energyOutput);
-            networkEfficiency = Math.max(0, 100.0f - (float) energyLossRate / energyInput * 100);
-        } else {
-            networkEfficiency = 100.0f;
-        }
+        // Load, loss and efficiency are measured by the network telemetry
 
         // System temperature (based on load)
         systemTemperature = 20 + (int) (systemLoadPercentage * 0.5f); // Base 20°C + load heating
@@ -247,20 +261,18 @@ public class EnergyMonitorBlockEntity extends BaseMachineBlockEntity {
     }
 
     private void updateHistoricalData() {
-        energyHistory[historyIndex] = averageEnergyUsage;
-        efficiencyHistory[historyIndex] = networkEfficiency;
-        loadHistory[historyIndex] = systemLoadPercentage;
+        energyHistory.add(averageEnergyUsage);
+        efficiencyHistory.add(networkEfficiency);
+        loadHistory.add(systemLoadPercentage);
 
-        historyIndex = (historyIndex + 1) % energyHistory.length;
+        // Long-term history goes to disk: input, output, loss, load
+        EnergyHistoryStore.record(level, worldPosition, energyInput, energyOutput, energyLossRate, systemLoadPercentage);
     }
 
     private void updatePredictions() {
         if (usageHistory.size() >= 10) {
-            // Simple trend analysis
-            List<Integer> recent = new ArrayList<>(usageHistory).subList(
-                    Math.max(0, usageHistory.size() - 10), usageHistory.size());
-
-            double trend = calculateTrend(recent);
+            // Simple trend analysis over the last 10 samples
+            double trend = calculateTrend(usageHistory, 10);
             predictedEnergyDemand = (int) Math.max(0, averageEnergyUsage + trend * 10);
 
             // Estimate time to overload
@@ -274,16 +286,18 @@ public class EnergyMonitorBlockEntity extends BaseMachineBlockEntity {
         }
     }
 
-    private double calculateTrend(List<Integer> data) {
-        if (data.size() < 2) return 0;
+    private double calculateTrend(TimeSeries data, int count) {
+        int n = Math.min(count, data.size());
+        if (n < 2) return 0;
 
         double sumX = 0, sumY = 0, sumXY = 0, sumX2 = 0;
-        int n = data.size();
+        int start = data.size() - n;
 
         for (int i = 0; i < n; i++) {
+            double y = data.get(start + i);
             sumX += i;
-            sumY += data.get(i);
-            sumXY += i * data.get(i);
+            sumY += y;
+            sumXY += i * y;
             sumX2 += i * i;
         }
 
@@ -314,9 +328,22 @@ public class EnergyMonitorBlockEntity extends BaseMachineBlockEntity {
     public boolean isEnergyStarved() { return energyStarved; }
     public boolean isSystemStable() { return systemStable; }
 
-    public int[] getEnergyHistory() { return energyHistory.clone(); }
-    public float[] getEfficiencyHistory() { return efficiencyHistory.clone(); }
-    public float[] getLoadHistory() { return loadHistory.clone(); }
+    public int[] getEnergyHistory() {
+        energyHistory.raw().copySlotsTo(energyGraph, 0);
+        return energyGraph;
+    }
+    public float[] getEfficiencyHistory() {
+        efficiencyHistory.raw().copySlotsTo(efficiencyGraph, 100.0f);
+        return efficiencyGraph;
+    }
+    public float[] getLoadHistory() {
+        loadHistory.raw().copySlotsTo(loadGraph, 0.0f);
+        return loadGraph;
+    }
+    public TimeSeries getUsageSeries() { return usageHistory; }
+    public HistorySlice getStoredHistory(EnergyHistoryStore.Resolution resolution) {
+        return EnergyHistoryStore.read(level, worldPosition, resolution);
+    }
 
     public int getSystemTemperature() { return systemTemperature; }
     public boolean isOverheating() { return overheating; }
@@ -350,9 +377,9 @@ public class EnergyMonitorBlockEntity extends BaseMachineBlockEntity {
 
     public void startDiagnostics() {
         // Reset statistics and start fresh monitoring
-        Arrays.fill(energyHistory, 0);
-        Arrays.fill(efficiencyHistory, 100.0f);
-        Arrays.fill(loadHistory, 0.0f);
+        energyHistory.clear();
+        efficiencyHistory.clear();
+        loadHistory.clear();
         usageHistory.clear();
         totalEnergyProcessed = 0L;
         activeAlerts.add("SYSTEM: Diagnostics started");
@@ -361,6 +388,7 @@ public class EnergyMonitorBlockEntity extends BaseMachineBlockEntity {
     public void calibrateSystem() {
         // Recalibrate monitoring parameters
         updateFrequency = 20;
+        updateTask.setInterval(updateFrequency);
         monitoringRange = 16;
         activeAlerts.add("SYSTEM: Calibration complete");
     }
@@ -452,5 +480,6 @@ public class EnergyMonitorBlockEntity extends BaseMachineBlockEntity {
         autoShutdownEnabled = tag.getBoolean("autoShutdownEnabled");
         lastUpdateTime = tag.getLong("lastUpdateTime");
         updateFrequency = tag.getInt("updateFrequency");
+        updateTask.setInterval(updateFrequency);
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.thewheatking.minecraftfarmertechmod.common.blockentity.machines;
 
 import com.thewheatking.minecraftfarmertechmod.common.blockentity.base.BaseMachineBlockEntity;
+import com.thewheatking.minecraftfarmertechmod.common.sync.SyncFieldSet;
 import com.thewheatking.minecraftfarmertechmod.hybrid.HybridBlockEntities;
 import com.thewheatking.minecraftfarmertechmod.hybrid.HybridMenuTypes;
 import net.minecraft.core.BlockPos;
@@ -8,6 +9,7 @@ import net.minecraft.core.Direction;
 import net.minecraft.core.HolderLookup;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
+import net.minecraft.network.codec.ByteBufCodecs;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.AbstractContainerMenu;
@@ -131,7 +133,7 @@ public class HybridConfiguratorBlockEntity extends BaseMachineBlockEntity {
         isWorking = isDistributing;
 
         // Sync to client if state changed
-        if (wasWorking != isWorking && tickCounter % SYNC_INTERVAL == 0) {
+        if (wasWorking != isWorking && isSyncTick()) {
             setChanged();
             syncToClient();
         }
@@ -458,40 +460,19 @@ public class HybridConfiguratorBlockEntity extends BaseMachineBlockEntity {
     // ========== NETWORKING ==========
 
     @Override
-    protected void writeClientData(CompoundTag tag) {
-        super.writeClientData(tag);
-        // Send configuration data to client for GUI updates
-        tag.putBoolean("Distributing", isDistributing);
-        tag.putInt("TotalDistributed", totalEnergyDistributed);
+    protected void registerSyncFields(SyncFieldSet fields) {
+        super.registerSyncFields(fields);
+        // Configuration data for GUI updates
+        fields.add("distributing", ByteBufCodecs.BOOL, () -> isDistributing, value -> isDistributing = value)
+                .add("totalDistributed", ByteBufCodecs.VAR_INT, () -> totalEnergyDistributed, value -> totalEnergyDistributed = value);
 
-        // Send face states
+        // Face states
         for (Direction face : OUTPUT_FACES) {
-            tag.putString("Tier_" + face.name(), faceConfigurations.get(face).name());
-            tag.putBoolean("Enabled_" + face.name(), faceEnabled.get(face));
-            tag.putInt("Output_" + face.name(), faceEnergyOutput.get(face));
-        }
-    }
-
-    @Override
-    protected void readClientData(CompoundTag tag) {
-        super.readClientData(tag);
-        // Receive configuration data from server
-        isDistributing = tag.getBoolean("Distributing");
-        totalEnergyDistributed = tag.getInt("TotalDistributed");
-
-        // Receive face states
-        for (Direction face : OUTPUT_FACES) {
-            if (tag.contains("Tier_" + face.name())) {
-                try {
-                    CableTier tier = CableTier.valueOf(tag.getString("Tier_" + face.name()));
-                    faceConfigurations.put(face, tier);
-                } catch (IllegalArgumentException e) {
-                    faceConfigurations.put(face, CableTier.COPPER_BASIC);
-                }
-            }
-
-            faceEnabled.put(face, tag.getBoolean("Enabled_" + face.name()));
-            faceEnergyOutput.put(face, tag.getInt("Output_" + face.name()));
+            String name = face.getSerializedName();
+            fields.add("tier_" + name, ByteBufCodecs.VAR_INT, () -> faceConfigurations.get(face).ordinal(),
+                            value -> faceConfigurations.put(face, CableTier.values()[value]))
+                    .add("enabled_" + name, ByteBufCodecs.BOOL, () -> faceEnabled.get(face), value -> faceEnabled.put(face, value))
+                    .add("output_" + name, ByteBufCodecs.VAR_INT, () -> faceEnergyOutput.get(face), value -> faceEnergyOutput.put(face, value));
         }
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.thewheatking.minecraftfarmertechmod.common.blockentity.machines;
 
 import com.thewheatking.minecraftfarmertechmod.common.blockentity.base.BaseMachineBlockEntity;
+import com.thewheatking.minecraftfarmertechmod.common.sync.SyncFieldSet;
 import com.thewheatking.minecraftfarmertechmod.hybrid.HybridBlockEntities;
 import com.thewheatking.minecraftfarmertechmod.hybrid.HybridMenuTypes;
 import net.minecraft.core.BlockPos;
@@ -8,6 +9,7 @@ import net.minecraft.core.Direction;
 import net.minecraft.core.HolderLookup;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
+import net.minecraft.network.codec.ByteBufCodecs;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResult;
 import net.minecraft.world.entity.player.Inventory;
@@ -95,7 +97,7 @@ public class NetworkBridgeBlockEntity extends BaseMachineBlockEntity {
 
         // Sync to client if state changed
         if ((wasWorking != isWorking || wasOperational != isOperational) &&
-                tickCounter % SYNC_INTERVAL == 0) {
+                isSyncTick()) {
             setChanged();
             syncToClient();
         }
@@ -512,27 +514,13 @@ public class NetworkBridgeBlockEntity extends BaseMachineBlockEntity {
     // ========== NETWORKING ==========
 
     @Override
-    protected void writeClientData(CompoundTag tag) {
-        super.writeClientData(tag);
-        // Send bridge data to client for GUI updates
-        tag.putBoolean("DashboardConnected", isDashboardConnected);
-        tag.putBoolean("MultiblockFormed", isMultiblockFormed);
-        tag.putBoolean("Operational", isOperational);
-        tag.putBoolean("RemoteEnabled", remoteAccessEnabled);
-        tag.putInt("LinkedTablets", linkedTablets.size());
-        tag.putInt("MaxTablets", maxLinkedTablets);
-        tag.putBoolean("HasPending", pendingTabletLink != null);
-    }
-
-    @Override
-    protected void readClientData(CompoundTag tag) {
-        super.readClientData(tag);
-        // Receive bridge data from server
-        isDashboardConnected = tag.getBoolean("DashboardConnected");
-        isMultiblockFormed = tag.getBoolean("MultiblockFormed");
-        isOperational = tag.getBoolean("Operational");
-        remoteAccessEnabled = tag.getBoolean("RemoteEnabled");
-        // Note: Don't sync full tablet lists to client for security
-        maxLinkedTablets = tag.getInt("MaxTablets");
+    protected void registerSyncFields(SyncFieldSet fields) {
+        super.registerSyncFields(fields);
+        // Bridge data for GUI updates, tablet lists stay on the server
+        fields.add("dashboardConnected", ByteBufCodecs.BOOL, () -> isDashboardConnected, value -> isDashboardConnected = value)
+                .add("multiblockFormed", ByteBufCodecs.BOOL, () -> isMultiblockFormed, value -> isMultiblockFormed = value)
+                .add("operational", ByteBufCodecs.BOOL, () -> isOperational, value -> isOperational = value)
+                .add("remoteEnabled", ByteBufCodecs.BOOL, () -> remoteAccessEnabled, value -> remoteAccessEnabled = value)
+                .add("maxTablets", ByteBufCodecs.VAR_INT, () -> maxLinkedTablets, value -> maxLinkedTablets = value);
     }
 }
\ No newline at end of file
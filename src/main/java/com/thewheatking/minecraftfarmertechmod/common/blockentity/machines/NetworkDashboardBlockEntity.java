@@ -1,6 +1,16 @@
 package com.thewheatking.minecraftfarmertechmod.common.blockentity.machines;
 
 import com.thewheatking.minecraftfarmertechmod.common.blockentity.base.BaseMachineBlockEntity;
+import com.thewheatking.minecraftfarmertechmod.common.blockentity.transmission.EnergyTransmissionBlockEntity;
+import com.thewheatking.minecraftfarmertechmod.common.history.EnergyHistoryStore;
+import com.thewheatking.minecraftfarmertechmod.common.history.HistorySlice;
+import com.thewheatking.minecraftfarmertechmod.common.sync.SyncFieldSet;
+import com.thewheatking.minecraftfarmertechmod.common.util.MftJfrEvents;
+import com.thewheatking.minecraftfarmertechmod.common.util.MftProfiler;
+import com.thewheatking.minecraftfarmertechmod.common.util.PeriodicTask;
+import com.thewheatking.minecraftfarmertechmod.common.util.TimeSeries;
+import com.thewheatking.minecraftfarmertechmod.energy.EnhancedMftEnergyNetwork;
+import com.thewheatking.minecraftfarmertechmod.energy.NetworkTelemetry;
 import com.thewheatking.minecraftfarmertechmod.hybrid.HybridBlockEntities;
 import com.thewheatking.minecraftfarmertechmod.hybrid.HybridMenuTypes;
 import net.minecraft.core.BlockPos;
@@ -10,6 +20,7 @@ import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.Tag;
 import net.minecraft.network.chat.Component;
+import net.minecraft.network.codec.ByteBufCodecs;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.entity.player.Player;
@@ -51,17 +62,35 @@ public class NetworkDashboardBlockEntity extends BaseMachineBlockEntity {
     private static final int INVENTORY_SIZE = 18;            // Upgrade/component slots
 
     // Network Scanning Configuration
-    private static final int MAX_SCAN_RANGE = 128;           // Maximum blocks to scan from dashboard
-    private static final int SCAN_INTERVAL = 100;            // Ticks between network rescans
+    private static final int SCAN_INTERVAL = 100;            // Ticks between topology refreshes
+    private static final int MAX_CHANGE_LOG = 512;           // Topology changes kept for client catch-up
     private static final int PERFORMANCE_UPDATE_INTERVAL = 20; // Performance analysis update rate
 
+    /**
+     * Device classification, the ordinal is what goes over the wire
+     */
+    public enum DeviceType {
+        MACHINE,
+        CABLE,
+        STORAGE,
+        GENERATOR,
+        CONTROLLER,
+        CONVERTER;
+
+        private static final DeviceType[] VALUES = values();
+
+        public static DeviceType byOrdinal(int ordinal) {
+            return ordinal >= 0 && ordinal < VALUES.length ? VALUES[ordinal] : MACHINE;
+        }
+    }
+
     // Network Device Data Structure
     public static class NetworkDevice {
+        public final int nodeId;                  // Stable while the device stays mapped, used by clients
         public final BlockPos position;
         public final String blockName;
         public final ResourceLocation blockId;
-        public final String deviceType;           // "machine", "cable", "storage", "generator"
-        public final Map<String, Object> properties;
+        public final DeviceType deviceType;
 
         // Performance Data
         public int energyStored;
@@ -74,30 +103,25 @@ public class NetworkDashboardBlockEntity extends BaseMachineBlockEntity {
         public boolean isUnderperforming;
         public float stressLevel;                 // 0.0 - 1.0
 
-        // Visual Mapping Data
-        public int mapX, mapY;                    // Position on visual map
-        public boolean isSelected;
-        public String statusColor;               // For GUI coloring
-
         // Connection Data
-        public final Set<BlockPos> connectedDevices;
         public final Map<Direction, BlockPos> directConnections;
 
-        public NetworkDevice(BlockPos pos, String name, ResourceLocation id, String type) {
+        // Resolved once when the device is mapped, topology changes remap it
+        IEnergyStorage energyStorage;
+
+        public NetworkDevice(int nodeId, BlockPos pos, String name, ResourceLocation id, DeviceType type) {
+            this.nodeId = nodeId;
             this.position = pos;
             this.blockName = name;
             this.blockId = id;
             this.deviceType = type;
-            this.properties = new HashMap<>();
-            this.connectedDevices = new HashSet<>();
             this.directConnections = new EnumMap<>(Direction.class);
 
             // Initialize performance data
             this.efficiency = 100.0f;
-            this.statusColor = "green";
         }
 
-        public void updatePerformanceData(IEnergyStorage energyStorage, BlockEntity blockEntity) {
+        public void updatePerformanceData() {
             if (energyStorage != null) {
                 this.energyStored = energyStorage.getEnergyStored();
                 this.maxEnergyStored = energyStorage.getMaxEnergyStored();
@@ -108,29 +132,33 @@ public class NetworkDashboardBlockEntity extends BaseMachineBlockEntity {
                 float utilizationRatio = (float) energyStored / maxEnergyStored;
                 this.stressLevel = utilizationRatio;
 
-                // Determine performance status
+                // Determine performance status, the client derives its colours from these
                 this.isOverloaded = utilizationRatio > 0.95f;
                 this.isUnderperforming = utilizationRatio < 0.1f && energyOutput == 0;
-
-                // Set status color
-                if (isOverloaded) {
-                    this.statusColor = "red";
-                } else if (isUnderperforming) {
-                    this.statusColor = "yellow";
-                } else if (isActive) {
-                    this.statusColor = "green";
-                } else {
-                    this.statusColor = "gray";
-                }
             }
         }
     }
 
+    /**
+     * One entry of the topology change log, revisions increase by one per entry
+     */
+    public record TopologyDelta(long revision, EnhancedMftEnergyNetwork.TopologyChange.Kind kind, int nodeId,
+                                BlockPos position, DeviceType deviceType) {
+    }
+
     // Network Topology Data
     private final Map<BlockPos, NetworkDevice> networkDevices = new ConcurrentHashMap<>();
+    private final Map<Integer, NetworkDevice> devicesById = new ConcurrentHashMap<>();
+    private int nextNodeId = 0;
     private final Map<BlockPos, Set<BlockPos>> networkConnections = new ConcurrentHashMap<>();
     private final List<NetworkDevice> performanceIssues = new ArrayList<>();
 
+    // Topology Subscription (maintained from network events instead of rescanning)
+    private EnhancedMftEnergyNetwork attachedNetwork;
+    private final EnhancedMftEnergyNetwork.TopologyListener topologyListener = this::onTopologyChanged;
+    private final Deque<TopologyDelta> changeLog = new ArrayDeque<>();
+    private long topologyRevision = 0L;
+
     // Network Statistics
     private int totalDevices = 0;
     private int activeDevices = 0;
@@ -141,6 +169,12 @@ public class NetworkDashboardBlockEntity extends BaseMachineBlockEntity {
     private float networkEfficiency = 100.0f;
     private boolean networkStable = true;
 
+    // Network Trends, one sample per performance update (every second) with minute and hour tiers
+    private static final int TREND_LENGTH = 60;
+    private final TimeSeries energyTrend = new TimeSeries(TREND_LENGTH, 1, TREND_LENGTH, TimeSeries.DEFAULT_EMA_ALPHA);
+    private final TimeSeries efficiencyTrend = new TimeSeries(TREND_LENGTH, 1, TREND_LENGTH, TimeSeries.DEFAULT_EMA_ALPHA);
+    private final TimeSeries activeDeviceTrend = new TimeSeries(TREND_LENGTH, 1, TREND_LENGTH, TimeSeries.DEFAULT_EMA_ALPHA);
+
     // Scanning State
     private boolean isScanning = false;
     private boolean networkMapped = false;
@@ -148,6 +182,8 @@ public class NetworkDashboardBlockEntity extends BaseMachineBlockEntity {
     private int maxScanProgress = 100;
     private long lastScanTime = 0L;
     private long lastPerformanceUpdate = 0L;
+    private final PeriodicTask scanTask;
+    private final PeriodicTask performanceTask;
 
     // Multiblock State (NetworkBridge connection)
     private BlockPos connectedBridgePos = null;
@@ -168,6 +204,8 @@ public class NetworkDashboardBlockEntity extends BaseMachineBlockEntity {
     public NetworkDashboardBlockEntity(BlockPos pos, BlockState state) {
         super(HybridBlockEntities.NETWORK_DASHBOARD.get(), pos, state,
                 ENERGY_CAPACITY, ENERGY_TRANSFER_RATE, ENERGY_TRANSFER_RATE, INVENTORY_SIZE);
+        this.scanTask = new PeriodicTask("dashboard_scan", pos, SCAN_INTERVAL);
+        this.performanceTask = new PeriodicTask("dashboard_performance", pos, PERFORMANCE_UPDATE_INTERVAL);
     }
 
     @Override
@@ -176,16 +214,18 @@ public class NetworkDashboardBlockEntity extends BaseMachineBlockEntity {
 
         long currentTime = level.getGameTime();
 
-        // Periodic network scanning
-        if (currentTime - lastScanTime >= SCAN_INTERVAL) {
+        // Periodic topology refresh (a zeroed lastScanTime forces an immediate refresh)
+        if (scanTask.isDue(currentTime) || lastScanTime == 0L) {
             if (canScanNetwork()) {
-                performNetworkScan();
+                long profileStart = MftProfiler.begin();
+                refreshTopology();
+                MftProfiler.end(MftProfiler.Category.SCANNER, "dashboard_scan", worldPosition, profileStart);
             }
             lastScanTime = currentTime;
         }
 
         // Performance analysis update
-        if (currentTime - lastPerformanceUpdate >= PERFORMANCE_UPDATE_INTERVAL) {
+        if (performanceTask.isDue(currentTime)) {
             updateNetworkPerformance();
             lastPerformanceUpdate = currentTime;
         }
@@ -198,7 +238,7 @@ public class NetworkDashboardBlockEntity extends BaseMachineBlockEntity {
         isWorking = isScanning || (networkMapped && activeDevices > 0);
 
         // Sync to client if state changed
-        if (wasWorking != isWorking && tickCounter % SYNC_INTERVAL == 0) {
+        if (wasWorking != isWorking && isSyncTick()) {
             setChanged();
             syncToClient();
         }
@@ -212,75 +252,160 @@ public class NetworkDashboardBlockEntity extends BaseMachineBlockEntity {
     }
 
     /**
-     * Perform comprehensive network scan and topology mapping
+     * Attaches to the adjacent cable network and lets it publish any pending topology changes
+     * The device map is only touched by onTopologyChanged, so the cost follows the number of changes.
      */
-    private void performNetworkScan() {
-        isScanning = true;
-        scanProgress = 0;
-        networkDevices.clear();
-        networkConnections.clear();
-        performanceIssues.clear();
-
-        addRecentEvent("Starting network scan...");
+    private void refreshTopology() {
+        attachToNetwork();
+        if (attachedNetwork != null) {
+            attachedNetwork.refreshTopology();
+        }
+        scanProgress = 100;
+        networkMapped = attachedNetwork != null;
+    }
 
-        // Use breadth-first search to map entire network
-        Queue<BlockPos> scanQueue = new LinkedList<>();
-        Set<BlockPos> scannedPositions = new HashSet<>();
+    private void attachToNetwork() {
+        EnhancedMftEnergyNetwork found = null;
+        for (Direction direction : Direction.values()) {
+            if (level.getBlockEntity(worldPosition.relative(direction)) instanceof EnergyTransmissionBlockEntity cable
+                    && cable.getConnectedNetwork() != null) {
+                found = cable.getConnectedNetwork();
+                break;
+            }
+        }
 
-        // Start scanning from dashboard position
-        scanQueue.add(worldPosition);
-        scannedPositions.add(worldPosition);
+        if (found == attachedNetwork) return;
 
-        int scannedCount = 0;
-        while (!scanQueue.isEmpty() && scannedCount < MAX_SCAN_RANGE) {
-            BlockPos currentPos = scanQueue.poll();
-            scannedCount++;
+        detachFromNetwork();
+        resetTopology();
+        attachedNetwork = found;
+        if (found != null) {
+            addRecentEvent("Attached to network " + found.getNetworkId());
+            // Replays the current topology as additions
+            found.addTopologyListener(topologyListener);
+        }
+    }
 
-            // Scan current position
-            NetworkDevice device = scanDeviceAtPosition(currentPos);
-            if (device != null) {
-                networkDevices.put(currentPos, device);
+    private void detachFromNetwork() {
+        if (attachedNetwork != null) {
+            attachedNetwork.removeTopologyListener(topologyListener);
+            attachedNetwork = null;
+        }
+    }
 
-                // Scan neighboring positions for connections
-                for (Direction direction : Direction.values()) {
-                    BlockPos neighborPos = currentPos.relative(direction);
+    private void resetTopology() {
+        networkDevices.clear();
+        devicesById.clear();
+        networkConnections.clear();
+        performanceIssues.clear();
+        selectedDevice = null;
+        changeLog.clear();
+        topologyRevision++; // Clients holding an older revision resync
+    }
 
-                    if (!scannedPositions.contains(neighborPos) &&
-                            isWithinScanRange(neighborPos) &&
-                            hasEnergyConnection(neighborPos)) {
+    /**
+     * Applies one batch of topology changes pushed by the attached network
+     */
+    private void onTopologyChanged(EnhancedMftEnergyNetwork network, List<EnhancedMftEnergyNetwork.TopologyChange> changes) {
+        if (network != attachedNetwork || level == null) return;
 
-                        scanQueue.add(neighborPos);
-                        scannedPositions.add(neighborPos);
+        MftJfrEvents.WorldScan scanEvent = new MftJfrEvents.WorldScan();
+        scanEvent.begin();
+        isScanning = true;
 
-                        // Record connection
-                        device.directConnections.put(direction, neighborPos);
-                        networkConnections.computeIfAbsent(currentPos, k -> new HashSet<>()).add(neighborPos);
-                        networkConnections.computeIfAbsent(neighborPos, k -> new HashSet<>()).add(currentPos);
+        int added = 0;
+        int removed = 0;
+        for (EnhancedMftEnergyNetwork.TopologyChange change : changes) {
+            BlockPos pos = change.position();
+            switch (change.kind()) {
+                case ADDED, CHANGED -> {
+                    NetworkDevice existing = networkDevices.get(pos);
+                    NetworkDevice device = scanDeviceAtPosition(pos, existing != null ? existing.nodeId : nextNodeId);
+                    if (device == null) {
+                        if (removeDevice(pos)) removed++;
+                        continue;
+                    }
+                    if (existing == null) {
+                        nextNodeId++;
+                        added++;
                     }
+                    networkDevices.put(pos, device);
+                    devicesById.put(device.nodeId, device);
+                    linkDevice(device);
+                    logChange(change.kind(), device);
+                }
+                case REMOVED -> {
+                    if (removeDevice(pos)) removed++;
                 }
             }
+        }
 
-            // Update scan progress
-            scanProgress = (scannedCount * 100) / Math.min(MAX_SCAN_RANGE, scanQueue.size() + scannedCount);
+        if (added > 0 || removed > 0) {
+            addRecentEvent("Topology updated: " + added + " added, " + removed + " removed, "
+                    + networkDevices.size() + " devices.");
         }
+        updateNetworkStatistics();
+        isScanning = false;
+        setChanged();
 
-        // Calculate visual map positions
-        calculateMapPositions();
+        MftJfrEvents.commitWorldScan(scanEvent, "network_dashboard", level, worldPosition, network.getNetworkId(),
+                networkDevices.size(), changes.size());
+    }
 
-        // Update network statistics
-        updateNetworkStatistics();
+    /**
+     * Links a device to its mapped neighbours, six lookups instead of a walk
+     */
+    private void linkDevice(NetworkDevice device) {
+        BlockPos pos = device.position;
+        for (Direction direction : Direction.values()) {
+            BlockPos neighborPos = pos.relative(direction);
+            NetworkDevice neighbor = networkDevices.get(neighborPos);
+            if (neighbor == null) continue;
+
+            device.directConnections.put(direction, neighborPos);
+            neighbor.directConnections.put(direction.getOpposite(), pos);
+            networkConnections.computeIfAbsent(pos, k -> new HashSet<>()).add(neighborPos);
+            networkConnections.computeIfAbsent(neighborPos, k -> new HashSet<>()).add(pos);
+        }
+    }
 
-        isScanning = false;
-        networkMapped = true;
+    private boolean removeDevice(BlockPos pos) {
+        NetworkDevice device = networkDevices.remove(pos);
+        if (device == null) return false;
+        devicesById.remove(device.nodeId);
+
+        Set<BlockPos> neighbors = networkConnections.remove(pos);
+        if (neighbors != null) {
+            for (BlockPos neighborPos : neighbors) {
+                Set<BlockPos> back = networkConnections.get(neighborPos);
+                if (back != null) {
+                    back.remove(pos);
+                    if (back.isEmpty()) networkConnections.remove(neighborPos);
+                }
+                NetworkDevice neighbor = networkDevices.get(neighborPos);
+                if (neighbor != null) {
+                    neighbor.directConnections.values().remove(pos);
+                }
+            }
+        }
+        performanceIssues.remove(device);
+        if (selectedDevice == device) selectedDevice = null;
 
-        addRecentEvent("Network scan completed. Found " + networkDevices.size() + " devices.");
-        setChanged();
+        logChange(EnhancedMftEnergyNetwork.TopologyChange.Kind.REMOVED, device);
+        return true;
+    }
+
+    private void logChange(EnhancedMftEnergyNetwork.TopologyChange.Kind kind, NetworkDevice device) {
+        changeLog.addLast(new TopologyDelta(++topologyRevision, kind, device.nodeId, device.position, device.deviceType));
+        if (changeLog.size() > MAX_CHANGE_LOG) {
+            changeLog.pollFirst();
+        }
     }
 
     /**
      * Scan a specific position for energy-related devices
      */
-    private NetworkDevice scanDeviceAtPosition(BlockPos pos) {
+    private NetworkDevice scanDeviceAtPosition(BlockPos pos, int nodeId) {
         BlockEntity blockEntity = level.getBlockEntity(pos);
         if (blockEntity == null) return null;
 
@@ -295,11 +420,12 @@ public class NetworkDashboardBlockEntity extends BaseMachineBlockEntity {
         ResourceLocation blockId = net.minecraft.core.registries.BuiltInRegistries.BLOCK.getKey(block);
 
         // Determine device type
-        String deviceType = classifyDevice(blockEntity, blockName);
+        DeviceType deviceType = classifyDevice(blockEntity, blockName);
 
         // Create network device
-        NetworkDevice device = new NetworkDevice(pos, blockName, blockId, deviceType);
-        device.updatePerformanceData(energyCap, blockEntity);
+        NetworkDevice device = new NetworkDevice(nodeId, pos, blockName, blockId, deviceType);
+        device.energyStorage = energyCap;
+        device.updatePerformanceData();
 
         // Set active state
         if (blockEntity instanceof BaseMachineBlockEntity machine) {
@@ -313,98 +439,61 @@ public class NetworkDashboardBlockEntity extends BaseMachineBlockEntity {
     /**
      * Classify device type based on block entity
      */
-    private String classifyDevice(BlockEntity blockEntity, String blockName) {
+    private DeviceType classifyDevice(BlockEntity blockEntity, String blockName) {
         String name = blockName.toLowerCase();
 
-        if (name.contains("generator")) return "generator";
-        if (name.contains("storage") || name.contains("battery")) return "storage";
-        if (name.contains("cable") || name.contains("wire")) return "cable";
-        if (name.contains("controller") || name.contains("monitor")) return "controller";
-        if (name.contains("converter") || name.contains("transformer")) return "converter";
-
-        return "machine"; // Default type
-    }
+        if (name.contains("generator")) return DeviceType.GENERATOR;
+        if (name.contains("storage") || name.contains("battery")) return DeviceType.STORAGE;
+        if (name.contains("cable") || name.contains("wire")) return DeviceType.CABLE;
+        if (name.contains("controller") || name.contains("monitor")) return DeviceType.CONTROLLER;
+        if (name.contains("converter") || name.contains("transformer")) return DeviceType.CONVERTER;
 
-    /**
-     * Check if position is within scan range
-     */
-    private boolean isWithinScanRange(BlockPos pos) {
-        return worldPosition.closerThan(pos, MAX_SCAN_RANGE);
-    }
-
-    /**
-     * Check if position has energy connection capability
-     */
-    private boolean hasEnergyConnection(BlockPos pos) {
-        var energyCap = level.getCapability(Capabilities.EnergyStorage.BLOCK, pos, null);
-        return energyCap != null;
-    }
-
-    /**
-     * Calculate visual map positions for network topology display
-     */
-    private void calculateMapPositions() {
-        if (networkDevices.isEmpty()) return;
-
-        // Simple grid-based layout algorithm
-        // In a real implementation, this would use graph layout algorithms
-
-        List<NetworkDevice> devices = new ArrayList<>(networkDevices.values());
-        int gridSize = (int) Math.ceil(Math.sqrt(devices.size()));
-
-        for (int i = 0; i < devices.size(); i++) {
-            NetworkDevice device = devices.get(i);
-            device.mapX = (i % gridSize) * 50; // 50 pixel spacing
-            device.mapY = (i / gridSize) * 50;
-        }
+        return DeviceType.MACHINE; // Default type
     }
 
     /**
      * Update network performance analysis
+     * Flow comes from the network telemetry and storage from the nodes the network already holds, so nothing
+     * is looked up in the world. Per-device readings are refreshed only for devices a viewer has on screen.
      */
     private void updateNetworkPerformance() {
-        if (!networkMapped) return;
+        if (!networkMapped || attachedNetwork == null) return;
+
+        attachedNetwork.tickTelemetry(level.getGameTime());
+        NetworkTelemetry.Snapshot snapshot = attachedNetwork.getTelemetry().getLastSnapshot();
 
-        performanceIssues.clear();
         totalDevices = networkDevices.size();
-        activeDevices = 0;
+        activeDevices = snapshot.activeNodes();
+        networkEfficiency = snapshot.efficiency();
         overloadedDevices = 0;
         underperformingDevices = 0;
         totalNetworkEnergy = 0L;
         maxNetworkCapacity = 0L;
 
-        // Analyze each device
-        for (NetworkDevice device : networkDevices.values()) {
-            // Update device performance data
-            BlockEntity blockEntity = level.getBlockEntity(device.position);
-            if (blockEntity != null) {
-                var energyCap = level.getCapability(Capabilities.EnergyStorage.BLOCK, device.position, null);
-                device.updatePerformanceData(energyCap, blockEntity);
-            }
-
-            // Update counters
-            if (device.isActive) activeDevices++;
-            if (device.isOverloaded) {
-                overloadedDevices++;
-                performanceIssues.add(device);
-            }
-            if (device.isUnderperforming) {
-                underperformingDevices++;
-                performanceIssues.add(device);
+        for (EnhancedMftEnergyNetwork.EnergyNode node : attachedNetwork.getEnergyNodes()) {
+            if (node.energyStorage == null) continue;
+            int stored = node.energyStorage.getEnergyStored();
+            int capacity = node.energyStorage.getMaxEnergyStored();
+            totalNetworkEnergy += stored;
+            maxNetworkCapacity += capacity;
+
+            if (capacity > 0) {
+                float utilizationRatio = (float) stored / capacity;
+                if (utilizationRatio > 0.95f) overloadedDevices++;
+                if (utilizationRatio < 0.1f) underperformingDevices++;
             }
-
-            totalNetworkEnergy += device.energyStored;
-            maxNetworkCapacity += device.maxEnergyStored;
-        }
-
-        // Calculate network efficiency
-        if (maxNetworkCapacity > 0) {
-            networkEfficiency = ((float) totalNetworkEnergy / maxNetworkCapacity) * 100;
         }
 
         // Check network stability
         networkStable = (overloadedDevices == 0) && (underperformingDevices < totalDevices * 0.1);
 
+        energyTrend.add(totalNetworkEnergy);
+        efficiencyTrend.add(networkEfficiency);
+        activeDeviceTrend.add(activeDevices);
+
+        // Long-term history goes to disk: stored energy, capacity, efficiency, active devices
+        EnergyHistoryStore.record(level, worldPosition, totalNetworkEnergy, maxNetworkCapacity, networkEfficiency, activeDevices);
+
         // Generate alerts
         updateNetworkAlerts();
     }
@@ -483,6 +572,11 @@ public class NetworkDashboardBlockEntity extends BaseMachineBlockEntity {
         return energyStorage.getEnergyStored() >= 50;
     }
 
+    @Override
+    protected boolean canSleep() {
+        return false; // The dashboard polls network telemetry on a timer, nothing wakes it
+    }
+
     @Override
     protected void performOperation() {
         // Main operation logic is handled in serverTick
@@ -508,6 +602,38 @@ public class NetworkDashboardBlockEntity extends BaseMachineBlockEntity {
     public int getActiveDevices() { return activeDevices; }
     public Map<BlockPos, NetworkDevice> getNetworkDevices() { return new HashMap<>(networkDevices); }
     public Map<BlockPos, Set<BlockPos>> getNetworkConnections() { return new HashMap<>(networkConnections); }
+    public long getTopologyRevision() { return topologyRevision; }
+    public Collection<NetworkDevice> getDevices() { return networkDevices.values(); }
+    public NetworkDevice getDeviceById(int nodeId) { return devicesById.get(nodeId); }
+
+    /**
+     * Re-reads one device's storage, called for the devices a viewer has on screen
+     */
+    public void refreshDevice(NetworkDevice device) {
+        if (device.deviceType == DeviceType.CABLE) return;
+        device.updatePerformanceData();
+        if (device.isOverloaded || device.isUnderperforming) {
+            if (!performanceIssues.contains(device)) performanceIssues.add(device);
+        } else {
+            performanceIssues.remove(device);
+        }
+    }
+
+    /**
+     * Gets the topology changes after the given revision, oldest first
+     * Returns null when the log no longer reaches back that far, the caller then needs the full device map.
+     */
+    public List<TopologyDelta> getChangesSince(long revision) {
+        if (revision == topologyRevision) return List.of();
+        TopologyDelta oldest = changeLog.peekFirst();
+        if (revision > topologyRevision || oldest == null || revision < oldest.revision() - 1) return null;
+
+        List<TopologyDelta> changes = new ArrayList<>();
+        for (TopologyDelta delta : changeLog) {
+            if (delta.revision() > revision) changes.add(delta);
+        }
+        return changes;
+    }
 
     // Tab 2 - Remote Control (requires NetworkBridge)
     public boolean hasNetworkBridge() { return hasNetworkBridge; }
@@ -523,6 +649,12 @@ public class NetworkDashboardBlockEntity extends BaseMachineBlockEntity {
     public float getNetworkEfficiency() { return networkEfficiency; }
     public boolean isNetworkStable() { return networkStable; }
     public List<String> getNetworkAlerts() { return new ArrayList<>(networkAlerts); }
+    public TimeSeries getEnergyTrend() { return energyTrend; }
+    public TimeSeries getEfficiencyTrend() { return efficiencyTrend; }
+    public TimeSeries getActiveDeviceTrend() { return activeDeviceTrend; }
+    public HistorySlice getStoredHistory(EnergyHistoryStore.Resolution resolution) {
+        return EnergyHistoryStore.read(level, worldPosition, resolution);
+    }
     public String[] getRecentEvents() { return recentEvents.toArray(new String[0]); }
 
     // Visual Map Control
@@ -537,20 +669,30 @@ public class NetworkDashboardBlockEntity extends BaseMachineBlockEntity {
     // Control Methods
     public void requestNetworkScan() {
         if (!isScanning && canScanNetwork()) {
-            lastScanTime = 0; // Force immediate scan
+            lastScanTime = 0; // Force immediate refresh
+            if (attachedNetwork != null) attachedNetwork.markDirty();
             addRecentEvent("Manual network scan requested");
         }
     }
 
     public void clearNetworkData() {
-        networkDevices.clear();
-        networkConnections.clear();
-        performanceIssues.clear();
+        // Reattaching on the next refresh replays the full topology
+        detachFromNetwork();
+        resetTopology();
         networkMapped = false;
         addRecentEvent("Network data cleared");
         setChanged();
     }
 
+    @Override
+    public void setRemoved() {
+        super.setRemoved();
+        detachFromNetwork();
+        if (level != null && !level.isClientSide() && !isChunkUnloading()) {
+            EnergyHistoryStore.delete(level, worldPosition);
+        }
+    }
+
     // ========== NBT SERIALIZATION ==========
 
     @Override
@@ -637,32 +779,18 @@ public class NetworkDashboardBlockEntity extends BaseMachineBlockEntity {
     // ========== NETWORKING ==========
 
     @Override
-    protected void writeClientData(CompoundTag tag) {
-        super.writeClientData(tag);
-        // Send dashboard data to client for GUI updates
-        tag.putBoolean("Scanning", isScanning);
-        tag.putBoolean("Mapped", networkMapped);
-        tag.putInt("Progress", scanProgress);
-        tag.putBoolean("HasBridge", hasNetworkBridge);
-        tag.putBoolean("RemoteControl", remoteControlEnabled);
-        tag.putInt("TotalDevices", totalDevices);
-        tag.putInt("ActiveDevices", activeDevices);
-        tag.putFloat("Efficiency", networkEfficiency);
-        tag.putBoolean("Stable", networkStable);
-    }
-
-    @Override
-    protected void readClientData(CompoundTag tag) {
-        super.readClientData(tag);
-        // Receive dashboard data from server
-        isScanning = tag.getBoolean("Scanning");
-        networkMapped = tag.getBoolean("Mapped");
-        scanProgress = tag.getInt("Progress");
-        hasNetworkBridge = tag.getBoolean("HasBridge");
-        remoteControlEnabled = tag.getBoolean("RemoteControl");
-        totalDevices = tag.getInt("TotalDevices");
-        activeDevices = tag.getInt("ActiveDevices");
-        networkEfficiency = tag.getFloat("Efficiency");
-        networkStable = tag.getBoolean("Stable");
+    protected void registerSyncFields(SyncFieldSet fields) {
+        super.registerSyncFields(fields);
+        // Dashboard data for GUI updates
+        fields.add("scanning", ByteBufCodecs.BOOL, () -> isScanning, value -> isScanning = value)
+                .add("mapped", ByteBufCodecs.BOOL, () -> networkMapped, value -> networkMapped = value)
+                .add("progress", ByteBufCodecs.VAR_INT, () -> scanProgress, value -> scanProgress = value)
+                .add("hasBridge", ByteBufCodecs.BOOL, () -> hasNetworkBridge, value -> hasNetworkBridge = value)
+                .add("remoteControl", ByteBufCodecs.BOOL, () -> remoteControlEnabled, value -> remoteControlEnabled = value)
+                .add("totalDevices", ByteBufCodecs.VAR_INT, () -> totalDevices, value -> totalDevices = value)
+                .add("activeDevices", ByteBufCodecs.VAR_INT, () -> activeDevices, value -> activeDevices = value)
+                .add("efficiency", ByteBufCodecs.FLOAT, () -> networkEfficiency, value -> networkEfficiency = value)
+                .add("stable", ByteBufCodecs.BOOL, () -> networkStable, value -> networkStable = value)
+                .add("revision", ByteBufCodecs.VAR_LONG, () -> topologyRevision, value -> topologyRevision = value);
     }
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.thewheatking.minecraftfarmertechmod.common.blockentity.machines;
 
 import com.thewheatking.minecraftfarmertechmod.common.blockentity.base.BaseMachineBlockEntity;
+import com.thewheatking.minecraftfarmertechmod.common.sync.SyncFieldSet;
+import com.thewheatking.minecraftfarmertechmod.common.util.MftJfrEvents;
+import com.thewheatking.minecraftfarmertechmod.common.util.MftProfiler;
 import com.thewheatking.minecraftfarmertechmod.hybrid.HybridBlockEntities;
 import com.thewheatking.minecraftfarmertechmod.hybrid.HybridMenuTypes;
 import net.minecraft.core.BlockPos;
@@ -10,12 +13,14 @@ import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.Tag;
 import net.minecraft.network.chat.Component;
+import net.minecraft.network.codec.ByteBufCodecs;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.state.BlockState;
 
+import javax.annotation.Nullable;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -34,7 +39,7 @@ import java.util.concurrent.ConcurrentHashMap;
  *
  * File Location: src/main/java/com/thewheatking/minecraftfarmertechmod/common/blockentity/machines/NetworkRelayBlockEntity.java
  */
-public class NetworkRelayBlockEntity extends BaseMachineBlockEntity {
+public class NetworkRelayBlockEntity extends BaseMachineBlockEntity implements RelayDirectory.Subscriber {
 
     // Network Relay Specifications
     private static final int ENERGY_CAPACITY = 25000;        // 25,000 FE capacity
@@ -105,15 +110,15 @@ public class NetworkRelayBlockEntity extends BaseMachineBlockEntity {
             this.lastCommunication = this.discoveryTime;
         }
 
-        public void updateNetworkStatus(NetworkDashboardBlockEntity dashboard) {
-            if (dashboard != null && dashboard.isNetworkMapped()) {
+        public void applyStatus(RelayDirectory.NetworkStatus status) {
+            if (status.online()) {
                 this.isOnline = true;
-                this.deviceCount = dashboard.getTotalDevices();
-                this.activeDevices = dashboard.getActiveDevices();
-                this.totalEnergy = dashboard.getTotalNetworkEnergy();
-                this.maxCapacity = dashboard.getMaxNetworkCapacity();
-                this.efficiency = dashboard.getNetworkEfficiency();
-                this.isStable = dashboard.isNetworkStable();
+                this.deviceCount = status.deviceCount();
+                this.activeDevices = status.activeDevices();
+                this.totalEnergy = status.totalEnergy();
+                this.maxCapacity = status.maxCapacity();
+                this.efficiency = status.efficiency();
+                this.isStable = status.stable();
                 this.lastUpdate = System.currentTimeMillis();
                 this.lastCommunication = this.lastUpdate;
             } else {
@@ -142,8 +147,10 @@ public class NetworkRelayBlockEntity extends BaseMachineBlockEntity {
         long currentTime = level.getGameTime();
         if (currentTime - lastNetworkScan >= NETWORK_SCAN_INTERVAL) {
             if (canPerformNetworkOperations()) {
+                long profileStart = MftProfiler.begin();
                 performNetworkDiscovery();
                 updateCrossNetworkStatistics();
+                MftProfiler.end(MftProfiler.Category.SCANNER, "relay_discovery", worldPosition, profileStart);
             }
             lastNetworkScan = currentTime;
         }
@@ -159,7 +166,7 @@ public class NetworkRelayBlockEntity extends BaseMachineBlockEntity {
         isWorking = isDashboardConnected && (isScanning || totalLinkedNetworks > 0);
 
         // Sync to client if state changed
-        if (wasWorking != isWorking && tickCounter % SYNC_INTERVAL == 0) {
+        if (wasWorking != isWorking && isSyncTick()) {
             setChanged();
             syncToClient();
         }
@@ -214,35 +221,19 @@ public class NetworkRelayBlockEntity extends BaseMachineBlockEntity {
      * Perform network discovery to find other NetworkRelay + Dashboard combinations
      */
     private void performNetworkDiscovery() {
+        MftJfrEvents.WorldScan scanEvent = new MftJfrEvents.WorldScan();
+        scanEvent.begin();
         isScanning = true;
 
-        // Scan for other NetworkRelay blocks within range
-        BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
+        // Other formed relays within range, from the level's relay directory
+        List<NetworkRelayBlockEntity> relays = RelayDirectory.findInRange(this, scanRadius);
         int discoveredNetworks = 0;
 
-        for (int x = -scanRadius; x <= scanRadius; x++) {
-            for (int y = -scanRadius; y <= scanRadius; y++) {
-                for (int z = -scanRadius; z <= scanRadius; z++) {
-                    mutablePos.set(worldPosition.getX() + x, worldPosition.getY() + y, worldPosition.getZ() + z);
-
-                    // Skip our own position
-                    if (mutablePos.equals(worldPosition)) continue;
-
-                    // Check if there's a NetworkRelay at this position
-                    if (level.getBlockEntity(mutablePos) instanceof NetworkRelayBlockEntity otherRelay) {
-                        if (otherRelay.isDashboardConnected() && otherRelay.isMultiblockFormed()) {
-
-                            // Discover this network
-                            UUID otherNetworkId = otherRelay.getMasterNetworkId();
-                            BlockPos otherDashboardPos = otherRelay.getConnectedDashboardPos();
-
-                            if (otherNetworkId != null && !otherNetworkId.equals(masterNetworkId)) {
-                                discoverNetwork(otherNetworkId, otherDashboardPos, mutablePos.immutable());
-                                discoveredNetworks++;
-                            }
-                        }
-                    }
-                }
+        for (NetworkRelayBlockEntity otherRelay : relays) {
+            UUID otherNetworkId = otherRelay.getMasterNetworkId();
+            if (otherNetworkId != null && !otherNetworkId.equals(masterNetworkId) && !linkedNetworks.contains(otherNetworkId)) {
+                discoverNetwork(otherNetworkId, otherRelay.getConnectedDashboardPos(), otherRelay.getBlockPos());
+                discoveredNetworks++;
             }
         }
 
@@ -251,6 +242,9 @@ public class NetworkRelayBlockEntity extends BaseMachineBlockEntity {
         }
 
         isScanning = false;
+
+        MftJfrEvents.commitWorldScan(scanEvent, "network_relay", level, worldPosition, masterNetworkId,
+                discoveredNetworks, relays.size());
     }
 
     /**
@@ -271,29 +265,32 @@ public class NetworkRelayBlockEntity extends BaseMachineBlockEntity {
             energyStorage.extractEnergy(1000, false);
 
             addDebugMessage("Linked to network: " + networkName);
-        }
 
-        // Update network status
-        updateNetworkStatus(networkId);
+            // Status arrives from the directory from now on, starting with the current one
+            RelayDirectory.subscribe(level, networkId, this);
+        }
     }
 
-    /**
-     * Update status of a specific linked network
-     */
-    private void updateNetworkStatus(UUID networkId) {
-        NetworkInfo networkInfo = networkDatabase.get(networkId);
-        if (networkInfo == null) return;
+    // ========== RELAY DIRECTORY ==========
+
+    @Override
+    public void onNetworkStatus(RelayDirectory.NetworkStatus status) {
+        NetworkInfo networkInfo = networkDatabase.get(status.networkId());
+        if (networkInfo == null || status.networkId().equals(masterNetworkId)) return;
 
-        BlockPos dashboardPos = networkInfo.dashboardPosition;
-        if (dashboardPos != null && level.getBlockEntity(dashboardPos) instanceof NetworkDashboardBlockEntity dashboard) {
-            networkInfo.updateNetworkStatus(dashboard);
+        networkInfo.applyStatus(status);
 
-            // Calculate signal strength based on distance
-            double distance = Math.sqrt(worldPosition.distSqr(dashboardPos));
-            networkInfo.signalStrength = Math.max(0, Math.min(100, (int) (100 - (distance / scanRadius * 50))));
+        // Calculate signal strength based on distance
+        double distance = Math.sqrt(worldPosition.distSqr(status.dashboardPos()));
+        networkInfo.signalStrength = Math.max(0, Math.min(100, (int) (100 - (distance / scanRadius * 50))));
 
-            networkInfo.canCommunicate = networkInfo.signalStrength > 10; // Minimum 10% signal for communication
-        } else {
+        networkInfo.canCommunicate = networkInfo.isOnline && networkInfo.signalStrength > 10; // Minimum 10% signal for communication
+    }
+
+    @Override
+    public void onNetworkLeft(UUID networkId) {
+        NetworkInfo networkInfo = networkDatabase.get(networkId);
+        if (networkInfo != null) {
             // Network is offline
             networkInfo.isOnline = false;
             networkInfo.canCommunicate = false;
@@ -301,6 +298,23 @@ public class NetworkRelayBlockEntity extends BaseMachineBlockEntity {
         }
     }
 
+    /**
+     * Publishes our own network's status from the connected dashboard
+     */
+    private void publishOwnStatus(@Nullable NetworkDashboardBlockEntity ownDashboard) {
+        if (!isMultiblockFormed || connectedDashboardPos == null) return;
+
+        boolean online = ownDashboard != null && ownDashboard.isNetworkMapped();
+        RelayDirectory.publish(this, new RelayDirectory.NetworkStatus(masterNetworkId, worldPosition, connectedDashboardPos,
+                online,
+                online && ownDashboard.isNetworkStable(),
+                online ? ownDashboard.getTotalDevices() : 0,
+                online ? ownDashboard.getActiveDevices() : 0,
+                online ? ownDashboard.getTotalNetworkEnergy() : 0L,
+                online ? ownDashboard.getMaxNetworkCapacity() : 0L,
+                online ? ownDashboard.getNetworkEfficiency() : 0.0f));
+    }
+
     /**
      * Update cross-network statistics
      */
@@ -313,8 +327,11 @@ public class NetworkRelayBlockEntity extends BaseMachineBlockEntity {
         float totalEfficiency = 0.0f;
         int efficiencyCount = 0;
 
-        // Include our own network
-        if (connectedDashboardPos != null && level.getBlockEntity(connectedDashboardPos) instanceof NetworkDashboardBlockEntity ownDashboard) {
+        // Include our own network, and push its status to relays linked to it
+        NetworkDashboardBlockEntity ownDashboard = connectedDashboardPos != null
+                && level.getBlockEntity(connectedDashboardPos) instanceof NetworkDashboardBlockEntity dashboard ? dashboard : null;
+        publishOwnStatus(ownDashboard);
+        if (ownDashboard != null) {
             if (ownDashboard.isNetworkMapped()) {
                 totalMachinesAcrossNetworks += ownDashboard.getTotalDevices();
                 totalCrossNetworkEnergy += ownDashboard.getTotalNetworkEnergy();
@@ -325,9 +342,8 @@ public class NetworkRelayBlockEntity extends BaseMachineBlockEntity {
             }
         }
 
-        // Update all linked networks
+        // Linked networks, kept current by the relay directory
         for (UUID networkId : linkedNetworks) {
-            updateNetworkStatus(networkId);
             NetworkInfo networkInfo = networkDatabase.get(networkId);
 
             if (networkInfo != null && networkInfo.isOnline) {
@@ -369,6 +385,7 @@ public class NetworkRelayBlockEntity extends BaseMachineBlockEntity {
         if (connectedDashboardPos != null) {
             NetworkInfo ownNetwork = new NetworkInfo(masterNetworkId, connectedDashboardPos, "Master Network");
             networkDatabase.put(masterNetworkId, ownNetwork);
+            RelayDirectory.join(this);
             addDebugMessage("Master network registered with ID: " + masterNetworkId.toString().substring(0, 8));
         }
     }
@@ -378,6 +395,7 @@ public class NetworkRelayBlockEntity extends BaseMachineBlockEntity {
      */
     private void unregisterOwnNetwork() {
         networkDatabase.remove(masterNetworkId);
+        RelayDirectory.leave(this);
         addDebugMessage("Master network unregistered");
     }
 
@@ -397,6 +415,7 @@ public class NetworkRelayBlockEntity extends BaseMachineBlockEntity {
      */
     public boolean unlinkFromNetwork(UUID networkId) {
         if (linkedNetworks.remove(networkId)) {
+            RelayDirectory.unsubscribe(level, networkId, this);
             networkDatabase.remove(networkId);
             networkDashboardPositions.remove(networkId);
             addDebugMessage("Unlinked from network: " + networkId.toString().substring(0, 8));
@@ -406,11 +425,39 @@ public class NetworkRelayBlockEntity extends BaseMachineBlockEntity {
         return false;
     }
 
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        if (level != null && !level.isClientSide()) {
+            // Multiblock state and links are restored from NBT, so rejoin the directory here
+            if (isMultiblockFormed) {
+                RelayDirectory.join(this);
+            }
+            for (UUID networkId : linkedNetworks) {
+                RelayDirectory.subscribe(level, networkId, this);
+            }
+        }
+    }
+
+    @Override
+    public void setRemoved() {
+        super.setRemoved();
+        if (level != null && !level.isClientSide()) {
+            RelayDirectory.leave(this);
+            RelayDirectory.unsubscribeAll(level, this);
+        }
+    }
+
     @Override
     protected boolean canOperate() {
         return energyStorage.getEnergyStored() >= 100 && isDashboardConnected;
     }
 
+    @Override
+    protected boolean canSleep() {
+        return false; // Relays scan their dashboard link and surroundings on a timer, nothing wakes them
+    }
+
     @Override
     protected void performOperation() {
         // Main operation logic is handled in serverTick
@@ -466,6 +513,7 @@ public class NetworkRelayBlockEntity extends BaseMachineBlockEntity {
     }
 
     public void clearAllNetworkLinks() {
+        RelayDirectory.unsubscribeAll(level, this);
         linkedNetworks.clear();
         networkDatabase.clear();
         networkDashboardPositions.clear();
@@ -600,32 +648,17 @@ public class NetworkRelayBlockEntity extends BaseMachineBlockEntity {
     // ========== NETWORKING ==========
 
     @Override
-    protected void writeClientData(CompoundTag tag) {
-        super.writeClientData(tag);
-        // Send relay data to client for GUI updates
-        tag.putBoolean("DashboardConnected", isDashboardConnected);
-        tag.putBoolean("MultiblockFormed", isMultiblockFormed);
-        tag.putBoolean("MasterController", isMasterController);
-        tag.putBoolean("Scanning", isScanning);
-        tag.putInt("LinkedNetworks", totalLinkedNetworks);
-        tag.putInt("TotalMachines", totalMachinesAcrossNetworks);
-        tag.putFloat("AvgEfficiency", averageNetworkEfficiency);
-        tag.putInt("ActiveNetworks", activeNetworksCount);
-        tag.putInt("UnstableNetworks", unstableNetworksCount);
-    }
-
-    @Override
-    protected void readClientData(CompoundTag tag) {
-        super.readClientData(tag);
-        // Receive relay data from server
-        isDashboardConnected = tag.getBoolean("DashboardConnected");
-        isMultiblockFormed = tag.getBoolean("MultiblockFormed");
-        isMasterController = tag.getBoolean("MasterController");
-        isScanning = tag.getBoolean("Scanning");
-        totalLinkedNetworks = tag.getInt("LinkedNetworks");
-        totalMachinesAcrossNetworks = tag.getInt("TotalMachines");
-        averageNetworkEfficiency = tag.getFloat("AvgEfficiency");
-        activeNetworksCount = tag.getInt("ActiveNetworks");
-        unstableNetworksCount = tag.getInt("UnstableNetworks");
+    protected void registerSyncFields(SyncFieldSet fields) {
+        super.registerSyncFields(fields);
+        // Relay data for GUI updates
+        fields.add("dashboardConnected", ByteBufCodecs.BOOL, () -> isDashboardConnected, value -> isDashboardConnected = value)
+                .add("multiblockFormed", ByteBufCodecs.BOOL, () -> isMultiblockFormed, value -> isMultiblockFormed = value)
+                .add("masterController", ByteBufCodecs.BOOL, () -> isMasterController, value -> isMasterController = value)
+                .add("scanning", ByteBufCodecs.BOOL, () -> isScanning, value -> isScanning = value)
+                .add("linkedNetworks", ByteBufCodecs.VAR_INT, () -> totalLinkedNetworks, value -> totalLinkedNetworks = value)
+                .add("totalMachines", ByteBufCodecs.VAR_INT, () -> totalMachinesAcrossNetworks, value -> totalMachinesAcrossNetworks = value)
+                .add("avgEfficiency", ByteBufCodecs.FLOAT, () -> averageNetworkEfficiency, value -> averageNetworkEfficiency = value)
+                .add("activeNetworks", ByteBufCodecs.VAR_INT, () -> activeNetworksCount, value -> activeNetworksCount = value)
+                .add("unstableNetworks", ByteBufCodecs.VAR_INT, () -> unstableNetworksCount, value -> unstableNetworksCount = value);
     }
 }
\ No newline at end of file
@@ -0,0 +1,140 @@
+package com.thewheatking.minecraftfarmertechmod.common.blockentity.machines;
+
+import net.minecraft.core.Direction;
+import net.neoforged.neoforge.energy.IEnergyStorage;
+
+import javax.annotation.Nullable;
+
+/**
+ * Meters the energy passing between two sides, one way once the first real transfer has shown the direction
+ */
+final class PassThroughMeter {
+
+    private final int ratePerTick;
+
+    @Nullable
+    private Direction inputSide;
+    @Nullable
+    private Direction outputSide;
+    private boolean directionLearned = false;
+
+    private long drawnThisTick = 0L;  // FE the line upstream spent on what passed, its loss included
+    private int passedThisTick = 0;   // FE that reached the other side
+    private boolean forwarding = false; // Set while a transfer is in progress, refuses re-entrant calls
+
+    PassThroughMeter(int ratePerTick) {
+        this.ratePerTick = ratePerTick;
+    }
+
+    /**
+     * Sets the two sides, keeping the learned direction if they are the same pair
+     * Returns whether the pair changed.
+     */
+    boolean setSides(@Nullable Direction first, @Nullable Direction second) {
+        boolean samePair = (first == inputSide && second == outputSide) || (first == outputSide && second == inputSide);
+        if (samePair) {
+            return false;
+        }
+        inputSide = first;
+        outputSide = second;
+        directionLearned = false;
+        return true;
+    }
+
+    /**
+     * Restores saved sides, the first being the input if the direction was learned
+     */
+    void restore(@Nullable Direction input, @Nullable Direction output, boolean learned) {
+        inputSide = input;
+        outputSide = output;
+        directionLearned = learned && input != null && output != null;
+    }
+
+    @Nullable
+    Direction getInputSide() { return inputSide; }
+
+    @Nullable
+    Direction getOutputSide() { return outputSide; }
+
+    boolean isDirectionLearned() { return directionLearned; }
+
+    @Nullable
+    Direction otherSide(Direction side) {
+        return side == inputSide ? outputSide : side == outputSide ? inputSide : null;
+    }
+
+    /**
+     * Whether energy may come in on this side, either side until the direction is learned
+     */
+    boolean canEnter(Direction side) {
+        return otherSide(side) != null && (!directionLearned || side == inputSide);
+    }
+
+    /**
+     * Hands energy arriving on the entry side to the target on the other side
+     * entryLoss is the loss fraction of the line feeding the entry side, so the meter counts what that line spent.
+     */
+    int pass(Direction entry, IEnergyStorage target, int amount, boolean simulate, double entryLoss) {
+        if (forwarding || amount <= 0 || !canEnter(entry)) return 0;
+
+        forwarding = true;
+        int passed;
+        try {
+            passed = target.receiveEnergy(Math.min(amount, remainingRate()), simulate);
+        } finally {
+            forwarding = false;
+        }
+
+        if (!simulate && passed > 0) {
+            record(entry, passed, entryLoss);
+        }
+        return passed;
+    }
+
+    /**
+     * Pulls energy out through the exit side from the source on the other side, where it enters
+     */
+    int pull(Direction exit, IEnergyStorage source, int amount, boolean simulate) {
+        Direction entry = otherSide(exit);
+        if (entry == null || forwarding || amount <= 0 || !canEnter(entry)) return 0;
+
+        forwarding = true;
+        int passed;
+        try {
+            passed = source.extractEnergy(Math.min(amount, remainingRate()), simulate);
+        } finally {
+            forwarding = false;
+        }
+
+        if (!simulate && passed > 0) {
+            record(entry, passed, 0.0);
+        }
+        return passed;
+    }
+
+    private int remainingRate() {
+        return Math.max(0, ratePerTick - passedThisTick);
+    }
+
+    /**
+     * Counts a real transfer. Energy the other side refused never moved, so it is not counted at all.
+     */
+    private void record(Direction entry, int passed, double entryLoss) {
+        if (!directionLearned) {
+            outputSide = otherSide(entry);
+            inputSide = entry;
+            directionLearned = true;
+        }
+        drawnThisTick += entryLoss > 0.0 && entryLoss < 1.0 ? Math.round(passed / (1.0 - entryLoss)) : passed;
+        passedThisTick += passed;
+    }
+
+    long getDrawn() { return drawnThisTick; }
+
+    int getPassed() { return passedThisTick; }
+
+    void resetCounters() {
+        drawnThisTick = 0L;
+        passedThisTick = 0;
+    }
+}
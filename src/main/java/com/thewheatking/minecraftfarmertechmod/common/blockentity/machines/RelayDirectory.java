@@ -0,0 +1,171 @@
+package com.thewheatking.minecraftfarmertechmod.common.blockentity.machines;
+
+import com.thewheatking.minecraftfarmertechmod.MinecraftFarmerTechMod;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.level.LevelEvent;
+
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * Level-wide directory of formed Network Relays
+ */
+@EventBusSubscriber(modid = MinecraftFarmerTechMod.MOD_ID, bus = EventBusSubscriber.Bus.GAME)
+public class RelayDirectory {
+
+    /**
+     * Snapshot of a network as published by its relay
+     */
+    public record NetworkStatus(UUID networkId, BlockPos relayPos, BlockPos dashboardPos, boolean online,
+                                boolean stable, int deviceCount, int activeDevices, long totalEnergy,
+                                long maxCapacity, float efficiency) {
+    }
+
+    /**
+     * Receives pushed status for the networks it subscribed to
+     */
+    public interface Subscriber {
+        void onNetworkStatus(NetworkStatus status);
+
+        void onNetworkLeft(UUID networkId);
+    }
+
+    private static final class LevelDirectory {
+        private final Map<UUID, NetworkRelayBlockEntity> relays = new HashMap<>();
+        private final Map<UUID, NetworkStatus> statuses = new HashMap<>();
+        private final Map<UUID, Set<Subscriber>> subscribers = new HashMap<>();
+    }
+
+    private static final Map<LevelAccessor, LevelDirectory> DIRECTORIES = new IdentityHashMap<>();
+
+    @Nullable
+    private static LevelDirectory get(@Nullable Level level, boolean create) {
+        if (level == null || level.isClientSide()) {
+            return null;
+        }
+        return create ? DIRECTORIES.computeIfAbsent(level, key -> new LevelDirectory()) : DIRECTORIES.get(level);
+    }
+
+    // ========== MEMBERSHIP ==========
+
+    static void join(NetworkRelayBlockEntity relay) {
+        LevelDirectory directory = get(relay.getLevel(), true);
+        if (directory != null && relay.getMasterNetworkId() != null) {
+            directory.relays.put(relay.getMasterNetworkId(), relay);
+        }
+    }
+
+    static void leave(NetworkRelayBlockEntity relay) {
+        LevelDirectory directory = get(relay.getLevel(), false);
+        UUID networkId = relay.getMasterNetworkId();
+        if (directory == null || networkId == null || directory.relays.get(networkId) != relay) {
+            return;
+        }
+
+        directory.relays.remove(networkId);
+        directory.statuses.remove(networkId);
+        for (Subscriber subscriber : List.copyOf(directory.subscribers.getOrDefault(networkId, Set.of()))) {
+            subscriber.onNetworkLeft(networkId);
+        }
+    }
+
+    // ========== PUBLISH / SUBSCRIBE ==========
+
+    /**
+     * Publishes a relay's network status, pushing it to subscribers only when it changed
+     */
+    static void publish(NetworkRelayBlockEntity relay, NetworkStatus status) {
+        LevelDirectory directory = get(relay.getLevel(), false);
+        if (directory == null || directory.relays.get(status.networkId()) != relay) {
+            return;
+        }
+
+        NetworkStatus previous = directory.statuses.put(status.networkId(), status);
+        if (status.equals(previous)) {
+            return;
+        }
+        for (Subscriber subscriber : List.copyOf(directory.subscribers.getOrDefault(status.networkId(), Set.of()))) {
+            subscriber.onNetworkStatus(status);
+        }
+    }
+
+    /**
+     * Subscribes to a network, delivering its current status right away if it is known
+     */
+    static void subscribe(Level level, UUID networkId, Subscriber subscriber) {
+        LevelDirectory directory = get(level, true);
+        if (directory == null) {
+            return;
+        }
+        directory.subscribers.computeIfAbsent(networkId, key -> new LinkedHashSet<>()).add(subscriber);
+
+        NetworkStatus current = directory.statuses.get(networkId);
+        if (current != null) {
+            subscriber.onNetworkStatus(current);
+        }
+    }
+
+    static void unsubscribe(Level level, UUID networkId, Subscriber subscriber) {
+        LevelDirectory directory = get(level, false);
+        if (directory == null) {
+            return;
+        }
+        Set<Subscriber> set = directory.subscribers.get(networkId);
+        if (set != null && set.remove(subscriber) && set.isEmpty()) {
+            directory.subscribers.remove(networkId);
+        }
+    }
+
+    static void unsubscribeAll(Level level, Subscriber subscriber) {
+        LevelDirectory directory = get(level, false);
+        if (directory == null) {
+            return;
+        }
+        directory.subscribers.values().removeIf(set -> set.remove(subscriber) && set.isEmpty());
+    }
+
+    // ========== QUERIES ==========
+
+    /**
+     * Finds the formed relays within the cube of the given radius, excluding the one asking
+     */
+    static List<NetworkRelayBlockEntity> findInRange(NetworkRelayBlockEntity origin, int radius) {
+        LevelDirectory directory = get(origin.getLevel(), false);
+        if (directory == null) {
+            return List.of();
+        }
+
+        BlockPos center = origin.getBlockPos();
+        List<NetworkRelayBlockEntity> found = new ArrayList<>();
+        for (NetworkRelayBlockEntity relay : directory.relays.values()) {
+            BlockPos pos = relay.getBlockPos();
+            if (relay != origin && !relay.isRemoved()
+                    && Math.abs(pos.getX() - center.getX()) <= radius
+                    && Math.abs(pos.getY() - center.getY()) <= radius
+                    && Math.abs(pos.getZ() - center.getZ()) <= radius) {
+                found.add(relay);
+            }
+        }
+        return found;
+    }
+
+    @Nullable
+    public static NetworkStatus getStatus(Level level, UUID networkId) {
+        LevelDirectory directory = get(level, false);
+        return directory != null ? directory.statuses.get(networkId) : null;
+    }
+
+    public static int getRelayCount(Level level) {
+        LevelDirectory directory = get(level, false);
+        return directory != null ? directory.relays.size() : 0;
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        DIRECTORIES.remove(event.getLevel());
+    }
+}
@@ -0,0 +1,220 @@
+package com.thewheatking.minecraftfarmertechmod.common.blockentity.storage;
+
+import com.thewheatking.minecraftfarmertechmod.energy.HybridEnergyStorage;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.neoforged.neoforge.capabilities.BlockCapabilityCache;
+import net.neoforged.neoforge.capabilities.Capabilities;
+import net.neoforged.neoforge.energy.IEnergyStorage;
+
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * Multiblock bank of adjacent same-tier energy storage blocks, one shared pool that only the controller ticks
+ */
+public class EnergyStorageBank {
+
+    public static final int MAX_MEMBERS = 1024;
+
+    /**
+     * One side of a member that does not face another member
+     */
+    private record Face(EnergyStorageBlockEntity member, Direction direction,
+                        BlockCapabilityCache<IEnergyStorage, Direction> target) {
+    }
+
+    private final EnergyStorageBlockEntity controller;
+    private final List<EnergyStorageBlockEntity> members;
+    private final List<Face> faces = new ArrayList<>();
+    private final HybridEnergyStorage storage;
+    private final int faceTransferRate;
+    private final int bankTransferRate;
+    private boolean dissolved = false;
+
+    // Reused by distribute, receivers that accepted a simulated transfer this tick
+    private final List<IEnergyStorage> receivers = new ArrayList<>();
+
+    private EnergyStorageBank(ServerLevel level, List<EnergyStorageBlockEntity> members,
+                              HybridEnergyStorage.EnergyTier tier) {
+        this.controller = members.get(0);
+        this.members = List.copyOf(members);
+        int count = members.size();
+        this.faceTransferRate = tier.getMaxExtract();
+        this.bankTransferRate = tier.getMaxExtract() * count;
+        double ratio = HybridEnergyStorage.getFeToMftRatio();
+        this.storage = new HybridEnergyStorage(tier.getCapacity() * count, tier.getMaxReceive() * count,
+                tier.getMaxExtract() * count, tier.getCapacity() * count * ratio,
+                tier.getMaxReceive() * count * ratio, tier.getMaxExtract() * count * ratio);
+        this.storage.setReceiveListener(controller::wake);
+        this.storage.setExtractListener(controller::wake);
+
+        Set<BlockPos> positions = new HashSet<>();
+        for (EnergyStorageBlockEntity member : members) {
+            positions.add(member.getBlockPos());
+        }
+
+        // Move every member's energy into the pool and note the faces that lead out of the bank
+        int pooled = 0;
+        for (int index = 0; index < count; index++) {
+            EnergyStorageBlockEntity member = members.get(index);
+            pooled += member.joinBank(this, index);
+            for (Direction direction : Direction.values()) {
+                BlockPos neighbor = member.getBlockPos().relative(direction);
+                if (!positions.contains(neighbor)) {
+                    faces.add(new Face(member, direction,
+                            BlockCapabilityCache.create(Capabilities.EnergyStorage.BLOCK, level, neighbor, direction.getOpposite())));
+                }
+            }
+        }
+        storage.setEnergyStored(pooled);
+    }
+
+    /**
+     * Flood-fills from the origin over loaded same-tier storage blocks not yet in a bank
+     * Returns null when the origin has no partner to form a bank with.
+     */
+    @Nullable
+    static EnergyStorageBank form(EnergyStorageBlockEntity origin) {
+        Level level = origin.getLevel();
+        if (!(level instanceof ServerLevel serverLevel) || !origin.canJoinBank()) {
+            return null;
+        }
+
+        HybridEnergyStorage.EnergyTier tier = origin.getStorageTier();
+        // The pool's capacity has to fit in an int
+        int maxMembers = Math.min(MAX_MEMBERS, Integer.MAX_VALUE / tier.getCapacity());
+
+        List<EnergyStorageBlockEntity> found = new ArrayList<>();
+        Set<BlockPos> visited = new HashSet<>();
+        Deque<EnergyStorageBlockEntity> queue = new ArrayDeque<>();
+        visited.add(origin.getBlockPos());
+        queue.add(origin);
+
+        while (!queue.isEmpty() && found.size() < maxMembers) {
+            EnergyStorageBlockEntity member = queue.poll();
+            found.add(member);
+            for (Direction direction : Direction.values()) {
+                BlockPos next = member.getBlockPos().relative(direction);
+                if (visited.add(next) && level.isLoaded(next)
+                        && level.getBlockEntity(next) instanceof EnergyStorageBlockEntity neighbor
+                        && neighbor.getStorageTier() == tier && neighbor.canJoinBank()) {
+                    queue.add(neighbor);
+                }
+            }
+        }
+
+        return found.size() >= 2 ? new EnergyStorageBank(serverLevel, found, tier) : null;
+    }
+
+    /**
+     * Pushes this tick's output to every accepting outward face, an equal part each
+     * Returns the energy sent.
+     */
+    int distribute() {
+        int budget = Math.min(storage.getEnergyStored(), bankTransferRate);
+        if (budget <= 0) {
+            return 0;
+        }
+
+        receivers.clear();
+        for (Face face : faces) {
+            if (!face.member().isOutputSide(face.direction())) continue;
+            IEnergyStorage target = face.target().getCapability();
+            if (target != null && target.canReceive() && target.receiveEnergy(1, true) > 0) {
+                receivers.add(target);
+            }
+        }
+
+        int sent = pushEvenly(storage, budget, receivers, faceTransferRate);
+        receivers.clear();
+        return sent;
+    }
+
+    /**
+     * Splits the budget over the receivers, each offered an equal part of what is left, capped at the limit
+     */
+    static int pushEvenly(IEnergyStorage source, int budget, List<IEnergyStorage> receivers, int limit) {
+        int sent = 0;
+        for (int i = 0; i < receivers.size() && sent < budget; i++) {
+            int offer = Math.min(limit, (budget - sent) / (receivers.size() - i));
+            if (offer <= 0) {
+                // Less left than receivers, the remainder goes to the first ones asked, one each
+                offer = Math.min(limit, 1);
+            }
+
+            int extracted = source.extractEnergy(offer, false);
+            int received = receivers.get(i).receiveEnergy(extracted, false);
+            if (received < extracted) {
+                // Return any energy that wasn't accepted
+                source.receiveEnergy(extracted - received, false);
+            }
+            sent += received;
+        }
+        return sent;
+    }
+
+    /**
+     * Brings the sleeping members' client state up to date, called by the controller
+     */
+    void syncMembers() {
+        for (EnergyStorageBlockEntity member : members) {
+            if (member != controller) {
+                member.syncBankState();
+            }
+        }
+    }
+
+    /**
+     * Hands every member an equal part of the pool and releases it, the members look for a new bank next tick
+     */
+    void dissolve() {
+        if (dissolved) {
+            return;
+        }
+        dissolved = true;
+
+        int pool = storage.getEnergyStored();
+        for (int i = 0; i < members.size(); i++) {
+            members.get(i).leaveBank(this, share(pool, members.size(), i));
+        }
+    }
+
+    /**
+     * The member's part of the pool, what it saves and what it keeps when the bank dissolves
+     * Members have the same capacity, so the pool splits evenly with the remainder on the first members.
+     */
+    int shareOf(EnergyStorageBlockEntity member) {
+        return member.getBank() == this ? share(storage.getEnergyStored(), members.size(), member.getBankIndex()) : 0;
+    }
+
+    static int share(int pool, int memberCount, int index) {
+        return pool / memberCount + (index < pool % memberCount ? 1 : 0);
+    }
+
+    public HybridEnergyStorage getStorage() {
+        return storage;
+    }
+
+    public boolean isController(EnergyStorageBlockEntity member) {
+        return member == controller;
+    }
+
+    public EnergyStorageBlockEntity getController() {
+        return controller;
+    }
+
+    public List<EnergyStorageBlockEntity> getMembers() {
+        return members;
+    }
+
+    public int size() {
+        return members.size();
+    }
+
+    public boolean isDissolved() {
+        return dissolved;
+    }
+}
@@ -5,6 +5,7 @@
 package com.thewheatking.minecraftfarmertechmod.common.blockentity.storage;
 
 import com.thewheatking.minecraftfarmertechmod.common.blockentity.base.BaseMachineBlockEntity;
+import com.thewheatking.minecraftfarmertechmod.common.util.CompactNbt;
 import com.thewheatking.minecraftfarmertechmod.energy.HybridEnergyStorage;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
@@ -20,9 +21,15 @@ import net.neoforged.neoforge.capabilities.Capabilities;
 import net.neoforged.neoforge.energy.IEnergyStorage;
 import net.neoforged.neoforge.items.ItemStackHandler;
 
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * CORRECTED: Base Energy Storage Block Entity - Battery for storing electrical energy
  * Based on TWheatKing's original MFT framework
+ *
+ * Adjacent blocks of the same tier join into an EnergyStorageBank that shares one storage and ticks once.
  */
 public abstract class EnergyStorageBlockEntity extends BaseMachineBlockEntity {
 
@@ -35,6 +42,17 @@ public abstract class EnergyStorageBlockEntity extends BaseMachineBlockEntity {
     protected int energyOutputLastTick = 0;
     protected int energyStoredLastTick = 0;
 
+    // Multiblock bank - while in one, this block's own storage is empty and its energy is in the bank's pool
+    protected boolean bankingEnabled = true;
+    @Nullable
+    private EnergyStorageBank bank;
+    private int bankIndex; // Position in the bank's member list, which fixes this block's share
+    private boolean bankScanPending = true;
+
+    // Capability per side, following the side configuration and whichever storage is current
+    private final IEnergyStorage[] sidePorts = new IEnergyStorage[6];
+    private final List<IEnergyStorage> receivers = new ArrayList<>(6);
+
     public EnergyStorageBlockEntity(BlockEntityType<?> type, BlockPos pos, BlockState state, HybridEnergyStorage.EnergyTier tier) {
         super(type, pos, state, tier.getCapacity(), tier.getMaxReceive(), tier.getMaxExtract(), 0);
 
@@ -43,6 +61,9 @@ public abstract class EnergyStorageBlockEntity extends BaseMachineBlockEntity {
             inputSides[i] = true;
             outputSides[i] = true;
         }
+        for (Direction direction : Direction.values()) {
+            sidePorts[direction.ordinal()] = new SidePort(direction);
+        }
     }
 
     @Override
@@ -65,12 +86,45 @@ public abstract class EnergyStorageBlockEntity extends BaseMachineBlockEntity {
         // Batteries don't have active operations - they just store energy
     }
 
+    @Override
+    protected boolean isIdle() {
+        // Batteries count as always active, so only energy movement keeps them awake
+        return true;
+    }
+
+    @Override
+    protected boolean hasPendingOutput() {
+        if (bank != null && !bank.isController(this)) {
+            return false; // The controller pushes for the whole bank
+        }
+        if (storage().getEnergyStored() <= 0) {
+            return false;
+        }
+        for (Direction direction : Direction.values()) {
+            if (isOutputSide(direction)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     protected void serverTick() {
+        if (bankScanPending) {
+            bankScanPending = false;
+            if (bank == null && EnergyStorageBank.form(this) != null) {
+                energyStoredLastTick = storage().getEnergyStored();
+            }
+        }
+        if (bank != null && !bank.isController(this)) {
+            // The controller ticks for the whole bank, this block only answers capability queries and sleeps
+            return;
+        }
+
         super.serverTick();
 
         // Track energy changes for GUI display
-        int currentEnergyStored = energyStorage.getEnergyStored();
+        int currentEnergyStored = storage().getEnergyStored();
 
         // Calculate energy flow this tick
         if (currentEnergyStored > energyStoredLastTick) {
@@ -84,78 +138,238 @@ public abstract class EnergyStorageBlockEntity extends BaseMachineBlockEntity {
             energyOutputLastTick = 0;
         }
 
+        // The pool is not this block's own storage, so its changes have to keep the controller awake
+        if (bank != null && currentEnergyStored != energyStoredLastTick) {
+            wake();
+        }
         energyStoredLastTick = currentEnergyStored;
 
-        // Auto-distribute energy to connected cables/machines
-        distributeEnergyToNeighbors();
-
         // Update active state based on energy level
         boolean wasActive = isActive;
-        isActive = energyStorage.getEnergyStored() > 0;
+        isActive = currentEnergyStored > 0;
 
         // Sync to client if state changed
-        if (wasActive != isActive && tickCounter % 20 == 0) {
+        if (wasActive != isActive && isSyncTick()) {
             setChanged();
             markUpdated();
         }
+
+        // The other members sleep, their shares and active state follow the pool on the controller's beat
+        if (bank != null && (isSyncTick() || wasActive != isActive)) {
+            bank.syncMembers();
+        }
+    }
+
+    @Override
+    protected int getSyncedEnergy() {
+        // Clients see this block's share of the pool against its own capacity
+        return bank != null ? bank.shareOf(this) : energyStorage.getEnergyStored();
+    }
+
+    @Override
+    protected void handleEnergyDistribution() {
+        // Auto-distribute energy to connected cables/machines, the whole bank's faces at once while in one
+        if (bank != null) {
+            if (bank.distribute() > 0) {
+                setChanged();
+            }
+        } else {
+            distributeEnergyToNeighbors();
+        }
     }
 
     /**
      * Automatically distribute energy to neighboring machines/cables
+     * Every accepting output side gets an equal part of this tick's transfer.
      */
     private void distributeEnergyToNeighbors() {
-        if (energyStorage.getEnergyStored() <= 0) return;
+        int budget = Math.min(energyStorage.getEnergyStored(), energyMaxExtract);
+        if (budget <= 0) return;
 
-        // Try to send energy to all 6 directions
         for (Direction direction : Direction.values()) {
-            if (!canOutputEnergy(direction)) continue;
-
-            BlockPos neighborPos = worldPosition.relative(direction);
+            if (!outputSides[direction.ordinal()]) continue;
 
             // Get energy capability from neighbor
             IEnergyStorage neighborCap = level.getCapability(Capabilities.EnergyStorage.BLOCK,
-                    neighborPos, direction.getOpposite());
-
-            if (neighborCap != null && neighborCap.canReceive()) {
-                // Calculate how much energy we can send
-                int energyToSend = Math.min(
-                        energyStorage.getEnergyStored(),
-                        Math.min(energyMaxExtract, neighborCap.getMaxEnergyStored() - neighborCap.getEnergyStored())
-                );
-
-                if (energyToSend > 0) {
-                    // Extract from our storage
-                    int extracted = energyStorage.extractEnergy(energyToSend, false);
-
-                    // Send to neighbor
-                    int received = neighborCap.receiveEnergy(extracted, false);
-
-                    // Return any energy that wasn't accepted
-                    if (received < extracted) {
-                        energyStorage.receiveEnergy(extracted - received, false);
-                    }
-
-                    if (received > 0) {
-                        setChanged();
-                        break; // Only send to one neighbor per tick for balanced distribution
-                    }
-                }
+                    worldPosition.relative(direction), direction.getOpposite());
+            if (neighborCap != null && neighborCap.canReceive() && neighborCap.receiveEnergy(1, true) > 0) {
+                receivers.add(neighborCap);
             }
         }
+
+        if (EnergyStorageBank.pushEvenly(energyStorage, budget, receivers, energyMaxExtract) > 0) {
+            setChanged();
+        }
+        receivers.clear();
     }
 
     @Override
     protected boolean canOutputEnergy(Direction direction) {
         // Check if this side is configured for output
         int sideIndex = direction.ordinal();
-        return outputSides[sideIndex] && energyStorage.getEnergyStored() > 0;
+        return outputSides[sideIndex] && storage().getEnergyStored() > 0;
     }
 
     @Override
     protected boolean canInputEnergy(Direction direction) {
         // Check if this side is configured for input
         int sideIndex = direction.ordinal();
-        return inputSides[sideIndex] && energyStorage.getEnergyStored() < energyStorage.getMaxEnergyStored();
+        return inputSides[sideIndex] && storage().getEnergyStored() < storage().getMaxEnergyStored();
+    }
+
+    // ========== ENERGY STORAGE BANK ==========
+
+    /**
+     * The storage this block's energy is in, the bank's shared pool while it is part of one
+     */
+    protected HybridEnergyStorage storage() {
+        return bank != null ? bank.getStorage() : energyStorage;
+    }
+
+    @Override
+    public HybridEnergyStorage getHybridEnergyStorage() {
+        return storage();
+    }
+
+    @Override
+    public IEnergyStorage getEnergyStorage(@Nullable Direction side) {
+        return side == null ? storage() : sidePorts[side.ordinal()];
+    }
+
+    @Nullable
+    public EnergyStorageBank getBank() {
+        return bank;
+    }
+
+    public boolean isBankingEnabled() {
+        return bankingEnabled;
+    }
+
+    public void setBankingEnabled(boolean enabled) {
+        if (bankingEnabled == enabled) return;
+        bankingEnabled = enabled;
+        if (enabled) {
+            // Let the neighbouring banks reform with this block in them
+            bankScanPending = true;
+            dissolveNeighborBanks();
+        } else if (bank != null) {
+            bank.dissolve();
+        }
+        markUpdated();
+    }
+
+    int getBankIndex() {
+        return bankIndex;
+    }
+
+    boolean canJoinBank() {
+        return bankingEnabled && bank == null && !isRemoved();
+    }
+
+    /**
+     * Called by a forming bank, hands over this block's energy for the pool
+     */
+    int joinBank(EnergyStorageBank bank, int index) {
+        this.bank = bank;
+        this.bankIndex = index;
+        int energy = energyStorage.getEnergyStored();
+        energyStorage.setEnergyStored(0);
+        return energy;
+    }
+
+    /**
+     * Called by a dissolving bank with this block's share of the pool
+     */
+    void leaveBank(EnergyStorageBank bank, int share) {
+        if (this.bank != bank) return;
+        this.bank = null;
+        energyStorage.setEnergyStored(share);
+        energyStoredLastTick = share;
+        bankScanPending = true;
+        setChanged();
+        if (!isRemoved()) {
+            wake();
+        }
+    }
+
+    /**
+     * Called by the bank's controller for this member, which sleeps while in the bank
+     */
+    void syncBankState() {
+        boolean wasActive = isActive;
+        isActive = storage().getEnergyStored() > 0;
+        if (wasActive != isActive) {
+            setChanged();
+        }
+        syncToClient(); // Only the fields that changed are sent
+    }
+
+    private void dissolveNeighborBanks() {
+        if (level == null) return;
+        for (Direction direction : Direction.values()) {
+            if (level.getBlockEntity(worldPosition.relative(direction)) instanceof EnergyStorageBlockEntity neighbor
+                    && neighbor.getStorageTier() == getStorageTier() && neighbor.bank != null) {
+                neighbor.bank.dissolve();
+            }
+        }
+    }
+
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        if (level != null && !level.isClientSide()) {
+            // A block placed or loaded next to a bank joins it when the bank reforms
+            dissolveNeighborBanks();
+        }
+    }
+
+    @Override
+    public void setRemoved() {
+        super.setRemoved();
+        if (bank != null) {
+            bank.dissolve();
+        }
+    }
+
+    /**
+     * One side's capability, limited to this block's tier rates and its input/output configuration
+     */
+    private class SidePort implements IEnergyStorage {
+        private final int side;
+
+        private SidePort(Direction direction) {
+            this.side = direction.ordinal();
+        }
+
+        @Override
+        public int receiveEnergy(int maxReceive, boolean simulate) {
+            return inputSides[side] ? storage().receiveEnergy(Math.min(maxReceive, energyMaxReceive), simulate) : 0;
+        }
+
+        @Override
+        public int extractEnergy(int maxExtract, boolean simulate) {
+            return outputSides[side] ? storage().extractEnergy(Math.min(maxExtract, energyMaxExtract), simulate) : 0;
+        }
+
+        @Override
+        public int getEnergyStored() {
+            return storage().getEnergyStored();
+        }
+
+        @Override
+        public int getMaxEnergyStored() {
+            return storage().getMaxEnergyStored();
+        }
+
+        @Override
+        public boolean canExtract() {
+            return outputSides[side];
+        }
+
+        @Override
+        public boolean canReceive() {
+            return inputSides[side];
+        }
     }
 
     // Configuration methods for GUI
@@ -190,16 +404,16 @@ public abstract class EnergyStorageBlockEntity extends BaseMachineBlockEntity {
 
     // GUI Data Methods
     public int getCurrentEnergy() {
-        return energyStorage.getEnergyStored();
+        return storage().getEnergyStored();
     }
 
     public int getMaxEnergy() {
-        return energyStorage.getMaxEnergyStored();
+        return storage().getMaxEnergyStored();
     }
 
     public float getEnergyPercentage() {
-        if (energyStorage.getMaxEnergyStored() == 0) return 0.0f;
-        return (float) energyStorage.getEnergyStored() / energyStorage.getMaxEnergyStored();
+        if (storage().getMaxEnergyStored() == 0) return 0.0f;
+        return (float) storage().getEnergyStored() / storage().getMaxEnergyStored();
     }
 
     public int getEnergyInputRate() {
@@ -215,17 +429,17 @@ public abstract class EnergyStorageBlockEntity extends BaseMachineBlockEntity {
     }
 
     public float getEnergyFillPercentage() {
-        if (energyStorage.getMaxEnergyStored() == 0) return 0.0f;
-        return (float) energyStorage.getEnergyStored() / energyStorage.getMaxEnergyStored();
+        if (storage().getMaxEnergyStored() == 0) return 0.0f;
+        return (float) storage().getEnergyStored() / storage().getMaxEnergyStored();
     }
 
     public int getEnergyFillScaled(int scale) {
-        if (energyStorage.getMaxEnergyStored() == 0) return 0;
-        return energyStorage.getEnergyStored() * scale / energyStorage.getMaxEnergyStored();
+        if (storage().getMaxEnergyStored() == 0) return 0;
+        return (int) ((long) storage().getEnergyStored() * scale / storage().getMaxEnergyStored());
     }
 
     public int getCapacity() {
-        return energyStorage.getMaxEnergyStored();
+        return storage().getMaxEnergyStored();
     }
 
     public int getMaxInputRate() {
@@ -247,40 +461,53 @@ public abstract class EnergyStorageBlockEntity extends BaseMachineBlockEntity {
         return "None";
     }
 
+    // Input sides in bits 0-5, output sides in bits 8-13, banking disabled in bit 16. Omitted while every side is enabled.
+    private static final int ALL_SIDES_IO = 0x3F3F;
+    private static final int NO_BANK_BIT = 1 << 16;
+
     @Override
     protected void saveAdditional(CompoundTag pTag, HolderLookup.Provider pRegistries) {
-        super.saveAdditional(pTag, pRegistries);
-
-        // Save side configurations
-        for (int i = 0; i < 6; i++) {
-            pTag.putBoolean("InputSide" + i, inputSides[i]);
-            pTag.putBoolean("OutputSide" + i, outputSides[i]);
+        if (bank != null) {
+            // Save this block's share of the pool, the bank reforms from the members' shares on load
+            energyStorage.setEnergyStored(bank.shareOf(this));
+            super.saveAdditional(pTag, pRegistries);
+            energyStorage.setEnergyStored(0);
+        } else {
+            super.saveAdditional(pTag, pRegistries);
         }
 
-        // Save energy flow tracking data
-        pTag.putInt("EnergyInputLastTick", energyInputLastTick);
-        pTag.putInt("EnergyOutputLastTick", energyOutputLastTick);
-        pTag.putInt("EnergyStoredLastTick", energyStoredLastTick);
+        int io = CompactNbt.packSides(inputSides) | (CompactNbt.packSides(outputSides) << 8)
+                | (bankingEnabled ? 0 : NO_BANK_BIT);
+        if (io != ALL_SIDES_IO) {
+            pTag.putInt("io", io);
+        }
+        // Flow tracking is per tick and is measured again on the first tick after loading, so it is not saved
     }
 
     @Override
     protected void loadAdditional(CompoundTag pTag, HolderLookup.Provider pRegistries) {
         super.loadAdditional(pTag, pRegistries);
 
-        // Load side configurations
-        for (int i = 0; i < 6; i++) {
-            if (pTag.contains("InputSide" + i)) {
-                inputSides[i] = pTag.getBoolean("InputSide" + i);
-            }
-            if (pTag.contains("OutputSide" + i)) {
-                outputSides[i] = pTag.getBoolean("OutputSide" + i);
+        if (CompactNbt.version(pTag) == CompactNbt.LEGACY_VERSION) {
+            for (int i = 0; i < 6; i++) {
+                if (pTag.contains("InputSide" + i)) {
+                    inputSides[i] = pTag.getBoolean("InputSide" + i);
+                }
+                if (pTag.contains("OutputSide" + i)) {
+                    outputSides[i] = pTag.getBoolean("OutputSide" + i);
+                }
             }
+        } else {
+            int io = pTag.contains("io") ? pTag.getInt("io") : ALL_SIDES_IO;
+            CompactNbt.unpackSides(io & 0x3F, inputSides);
+            CompactNbt.unpackSides((io >> 8) & 0x3F, outputSides);
+            bankingEnabled = (io & NO_BANK_BIT) == 0;
         }
 
-        // Load energy flow tracking data
-        energyInputLastTick = pTag.getInt("EnergyInputLastTick");
-        energyOutputLastTick = pTag.getInt("EnergyOutputLastTick");
-        energyStoredLastTick = pTag.getInt("EnergyStoredLastTick");
+        // Start flow tracking from the loaded level so the first tick does not report a spike
+        energyInputLastTick = 0;
+        energyOutputLastTick = 0;
+        energyStoredLastTick = energyStorage.getEnergyStored();
     }
 
     public abstract HybridEnergyStorage.EnergyTier getStorageTier();
@@ -301,8 +528,8 @@ public abstract class EnergyStorageBlockEntity extends BaseMachineBlockEntity {
         return String.format("%s, Tier: %s, Energy: %d/%d FE (%.1f%%), I/O: %d/%d FE/t",
                 super.getDebugInfo(),
                 getStorageTier().name(),
-                energyStorage.getEnergyStored(),
-                energyStorage.getMaxEnergyStored(),
+                storage().getEnergyStored(),
+                storage().getMaxEnergyStored(),
                 getEnergyFillPercentage() * 100,
                 getMaxInputRate(),
                 getMaxOutputRate());
@@ -1,9 +1,14 @@
 package com.thewheatking.minecraftfarmertechmod.common.blockentity.transmission;
 
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.MapCodec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
 import com.thewheatking.minecraftfarmertechmod.common.blockentity.base.BaseMachineBlockEntity;
+import com.thewheatking.minecraftfarmertechmod.common.util.CompactNbt;
 import com.thewheatking.minecraftfarmertechmod.energy.HybridEnergyStorage;
 import com.thewheatking.minecraftfarmertechmod.energy.EnhancedMftEnergyNetwork;
 import com.thewheatking.minecraftfarmertechmod.common.util.CableUtils;
+import com.thewheatking.minecraftfarmertechmod.common.util.PeriodicTask;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.HolderLookup;
@@ -42,7 +47,8 @@ public abstract class EnergyTransmissionBlockEntity extends BaseMachineBlockEnti
     // Network management
     protected EnhancedMftEnergyNetwork connectedNetwork;
     protected String networkId;
-    protected boolean networkDirty = true;
+    protected boolean networkDirty = false; // A connection changed, the network has to rescan
+    private boolean unloading = false;
 
     // Connection management
     protected final Map<Direction, Boolean> connections = new HashMap<>();
@@ -52,6 +58,7 @@ public abstract class EnergyTransmissionBlockEntity extends BaseMachineBlockEnti
     protected int energyTransferred = 0;
     protected double currentLoad = 0.0;
     protected static final int NETWORK_UPDATE_INTERVAL = 20;
+    protected final PeriodicTask networkUpdateTask;
 
     // Visual state
     protected boolean isTransmitting = false;
@@ -72,6 +79,7 @@ public abstract class EnergyTransmissionBlockEntity extends BaseMachineBlockEnti
         this.transferRate = tier.getTransferRate();
         this.energyLossPerBlock = tier.getEnergyLoss();
         this.isInsulated = tier.name().contains("INSULATED");
+        this.networkUpdateTask = new PeriodicTask("network_update", pos, NETWORK_UPDATE_INTERVAL);
 
         // Initialize connections
         for (Direction direction : Direction.values()) {
@@ -99,12 +107,23 @@ public abstract class EnergyTransmissionBlockEntity extends BaseMachineBlockEnti
         distributeEnergyToAllSides();
     }
 
+    @Override
+    protected boolean isIdle() {
+        // A cable holding energy it cannot pass on is idle, the energy check in the base tick catches real transfers
+        return !networkDirty;
+    }
+
+    @Override
+    protected boolean hasPendingOutput() {
+        return energyStorage.getEnergyStored() > 0 && hasConnectedDevices();
+    }
+
     @Override
     protected void serverTick() {
         super.serverTick();
 
-        // Update network periodically
-        if (tickCounter % NETWORK_UPDATE_INTERVAL == 0 || networkDirty) {
+        // Join a network once, after that only real connection changes make it rescan
+        if (connectedNetwork == null || networkDirty) {
             updateNetwork();
             networkDirty = false;
         }
@@ -112,8 +131,8 @@ public abstract class EnergyTransmissionBlockEntity extends BaseMachineBlockEnti
         updateConnections();
         updateTransmissionState();
 
-        // Reset counters
-        if (tickCounter % 20 == 0) {
+        // Reset counters, phase-shifted so adjacent cables don't all reset together
+        if (networkUpdateTask.isDue(level.getGameTime())) {
             energyTransferred = 0;
             currentLoad = 0.0;
         }
@@ -133,9 +152,14 @@ public abstract class EnergyTransmissionBlockEntity extends BaseMachineBlockEnti
 
     protected void updateNetwork() {
         if (level != null) {
-            connectedNetwork = EnhancedMftEnergyNetwork.getOrCreateNetwork(level, worldPosition);
-            networkId = connectedNetwork.getNetworkId();
-            connectedNetwork.markDirty();
+            EnhancedMftEnergyNetwork network = EnhancedMftEnergyNetwork.getOrCreateNetwork(level, worldPosition);
+            setConnectedNetwork(network);
+
+            // A cable loading back into its network changes nothing, a placed cable or a new device does
+            if (networkDirty || !network.containsPosition(worldPosition)) {
+                network.markDirty();
+                network.refreshTopology();
+            }
         }
     }
 
@@ -215,14 +239,11 @@ public abstract class EnergyTransmissionBlockEntity extends BaseMachineBlockEnti
         int totalEnergyToDistribute = energyStorage.getEnergyStored();
         if (totalEnergyToDistribute <= 0) return;
 
-        var receivers = new ArrayList<IEnergyStorage>();
+        var receivers = new EnumMap<Direction, IEnergyStorage>(Direction.class);
 
-        for (Direction direction : Direction.values()) {
-            if (connectedDevices.containsKey(direction)) {
-                IEnergyStorage device = connectedDevices.get(direction);
-                if (device.canReceive()) {
-                    receivers.add(device);
-                }
+        for (Map.Entry<Direction, IEnergyStorage> entry : connectedDevices.entrySet()) {
+            if (entry.getValue().canReceive()) {
+                receivers.put(entry.getKey(), entry.getValue());
             }
         }
 
@@ -230,15 +251,21 @@ public abstract class EnergyTransmissionBlockEntity extends BaseMachineBlockEnti
 
         int energyPerReceiver = Math.min(totalEnergyToDistribute / receivers.size(), transferRate);
 
-        for (IEnergyStorage receiver : receivers) {
+        for (Map.Entry<Direction, IEnergyStorage> entry : receivers.entrySet()) {
             int transferAttempt = Math.min(energyPerReceiver, energyStorage.getEnergyStored());
 
             if (transferAttempt > 0) {
-                int actualTransferred = transferEnergyWithLoss(transferAttempt, receiver);
+                int actualTransferred = transferEnergyWithLoss(transferAttempt, entry.getValue());
                 if (actualTransferred > 0) {
                     energyStorage.extractEnergy(actualTransferred, false);
                     energyTransferred += actualTransferred;
                     markUpdated();
+
+                    if (connectedNetwork != null) {
+                        int delivered = (int) (actualTransferred * (1.0 - getLossMultiplier()));
+                        connectedNetwork.recordCableTransfer(worldPosition, worldPosition.relative(entry.getKey()),
+                                actualTransferred, delivered, transferRate);
+                    }
                 }
             }
         }
@@ -247,8 +274,12 @@ public abstract class EnergyTransmissionBlockEntity extends BaseMachineBlockEnti
         isTransmitting = energyTransferred > 0;
     }
 
+    public double getLossMultiplier() {
+        return isInsulated ? energyLossPerBlock * 0.5 : energyLossPerBlock;
+    }
+
     protected int transferEnergyWithLoss(int amount, IEnergyStorage target) {
-        double lossMultiplier = isInsulated ? energyLossPerBlock * 0.5 : energyLossPerBlock;
+        double lossMultiplier = getLossMultiplier();
         int actualAmount = (int) (amount * (1.0 - lossMultiplier));
         int received = target.receiveEnergy(actualAmount, false);
         return received > 0 ? (int) (received / (1.0 - lossMultiplier)) : 0;
@@ -416,11 +447,24 @@ public abstract class EnergyTransmissionBlockEntity extends BaseMachineBlockEnti
     public int getTransmissionAnimation() { return transmissionAnimation; }
     public HybridEnergyStorage.TransferTier getTransferTier() { return transferTier; }
 
-    public void onNetworkChanged() { networkDirty = true; }
+    public void onNetworkChanged() {
+        networkDirty = true;
+        wake();
+    }
+
+    /**
+     * Points the cable at the network a rescan merged or split it into
+     */
+    public void setConnectedNetwork(EnhancedMftEnergyNetwork network) {
+        connectedNetwork = network;
+        networkId = network.getNetworkId();
+    }
 
     public void disconnectFromNetwork() {
-        if (connectedNetwork != null && networkId != null) {
+        if (connectedNetwork != null && !unloading) {
+            // Broken, not unloaded: the network re-walks its cables and splits if this one held it together
             connectedNetwork.markDirty();
+            connectedNetwork.refreshTopology();
         }
         connectedNetwork = null;
         networkId = null;
@@ -435,34 +479,59 @@ public abstract class EnergyTransmissionBlockEntity extends BaseMachineBlockEnti
 
     // ========== NBT SERIALIZATION ==========
 
+    // Tier, rate, loss and insulation come from the constructor and are not saved
+    private record SavedState(int connections, boolean transmitting, boolean warned, double currentLoad,
+                              int energyTransferred, int overloadTicks, Optional<String> networkId) {
+        static final MapCodec<SavedState> CODEC = RecordCodecBuilder.mapCodec(instance -> instance.group(
+                Codec.INT.optionalFieldOf("cx", 0).forGetter(SavedState::connections),
+                Codec.BOOL.optionalFieldOf("tx", false).forGetter(SavedState::transmitting),
+                Codec.BOOL.optionalFieldOf("ow", false).forGetter(SavedState::warned),
+                Codec.DOUBLE.optionalFieldOf("ld", 0.0).forGetter(SavedState::currentLoad),
+                Codec.INT.optionalFieldOf("et", 0).forGetter(SavedState::energyTransferred),
+                Codec.INT.optionalFieldOf("ot", 0).forGetter(SavedState::overloadTicks),
+                Codec.STRING.optionalFieldOf("nid").forGetter(SavedState::networkId)
+        ).apply(instance, SavedState::new));
+    }
+
     @Override
     protected void saveAdditional(CompoundTag pTag, HolderLookup.Provider pRegistries) {
         super.saveAdditional(pTag, pRegistries);
 
-        pTag.putString("TransferTier", transferTier.name());
-        pTag.putInt("TransferRate", transferRate);
-        pTag.putDouble("EnergyLossPerBlock", energyLossPerBlock);
-        pTag.putBoolean("IsInsulated", isInsulated);
-        pTag.putBoolean("IsTransmitting", isTransmitting);
-        pTag.putDouble("CurrentLoad", currentLoad);
-        pTag.putInt("EnergyTransferred", energyTransferred);
-        pTag.putInt("overloadTicks", overloadTicks);
-        pTag.putBoolean("hasWarned", hasWarned);
-
-        for (int i = 0; i < 6; i++) {
-            Direction direction = Direction.from3DDataValue(i);
-            pTag.putBoolean("Connection_" + direction.name(), connections.get(direction));
+        boolean[] sides = new boolean[6];
+        for (Direction direction : Direction.values()) {
+            sides[direction.get3DDataValue()] = connections.get(direction);
         }
 
-        if (networkId != null) {
-            pTag.putString("NetworkId", networkId);
-        }
+        CompactNbt.write(SavedState.CODEC, new SavedState(CompactNbt.packSides(sides), isTransmitting, hasWarned,
+                currentLoad, energyTransferred, overloadTicks, Optional.ofNullable(networkId)), pTag);
     }
 
     @Override
     protected void loadAdditional(CompoundTag pTag, HolderLookup.Provider pRegistries) {
         super.loadAdditional(pTag, pRegistries);
 
+        if (CompactNbt.version(pTag) == CompactNbt.LEGACY_VERSION) {
+            loadLegacyState(pTag);
+            return;
+        }
+
+        CompactNbt.read(SavedState.CODEC, pTag).ifPresent(state -> {
+            boolean[] sides = new boolean[6];
+            CompactNbt.unpackSides(state.connections(), sides);
+            for (Direction direction : Direction.values()) {
+                connections.put(direction, sides[direction.get3DDataValue()]);
+            }
+
+            isTransmitting = state.transmitting();
+            hasWarned = state.warned();
+            currentLoad = state.currentLoad();
+            energyTransferred = state.energyTransferred();
+            overloadTicks = state.overloadTicks();
+            state.networkId().ifPresent(id -> networkId = id);
+        });
+    }
+
+    private void loadLegacyState(CompoundTag pTag) {
         isTransmitting = pTag.getBoolean("IsTransmitting");
         currentLoad = pTag.getDouble("CurrentLoad");
         energyTransferred = pTag.getInt("EnergyTransferred");
@@ -481,6 +550,12 @@ public abstract class EnergyTransmissionBlockEntity extends BaseMachineBlockEnti
         }
     }
 
+    @Override
+    public void onChunkUnloaded() {
+        super.onChunkUnloaded();
+        unloading = true;
+    }
+
     @Override
     public void setRemoved() {
         super.setRemoved();
@@ -0,0 +1,248 @@
+package com.thewheatking.minecraftfarmertechmod.common.history;
+
+import com.thewheatking.minecraftfarmertechmod.MinecraftFarmerTechMod;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.dimension.DimensionType;
+import net.minecraft.world.level.storage.LevelResource;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Per-level on-disk energy history for metering blocks, written in batches by one background thread
+ */
+@EventBusSubscriber(modid = MinecraftFarmerTechMod.MOD_ID, bus = EventBusSubscriber.Bus.GAME)
+public class EnergyHistoryStore {
+
+    public static final int CHANNELS = HistoryFile.CHANNELS;
+
+    public enum Resolution {
+        SECOND(20, 3600),   // 1 hour
+        MINUTE(1200, 1440), // 24 hours
+        HOUR(72000, 720);   // 30 days
+
+        final int bucketTicks;
+        final int capacity;
+
+        Resolution(int bucketTicks, int capacity) {
+            this.bucketTicks = bucketTicks;
+            this.capacity = capacity;
+        }
+    }
+
+    private static final int FLUSH_INTERVAL = 100;  // Ticks between writer batches
+    private static final int MAX_OPEN_FILES = 256;  // Least recently used files are unmapped past this
+    private static final long UNLOAD_TIMEOUT_MS = 2000L;
+
+    private record Sample(BlockPos pos, long gameTime, float a, float b, float c, float d) {
+    }
+
+    private static final class LevelHistory {
+        private final Path directory;
+        private final Queue<Sample> pending = new ConcurrentLinkedQueue<>();
+        private final Map<BlockPos, HistoryFile> files = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<BlockPos, HistoryFile> eldest) {
+                if (size() > MAX_OPEN_FILES) {
+                    eldest.getValue().force();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        private LevelHistory(Path directory) {
+            this.directory = directory;
+        }
+
+        private Path path(BlockPos pos) {
+            return directory.resolve(Long.toHexString(pos.asLong()) + ".bin");
+        }
+
+        private synchronized HistoryFile file(BlockPos pos) throws IOException {
+            HistoryFile file = files.get(pos);
+            if (file == null) {
+                file = HistoryFile.open(path(pos));
+                files.put(pos.immutable(), file);
+            }
+            return file;
+        }
+
+        /**
+         * Gets the block's file only if it has one, reading never creates a file
+         */
+        @Nullable
+        private synchronized HistoryFile existingFile(BlockPos pos) throws IOException {
+            HistoryFile file = files.get(pos);
+            if (file == null && Files.exists(path(pos))) {
+                file = HistoryFile.open(path(pos));
+                files.put(pos.immutable(), file);
+            }
+            return file;
+        }
+
+        /**
+         * Writer thread only
+         */
+        private synchronized void delete(BlockPos pos) {
+            HistoryFile file = files.remove(pos);
+            if (file != null) {
+                // Some platforms refuse to delete a mapped file, an emptied one reads as no history
+                file.clear();
+            }
+            try {
+                Files.deleteIfExists(path(pos));
+            } catch (IOException e) {
+                MinecraftFarmerTechMod.LOGGER.debug("Could not delete energy history for {}", pos, e);
+            }
+        }
+
+        /**
+         * Writer thread only
+         */
+        private void drain() {
+            float[] values = new float[CHANNELS];
+            Sample sample;
+            while ((sample = pending.poll()) != null) {
+                values[0] = sample.a();
+                values[1] = sample.b();
+                values[2] = sample.c();
+                values[3] = sample.d();
+                try {
+                    file(sample.pos()).append(sample.gameTime(), values);
+                } catch (IOException e) {
+                    MinecraftFarmerTechMod.LOGGER.error("Failed to write energy history for {}", sample.pos(), e);
+                }
+            }
+        }
+
+        private synchronized void close() {
+            for (HistoryFile file : files.values()) {
+                file.force();
+            }
+            files.clear();
+        }
+    }
+
+    private static final Map<LevelAccessor, LevelHistory> HISTORIES = new IdentityHashMap<>();
+    private static ExecutorService writer;
+
+    @Nullable
+    private static LevelHistory get(@Nullable Level level) {
+        if (!(level instanceof ServerLevel serverLevel)) {
+            return null;
+        }
+        return HISTORIES.computeIfAbsent(level, key -> new LevelHistory(
+                DimensionType.getStorageFolder(serverLevel.dimension(), serverLevel.getServer().getWorldPath(LevelResource.ROOT))
+                        .resolve("data").resolve(MinecraftFarmerTechMod.MOD_ID + "_history")));
+    }
+
+    private static synchronized ExecutorService writer() {
+        if (writer == null) {
+            writer = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "MFT History Writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return writer;
+    }
+
+    // ========== RECORDING ==========
+
+    /**
+     * Queues one sample, written on the next batch. Any sample rate works, records are bucket averages.
+     */
+    public static void record(Level level, BlockPos pos, float a, float b, float c, float d) {
+        LevelHistory history = get(level);
+        if (history != null) {
+            history.pending.add(new Sample(pos.immutable(), level.getGameTime(), a, b, c, d));
+        }
+    }
+
+    // ========== READING ==========
+
+    /**
+     * Gets a zero-copy view of a block's history at the given resolution
+     * Samples still queued for the writer are not included.
+     */
+    public static HistorySlice read(Level level, BlockPos pos, Resolution resolution) {
+        LevelHistory history = get(level);
+        if (history == null) {
+            return HistorySlice.EMPTY;
+        }
+        try {
+            HistoryFile file = history.existingFile(pos);
+            return file != null ? file.slice(resolution) : HistorySlice.EMPTY;
+        } catch (IOException e) {
+            MinecraftFarmerTechMod.LOGGER.error("Failed to read energy history for {}", pos, e);
+            return HistorySlice.EMPTY;
+        }
+    }
+
+    /**
+     * Deletes a block's history once the block is gone, after writing out what was queued before
+     */
+    public static void delete(Level level, BlockPos pos) {
+        LevelHistory history = get(level);
+        if (history != null) {
+            BlockPos immutable = pos.immutable();
+            writer().execute(() -> {
+                history.drain();
+                history.delete(immutable);
+            });
+        }
+    }
+
+    // ========== LIFECYCLE ==========
+
+    @SubscribeEvent
+    public static void onLevelTick(LevelTickEvent.Post event) {
+        LevelHistory history = HISTORIES.get(event.getLevel());
+        if (history != null && !history.pending.isEmpty()
+                && event.getLevel().getGameTime() % FLUSH_INTERVAL == 0) {
+            writer().execute(history::drain);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        LevelHistory history = HISTORIES.remove(event.getLevel());
+        if (history == null) {
+            return;
+        }
+
+        // Write what is queued before the world closes
+        Future<?> flush = writer().submit(() -> {
+            history.drain();
+            history.close();
+        });
+        try {
+            flush.get(UNLOAD_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            MinecraftFarmerTechMod.LOGGER.warn("Energy history flush did not finish for {}", history.directory, e);
+        }
+    }
+
+    @SubscribeEvent
+    public static synchronized void onServerStopped(ServerStoppedEvent event) {
+        if (writer != null) {
+            writer.shutdown();
+            writer = null;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.thewheatking.minecraftfarmertechmod.common.history;
+
+import com.thewheatking.minecraftfarmertechmod.common.history.EnergyHistoryStore.Resolution;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * One metering block's history, a memory-mapped ring per resolution with the open buckets kept in the header
+ */
+final class HistoryFile {
+
+    static final int CHANNELS = 4;
+    static final int RECORD_SIZE = Long.BYTES + CHANNELS * Float.BYTES;
+
+    private static final int MAGIC = 0x4D465448; // "MFTH"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 256;
+    private static final int TIERS_OFFSET = 16;   // Head and size per tier
+    private static final int BUCKETS_OFFSET = 64; // Open bucket per tier: key, count, then the channel sums
+    private static final int BUCKET_SIZE = Long.BYTES * 2 + CHANNELS * Double.BYTES;
+
+    private static final Resolution[] RESOLUTIONS = Resolution.values();
+    private static final int[] RING_OFFSETS = new int[RESOLUTIONS.length];
+    private static final int FILE_SIZE;
+
+    static {
+        int offset = HEADER_SIZE;
+        for (Resolution resolution : RESOLUTIONS) {
+            RING_OFFSETS[resolution.ordinal()] = offset;
+            offset += resolution.capacity * RECORD_SIZE;
+        }
+        FILE_SIZE = offset;
+    }
+
+    private final MappedByteBuffer buffer;
+
+    // Head and size of every tier packed together, guarded by itself so readers see a consistent pair
+    private final long[] published = new long[RESOLUTIONS.length];
+
+    private HistoryFile(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    static HistoryFile open(Path path) throws IOException {
+        Files.createDirectories(path.getParent());
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            boolean fresh = channel.size() != FILE_SIZE;
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_SIZE);
+            HistoryFile file = new HistoryFile(buffer);
+            if (fresh || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || buffer.getInt(8) != CHANNELS) {
+                file.clear();
+            } else {
+                for (Resolution resolution : RESOLUTIONS) {
+                    file.publish(resolution.ordinal());
+                }
+            }
+            return file;
+        }
+    }
+
+    /**
+     * Drops every record and open bucket
+     */
+    void clear() {
+        for (int i = 0; i < HEADER_SIZE; i += Integer.BYTES) {
+            buffer.putInt(i, 0);
+        }
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(8, CHANNELS);
+        for (Resolution resolution : RESOLUTIONS) {
+            publish(resolution.ordinal());
+        }
+    }
+
+    // ========== WRITER THREAD ==========
+
+    /**
+     * Folds one sample into the open bucket of every resolution, appending buckets that closed
+     * Open buckets live in the mapped header, so a file closed or evicted mid-bucket picks up where it left off.
+     */
+    void append(long gameTime, float[] values) {
+        for (Resolution resolution : RESOLUTIONS) {
+            int tier = resolution.ordinal();
+            int bucket = BUCKETS_OFFSET + tier * BUCKET_SIZE;
+            long key = gameTime / resolution.bucketTicks;
+            int count = buffer.getInt(bucket + Long.BYTES);
+            if (count > 0 && key != buffer.getLong(bucket)) {
+                closeBucket(resolution);
+                count = 0;
+            }
+            buffer.putLong(bucket, key);
+            for (int channel = 0; channel < CHANNELS; channel++) {
+                int sum = bucket + Long.BYTES * 2 + channel * Double.BYTES;
+                buffer.putDouble(sum, buffer.getDouble(sum) + values[channel]);
+            }
+            buffer.putInt(bucket + Long.BYTES, count + 1);
+        }
+    }
+
+    private void closeBucket(Resolution resolution) {
+        int tier = resolution.ordinal();
+        int bucket = BUCKETS_OFFSET + tier * BUCKET_SIZE;
+        int count = buffer.getInt(bucket + Long.BYTES);
+        int head = buffer.getInt(TIERS_OFFSET + tier * 8);
+        int size = buffer.getInt(TIERS_OFFSET + tier * 8 + 4);
+
+        int position = RING_OFFSETS[tier] + head * RECORD_SIZE;
+        buffer.putLong(position, buffer.getLong(bucket) * resolution.bucketTicks);
+        for (int channel = 0; channel < CHANNELS; channel++) {
+            int sum = bucket + Long.BYTES * 2 + channel * Double.BYTES;
+            buffer.putFloat(position + Long.BYTES + channel * Float.BYTES, (float) (buffer.getDouble(sum) / count));
+            buffer.putDouble(sum, 0.0);
+        }
+        buffer.putInt(bucket + Long.BYTES, 0);
+
+        buffer.putInt(TIERS_OFFSET + tier * 8 + 4, Math.min(size + 1, resolution.capacity));
+        buffer.putInt(TIERS_OFFSET + tier * 8, (head + 1) % resolution.capacity);
+        publish(tier);
+    }
+
+    /**
+     * Makes the tier's head and size, and the records written before them, visible to readers
+     */
+    private void publish(int tier) {
+        long head = buffer.getInt(TIERS_OFFSET + tier * 8);
+        long size = buffer.getInt(TIERS_OFFSET + tier * 8 + 4);
+        synchronized (published) {
+            published[tier] = head << 32 | size;
+        }
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    // ========== READERS ==========
+
+    /**
+     * Read-only view of one resolution's ring, no records are copied
+     */
+    HistorySlice slice(Resolution resolution) {
+        int tier = resolution.ordinal();
+        long packed;
+        synchronized (published) {
+            packed = published[tier];
+        }
+        int head = (int) (packed >>> 32);
+        int size = (int) packed;
+        ByteBuffer ring = buffer.slice(RING_OFFSETS[tier], resolution.capacity * RECORD_SIZE).asReadOnlyBuffer();
+        return new HistorySlice(ring, resolution.capacity, head, size);
+    }
+}
@@ -0,0 +1,57 @@
+package com.thewheatking.minecraftfarmertechmod.common.history;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Zero-copy view of one resolution of a block's energy history, index 0 is the oldest record
+ */
+public final class HistorySlice {
+
+    public static final HistorySlice EMPTY = new HistorySlice(ByteBuffer.allocate(0), 1, 0, 0);
+
+    private final ByteBuffer ring;
+    private final int capacity;
+    private final int head;
+    private final int size;
+
+    HistorySlice(ByteBuffer ring, int capacity, int head, int size) {
+        this.ring = ring;
+        this.capacity = capacity;
+        this.head = head;
+        this.size = size;
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * Gets the start game time of a record's bucket
+     */
+    public long getTime(int index) {
+        return ring.getLong(offset(index));
+    }
+
+    public float getValue(int index, int channel) {
+        return ring.getFloat(offset(index) + Long.BYTES + channel * Float.BYTES);
+    }
+
+    /**
+     * Copies the newest records of one channel into dest, oldest first, returning the number copied
+     * For graph arrays that are reused between frames.
+     */
+    public int copyChannel(int channel, float[] dest) {
+        int count = Math.min(size, dest.length);
+        int start = size - count;
+        for (int i = 0; i < count; i++) {
+            dest[i] = getValue(start + i, channel);
+        }
+        return count;
+    }
+
+    private int offset(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return Math.floorMod(head - size + index, capacity) * HistoryFile.RECORD_SIZE;
+    }
+}
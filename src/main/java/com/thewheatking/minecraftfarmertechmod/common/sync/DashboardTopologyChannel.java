@@ -0,0 +1,337 @@
+package com.thewheatking.minecraftfarmertechmod.common.sync;
+
+import com.thewheatking.minecraftfarmertechmod.common.blockentity.machines.NetworkDashboardBlockEntity;
+import com.thewheatking.minecraftfarmertechmod.common.blockentity.machines.NetworkDashboardBlockEntity.DeviceType;
+import com.thewheatking.minecraftfarmertechmod.common.blockentity.machines.NetworkDashboardBlockEntity.NetworkDevice;
+import com.thewheatking.minecraftfarmertechmod.common.blockentity.machines.NetworkDashboardBlockEntity.TopologyDelta;
+import com.thewheatking.minecraftfarmertechmod.common.util.MftProfiler;
+import com.thewheatking.minecraftfarmertechmod.energy.EnhancedMftEnergyNetwork.TopologyChange;
+import com.thewheatking.minecraftfarmertechmod.network.DashboardTopologyPayload;
+import com.thewheatking.minecraftfarmertechmod.network.DashboardViewportPayload;
+import io.netty.buffer.Unpooled;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.inventory.AbstractContainerMenu;
+import net.neoforged.neoforge.network.PacketDistributor;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Menu-scoped topology stream for the Network Dashboard
+ */
+public class DashboardTopologyChannel {
+
+    /**
+     * Implemented by menus that own a topology channel so the payload handlers can find it
+     */
+    public interface Provider {
+        DashboardTopologyChannel getTopologyChannel();
+    }
+
+    public static final int PAGE_SIZE = 256;      // Nodes per packet
+    public static final int MAX_VISIBLE = 512;    // Nodes a client may ask live stats for
+    private static final int PAGES_PER_BROADCAST = 2;
+    private static final int STATS_INTERVAL = 10; // Ticks between stats updates
+
+    private static final byte MESSAGE_PAGE = 0;
+    private static final byte MESSAGE_DELTA = 1;
+    private static final byte MESSAGE_STATS = 2;
+
+    private static final int FLAG_ACTIVE = 1;
+    private static final int FLAG_OVERLOADED = 1 << 1;
+    private static final int FLAG_UNDERPERFORMING = 1 << 2;
+
+    public record Node(int id, BlockPos position, DeviceType type) {
+    }
+
+    public record NodeStats(int energyStored, int maxEnergyStored, int flags) {
+
+        public float stressLevel() {
+            return maxEnergyStored > 0 ? (float) energyStored / maxEnergyStored : 0.0f;
+        }
+
+        public boolean isActive() { return (flags & FLAG_ACTIVE) != 0; }
+        public boolean isOverloaded() { return (flags & FLAG_OVERLOADED) != 0; }
+        public boolean isUnderperforming() { return (flags & FLAG_UNDERPERFORMING) != 0; }
+    }
+
+    private final AbstractContainerMenu menu;
+    private final Player player;
+    private final boolean clientSide;
+
+    // Server state
+    @Nullable
+    private final NetworkDashboardBlockEntity dashboard;
+    private long sentRevision = -1L;
+    private List<NetworkDevice> snapshot;
+    private long snapshotRevision;
+    private int snapshotPage;
+    private final Set<Integer> visibleIds = new LinkedHashSet<>();
+    private final Map<Integer, NodeStats> sentStats = new HashMap<>();
+    private long lastStatsTime = -1L;
+
+    // Client state
+    private final Map<Integer, Node> nodes = new HashMap<>();
+    private final Map<Integer, NodeStats> stats = new HashMap<>();
+    private final TopologyLayoutCache layout;
+    private long revision = -1L;
+    private boolean complete = false;
+    private List<Integer> requestedViewport = List.of();
+
+    public DashboardTopologyChannel(AbstractContainerMenu menu, Player player, @Nullable NetworkDashboardBlockEntity dashboard) {
+        this.menu = menu;
+        this.player = player;
+        this.clientSide = player.level().isClientSide();
+        this.dashboard = clientSide ? null : dashboard;
+        this.layout = new TopologyLayoutCache(dashboard != null ? dashboard.getBlockPos() : player.blockPosition());
+    }
+
+    // ========== SERVER SIDE ==========
+
+    /**
+     * Sends pending pages, deltas and visible stats. Call from AbstractContainerMenu#broadcastChanges.
+     */
+    public void broadcast() {
+        if (clientSide || dashboard == null || !(player instanceof ServerPlayer serverPlayer)) {
+            return;
+        }
+
+        long profileStart = MftProfiler.begin();
+        if (snapshot == null) {
+            List<TopologyDelta> changes = sentRevision < 0 ? null : dashboard.getChangesSince(sentRevision);
+            if (changes == null) {
+                // New viewer, or the change log no longer reaches back far enough
+                snapshot = new ArrayList<>(dashboard.getDevices());
+                snapshotRevision = dashboard.getTopologyRevision();
+                snapshotPage = 0;
+            } else if (!changes.isEmpty()) {
+                sendDeltas(serverPlayer, changes);
+                sentRevision = changes.get(changes.size() - 1).revision();
+            }
+        }
+
+        if (snapshot != null) {
+            sendPages(serverPlayer);
+        }
+
+        long gameTime = player.level().getGameTime();
+        if (snapshot == null && !visibleIds.isEmpty()
+                && (lastStatsTime < 0 || gameTime - lastStatsTime >= STATS_INTERVAL)) {
+            sendStats(serverPlayer);
+            lastStatsTime = gameTime;
+        }
+        MftProfiler.end(MftProfiler.Category.SYNC, "dashboard_topology", dashboard.getBlockPos(), profileStart);
+    }
+
+    private void sendPages(ServerPlayer serverPlayer) {
+        int pages = Math.max(1, (snapshot.size() + PAGE_SIZE - 1) / PAGE_SIZE);
+        for (int sent = 0; sent < PAGES_PER_BROADCAST && snapshotPage < pages; sent++, snapshotPage++) {
+            int from = snapshotPage * PAGE_SIZE;
+            List<NetworkDevice> page = snapshot.subList(from, Math.min(snapshot.size(), from + PAGE_SIZE));
+            int pageIndex = snapshotPage;
+            send(serverPlayer, buf -> {
+                buf.writeByte(MESSAGE_PAGE);
+                buf.writeVarLong(snapshotRevision);
+                buf.writeVarInt(pageIndex);
+                buf.writeVarInt(pages);
+                buf.writeVarInt(page.size());
+                for (NetworkDevice device : page) {
+                    writeNode(buf, device.nodeId, device.position, device.deviceType);
+                }
+            });
+        }
+
+        if (snapshotPage >= pages) {
+            sentRevision = snapshotRevision;
+            snapshot = null;
+            sentStats.clear();
+        }
+    }
+
+    private void sendDeltas(ServerPlayer serverPlayer, List<TopologyDelta> changes) {
+        for (int from = 0; from < changes.size(); from += PAGE_SIZE) {
+            List<TopologyDelta> chunk = changes.subList(from, Math.min(changes.size(), from + PAGE_SIZE));
+            send(serverPlayer, buf -> {
+                buf.writeByte(MESSAGE_DELTA);
+                buf.writeVarLong(chunk.get(chunk.size() - 1).revision());
+                buf.writeVarInt(chunk.size());
+                for (TopologyDelta delta : chunk) {
+                    buf.writeByte(delta.kind().ordinal());
+                    if (delta.kind() == TopologyChange.Kind.REMOVED) {
+                        buf.writeVarInt(delta.nodeId());
+                        sentStats.remove(delta.nodeId());
+                    } else {
+                        writeNode(buf, delta.nodeId(), delta.position(), delta.deviceType());
+                    }
+                }
+            });
+        }
+    }
+
+    private void sendStats(ServerPlayer serverPlayer) {
+        Map<Integer, NodeStats> changed = new LinkedHashMap<>();
+        for (int id : visibleIds) {
+            NetworkDevice device = dashboard.getDeviceById(id);
+            if (device == null) {
+                continue;
+            }
+            dashboard.refreshDevice(device);
+            NodeStats current = statsOf(device);
+            if (!current.equals(sentStats.get(id))) {
+                changed.put(id, current);
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        send(serverPlayer, buf -> {
+            buf.writeByte(MESSAGE_STATS);
+            buf.writeVarInt(changed.size());
+            for (Map.Entry<Integer, NodeStats> entry : changed.entrySet()) {
+                buf.writeVarInt(entry.getKey());
+                buf.writeVarInt(entry.getValue().energyStored());
+                buf.writeVarInt(entry.getValue().maxEnergyStored());
+                buf.writeByte(entry.getValue().flags());
+            }
+        });
+        sentStats.putAll(changed);
+    }
+
+    private static NodeStats statsOf(NetworkDevice device) {
+        int flags = (device.isActive ? FLAG_ACTIVE : 0)
+                | (device.isOverloaded ? FLAG_OVERLOADED : 0)
+                | (device.isUnderperforming ? FLAG_UNDERPERFORMING : 0);
+        return new NodeStats(device.energyStored, device.maxEnergyStored, flags);
+    }
+
+    private void send(ServerPlayer serverPlayer, Consumer<FriendlyByteBuf> writer) {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        try {
+            writer.accept(buf);
+            byte[] data = new byte[buf.readableBytes()];
+            buf.readBytes(data);
+            PacketDistributor.sendToPlayer(serverPlayer, new DashboardTopologyPayload(menu.containerId, data));
+        } finally {
+            buf.release();
+        }
+    }
+
+    private static void writeNode(FriendlyByteBuf buf, int id, BlockPos pos, DeviceType type) {
+        buf.writeVarInt(id);
+        buf.writeLong(pos.asLong());
+        buf.writeByte(type.ordinal());
+    }
+
+    /**
+     * Replaces the set of nodes the client wants live stats for
+     */
+    public void setVisible(List<Integer> ids) {
+        visibleIds.clear();
+        for (int i = 0; i < ids.size() && i < MAX_VISIBLE; i++) {
+            visibleIds.add(ids.get(i));
+        }
+        // Nodes that scroll back into view get fresh stats
+        sentStats.keySet().retainAll(visibleIds);
+        lastStatsTime = -1L;
+    }
+
+    // ========== CLIENT SIDE ==========
+
+    public void read(FriendlyByteBuf buf) {
+        switch (buf.readByte()) {
+            case MESSAGE_PAGE -> readPage(buf);
+            case MESSAGE_DELTA -> readDelta(buf);
+            case MESSAGE_STATS -> readStats(buf);
+            default -> {
+            }
+        }
+    }
+
+    private void readPage(FriendlyByteBuf buf) {
+        long pageRevision = buf.readVarLong();
+        int page = buf.readVarInt();
+        int pages = buf.readVarInt();
+        if (page == 0) {
+            nodes.clear();
+            stats.clear();
+            layout.clear();
+            complete = false;
+        }
+
+        int count = buf.readVarInt();
+        for (int i = 0; i < count; i++) {
+            putNode(readNode(buf));
+        }
+
+        if (page == pages - 1) {
+            revision = pageRevision;
+            complete = true;
+        }
+    }
+
+    private void readDelta(FriendlyByteBuf buf) {
+        long deltaRevision = buf.readVarLong();
+        int count = buf.readVarInt();
+        for (int i = 0; i < count; i++) {
+            TopologyChange.Kind kind = TopologyChange.Kind.values()[buf.readByte()];
+            if (kind == TopologyChange.Kind.REMOVED) {
+                int id = buf.readVarInt();
+                nodes.remove(id);
+                stats.remove(id);
+                layout.remove(id);
+            } else {
+                putNode(readNode(buf));
+            }
+        }
+        revision = deltaRevision;
+    }
+
+    private void readStats(FriendlyByteBuf buf) {
+        int count = buf.readVarInt();
+        for (int i = 0; i < count; i++) {
+            int id = buf.readVarInt();
+            NodeStats nodeStats = new NodeStats(buf.readVarInt(), buf.readVarInt(), buf.readByte());
+            if (nodes.containsKey(id)) {
+                stats.put(id, nodeStats);
+            }
+        }
+    }
+
+    private static Node readNode(FriendlyByteBuf buf) {
+        return new Node(buf.readVarInt(), BlockPos.of(buf.readLong()), DeviceType.byOrdinal(buf.readByte()));
+    }
+
+    private void putNode(Node node) {
+        Node previous = nodes.put(node.id(), node);
+        // Only new or moved nodes are laid out, everything else keeps its slot
+        if (previous == null || !previous.position().equals(node.position())) {
+            layout.place(node.id(), node.position());
+        }
+    }
+
+    /**
+     * Tells the server which nodes are inside the given map rectangle, if that set changed
+     */
+    public void updateViewport(int minX, int minY, int maxX, int maxY) {
+        if (!clientSide) {
+            return;
+        }
+        List<Integer> visible = layout.findVisible(minX, minY, maxX, maxY, MAX_VISIBLE);
+        if (!visible.equals(requestedViewport)) {
+            requestedViewport = visible;
+            PacketDistributor.sendToServer(new DashboardViewportPayload(menu.containerId, visible));
+        }
+    }
+
+    public Collection<Node> getNodes() { return Collections.unmodifiableCollection(nodes.values()); }
+    @Nullable
+    public NodeStats getStats(int nodeId) { return stats.get(nodeId); }
+    public TopologyLayoutCache getLayout() { return layout; }
+    public long getRevision() { return revision; }
+    public boolean isComplete() { return complete; }
+}
@@ -0,0 +1,398 @@
+package com.thewheatking.minecraftfarmertechmod.common.sync;
+
+import com.thewheatking.minecraftfarmertechmod.common.util.MftProfiler;
+import com.thewheatking.minecraftfarmertechmod.network.MenuSyncPayload;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.inventory.AbstractContainerMenu;
+import net.neoforged.neoforge.network.PacketDistributor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Syncs full-width int, long and array values to the one player that has a menu open
+ * Only changed slots are sent, at most once every {@code minInterval} ticks, and array slots send only their
+ * changed elements. Slots are registered in the same order on both sides; on the client getters return the
+ * last received value.
+ */
+public class MenuSyncChannel {
+
+    /**
+     * Implemented by menus that own a sync channel so the client handler can find it
+     */
+    public interface Provider {
+        MenuSyncChannel getSyncChannel();
+    }
+
+    public static final int DEFAULT_MIN_INTERVAL = 2; // Ticks between updates
+
+    private final AbstractContainerMenu menu;
+    private final Player player;
+    private final boolean clientSide;
+    private final int minInterval;
+    private final List<Slot> slots = new ArrayList<>();
+    private long lastSendTime = -1L;
+
+    public MenuSyncChannel(AbstractContainerMenu menu, Player player) {
+        this(menu, player, DEFAULT_MIN_INTERVAL);
+    }
+
+    public MenuSyncChannel(AbstractContainerMenu menu, Player player, int minInterval) {
+        this.menu = menu;
+        this.player = player;
+        this.clientSide = player.level().isClientSide();
+        this.minInterval = Math.max(1, minInterval);
+    }
+
+    // ========== SLOT REGISTRATION ==========
+
+    public IntSlot addInt(IntSupplier source) {
+        return register(new IntSlot(source));
+    }
+
+    public FloatSlot addFloat(Supplier<Float> source) {
+        return register(new FloatSlot(source));
+    }
+
+    public LongSlot addLong(LongSupplier source) {
+        return register(new LongSlot(source));
+    }
+
+    public IntArraySlot addIntArray(int length, Supplier<int[]> source) {
+        return register(new IntArraySlot(length, source));
+    }
+
+    public FloatArraySlot addFloatArray(int length, Supplier<float[]> source) {
+        return register(new FloatArraySlot(length, source));
+    }
+
+    private <T extends Slot> T register(T slot) {
+        slot.index = slots.size();
+        slots.add(slot);
+        return slot;
+    }
+
+    // ========== SERVER SIDE ==========
+
+    /**
+     * Sends changed slots to the menu's player. Call from AbstractContainerMenu#broadcastChanges.
+     */
+    public void broadcast() {
+        if (clientSide || !(player instanceof ServerPlayer serverPlayer)) {
+            return;
+        }
+
+        long gameTime = player.level().getGameTime();
+        if (lastSendTime >= 0 && gameTime - lastSendTime < minInterval) {
+            return;
+        }
+
+        List<Slot> dirty = new ArrayList<>();
+        for (Slot slot : slots) {
+            if (slot.isDirty()) {
+                dirty.add(slot);
+            }
+        }
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        long profileStart = MftProfiler.begin();
+        RegistryFriendlyByteBuf buf = new RegistryFriendlyByteBuf(Unpooled.buffer(), player.level().registryAccess());
+        try {
+            buf.writeVarInt(dirty.size());
+            for (Slot slot : dirty) {
+                buf.writeVarInt(slot.index);
+                slot.write(buf);
+            }
+            byte[] data = new byte[buf.readableBytes()];
+            buf.readBytes(data);
+            PacketDistributor.sendToPlayer(serverPlayer, new MenuSyncPayload(menu.containerId, data));
+        } finally {
+            buf.release();
+        }
+        MftProfiler.end(MftProfiler.Category.SYNC, "menu_sync", null, profileStart);
+        lastSendTime = gameTime;
+    }
+
+    // ========== CLIENT SIDE ==========
+
+    public void read(RegistryFriendlyByteBuf buf) {
+        int count = buf.readVarInt();
+        for (int i = 0; i < count; i++) {
+            int index = buf.readVarInt();
+            slots.get(index).read(buf);
+        }
+    }
+
+    // ========== SLOT TYPES ==========
+
+    private abstract static class Slot {
+        int index;
+        abstract boolean isDirty();
+        abstract void write(RegistryFriendlyByteBuf buf);
+        abstract void read(RegistryFriendlyByteBuf buf);
+    }
+
+    public class IntSlot extends Slot {
+        private final IntSupplier source;
+        private int value;
+        private boolean sent = false;
+
+        private IntSlot(IntSupplier source) {
+            this.source = source;
+        }
+
+        public int get() {
+            return clientSide ? value : source.getAsInt();
+        }
+
+        @Override
+        boolean isDirty() {
+            return !sent || source.getAsInt() != value;
+        }
+
+        @Override
+        void write(RegistryFriendlyByteBuf buf) {
+            value = source.getAsInt();
+            sent = true;
+            buf.writeVarInt(value);
+        }
+
+        @Override
+        void read(RegistryFriendlyByteBuf buf) {
+            value = buf.readVarInt();
+        }
+    }
+
+    public class LongSlot extends Slot {
+        private final LongSupplier source;
+        private long value;
+        private boolean sent = false;
+
+        private LongSlot(LongSupplier source) {
+            this.source = source;
+        }
+
+        public long get() {
+            return clientSide ? value : source.getAsLong();
+        }
+
+        @Override
+        boolean isDirty() {
+            return !sent || source.getAsLong() != value;
+        }
+
+        @Override
+        void write(RegistryFriendlyByteBuf buf) {
+            value = source.getAsLong();
+            sent = true;
+            buf.writeVarLong(value);
+        }
+
+        @Override
+        void read(RegistryFriendlyByteBuf buf) {
+            value = buf.readVarLong();
+        }
+    }
+
+    public class FloatSlot extends Slot {
+        private final Supplier<Float> source;
+        private float value;
+        private boolean sent = false;
+
+        private FloatSlot(Supplier<Float> source) {
+            this.source = source;
+        }
+
+        public float get() {
+            return clientSide ? value : source.get();
+        }
+
+        @Override
+        boolean isDirty() {
+            return !sent || Float.compare(source.get(), value) != 0;
+        }
+
+        @Override
+        void write(RegistryFriendlyByteBuf buf) {
+            value = source.get();
+            sent = true;
+            buf.writeFloat(value);
+        }
+
+        @Override
+        void read(RegistryFriendlyByteBuf buf) {
+            value = buf.readFloat();
+        }
+    }
+
+    /**
+     * Fixed-length int array, sent as (index, value) pairs for changed elements only
+     */
+    public class IntArraySlot extends Slot {
+        private final Supplier<int[]> source;
+        private final int[] values;
+        private int[] pending;
+        private int[] copy;
+        private boolean sentOnce = false;
+
+        private IntArraySlot(int length, Supplier<int[]> source) {
+            this.source = source;
+            this.values = new int[length];
+        }
+
+        /**
+         * Returns the whole array. On the client the copy is only rebuilt after an update changed it,
+         * so callers must not modify it.
+         */
+        public int[] get() {
+            if (!clientSide) {
+                return source.get();
+            }
+            if (copy == null) {
+                copy = values.clone();
+            }
+            return copy;
+        }
+
+        public int get(int index) {
+            return clientSide ? values[index] : source.get()[index];
+        }
+
+        public int length() {
+            return values.length;
+        }
+
+        @Override
+        boolean isDirty() {
+            pending = source.get();
+            return !sentOnce || !Arrays.equals(pending, values);
+        }
+
+        @Override
+        void write(RegistryFriendlyByteBuf buf) {
+            int[] current = pending != null ? pending : source.get();
+            int length = Math.min(current.length, values.length);
+
+            int changed = 0;
+            for (int i = 0; i < length; i++) {
+                if (!sentOnce || current[i] != values[i]) changed++;
+            }
+
+            buf.writeVarInt(changed);
+            for (int i = 0; i < length; i++) {
+                if (!sentOnce || current[i] != values[i]) {
+                    buf.writeVarInt(i);
+                    buf.writeVarInt(current[i]);
+                    values[i] = current[i];
+                }
+            }
+            sentOnce = true;
+            pending = null;
+        }
+
+        @Override
+        void read(RegistryFriendlyByteBuf buf) {
+            int changed = buf.readVarInt();
+            for (int i = 0; i < changed; i++) {
+                int index = buf.readVarInt();
+                int value = buf.readVarInt();
+                if (index >= 0 && index < values.length) {
+                    values[index] = value;
+                }
+            }
+            if (changed > 0) {
+                copy = null;
+            }
+        }
+    }
+
+    /**
+     * Fixed-length float array, sent as (index, value) pairs for changed elements only
+     */
+    public class FloatArraySlot extends Slot {
+        private final Supplier<float[]> source;
+        private final float[] values;
+        private float[] pending;
+        private float[] copy;
+        private boolean sentOnce = false;
+
+        private FloatArraySlot(int length, Supplier<float[]> source) {
+            this.source = source;
+            this.values = new float[length];
+        }
+
+        /**
+         * Returns the whole array. On the client the copy is only rebuilt after an update changed it,
+         * so callers must not modify it.
+         */
+        public float[] get() {
+            if (!clientSide) {
+                return source.get();
+            }
+            if (copy == null) {
+                copy = values.clone();
+            }
+            return copy;
+        }
+
+        public float get(int index) {
+            return clientSide ? values[index] : source.get()[index];
+        }
+
+        public int length() {
+            return values.length;
+        }
+
+        @Override
+        boolean isDirty() {
+            pending = source.get();
+            return !sentOnce || !Arrays.equals(pending, values);
+        }
+
+        @Override
+        void write(RegistryFriendlyByteBuf buf) {
+            float[] current = pending != null ? pending : source.get();
+            int length = Math.min(current.length, values.length);
+
+            int changed = 0;
+            for (int i = 0; i < length; i++) {
+                if (!sentOnce || Float.compare(current[i], values[i]) != 0) changed++;
+            }
+
+            buf.writeVarInt(changed);
+            for (int i = 0; i < length; i++) {
+                if (!sentOnce || Float.compare(current[i], values[i]) != 0) {
+                    buf.writeVarInt(i);
+                    buf.writeFloat(current[i]);
+                    values[i] = current[i];
+                }
+            }
+            sentOnce = true;
+            pending = null;
+        }
+
+        @Override
+        void read(RegistryFriendlyByteBuf buf) {
+            int changed = buf.readVarInt();
+            for (int i = 0; i < changed; i++) {
+                int index = buf.readVarInt();
+                float value = buf.readFloat();
+                if (index >= 0 && index < values.length) {
+                    values[index] = value;
+                }
+            }
+            if (changed > 0) {
+                copy = null;
+            }
+        }
+    }
+}
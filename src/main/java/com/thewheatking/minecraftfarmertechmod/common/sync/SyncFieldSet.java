@@ -0,0 +1,163 @@
+package com.thewheatking.minecraftfarmertechmod.common.sync;
+
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Declared set of block entity fields that are delta-synced to clients
+ */
+public class SyncFieldSet {
+
+    public static final int MAX_FIELDS = 32;
+
+    private final List<SyncField<?>> fields = new ArrayList<>();
+
+    /**
+     * Registers a synced field. Registration order defines the bit index, so it must be identical on both sides.
+     * Getters must hand out immutable values, in-place changes are invisible to the comparison.
+     */
+    public <T> SyncFieldSet add(String name, StreamCodec<? super RegistryFriendlyByteBuf, T> codec,
+                                Supplier<T> getter, Consumer<T> setter) {
+        if (fields.size() >= MAX_FIELDS) {
+            throw new IllegalStateException("Too many synced fields, cannot register " + name);
+        }
+        fields.add(new SyncField<>(name, codec, getter, setter));
+        return this;
+    }
+
+    /**
+     * Compares every field with its last sent value
+     * @return Bit mask of fields that need to be sent
+     */
+    public int collectDirty() {
+        int mask = 0;
+        for (int i = 0; i < fields.size(); i++) {
+            if (fields.get(i).isDirty()) {
+                mask |= 1 << i;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Forces a field to be sent on the next flush even if its value looks unchanged
+     */
+    public void markDirty(String name) {
+        for (SyncField<?> field : fields) {
+            if (field.name.equals(name)) {
+                field.forced = true;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Records current values as already known to clients, e.g. right after the full chunk data was built
+     */
+    public void captureBaseline() {
+        for (SyncField<?> field : fields) {
+            field.capture();
+        }
+    }
+
+    public void markAllDirty() {
+        for (SyncField<?> field : fields) {
+            field.forced = true;
+        }
+    }
+
+    /**
+     * Writes the masked fields and records them as sent
+     */
+    public void write(RegistryFriendlyByteBuf buf, int mask) {
+        for (int i = 0; i < fields.size(); i++) {
+            if ((mask & (1 << i)) != 0) {
+                fields.get(i).write(buf);
+            }
+        }
+    }
+
+    /**
+     * Reads the masked fields on the receiving side
+     */
+    public void read(RegistryFriendlyByteBuf buf, int mask) {
+        for (int i = 0; i < fields.size(); i++) {
+            if ((mask & (1 << i)) != 0) {
+                fields.get(i).read(buf);
+            }
+        }
+    }
+
+    /**
+     * Writes every field's current value without recording it as sent, for the chunk data a new watcher receives
+     */
+    public void writeSnapshot(RegistryFriendlyByteBuf buf) {
+        for (SyncField<?> field : fields) {
+            field.encodeCurrent(buf);
+        }
+    }
+
+    /**
+     * Reads a snapshot written by writeSnapshot
+     */
+    public void readSnapshot(RegistryFriendlyByteBuf buf) {
+        for (SyncField<?> field : fields) {
+            field.read(buf);
+        }
+    }
+
+    public int size() {
+        return fields.size();
+    }
+
+    public String getName(int index) {
+        return fields.get(index).name;
+    }
+
+    private static class SyncField<T> {
+        private final String name;
+        private final StreamCodec<? super RegistryFriendlyByteBuf, T> codec;
+        private final Supplier<T> getter;
+        private final Consumer<T> setter;
+        private T lastSent;
+        private boolean forced = false;
+
+        private SyncField(String name, StreamCodec<? super RegistryFriendlyByteBuf, T> codec,
+                          Supplier<T> getter, Consumer<T> setter) {
+            this.name = name;
+            this.codec = codec;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        private boolean isDirty() {
+            return forced || !Objects.equals(getter.get(), lastSent);
+        }
+
+        private void capture() {
+            lastSent = getter.get();
+            forced = false;
+        }
+
+        private void write(RegistryFriendlyByteBuf buf) {
+            T value = getter.get();
+            codec.encode(buf, value);
+            lastSent = value;
+            forced = false;
+        }
+
+        private void encodeCurrent(RegistryFriendlyByteBuf buf) {
+            codec.encode(buf, getter.get());
+        }
+
+        private void read(RegistryFriendlyByteBuf buf) {
+            setter.accept(codec.decode(buf));
+        }
+    }
+}
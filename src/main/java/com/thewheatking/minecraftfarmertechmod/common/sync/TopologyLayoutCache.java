@@ -0,0 +1,142 @@
+package com.thewheatking.minecraftfarmertechmod.common.sync;
+
+import net.minecraft.core.BlockPos;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Client-side incremental layout for the Network Dashboard map
+ */
+public class TopologyLayoutCache {
+
+    public static final int SPACING = 12;     // Map pixels per block
+    private static final int STACK_OFFSET = 3; // Map pixels per node stacked in the same column
+    private static final int BUCKET_SIZE = 64;
+
+    public record Slot(int x, int y) {
+    }
+
+    private final BlockPos anchor;
+    private final Map<Integer, Slot> slots = new HashMap<>();
+    private final Map<Long, List<Integer>> buckets = new HashMap<>();
+    private final Map<Long, Integer> columnHeights = new HashMap<>(); // Next stack index per column
+    private final Map<Long, Integer> columnCounts = new HashMap<>();  // Nodes currently in each column
+    private final Map<Integer, Long> nodeColumns = new HashMap<>();
+
+    public TopologyLayoutCache(BlockPos anchor) {
+        this.anchor = anchor.immutable();
+    }
+
+    // ========== UPDATES ==========
+
+    public Slot place(int nodeId, BlockPos pos) {
+        remove(nodeId);
+
+        long column = pack(pos.getX(), pos.getZ());
+        int stack = columnHeights.merge(column, 1, Integer::sum) - 1;
+        columnCounts.merge(column, 1, Integer::sum);
+        nodeColumns.put(nodeId, column);
+
+        Slot slot = new Slot((pos.getX() - anchor.getX()) * SPACING + stack * STACK_OFFSET,
+                (pos.getZ() - anchor.getZ()) * SPACING + stack * STACK_OFFSET);
+        slots.put(nodeId, slot);
+        buckets.computeIfAbsent(bucketKey(slot.x(), slot.y()), key -> new ArrayList<>()).add(nodeId);
+        return slot;
+    }
+
+    public void remove(int nodeId) {
+        Slot slot = slots.remove(nodeId);
+        if (slot == null) {
+            return;
+        }
+
+        long bucket = bucketKey(slot.x(), slot.y());
+        List<Integer> ids = buckets.get(bucket);
+        if (ids != null && ids.remove(Integer.valueOf(nodeId)) && ids.isEmpty()) {
+            buckets.remove(bucket);
+        }
+
+        // Stack slots are only handed back once the whole column is empty, so nodes never shift
+        Long column = nodeColumns.remove(nodeId);
+        if (column != null && columnCounts.merge(column, -1, Integer::sum) <= 0) {
+            columnCounts.remove(column);
+            columnHeights.remove(column);
+        }
+    }
+
+    public void clear() {
+        slots.clear();
+        buckets.clear();
+        columnHeights.clear();
+        columnCounts.clear();
+        nodeColumns.clear();
+    }
+
+    // ========== QUERIES ==========
+
+    @Nullable
+    public Slot getSlot(int nodeId) {
+        return slots.get(nodeId);
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    /**
+     * Collects up to limit node IDs whose slot lies within the given map rectangle
+     */
+    public List<Integer> findVisible(int minX, int minY, int maxX, int maxY, int limit) {
+        List<Integer> visible = new ArrayList<>();
+        int minBucketX = Math.floorDiv(minX, BUCKET_SIZE);
+        int minBucketY = Math.floorDiv(minY, BUCKET_SIZE);
+        int maxBucketX = Math.floorDiv(maxX, BUCKET_SIZE);
+        int maxBucketY = Math.floorDiv(maxY, BUCKET_SIZE);
+        long rangeBuckets = (long) (maxBucketX - minBucketX + 1) * (maxBucketY - minBucketY + 1);
+
+        if (rangeBuckets <= buckets.size()) {
+            for (int bx = minBucketX; bx <= maxBucketX && visible.size() < limit; bx++) {
+                for (int by = minBucketY; by <= maxBucketY && visible.size() < limit; by++) {
+                    collect(buckets.get(pack(bx, by)), minX, minY, maxX, maxY, limit, visible);
+                }
+            }
+        } else {
+            // Zoomed far out, cheaper to walk the occupied buckets
+            for (List<Integer> ids : buckets.values()) {
+                if (visible.size() >= limit) {
+                    break;
+                }
+                collect(ids, minX, minY, maxX, maxY, limit, visible);
+            }
+        }
+        return visible;
+    }
+
+    private void collect(@Nullable List<Integer> ids, int minX, int minY, int maxX, int maxY, int limit,
+                         List<Integer> visible) {
+        if (ids == null) {
+            return;
+        }
+        for (Integer id : ids) {
+            Slot slot = slots.get(id);
+            if (slot.x() >= minX && slot.x() <= maxX && slot.y() >= minY && slot.y() <= maxY) {
+                visible.add(id);
+                if (visible.size() >= limit) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static long bucketKey(int x, int y) {
+        return pack(Math.floorDiv(x, BUCKET_SIZE), Math.floorDiv(y, BUCKET_SIZE));
+    }
+
+    private static long pack(int a, int b) {
+        return ((long) a << 32) | (b & 0xFFFFFFFFL);
+    }
+}
@@ -100,10 +100,14 @@ public class CableUtils {
      */
     public static List<BlockPos> findOptimalPath(Level level, BlockPos start, BlockPos end) {
         String cacheKey = start.toString() + "->" + end.toString();
+        MftJfrEvents.CablePathSearch searchEvent = new MftJfrEvents.CablePathSearch();
+        searchEvent.begin();
 
         // Check cache first
         if (pathCache.containsKey(cacheKey)) {
-            return pathCache.get(cacheKey);
+            List<BlockPos> cached = pathCache.get(cacheKey);
+            commitPathEvent(searchEvent, level, cached, 0, true);
+            return cached;
         }
 
         // A* pathfinding implementation
@@ -115,12 +119,15 @@ public class CableUtils {
         openSet.add(startNode);
         allNodes.put(start, startNode);
 
+        int expanded = 0;
         while (!openSet.isEmpty()) {
             PathNode current = openSet.poll();
+            expanded++;
 
             if (current.pos.equals(end)) {
                 List<BlockPos> path = reconstructPath(current);
                 cacheResult(cacheKey, path);
+                commitPathEvent(searchEvent, level, path, expanded, false);
                 return path;
             }
 
@@ -155,9 +162,23 @@ public class CableUtils {
         // No path found
         List<BlockPos> emptyPath = new ArrayList<>();
         cacheResult(cacheKey, emptyPath);
+        commitPathEvent(searchEvent, level, emptyPath, expanded, false);
         return emptyPath;
     }
 
+    private static void commitPathEvent(MftJfrEvents.CablePathSearch event, Level level, List<BlockPos> path,
+                                        int expanded, boolean cached) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.level = MftJfrEvents.levelName(level);
+            event.networkId = "";
+            event.nodeCount = path.size();
+            event.cost = expanded;
+            event.cached = cached;
+            event.commit();
+        }
+    }
+
     /**
      * Calculates Manhattan distance between two positions
      */
@@ -0,0 +1,57 @@
+package com.thewheatking.minecraftfarmertechmod.common.util;
+
+import com.mojang.serialization.MapCodec;
+import com.thewheatking.minecraftfarmertechmod.MinecraftFarmerTechMod;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtOps;
+
+import java.util.Optional;
+
+/**
+ * Helpers for the compact, codec-based save format
+ */
+public final class CompactNbt {
+
+    public static final String VERSION_KEY = "v";
+    public static final int LEGACY_VERSION = 0;
+
+    private CompactNbt() {
+    }
+
+    /**
+     * Gets the format version of a tag, LEGACY_VERSION if it predates the compact format
+     */
+    public static int version(CompoundTag tag) {
+        return tag.contains(VERSION_KEY) ? tag.getInt(VERSION_KEY) : LEGACY_VERSION;
+    }
+
+    public static <T> void write(MapCodec<T> codec, T value, CompoundTag tag) {
+        codec.codec().encodeStart(NbtOps.INSTANCE, value)
+                .resultOrPartial(error -> MinecraftFarmerTechMod.LOGGER.error("Failed to encode {}: {}", value, error))
+                .ifPresent(encoded -> tag.merge((CompoundTag) encoded));
+    }
+
+    public static <T> Optional<T> read(MapCodec<T> codec, CompoundTag tag) {
+        return codec.codec().parse(NbtOps.INSTANCE, tag)
+                .resultOrPartial(error -> MinecraftFarmerTechMod.LOGGER.error("Failed to decode machine data: {}", error));
+    }
+
+    /**
+     * Packs six per-direction flags into the low bits, indexed by Direction#get3DDataValue
+     */
+    public static int packSides(boolean[] sides) {
+        int bits = 0;
+        for (int i = 0; i < sides.length; i++) {
+            if (sides[i]) {
+                bits |= 1 << i;
+            }
+        }
+        return bits;
+    }
+
+    public static void unpackSides(int bits, boolean[] sides) {
+        for (int i = 0; i < sides.length; i++) {
+            sides[i] = (bits & (1 << i)) != 0;
+        }
+    }
+}
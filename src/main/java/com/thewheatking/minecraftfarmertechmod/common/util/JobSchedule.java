@@ -0,0 +1,66 @@
+package com.thewheatking.minecraftfarmertechmod.common.util;
+
+/**
+ * Tick skipping for plain block entities whose work between two events has a closed form
+ * The machine runs its normal tick only at its next event or after an input changed, and fast-forwards
+ * the ticks in between with its catch-up code.
+ */
+public final class JobSchedule {
+
+    // Nothing will happen until an input changes
+    public static final long NO_EVENT = Long.MAX_VALUE;
+
+    private long lastRunTick = -1L;
+    private long nextEventTick = NO_EVENT;
+    private boolean inputsChanged = true;
+
+    /**
+     * Whether the machine has to run its tick this game tick
+     */
+    public boolean isDue(long gameTime) {
+        return inputsChanged || lastRunTick < 0 || gameTime >= nextEventTick;
+    }
+
+    /**
+     * Ticks skipped since the last run, to be fast-forwarded before running this one
+     */
+    public long skippedTicks(long gameTime) {
+        return lastRunTick < 0 ? 0 : Math.max(0, gameTime - lastRunTick - 1);
+    }
+
+    /**
+     * Ticks since the last run, for display values that advance linearly while skipped
+     */
+    public long ticksSinceRun(long gameTime) {
+        return lastRunTick < 0 ? 0 : Math.max(0, gameTime - lastRunTick);
+    }
+
+    /**
+     * Records a run and the game tick of the next event, NO_EVENT to wait for an input change
+     */
+    public void ran(long gameTime, long nextEventTick) {
+        this.lastRunTick = gameTime;
+        this.nextEventTick = Math.max(gameTime + 1, nextEventTick);
+        this.inputsChanged = false;
+    }
+
+    public void markInputsChanged() {
+        inputsChanged = true;
+    }
+
+    /**
+     * The game tick the machine's state is simulated up to, what it should save as its last simulated tick
+     */
+    public long simulatedUpTo(long gameTime) {
+        return lastRunTick < 0 ? gameTime : lastRunTick;
+    }
+
+    /**
+     * Restarts from a freshly loaded or caught-up state
+     */
+    public void reset(long gameTime) {
+        lastRunTick = gameTime;
+        nextEventTick = NO_EVENT;
+        inputsChanged = true;
+    }
+}
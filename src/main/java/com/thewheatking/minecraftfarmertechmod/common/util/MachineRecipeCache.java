@@ -0,0 +1,109 @@
+package com.thewheatking.minecraftfarmertechmod.common.util;
+
+import com.thewheatking.minecraftfarmertechmod.MinecraftFarmerTechMod;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeHolder;
+import net.minecraft.world.item.crafting.RecipeType;
+import net.minecraft.world.item.crafting.SingleRecipeInput;
+import net.minecraft.world.level.Level;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.OnDatapackSyncEvent;
+
+import javax.annotation.Nullable;
+import java.util.Optional;
+
+/**
+ * Last-recipe cache for single-input machines, misses included, dropped whenever the datapacks reload
+ */
+@EventBusSubscriber(modid = MinecraftFarmerTechMod.MOD_ID, bus = EventBusSubscriber.Bus.GAME)
+public class MachineRecipeCache<R extends Recipe<SingleRecipeInput>> {
+
+    private static volatile int reloadGeneration = 0;
+
+    /**
+     * The real lookup, given the last recipe's id as a hint to check before the full scan
+     */
+    @FunctionalInterface
+    interface Lookup<R extends Recipe<SingleRecipeInput>> {
+        Optional<RecipeHolder<R>> find(SingleRecipeInput input, @Nullable ResourceLocation hint);
+    }
+
+    private final RecipeType<R> type;
+    private ItemStack key = ItemStack.EMPTY;   // Single-count copy of the input the entry is for
+    private Optional<RecipeHolder<R>> cached = Optional.empty();
+    private boolean valid = false;
+    private int generation = -1;
+    @Nullable
+    private ResourceLocation lastRecipe;       // Lookup hint, survives invalidation but not reloads
+
+    public MachineRecipeCache(RecipeType<R> type) {
+        this.type = type;
+    }
+
+    /**
+     * Gets the recipe for the input, only asking the RecipeManager when the item or its components changed
+     */
+    public Optional<RecipeHolder<R>> getRecipe(Level level, ItemStack input) {
+        if (level == null) {
+            return Optional.empty();
+        }
+        return getRecipe(input, (recipeInput, hint) -> level.getRecipeManager().getRecipeFor(type, recipeInput, level, hint));
+    }
+
+    Optional<RecipeHolder<R>> getRecipe(ItemStack input, Lookup<R> lookup) {
+        if (input.isEmpty()) {
+            return Optional.empty();
+        }
+
+        if (generation != reloadGeneration) {
+            generation = reloadGeneration;
+            lastRecipe = null;
+            valid = false;
+        }
+        if (valid && ItemStack.isSameItemSameComponents(key, input)) {
+            return cached;
+        }
+
+        cached = lookup.find(new SingleRecipeInput(input), lastRecipe);
+        cached.ifPresent(holder -> lastRecipe = holder.id());
+        key = input.copyWithCount(1);
+        valid = true;
+        return cached;
+    }
+
+    public boolean hasRecipe(Level level, ItemStack input) {
+        return getRecipe(level, input).isPresent();
+    }
+
+    /**
+     * Call from the input slot's change handler, drops the entry once the input is a different item
+     */
+    public void onInputChanged(ItemStack input) {
+        if (valid && !ItemStack.isSameItemSameComponents(key, input)) {
+            invalidate();
+        }
+    }
+
+    public void invalidate() {
+        valid = false;
+        key = ItemStack.EMPTY;
+        cached = Optional.empty();
+    }
+
+    /**
+     * Fires after the server's datapacks (and with them recipes) reload, a null player means a full reload
+     */
+    @SubscribeEvent
+    public static void onDatapackSync(OnDatapackSyncEvent event) {
+        if (event.getPlayer() == null) {
+            onRecipesReloaded();
+        }
+    }
+
+    static void onRecipesReloaded() {
+        reloadGeneration++;
+    }
+}
@@ -0,0 +1,98 @@
+package com.thewheatking.minecraftfarmertechmod.common.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+
+import javax.annotation.Nullable;
+
+/**
+ * JDK Flight Recorder events for MFT network and world scan work
+ */
+public final class MftJfrEvents {
+
+    private static final String CATEGORY = "Minecraft Farmer Tech";
+
+    private MftJfrEvents() {
+    }
+
+    public static String levelName(@Nullable Level level) {
+        return level != null ? level.dimension().location().toString() : "";
+    }
+
+    /**
+     * Ends a scanner event and commits it if the recording wants it
+     */
+    public static void commitWorldScan(WorldScan event, String scanner, @Nullable Level level, BlockPos pos,
+                                       @Nullable Object networkId, int devicesFound, long positionsExamined) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.scanner = scanner;
+            event.level = levelName(level);
+            event.position = pos.toShortString();
+            event.networkId = networkId != null ? networkId.toString() : "";
+            event.nodeCount = devicesFound;
+            event.cost = positionsExamined;
+            event.commit();
+        }
+    }
+
+    @Category({CATEGORY, "Energy Network"})
+    @StackTrace(false)
+    public abstract static class NetworkEvent extends Event {
+        @Label("Level")
+        public String level;
+
+        @Label("Network ID")
+        public String networkId;
+
+        @Label("Node Count")
+        public int nodeCount;
+
+        @Label("Cost")
+        public long cost;
+    }
+
+    @Name("minecraftfarmertechmod.NetworkScan")
+    @Label("Network Rebuild")
+    @Description("Energy network device rescan. Cost is the number of cable positions scanned.")
+    public static final class NetworkScan extends NetworkEvent {
+    }
+
+    @Name("minecraftfarmertechmod.NetworkSolve")
+    @Label("Network Solve")
+    @Description("Connection building between network nodes. Cost is the number of path searches.")
+    public static final class NetworkSolve extends NetworkEvent {
+    }
+
+    @Name("minecraftfarmertechmod.NetworkDistribute")
+    @Label("Network Distribute")
+    @Description("Producer to consumer energy planning. Cost is the number of transfers queued.")
+    public static final class NetworkDistribute extends NetworkEvent {
+    }
+
+    @Name("minecraftfarmertechmod.CablePathSearch")
+    @Label("Cable Path Search")
+    @Description("A* search between two cable positions. Node count is the path length, cost is the number of nodes expanded.")
+    public static final class CablePathSearch extends NetworkEvent {
+        @Label("Cached")
+        public boolean cached;
+    }
+
+    @Name("minecraftfarmertechmod.WorldScan")
+    @Label("Machine World Scan")
+    @Description("Block scan by a monitor, dashboard or relay. Node count is devices found, cost is positions examined.")
+    @Category({CATEGORY, "Scanners"})
+    public static final class WorldScan extends NetworkEvent {
+        @Label("Scanner")
+        public String scanner;
+
+        @Label("Position")
+        public String position;
+    }
+}
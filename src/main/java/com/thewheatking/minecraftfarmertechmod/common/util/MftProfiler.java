@@ -0,0 +1,217 @@
+package com.thewheatking.minecraftfarmertechmod.common.util;
+
+import com.thewheatking.minecraftfarmertechmod.MinecraftFarmerTechMod;
+import net.minecraft.core.BlockPos;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Sampling profiler for MFT server work
+ */
+public final class MftProfiler {
+
+    public enum Category {
+        BLOCK_ENTITY,
+        NETWORK,
+        SCANNER,
+        SYNC,
+        PERIODIC
+    }
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    @Nullable
+    private static volatile Session session;
+
+    @Nullable
+    private static Session lastSession;
+
+    private MftProfiler() {
+    }
+
+    // ========== SAMPLING ==========
+
+    /**
+     * Starts a sample, returns 0 when no session is running
+     */
+    public static long begin() {
+        return session != null ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Ends a sample started with begin(). Pass null as pos for work that is not tied to one block.
+     */
+    public static void end(Category category, String key, @Nullable BlockPos pos, long startNanos) {
+        if (startNanos == 0L) {
+            return;
+        }
+        Session current = session;
+        if (current != null) {
+            current.record(category, key, pos, System.nanoTime() - startNanos);
+        }
+    }
+
+    public static boolean isRunning() {
+        return session != null;
+    }
+
+    // ========== SESSION CONTROL ==========
+
+    /**
+     * Starts a new session. Returns false if one is already running.
+     */
+    public static synchronized boolean start(long gameTime) {
+        if (session != null) {
+            return false;
+        }
+        Session started = new Session(gameTime);
+        session = started;
+        PeriodicTask.setObserver((task, tick) -> started.record(Category.PERIODIC, task.getName(), null, 0L));
+        return true;
+    }
+
+    /**
+     * Stops the running session and keeps it for reporting. Returns false if none was running.
+     */
+    public static synchronized boolean stop(long gameTime) {
+        Session stopped = session;
+        if (stopped == null) {
+            return false;
+        }
+        session = null;
+        PeriodicTask.setObserver(null);
+        stopped.endTick = gameTime;
+        lastSession = stopped;
+        return true;
+    }
+
+    /**
+     * Gets the running session, or the last stopped one
+     */
+    @Nullable
+    public static Session getReportSession() {
+        Session current = session;
+        return current != null ? current : lastSession;
+    }
+
+    // ========== DATA ==========
+
+    public static final class Stat {
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+
+        void add(long nanos) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        public long getCount() { return count; }
+        public long getTotalNanos() { return totalNanos; }
+        public long getMaxNanos() { return maxNanos; }
+        public double getAverageMicros() { return count > 0 ? totalNanos / 1000.0 / count : 0.0; }
+    }
+
+    public record Key(Category category, String name) {
+    }
+
+    public record Site(Category category, String name, BlockPos pos) {
+    }
+
+    public static final class Session {
+        private final long startTick;
+        private long endTick = -1L;
+        private final Map<Key, Stat> byKey = new HashMap<>();
+        private final Map<Site, Stat> bySite = new HashMap<>();
+
+        Session(long startTick) {
+            this.startTick = startTick;
+        }
+
+        void record(Category category, String name, @Nullable BlockPos pos, long nanos) {
+            byKey.computeIfAbsent(new Key(category, name), key -> new Stat()).add(nanos);
+            if (pos != null) {
+                bySite.computeIfAbsent(new Site(category, name, pos.immutable()), key -> new Stat()).add(nanos);
+            }
+        }
+
+        public long getDurationTicks(long gameTime) {
+            return (endTick >= 0 ? endTick : gameTime) - startTick;
+        }
+
+        public List<Map.Entry<Key, Stat>> getTopKeys(int limit) {
+            return top(byKey, limit);
+        }
+
+        public List<Map.Entry<Site, Stat>> getTopSites(int limit) {
+            return top(bySite, limit);
+        }
+
+        private static <K> List<Map.Entry<K, Stat>> top(Map<K, Stat> stats, int limit) {
+            return stats.entrySet().stream()
+                    .sorted(Comparator.comparingLong((Map.Entry<K, Stat> entry) -> entry.getValue().totalNanos).reversed())
+                    .limit(limit)
+                    .toList();
+        }
+
+        /**
+         * Writes a readable text report and a CSV of every key and site into the directory
+         * Returns the text report path.
+         */
+        public Path writeReport(Path directory, long gameTime, int topN) throws IOException {
+            String stamp = LocalDateTime.now().format(FILE_TIME);
+            Path text = directory.resolve("mft-profile-" + stamp + ".txt");
+            Path csv = directory.resolve("mft-profile-" + stamp + ".csv");
+            long ticks = Math.max(1, getDurationTicks(gameTime));
+
+            List<String> lines = new ArrayList<>();
+            lines.add("MFT profile, " + ticks + " ticks");
+            lines.add("");
+            lines.add("== Totals by category/key ==");
+            for (Map.Entry<Key, Stat> entry : top(byKey, Integer.MAX_VALUE)) {
+                lines.add(formatLine(entry.getKey().category() + " " + entry.getKey().name(), entry.getValue(), ticks));
+            }
+            lines.add("");
+            lines.add("== Top " + topN + " positions ==");
+            for (Map.Entry<Site, Stat> entry : getTopSites(topN)) {
+                Site site = entry.getKey();
+                lines.add(formatLine(site.category() + " " + site.name() + " @ " + site.pos().toShortString(),
+                        entry.getValue(), ticks));
+            }
+            Files.write(text, lines);
+
+            List<String> rows = new ArrayList<>();
+            rows.add("category,name,x,y,z,count,total_ns,max_ns,avg_us,us_per_tick");
+            for (Map.Entry<Key, Stat> entry : byKey.entrySet()) {
+                rows.add(csvRow(entry.getKey().category(), entry.getKey().name(), null, entry.getValue(), ticks));
+            }
+            for (Map.Entry<Site, Stat> entry : bySite.entrySet()) {
+                Site site = entry.getKey();
+                rows.add(csvRow(site.category(), site.name(), site.pos(), entry.getValue(), ticks));
+            }
+            Files.write(csv, rows);
+
+            MinecraftFarmerTechMod.LOGGER.info("Wrote MFT profile report to {}", text);
+            return text;
+        }
+
+        private static String formatLine(String label, Stat stat, long ticks) {
+            return String.format(Locale.ROOT, "%-60s %8d calls %10.1f us/tick %8.1f us avg %8.1f us max",
+                    label, stat.count, stat.totalNanos / 1000.0 / ticks, stat.getAverageMicros(), stat.maxNanos / 1000.0);
+        }
+
+        private static String csvRow(Category category, String name, @Nullable BlockPos pos, Stat stat, long ticks) {
+            String coords = pos != null ? pos.getX() + "," + pos.getY() + "," + pos.getZ() : ",,";
+            return String.format(Locale.ROOT, "%s,%s,%s,%d,%d,%d,%.3f,%.3f",
+                    category, name, coords, stat.count, stat.totalNanos, stat.maxNanos,
+                    stat.getAverageMicros(), stat.totalNanos / 1000.0 / ticks);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.thewheatking.minecraftfarmertechmod.common.util;
+
+import com.thewheatking.minecraftfarmertechmod.Config;
+import net.minecraft.world.level.Level;
+
+/**
+ * Closed-form helpers for machines catching up after their chunk was unloaded
+ */
+public final class OfflineCatchUp {
+
+    // Gaps shorter than this are normal save/load jitter and are not worth simulating
+    public static final long MIN_CATCH_UP_TICKS = 20;
+
+    // Marks a machine that has never been simulated, e.g. freshly placed
+    public static final long NEVER_SIMULATED = -1L;
+
+    private OfflineCatchUp() {
+    }
+
+    /**
+     * Gets the ticks to fast-forward, or 0 if there is nothing to catch up
+     */
+    public static long elapsedTicks(Level level, long lastSimulatedTick) {
+        if (level == null || level.isClientSide() || lastSimulatedTick == NEVER_SIMULATED) {
+            return 0;
+        }
+
+        long elapsed = level.getGameTime() - lastSimulatedTick;
+        if (elapsed < MIN_CATCH_UP_TICKS) {
+            return 0;
+        }
+        return Math.min(elapsed, Config.OFFLINE_CATCH_UP_MAX_TICKS.get());
+    }
+
+    /**
+     * Result of burning fuel for a number of ticks
+     */
+    public record BurnResult(long ticks, int itemsConsumed, int remainingBurnTime) {
+    }
+
+    /**
+     * Burns the current fuel, then whole fuel items, for up to maxTicks
+     * A new item is only lit once the previous one is used up, matching the per-tick logic.
+     */
+    public static BurnResult burn(long maxTicks, int currentBurnTime, int burnTimePerItem, int availableItems) {
+        if (maxTicks <= 0) {
+            return new BurnResult(0, 0, currentBurnTime);
+        }
+        if (maxTicks <= currentBurnTime) {
+            return new BurnResult(maxTicks, 0, (int) (currentBurnTime - maxTicks));
+        }
+
+        long ticks = Math.max(0, currentBurnTime);
+        long remaining = maxTicks - ticks;
+        if (burnTimePerItem <= 0 || availableItems <= 0) {
+            return new BurnResult(ticks, 0, 0);
+        }
+
+        long itemsNeeded = (remaining + burnTimePerItem - 1) / burnTimePerItem;
+        int items = (int) Math.min(itemsNeeded, availableItems);
+        long fuelTicks = (long) items * burnTimePerItem;
+        long burned = Math.min(remaining, fuelTicks);
+
+        return new BurnResult(ticks + burned, items, (int) (fuelTicks - burned));
+    }
+}
@@ -0,0 +1,102 @@
+package com.thewheatking.minecraftfarmertechmod.common.util;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.util.Mth;
+
+import javax.annotation.Nullable;
+
+/**
+ * Phase-jittered periodic work for block entities
+ */
+public final class PeriodicTask {
+
+    /**
+     * Receives a callback every time any periodic task becomes due.
+     * Installed by profiling tools; when no observer is set the only cost is a null check.
+     */
+    @FunctionalInterface
+    public interface Observer {
+        void onTaskDue(PeriodicTask task, long gameTime);
+    }
+
+    @Nullable
+    private static volatile Observer observer;
+
+    private final String name;
+    private final BlockPos pos;
+    private int interval;
+    private int phase;
+    private long runCount = 0;
+    private long lastRunTime = -1L;
+
+    public PeriodicTask(String name, BlockPos pos, int interval) {
+        this.name = name;
+        this.pos = pos.immutable();
+        setInterval(interval);
+    }
+
+    /**
+     * Gets the stable phase offset for a position within an interval
+     */
+    public static int phaseFor(BlockPos pos, int interval) {
+        if (interval <= 1) {
+            return 0;
+        }
+        // BlockPos.hashCode clusters badly for small moduli, so mix the packed long first
+        return Math.floorMod(Mth.murmurHash3Mixer(Long.hashCode(pos.asLong())), interval);
+    }
+
+    /**
+     * Checks if the task is due on this tick. Call at most once per tick per task,
+     * every call that returns true is counted as a run.
+     */
+    public boolean isDue(long gameTime) {
+        if ((gameTime + phase) % interval != 0) {
+            return false;
+        }
+
+        runCount++;
+        lastRunTime = gameTime;
+
+        Observer current = observer;
+        if (current != null) {
+            current.onTaskDue(this, gameTime);
+        }
+        return true;
+    }
+
+    /**
+     * Gets the first game tick after the given one on which the task is due, without counting a run
+     */
+    public long nextDue(long gameTime) {
+        return gameTime + interval - Math.floorMod(gameTime + phase, interval);
+    }
+
+    /**
+     * Changes the interval, re-deriving the phase for the new length
+     */
+    public void setInterval(int interval) {
+        this.interval = Math.max(1, interval);
+        this.phase = phaseFor(pos, this.interval);
+    }
+
+    // Getters
+
+    public String getName() { return name; }
+    public BlockPos getPos() { return pos; }
+    public int getInterval() { return interval; }
+    public int getPhase() { return phase; }
+    public long getRunCount() { return runCount; }
+    public long getLastRunTime() { return lastRunTime; }
+
+    // Observer management
+
+    public static void setObserver(@Nullable Observer newObserver) {
+        observer = newObserver;
+    }
+
+    @Nullable
+    public static Observer getObserver() {
+        return observer;
+    }
+}
@@ -0,0 +1,248 @@
+package com.thewheatking.minecraftfarmertechmod.common.util;
+
+import java.util.Arrays;
+
+/**
+ * Primitive ring-buffer time-series with sliding aggregates and optional per-second/minute/hour tiers
+ */
+public class TimeSeries {
+
+    public enum Resolution {
+        RAW,
+        SECOND,
+        MINUTE,
+        HOUR
+    }
+
+    public static final float DEFAULT_EMA_ALPHA = 0.1f;
+
+    /**
+     * One fixed-size window of samples with O(1) aggregates
+     */
+    public static final class Ring {
+        private final double[] values;
+        private int head;    // Next write index
+        private int size;
+        private long written; // Samples ever written, the sequence number of the next sample
+        private double sum;
+
+        // Sequence numbers of min/max candidates, front is the current extreme
+        private final long[] minQueue;
+        private final long[] maxQueue;
+        private int minHead, minSize;
+        private int maxHead, maxSize;
+
+        private Ring(int capacity) {
+            this.values = new double[capacity];
+            this.minQueue = new long[capacity];
+            this.maxQueue = new long[capacity];
+        }
+
+        private void push(double value) {
+            int capacity = values.length;
+            if (size == capacity) {
+                sum -= values[head];
+                long evicted = written - capacity;
+                if (minSize > 0 && minQueue[minHead] == evicted) {
+                    minHead = (minHead + 1) % capacity;
+                    minSize--;
+                }
+                if (maxSize > 0 && maxQueue[maxHead] == evicted) {
+                    maxHead = (maxHead + 1) % capacity;
+                    maxSize--;
+                }
+            } else {
+                size++;
+            }
+
+            values[head] = value;
+            head = (head + 1) % capacity;
+            sum += value;
+
+            while (minSize > 0 && valueAt(minQueue[(minHead + minSize - 1) % capacity]) >= value) {
+                minSize--;
+            }
+            minQueue[(minHead + minSize) % capacity] = written;
+            minSize++;
+
+            while (maxSize > 0 && valueAt(maxQueue[(maxHead + maxSize - 1) % capacity]) <= value) {
+                maxSize--;
+            }
+            maxQueue[(maxHead + maxSize) % capacity] = written;
+            maxSize++;
+
+            written++;
+        }
+
+        private double valueAt(long sequence) {
+            return values[(int) (sequence % values.length)];
+        }
+
+        private void clear() {
+            Arrays.fill(values, 0.0);
+            head = 0;
+            size = 0;
+            written = 0;
+            sum = 0.0;
+            minHead = minSize = 0;
+            maxHead = maxSize = 0;
+        }
+
+        public int size() { return size; }
+        public int capacity() { return values.length; }
+        public boolean isEmpty() { return size == 0; }
+        public double sum() { return sum; }
+        public double average() { return size > 0 ? sum / size : 0.0; }
+        public double min() { return minSize > 0 ? valueAt(minQueue[minHead]) : 0.0; }
+        public double max() { return maxSize > 0 ? valueAt(maxQueue[maxHead]) : 0.0; }
+
+        /**
+         * Gets a sample by age, 0 is the oldest still in the window
+         */
+        public double get(int index) {
+            return values[Math.floorMod(head - size + index, values.length)];
+        }
+
+        public double latest() {
+            return size > 0 ? get(size - 1) : 0.0;
+        }
+
+        /**
+         * Copies the window oldest first into dest, returning the number of samples copied
+         */
+        public int copyTo(float[] dest) {
+            int count = Math.min(size, dest.length);
+            int start = size - count; // Keep the newest if dest is short
+            for (int i = 0; i < count; i++) {
+                dest[i] = (float) get(start + i);
+            }
+            return count;
+        }
+
+        public float[] toFloatArray() {
+            float[] copy = new float[size];
+            copyTo(copy);
+            return copy;
+        }
+
+        public int[] toIntArray() {
+            int[] copy = new int[size];
+            for (int i = 0; i < size; i++) {
+                copy[i] = (int) Math.round(get(i));
+            }
+            return copy;
+        }
+
+        /**
+         * Copies the backing slots in storage order, so one new sample changes one index
+         * Suits delta-synced arrays such as MenuSyncChannel array slots. Unwritten slots get fill.
+         */
+        public void copySlotsTo(int[] dest, int fill) {
+            for (int i = 0; i < dest.length; i++) {
+                dest[i] = i < values.length && (size == values.length || i < head) ? (int) Math.round(values[i]) : fill;
+            }
+        }
+
+        public void copySlotsTo(float[] dest, float fill) {
+            for (int i = 0; i < dest.length; i++) {
+                dest[i] = i < values.length && (size == values.length || i < head) ? (float) values[i] : fill;
+            }
+        }
+    }
+
+    private final Ring[] rings;     // RAW first, then the tiers that are enabled
+    private final int[] factors;    // Samples of the ring below per sample of this ring
+    private final double[] pending; // Partial bucket sums per tier
+    private final int[] pendingCount;
+    private final float emaAlpha;
+    private double ema;
+    private boolean emaSeeded;
+
+    /**
+     * Raw ring only
+     */
+    public TimeSeries(int capacity) {
+        this(capacity, 0, 0, DEFAULT_EMA_ALPHA);
+    }
+
+    /**
+     * Raw ring plus per-second, per-minute and per-hour tiers of tierCapacity points each
+     * samplesPerSecond is how many add() calls make one second; pass 0 for no tiers.
+     */
+    public TimeSeries(int capacity, int samplesPerSecond, int tierCapacity, float emaAlpha) {
+        int tierCount = samplesPerSecond > 0 && tierCapacity > 0 ? 3 : 0;
+        this.rings = new Ring[1 + tierCount];
+        this.factors = new int[1 + tierCount];
+        this.rings[0] = new Ring(Math.max(1, capacity));
+        this.factors[0] = 1;
+        for (int i = 1; i <= tierCount; i++) {
+            rings[i] = new Ring(tierCapacity);
+            factors[i] = i == 1 ? samplesPerSecond : 60;
+        }
+        this.pending = new double[rings.length];
+        this.pendingCount = new int[rings.length];
+        this.emaAlpha = emaAlpha;
+    }
+
+    // ========== RECORDING ==========
+
+    public void add(double value) {
+        rings[0].push(value);
+
+        if (emaSeeded) {
+            ema += emaAlpha * (value - ema);
+        } else {
+            ema = value;
+            emaSeeded = true;
+        }
+
+        // Cascade full buckets into the coarser tiers
+        double carry = value;
+        for (int tier = 1; tier < rings.length; tier++) {
+            pending[tier] += carry;
+            if (++pendingCount[tier] < factors[tier]) {
+                break;
+            }
+            carry = pending[tier] / pendingCount[tier];
+            pending[tier] = 0.0;
+            pendingCount[tier] = 0;
+            rings[tier].push(carry);
+        }
+    }
+
+    public void clear() {
+        for (Ring ring : rings) {
+            ring.clear();
+        }
+        Arrays.fill(pending, 0.0);
+        Arrays.fill(pendingCount, 0);
+        ema = 0.0;
+        emaSeeded = false;
+    }
+
+    // ========== QUERIES ==========
+
+    public Ring raw() {
+        return rings[0];
+    }
+
+    /**
+     * Gets a tier, falling back to the raw ring if tiers are disabled
+     */
+    public Ring ring(Resolution resolution) {
+        int index = resolution.ordinal();
+        return index < rings.length ? rings[index] : rings[0];
+    }
+
+    public int size() { return rings[0].size(); }
+    public boolean isEmpty() { return rings[0].isEmpty(); }
+    public double latest() { return rings[0].latest(); }
+    public double sum() { return rings[0].sum(); }
+    public double average() { return rings[0].average(); }
+    public double min() { return rings[0].min(); }
+    public double max() { return rings[0].max(); }
+    public double ema() { return ema; }
+    public double get(int index) { return rings[0].get(index); }
+    public float[] toFloatArray() { return rings[0].toFloatArray(); }
+    public int[] toIntArray() { return rings[0].toIntArray(); }
+}
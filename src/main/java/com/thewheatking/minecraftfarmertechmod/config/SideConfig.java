@@ -120,6 +120,16 @@ public class SideConfig {
         }
     }
 
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof SideConfig other && sideConfigs.equals(other.sideConfigs);
+    }
+
+    @Override
+    public int hashCode() {
+        return sideConfigs.hashCode();
+    }
+
     public SideConfig copy() {
         SideConfig copy = new SideConfig();
         for (Map.Entry<Direction, SideMode> entry : sideConfigs.entrySet()) {
@@ -15,6 +15,7 @@ public interface SideConfigurable {
 
     /**
      * Set the side configuration for this machine
+     * Implementations rebuild any cached per-side handlers and call invalidateCapabilities() so neighbours re-query.
      */
     void setSideConfig(SideConfig config);
 
@@ -1,8 +1,13 @@
 package com.thewheatking.minecraftfarmertechmod.datagen;
 
+import com.thewheatking.minecraftfarmertechmod.datamap.BioFuelYield;
+import com.thewheatking.minecraftfarmertechmod.datamap.GeneratorFuel;
+import com.thewheatking.minecraftfarmertechmod.datamap.ModDataMaps;
 import com.thewheatking.minecraftfarmertechmod.item.ModItems;
 import net.minecraft.core.HolderLookup;
 import net.minecraft.data.PackOutput;
+import net.minecraft.tags.ItemTags;
+import net.minecraft.world.item.Items;
 import net.neoforged.neoforge.common.data.DataMapProvider;
 import net.neoforged.neoforge.registries.datamaps.builtin.Compostable;
 import net.neoforged.neoforge.registries.datamaps.builtin.FurnaceFuel;
@@ -20,6 +25,38 @@ public class ModDataMapProvider extends DataMapProvider {
         this.builder(NeoForgeDataMaps.COMPOSTABLES)
                 .add(ModItems.CORN.getId(), new Compostable(0.25F),false)
                 .add(ModItems.CORN_SEEDS.getId(), new Compostable(0.45F),false);
+
+        // Generator fuels, anything not listed falls back to its vanilla furnace burn time
+        this.builder(ModDataMaps.GENERATOR_FUELS)
+                .add(Items.COAL.builtInRegistryHolder(), new GeneratorFuel(1600, 40, "Coal"), false)
+                .add(Items.CHARCOAL.builtInRegistryHolder(), new GeneratorFuel(1600, 40, "Coal"), false)
+                .add(Items.COAL_BLOCK.builtInRegistryHolder(), new GeneratorFuel(16000, 40, "Coal"), false)
+                .add(Items.STICK.builtInRegistryHolder(), new GeneratorFuel(100, 20, "Wood"), false)
+                .add(Items.WOODEN_PICKAXE.builtInRegistryHolder(), new GeneratorFuel(200, 20, "Wood"), false)
+                .add(Items.WOODEN_AXE.builtInRegistryHolder(), new GeneratorFuel(200, 20, "Wood"), false)
+                .add(Items.WOODEN_SHOVEL.builtInRegistryHolder(), new GeneratorFuel(200, 20, "Wood"), false)
+                .add(Items.WOODEN_HOE.builtInRegistryHolder(), new GeneratorFuel(200, 20, "Wood"), false)
+                .add(Items.WOODEN_SWORD.builtInRegistryHolder(), new GeneratorFuel(200, 20, "Wood"), false)
+                .add(Items.OAK_PLANKS.builtInRegistryHolder(), new GeneratorFuel(300, 25, "Wood"), false)
+                .add(Items.BIRCH_PLANKS.builtInRegistryHolder(), new GeneratorFuel(300, 25, "Wood"), false)
+                .add(Items.SPRUCE_PLANKS.builtInRegistryHolder(), new GeneratorFuel(300, 25, "Wood"), false)
+                .add(Items.OAK_LOG.builtInRegistryHolder(), new GeneratorFuel(300, 30, "Wood"), false)
+                .add(Items.BIRCH_LOG.builtInRegistryHolder(), new GeneratorFuel(300, 30, "Wood"), false)
+                .add(Items.BLAZE_ROD.builtInRegistryHolder(), new GeneratorFuel(2400, 60, "Blaze"), false)
+                .add(Items.LAVA_BUCKET.builtInRegistryHolder(), new GeneratorFuel(20000, 80, "Lava"), false)
+                .add(Items.PAPER.builtInRegistryHolder(), new GeneratorFuel(100, 15, "Paper"), false)
+                .add(Items.BOOK.builtInRegistryHolder(), new GeneratorFuel(300, 15, "Paper"), false);
+
+        // Liquifier yields in buckets per item, other plant_matter items yield the default 0.1
+        this.builder(ModDataMaps.BIO_FUEL_YIELDS)
+                .add(ItemTags.SAPLINGS, new BioFuelYield(0.5F), false)
+                .add(ItemTags.LEAVES, new BioFuelYield(0.5F), false)
+                .add(ItemTags.FLOWERS, new BioFuelYield(0.2F), false)
+                .add(Items.SHORT_GRASS.builtInRegistryHolder(), new BioFuelYield(0.2F), false)
+                .add(Items.TALL_GRASS.builtInRegistryHolder(), new BioFuelYield(0.2F), false)
+                .add(Items.GRASS_BLOCK.builtInRegistryHolder(), new BioFuelYield(0.2F), false)
+                .add(Items.FERN.builtInRegistryHolder(), new BioFuelYield(0.2F), false)
+                .add(Items.LARGE_FERN.builtInRegistryHolder(), new BioFuelYield(0.2F), false);
         //this.builder(NeoForgeDataMaps.FURNACE_FUELS)
         //        .add(ModItems.STARLIGHT_ASHES.getId(), new FurnaceFuel(1200), false)
         //        .add(ModItems.FROSTFIRE_ICE.getId(), new FurnaceFuel(2400), false);
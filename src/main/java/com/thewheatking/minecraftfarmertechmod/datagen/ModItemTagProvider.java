@@ -9,6 +9,7 @@ import net.minecraft.data.tags.ItemTagsProvider;
 import net.minecraft.tags.ItemTags;
 import net.minecraft.world.item.Items;
 import net.minecraft.world.level.block.Block;
+import net.neoforged.neoforge.common.Tags;
 import net.neoforged.neoforge.common.data.ExistingFileHelper;
 
 import javax.annotation.Nullable;
@@ -29,6 +30,24 @@ public class ModItemTagProvider extends ItemTagsProvider {
                 .add(Items.STICK)
                 .add(Items.COMPASS);
 
+        // Liquifier input, yields live in the bio_fuel_yields data map
+        tag(ModTags.Items.PLANT_MATTER)
+                .add(Items.WHEAT)
+                .add(Items.CARROT)
+                .add(Items.POTATO)
+                .add(Items.BEETROOT)
+                .add(Items.SHORT_GRASS)
+                .add(Items.TALL_GRASS)
+                .add(Items.GRASS_BLOCK)
+                .add(Items.SEAGRASS)
+                .add(Items.FERN)
+                .add(Items.LARGE_FERN)
+                .add(ModItems.CORN_SEEDS.get())
+                .addTag(ItemTags.SAPLINGS)
+                .addTag(ItemTags.LEAVES)
+                .addTag(ItemTags.FLOWERS)
+                .addTag(Tags.Items.SEEDS);
+
         tag(ItemTags.SWORDS)
                 .add(ModItems.ZINC_SWORD.get());
         tag(ItemTags.PICKAXES)
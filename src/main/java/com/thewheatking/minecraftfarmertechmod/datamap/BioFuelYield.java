@@ -0,0 +1,15 @@
+package com.thewheatking.minecraftfarmertechmod.datamap;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import net.minecraft.util.ExtraCodecs;
+
+/**
+ * Data map value for Liquifier plant matter, the buckets of bio fuel one item produces (0.5 is two items per bucket)
+ */
+public record BioFuelYield(float yield) {
+
+    public static final Codec<BioFuelYield> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+            ExtraCodecs.POSITIVE_FLOAT.fieldOf("yield").forGetter(BioFuelYield::yield)
+    ).apply(instance, BioFuelYield::new));
+}
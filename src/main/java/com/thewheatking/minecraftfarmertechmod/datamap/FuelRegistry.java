@@ -0,0 +1,152 @@
+package com.thewheatking.minecraftfarmertechmod.datamap;
+
+import com.thewheatking.minecraftfarmertechmod.MinecraftFarmerTechMod;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.core.Registry;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.items.IItemHandlerModifiable;
+import net.neoforged.neoforge.registries.datamaps.DataMapsUpdatedEvent;
+import net.neoforged.neoforge.registries.datamaps.builtin.FurnaceFuel;
+import net.neoforged.neoforge.registries.datamaps.builtin.NeoForgeDataMaps;
+
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * Shared fuel table for generators, furnaces and the Energy Analyzer's fuel database, rebuilt when the item data maps load
+ */
+@EventBusSubscriber(modid = MinecraftFarmerTechMod.MOD_ID, bus = EventBusSubscriber.Bus.GAME)
+public class FuelRegistry {
+
+    public static final int DEFAULT_ENERGY_PER_TICK = 40; // Coal generator rate, for fuels that do not set one
+
+    /**
+     * One fuel as shown in the analyzer
+     */
+    public record Fuel(Item item, String name, int burnTime, int energyPerTick, String category) {
+        public int totalEnergy() {
+            return burnTime * energyPerTick;
+        }
+    }
+
+    private record Index(Reference2IntOpenHashMap<Item> burnTimes, Map<Item, Fuel> fuels, List<Fuel> sorted,
+                         NameIndex<Fuel> names) {
+        private static final Index EMPTY = new Index(new Reference2IntOpenHashMap<>(), Map.of(), List.of(),
+                new NameIndex<>(List.of(), Fuel::name));
+    }
+
+    private static volatile Index index = Index.EMPTY;
+    private static volatile int revision = 0;
+
+    // ========== LOOKUPS ==========
+
+    /**
+     * Burn time in ticks, 0 if the item is not a fuel
+     */
+    public static int getBurnTime(Item item) {
+        return index.burnTimes().getInt(item);
+    }
+
+    public static boolean isFuel(Item item) {
+        return index.burnTimes().containsKey(item);
+    }
+
+    @Nullable
+    public static Fuel getFuel(Item item) {
+        return index.fuels().get(item);
+    }
+
+    public static int size() {
+        return index.sorted().size();
+    }
+
+    /**
+     * Bumped on every compile, lets holders of search results know they are stale
+     */
+    public static int getRevision() {
+        return revision;
+    }
+
+    // ========== SEARCH ==========
+
+    /**
+     * Fuels whose name contains the query (or, for one and two characters, has a word starting with it), by name
+     */
+    public static List<Fuel> search(String query) {
+        return index.names().search(query);
+    }
+
+    // ========== BURNING ==========
+
+    /**
+     * Burns count items from a fuel slot, leaving what they leave behind (a lava bucket's empty bucket) in the slot
+     */
+    public static void consume(IItemHandlerModifiable handler, int slot, int count) {
+        ItemStack remainder = handler.getStackInSlot(slot).getCraftingRemainingItem();
+        handler.extractItem(slot, count, false);
+        if (!remainder.isEmpty() && handler.getStackInSlot(slot).isEmpty()) {
+            handler.setStackInSlot(slot, remainder);
+        }
+    }
+
+    // ========== COMPILING ==========
+
+    @SubscribeEvent
+    public static void onDataMapsUpdated(DataMapsUpdatedEvent event) {
+        event.ifRegistry(Registries.ITEM, FuelRegistry::compile);
+    }
+
+    private static void compile(Registry<Item> registry) {
+        Map<Item, Fuel> fuels = new IdentityHashMap<>();
+
+        // Vanilla furnace fuels first, then the MFT table on top
+        for (Map.Entry<ResourceKey<Item>, FurnaceFuel> entry : registry.getDataMap(NeoForgeDataMaps.FURNACE_FUELS).entrySet()) {
+            Item item = registry.get(entry.getKey());
+            if (item != null && entry.getValue().burnTime() > 0) {
+                fuels.put(item, new Fuel(item, displayName(entry.getKey()), entry.getValue().burnTime(),
+                        DEFAULT_ENERGY_PER_TICK, "Other"));
+            }
+        }
+        for (Map.Entry<ResourceKey<Item>, GeneratorFuel> entry : registry.getDataMap(ModDataMaps.GENERATOR_FUELS).entrySet()) {
+            Item item = registry.get(entry.getKey());
+            if (item != null) {
+                GeneratorFuel value = entry.getValue();
+                fuels.put(item, new Fuel(item, displayName(entry.getKey()), value.burnTime(),
+                        value.energyPerTick() > 0 ? value.energyPerTick() : DEFAULT_ENERGY_PER_TICK,
+                        value.category().isEmpty() ? "Other" : value.category()));
+            }
+        }
+
+        List<Fuel> sorted = new ArrayList<>(fuels.values());
+        sorted.sort(Comparator.comparing(Fuel::name));
+
+        Reference2IntOpenHashMap<Item> burnTimes = new Reference2IntOpenHashMap<>(sorted.size());
+        for (Fuel fuel : sorted) {
+            burnTimes.put(fuel.item(), fuel.burnTime());
+        }
+
+        List<Fuel> fuelList = Collections.unmodifiableList(sorted);
+        index = new Index(burnTimes, Collections.unmodifiableMap(fuels), fuelList, new NameIndex<>(fuelList, Fuel::name));
+        revision++;
+        MinecraftFarmerTechMod.LOGGER.debug("Compiled {} generator fuels", sorted.size());
+    }
+
+    /**
+     * Title-cased registry path, the same on a dedicated server (no client language files) and the client
+     */
+    private static String displayName(ResourceKey<Item> key) {
+        String[] words = key.location().getPath().split("_");
+        StringBuilder name = new StringBuilder();
+        for (String word : words) {
+            if (word.isEmpty()) continue;
+            if (!name.isEmpty()) name.append(' ');
+            name.append(Character.toUpperCase(word.charAt(0))).append(word.substring(1));
+        }
+        return name.toString();
+    }
+}
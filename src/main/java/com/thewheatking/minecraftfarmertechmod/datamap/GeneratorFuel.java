@@ -0,0 +1,21 @@
+package com.thewheatking.minecraftfarmertechmod.datamap;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import net.minecraft.util.ExtraCodecs;
+
+/**
+ * Data map value for MFT fuels: burn time in ticks, FE/tick (0 for the generator's own rate) and analyzer category
+ */
+public record GeneratorFuel(int burnTime, int energyPerTick, String category) {
+
+    public static final Codec<GeneratorFuel> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+            ExtraCodecs.POSITIVE_INT.fieldOf("burn_time").forGetter(GeneratorFuel::burnTime),
+            ExtraCodecs.NON_NEGATIVE_INT.optionalFieldOf("energy_per_tick", 0).forGetter(GeneratorFuel::energyPerTick),
+            Codec.STRING.optionalFieldOf("category", "").forGetter(GeneratorFuel::category)
+    ).apply(instance, GeneratorFuel::new));
+
+    public GeneratorFuel(int burnTime, int energyPerTick) {
+        this(burnTime, energyPerTick, "");
+    }
+}
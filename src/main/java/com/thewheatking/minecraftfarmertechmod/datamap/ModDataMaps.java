@@ -0,0 +1,42 @@
+package com.thewheatking.minecraftfarmertechmod.datamap;
+
+import com.thewheatking.minecraftfarmertechmod.MinecraftFarmerTechMod;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.Item;
+import net.neoforged.bus.api.IEventBus;
+import net.neoforged.neoforge.registries.datamaps.DataMapType;
+import net.neoforged.neoforge.registries.datamaps.RegisterDataMapTypesEvent;
+
+/**
+ * Item data maps for MFT fuels and liquifier yields
+ */
+public class ModDataMaps {
+
+    /**
+     * Fuels for MFT generators and furnaces, vanilla furnace fuels are used for items not listed
+     */
+    public static final DataMapType<Item, GeneratorFuel> GENERATOR_FUELS = DataMapType.builder(
+                    ResourceLocation.fromNamespaceAndPath(MinecraftFarmerTechMod.MOD_ID, "generator_fuels"),
+                    Registries.ITEM, GeneratorFuel.CODEC)
+            .synced(GeneratorFuel.CODEC, false)
+            .build();
+
+    /**
+     * Liquifier bio fuel yield per item, items in the plant_matter tag without an entry use the default yield
+     */
+    public static final DataMapType<Item, BioFuelYield> BIO_FUEL_YIELDS = DataMapType.builder(
+                    ResourceLocation.fromNamespaceAndPath(MinecraftFarmerTechMod.MOD_ID, "bio_fuel_yields"),
+                    Registries.ITEM, BioFuelYield.CODEC)
+            .synced(BioFuelYield.CODEC, false)
+            .build();
+
+    private static void registerDataMapTypes(RegisterDataMapTypesEvent event) {
+        event.register(GENERATOR_FUELS);
+        event.register(BIO_FUEL_YIELDS);
+    }
+
+    public static void register(IEventBus eventBus) {
+        eventBus.addListener(ModDataMaps::registerDataMapTypes);
+    }
+}
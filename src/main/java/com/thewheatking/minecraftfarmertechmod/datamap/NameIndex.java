@@ -0,0 +1,120 @@
+package com.thewheatking.minecraftfarmertechmod.datamap;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Substring search over a sorted list of names, a word-prefix index for short queries and a trigram index for longer ones
+ */
+final class NameIndex<T> {
+
+    private static final int MAX_PREFIX = 2; // Longer queries go through the trigram index
+
+    private final List<T> entries;
+    private final Function<T, String> nameOf;
+    private final Map<String, int[]> prefixes;
+    private final Map<String, int[]> trigrams;
+
+    NameIndex(List<T> entries, Function<T, String> nameOf) {
+        this.entries = entries;
+        this.nameOf = nameOf;
+
+        Map<String, IntArrayList> prefixes = new HashMap<>();
+        Map<String, IntArrayList> trigrams = new HashMap<>();
+        for (int id = 0; id < entries.size(); id++) {
+            String name = nameOf.apply(entries.get(id)).toLowerCase(Locale.ROOT);
+            for (String word : name.split(" ")) {
+                for (int length = 1; length <= Math.min(MAX_PREFIX, word.length()); length++) {
+                    addPosting(prefixes, word.substring(0, length), id);
+                }
+            }
+            for (int i = 0; i + 3 <= name.length(); i++) {
+                addPosting(trigrams, name.substring(i, i + 3), id);
+            }
+        }
+        this.prefixes = toArrays(prefixes);
+        this.trigrams = toArrays(trigrams);
+    }
+
+    /**
+     * Entries whose name contains the query (or, for one and two characters, has a word starting with it), in list order
+     */
+    List<T> search(String query) {
+        String needle = query.toLowerCase(Locale.ROOT).trim();
+        if (needle.isEmpty()) {
+            return entries;
+        }
+
+        if (needle.length() <= MAX_PREFIX) {
+            return collect(prefixes.get(needle), null);
+        }
+
+        // Intersect the posting lists of every trigram in the query, shortest first
+        List<int[]> postings = new ArrayList<>();
+        for (int i = 0; i + 3 <= needle.length(); i++) {
+            int[] posting = trigrams.get(needle.substring(i, i + 3));
+            if (posting == null) {
+                return List.of();
+            }
+            postings.add(posting);
+        }
+        postings.sort(Comparator.comparingInt(posting -> posting.length));
+
+        int[] candidates = postings.get(0);
+        for (int i = 1; i < postings.size() && candidates.length > 0; i++) {
+            candidates = intersect(candidates, postings.get(i));
+        }
+        // Trigrams can all be present without being adjacent, confirm the substring
+        return collect(candidates, needle);
+    }
+
+    private List<T> collect(@Nullable int[] ids, @Nullable String verify) {
+        if (ids == null) {
+            return List.of();
+        }
+        List<T> results = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            T entry = entries.get(id);
+            if (verify == null || nameOf.apply(entry).toLowerCase(Locale.ROOT).contains(verify)) {
+                results.add(entry);
+            }
+        }
+        return results;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int count = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] == b[j]) {
+                out[count++] = a[i];
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, count);
+    }
+
+    /**
+     * Ids arrive in ascending order, so each posting list stays sorted and duplicate-free
+     */
+    private static void addPosting(Map<String, IntArrayList> postings, String key, int id) {
+        IntArrayList list = postings.computeIfAbsent(key, k -> new IntArrayList());
+        if (list.isEmpty() || list.getInt(list.size() - 1) != id) {
+            list.add(id);
+        }
+    }
+
+    private static Map<String, int[]> toArrays(Map<String, IntArrayList> postings) {
+        Map<String, int[]> arrays = new HashMap<>(postings.size());
+        postings.forEach((key, list) -> arrays.put(key, list.toIntArray()));
+        return arrays;
+    }
+}
@@ -0,0 +1,72 @@
+package com.thewheatking.minecraftfarmertechmod.datamap;
+
+import com.thewheatking.minecraftfarmertechmod.MinecraftFarmerTechMod;
+import com.thewheatking.minecraftfarmertechmod.util.ModTags;
+import it.unimi.dsi.fastutil.objects.Reference2FloatOpenHashMap;
+import net.minecraft.core.Holder;
+import net.minecraft.core.Registry;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.TagsUpdatedEvent;
+import net.neoforged.neoforge.registries.datamaps.DataMapsUpdatedEvent;
+
+import java.util.Map;
+
+/**
+ * Item to bio fuel yield for Liquifier plant matter, compiled from the plant_matter tag and bio_fuel_yields data map
+ */
+@EventBusSubscriber(modid = MinecraftFarmerTechMod.MOD_ID, bus = EventBusSubscriber.Bus.GAME)
+public class PlantMatterRegistry {
+
+    public static final float DEFAULT_YIELD = 0.1f; // Buckets per item for plant matter without a yield entry
+
+    private static volatile Reference2FloatOpenHashMap<Item> yields = new Reference2FloatOpenHashMap<>();
+
+    // ========== LOOKUPS ==========
+
+    public static boolean isPlantMatter(ItemStack stack) {
+        return yields.containsKey(stack.getItem());
+    }
+
+    /**
+     * Buckets of bio fuel one item makes, 0 if it is not plant matter
+     */
+    public static float getYield(ItemStack stack) {
+        return yields.getFloat(stack.getItem());
+    }
+
+    // ========== COMPILING ==========
+
+    @SubscribeEvent
+    public static void onTagsUpdated(TagsUpdatedEvent event) {
+        compile(event.getRegistryAccess().registryOrThrow(Registries.ITEM));
+    }
+
+    @SubscribeEvent
+    public static void onDataMapsUpdated(DataMapsUpdatedEvent event) {
+        event.ifRegistry(Registries.ITEM, PlantMatterRegistry::compile);
+    }
+
+    private static void compile(Registry<Item> registry) {
+        Map<ResourceKey<Item>, BioFuelYield> dataMap = registry.getDataMap(ModDataMaps.BIO_FUEL_YIELDS);
+        Reference2FloatOpenHashMap<Item> compiled = new Reference2FloatOpenHashMap<>();
+
+        for (Holder<Item> holder : registry.getTagOrEmpty(ModTags.Items.PLANT_MATTER)) {
+            BioFuelYield yield = holder.getData(ModDataMaps.BIO_FUEL_YIELDS);
+            compiled.put(holder.value(), yield != null ? yield.yield() : DEFAULT_YIELD);
+        }
+        for (Map.Entry<ResourceKey<Item>, BioFuelYield> entry : dataMap.entrySet()) {
+            Item item = registry.get(entry.getKey());
+            if (item != null) {
+                compiled.put(item, entry.getValue().yield());
+            }
+        }
+
+        yields = compiled;
+        MinecraftFarmerTechMod.LOGGER.debug("Compiled {} plant matter items", compiled.size());
+    }
+}
@@ -5,6 +5,11 @@ import com.thewheatking.minecraftfarmertechmod.block.entity.CoalGeneratorBlockEn
 import com.thewheatking.minecraftfarmertechmod.block.entity.EnergyCableBlockEntity;
 import com.thewheatking.minecraftfarmertechmod.block.entity.EnergyBatteryBlockEntity;
 import com.thewheatking.minecraftfarmertechmod.block.entity.LiquifierBlockEntity;
+import com.thewheatking.minecraftfarmertechmod.common.blockentity.machines.EnergyAnalyzerBlockEntity;
+import com.thewheatking.minecraftfarmertechmod.common.blockentity.machines.EnergyControllerBlockEntity;
+import com.thewheatking.minecraftfarmertechmod.common.blockentity.storage.EnergyStorageBlockEntity;
+import com.thewheatking.minecraftfarmertechmod.hybrid.HybridBlockEntities;
+import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
 import net.neoforged.neoforge.capabilities.Capabilities;
@@ -78,5 +83,57 @@ public class EnergyCapabilityProviders {
                     return null;
                 }
         );
+
+        // Register fluid capability for Liquifier (water in, bio fuel out, per side configuration)
+        event.registerBlockEntity(
+                Capabilities.FluidHandler.BLOCK,
+                com.thewheatking.minecraftfarmertechmod.block.entity.ModBlockEntities.LIQUIFIER.get(),
+                (blockEntity, direction) -> {
+                    if (blockEntity instanceof LiquifierBlockEntity liquifier) {
+                        return liquifier.getFluidHandler(direction);
+                    }
+                    return null;
+                }
+        );
+
+        // Register energy capability for Energy Analyzer (pass-through meter, ports on its two cable sides)
+        event.registerBlockEntity(
+                Capabilities.EnergyStorage.BLOCK,
+                HybridBlockEntities.ENERGY_ANALYZER.get(),
+                (blockEntity, direction) -> {
+                    if (blockEntity instanceof EnergyAnalyzerBlockEntity analyzer) {
+                        return analyzer.getEnergyStorage(direction);
+                    }
+                    return null;
+                }
+        );
+
+        // Register energy capability for Energy Controller (rate-limiting port on every side)
+        event.registerBlockEntity(
+                Capabilities.EnergyStorage.BLOCK,
+                HybridBlockEntities.ENERGY_CONTROLLER.get(),
+                (blockEntity, direction) -> {
+                    if (blockEntity instanceof EnergyControllerBlockEntity controller) {
+                        return controller.getEnergyStorage(direction);
+                    }
+                    return null;
+                }
+        );
+
+        // Register energy capability for Energy Storage tiers (side-configured ports, the bank's pool while banked)
+        registerEnergyStorage(event, HybridBlockEntities.BASIC_ENERGY_STORAGE.get());
+        registerEnergyStorage(event, HybridBlockEntities.ENHANCED_ENERGY_STORAGE.get());
+        registerEnergyStorage(event, HybridBlockEntities.ADVANCED_ENERGY_STORAGE.get());
+        registerEnergyStorage(event, HybridBlockEntities.SUPERIOR_ENERGY_STORAGE.get());
+        registerEnergyStorage(event, HybridBlockEntities.QUANTUM_ENERGY_STORAGE.get());
+    }
+
+    private static <T extends EnergyStorageBlockEntity> void registerEnergyStorage(RegisterCapabilitiesEvent event,
+                                                                                  BlockEntityType<T> type) {
+        event.registerBlockEntity(
+                Capabilities.EnergyStorage.BLOCK,
+                type,
+                (blockEntity, direction) -> blockEntity.getEnergyStorage(direction)
+        );
     }
 }
\ No newline at end of file
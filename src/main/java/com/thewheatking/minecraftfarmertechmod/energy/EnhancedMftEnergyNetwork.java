@@ -1,6 +1,8 @@
 package com.thewheatking.minecraftfarmertechmod.energy;
 
 import com.thewheatking.minecraftfarmertechmod.common.util.CableUtils;
+import com.thewheatking.minecraftfarmertechmod.common.util.MftJfrEvents;
+import com.thewheatking.minecraftfarmertechmod.common.util.MftProfiler;
 import com.thewheatking.minecraftfarmertechmod.common.blockentity.transmission.EnergyTransmissionBlockEntity;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
@@ -11,7 +13,6 @@ import net.neoforged.neoforge.energy.IEnergyStorage;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
@@ -25,11 +26,11 @@ public class EnhancedMftEnergyNetwork {
 
     // Network management
     private static final Map<String, EnhancedMftEnergyNetwork> activeNetworks = new ConcurrentHashMap<>();
-    private static final int MAX_NETWORK_UPDATE_TIME = 50; // Max 50ms per network update
 
     // Network properties
     private final String networkId;
     private final Level level;
+    private final BlockPos originPos; // Profiler reports list the network under the position it was created from
     private final Set<BlockPos> cablePositions;
     private final Map<BlockPos, EnergyNode> energyNodes;
     private final List<EnergyConnection> connections;
@@ -40,6 +41,12 @@ public class EnhancedMftEnergyNetwork {
     private int updatePriority = 1;
     private final Map<BlockPos, Double> nodeLoadCache = new ConcurrentHashMap<>();
 
+    // Measured flow, fed by cable pushes into devices through recordCableTransfer
+    private final NetworkTelemetry telemetry = new NetworkTelemetry();
+
+    // Topology listeners, told which nodes and cables a rescan added, removed or changed
+    private final List<TopologyListener> topologyListeners = new CopyOnWriteArrayList<>();
+
     // Energy flow management
     private final Queue<EnergyTransfer> pendingTransfers = new LinkedList<>();
     private int totalEnergyTransferred = 0;
@@ -106,6 +113,31 @@ public class EnhancedMftEnergyNetwork {
         }
     }
 
+    /**
+     * One node or cable that a rescan added, removed or changed
+     * type is null for cables.
+     */
+    public record TopologyChange(Kind kind, BlockPos position, EnergyNode.NodeType type) {
+
+        public enum Kind {
+            ADDED,
+            REMOVED,
+            CHANGED
+        }
+
+        public boolean isCable() {
+            return type == null;
+        }
+    }
+
+    /**
+     * Receives the changes of each rescan that changed anything
+     */
+    @FunctionalInterface
+    public interface TopologyListener {
+        void onTopologyChanged(EnhancedMftEnergyNetwork network, List<TopologyChange> changes);
+    }
+
     /**
      * Energy transfer request
      */
@@ -129,6 +161,14 @@ public class EnhancedMftEnergyNetwork {
      * Creates a new network or returns existing one
      */
     public static EnhancedMftEnergyNetwork getOrCreateNetwork(Level level, BlockPos startPos) {
+        // Cables already mapped into a network share it, so its telemetry covers the whole grid
+        // A cable placed next to a mapped one joins that network, the rescan picks it up
+        for (EnhancedMftEnergyNetwork network : activeNetworks.values()) {
+            if (network.level == level && network.touchesCable(startPos)) {
+                return network;
+            }
+        }
+
         String networkId = generateNetworkId(level, startPos);
 
         return activeNetworks.computeIfAbsent(networkId, id -> {
@@ -145,23 +185,6 @@ public class EnhancedMftEnergyNetwork {
         activeNetworks.remove(networkId);
     }
 
-    /**
-     * Updates all active networks
-     */
-    public static void updateAllNetworks() {
-        List<CompletableFuture<Void>> updateTasks = new ArrayList<>();
-
-        for (EnhancedMftEnergyNetwork network : activeNetworks.values()) {
-            updateTasks.add(CompletableFuture.runAsync(network::updateNetwork));
-        }
-
-        // Wait for all networks to update (with timeout)
-        CompletableFuture.allOf(updateTasks.toArray(new CompletableFuture[0]))
-                .orTimeout(MAX_NETWORK_UPDATE_TIME * activeNetworks.size(),
-                        java.util.concurrent.TimeUnit.MILLISECONDS)
-                .join();
-    }
-
     private static String generateNetworkId(Level level, BlockPos pos) {
         return level.dimension().location().toString() + "_" + pos.toShortString();
     }
@@ -169,6 +192,7 @@ public class EnhancedMftEnergyNetwork {
     private EnhancedMftEnergyNetwork(String networkId, Level level, BlockPos startPos) {
         this.networkId = networkId;
         this.level = level;
+        this.originPos = startPos.immutable();
         this.cablePositions = CableUtils.findConnectedCables(level, startPos);
         this.energyNodes = new ConcurrentHashMap<>();
         this.connections = new CopyOnWriteArrayList<>();
@@ -183,6 +207,19 @@ public class EnhancedMftEnergyNetwork {
      * Scans the network to find all connected energy devices
      */
     public void scanNetwork() {
+        long profileStart = MftProfiler.begin();
+        MftJfrEvents.NetworkScan scanEvent = new MftJfrEvents.NetworkScan();
+        scanEvent.begin();
+        Map<BlockPos, EnergyNode.NodeType> previousNodes = new HashMap<>();
+        energyNodes.forEach((pos, node) -> previousNodes.put(pos, node.type));
+        Set<BlockPos> previousCables = new HashSet<>(cablePositions);
+
+        refreshCables();
+        if (cablePositions.isEmpty()) {
+            activeNetworks.remove(networkId); // Every cable is gone
+        } else {
+            absorbOverlappingNetworks();
+        }
         energyNodes.clear();
         connections.clear();
 
@@ -200,14 +237,129 @@ public class EnhancedMftEnergyNetwork {
         }
 
         // Create connections between nodes
+        long solveStart = MftProfiler.begin();
         createConnections();
+        MftProfiler.end(MftProfiler.Category.NETWORK, "solve", originPos, solveStart);
 
         // Update statistics
         updateNetworkStatistics();
 
+        Set<BlockPos> positions = new HashSet<>(cablePositions);
+        positions.addAll(energyNodes.keySet());
+        telemetry.retain(positions);
+
         isDirty = false;
+        MftProfiler.end(MftProfiler.Category.NETWORK, "rescan", originPos, profileStart);
+        commitEvent(scanEvent, cablePositions.size());
+
+        publishTopologyChanges(previousNodes, previousCables);
+        splitOffDisconnectedCables(previousCables);
+    }
+
+    /**
+     * Merges networks whose cables this rescan reached, a placed cable joined them, and points every cable here
+     * Subscribers of a merged network see its cables move and attach to this one.
+     */
+    private void absorbOverlappingNetworks() {
+        for (EnhancedMftEnergyNetwork other : activeNetworks.values()) {
+            if (other != this && other.level == level && !Collections.disjoint(other.cablePositions, cablePositions)) {
+                activeNetworks.remove(other.networkId);
+            }
+        }
+        for (BlockPos pos : cablePositions) {
+            if (level.getBlockEntity(pos) instanceof EnergyTransmissionBlockEntity cable
+                    && cable.getConnectedNetwork() != this) {
+                cable.setConnectedNetwork(this);
+            }
+        }
+    }
+
+    /**
+     * Gives cables that a broken cable cut off from this network a network of their own
+     */
+    private void splitOffDisconnectedCables(Set<BlockPos> previousCables) {
+        for (BlockPos pos : previousCables) {
+            if (!cablePositions.contains(pos) && level.getBlockEntity(pos) instanceof EnergyTransmissionBlockEntity cable
+                    && cable.getConnectedNetwork() == this) {
+                // Creating the network scans it, which points all of its cables at it
+                cable.setConnectedNetwork(getOrCreateNetwork(level, pos));
+            }
+        }
     }
 
+    /**
+     * Re-walks the cables so placed and broken cables are picked up
+     * Starts from the origin while it is still a cable, otherwise from any cable that survived.
+     */
+    private void refreshCables() {
+        BlockPos start = CableUtils.isCable(level, originPos) ? originPos : null;
+        if (start == null) {
+            for (BlockPos pos : cablePositions) {
+                if (CableUtils.isCable(level, pos)) {
+                    start = pos;
+                    break;
+                }
+            }
+        }
+
+        cablePositions.clear();
+        if (start != null) {
+            cablePositions.addAll(CableUtils.findConnectedCables(level, start));
+            cablePositions.add(start);
+        }
+    }
+
+    private void publishTopologyChanges(Map<BlockPos, EnergyNode.NodeType> previousNodes, Set<BlockPos> previousCables) {
+        if (topologyListeners.isEmpty()) {
+            return;
+        }
+
+        List<TopologyChange> changes = new ArrayList<>();
+        for (BlockPos pos : previousCables) {
+            if (!cablePositions.contains(pos)) {
+                changes.add(new TopologyChange(TopologyChange.Kind.REMOVED, pos, null));
+            }
+        }
+        for (BlockPos pos : cablePositions) {
+            if (!previousCables.contains(pos)) {
+                changes.add(new TopologyChange(TopologyChange.Kind.ADDED, pos, null));
+            }
+        }
+        for (Map.Entry<BlockPos, EnergyNode.NodeType> entry : previousNodes.entrySet()) {
+            if (!energyNodes.containsKey(entry.getKey())) {
+                changes.add(new TopologyChange(TopologyChange.Kind.REMOVED, entry.getKey(), entry.getValue()));
+            }
+        }
+        for (EnergyNode node : energyNodes.values()) {
+            EnergyNode.NodeType previousType = previousNodes.get(node.position);
+            if (previousType == null) {
+                changes.add(new TopologyChange(TopologyChange.Kind.ADDED, node.position, node.type));
+            } else if (previousType != node.type) {
+                changes.add(new TopologyChange(TopologyChange.Kind.CHANGED, node.position, node.type));
+            }
+        }
+
+        if (changes.isEmpty()) {
+            return;
+        }
+        List<TopologyChange> published = List.copyOf(changes);
+        for (TopologyListener listener : topologyListeners) {
+            listener.onTopologyChanged(this, published);
+        }
+    }
+
+    private void commitEvent(MftJfrEvents.NetworkEvent event, long cost) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.level = MftJfrEvents.levelName(level);
+            event.networkId = networkId;
+            event.nodeCount = energyNodes.size();
+            event.cost = cost;
+            event.commit();
+        }
+    }
+
+
     private EnergyNode.NodeType determineNodeType(IEnergyStorage storage) {
         boolean canReceive = storage.canReceive();
         boolean canExtract = storage.canExtract();
@@ -224,6 +376,8 @@ public class EnhancedMftEnergyNetwork {
     }
 
     private void createConnections() {
+        MftJfrEvents.NetworkSolve solveEvent = new MftJfrEvents.NetworkSolve();
+        solveEvent.begin();
         List<BlockPos> nodePositions = new ArrayList<>(energyNodes.keySet());
 
         for (int i = 0; i < nodePositions.size(); i++) {
@@ -241,6 +395,9 @@ public class EnhancedMftEnergyNetwork {
                 }
             }
         }
+
+        int size = nodePositions.size();
+        commitEvent(solveEvent, (long) size * (size - 1) / 2);
     }
 
     private int calculatePathTransferRate(List<BlockPos> path) {
@@ -265,12 +422,16 @@ public class EnhancedMftEnergyNetwork {
                 scanNetwork();
             }
 
+            long applyStart = MftProfiler.begin();
+
             // Process pending transfers
             processPendingTransfers();
 
             // Distribute energy optimally
             distributeEnergy();
 
+            MftProfiler.end(MftProfiler.Category.NETWORK, "apply", originPos, applyStart);
+
             // Update node priorities based on usage
             updateNodePriorities();
 
@@ -337,6 +498,10 @@ public class EnhancedMftEnergyNetwork {
     }
 
     private void distributeEnergy() {
+        MftJfrEvents.NetworkDistribute distributeEvent = new MftJfrEvents.NetworkDistribute();
+        distributeEvent.begin();
+        int transfersQueued = 0;
+
         // Get all producers with available energy
         List<EnergyNode> producers = energyNodes.values().stream()
                 .filter(node -> node.type == EnergyNode.NodeType.PRODUCER ||
@@ -375,9 +540,12 @@ public class EnhancedMftEnergyNetwork {
                             transferAmount, useMft,
                             Math.max(producer.priority, consumer.priority));
                     pendingTransfers.offer(transfer);
+                    transfersQueued++;
                 }
             }
         }
+
+        commitEvent(distributeEvent, transfersQueued);
     }
 
     private void updateNodePriorities() {
@@ -451,6 +619,41 @@ public class EnhancedMftEnergyNetwork {
         isDirty = true;
     }
 
+    /**
+     * Rescans now if the network was marked dirty, publishing the topology changes
+     * Lets subscribers pick up changes while no network update is running.
+     */
+    public void refreshTopology() {
+        if (isDirty) {
+            scanNetwork();
+        }
+    }
+
+    /**
+     * Subscribes to topology changes, replaying the current nodes and cables as ADDED right away
+     */
+    public void addTopologyListener(TopologyListener listener) {
+        if (topologyListeners.contains(listener)) {
+            return;
+        }
+        topologyListeners.add(listener);
+
+        List<TopologyChange> current = new ArrayList<>(cablePositions.size() + energyNodes.size());
+        for (BlockPos pos : cablePositions) {
+            current.add(new TopologyChange(TopologyChange.Kind.ADDED, pos, null));
+        }
+        for (EnergyNode node : energyNodes.values()) {
+            current.add(new TopologyChange(TopologyChange.Kind.ADDED, node.position, node.type));
+        }
+        if (!current.isEmpty()) {
+            listener.onTopologyChanged(this, List.copyOf(current));
+        }
+    }
+
+    public void removeTopologyListener(TopologyListener listener) {
+        topologyListeners.remove(listener);
+    }
+
     /**
      * Gets network statistics
      */
@@ -495,6 +698,28 @@ public class EnhancedMftEnergyNetwork {
         return new ArrayList<>(connections);
     }
 
+    /**
+     * Gets the measured transfer counters, subscribe with NetworkTelemetry#addListener
+     */
+    public NetworkTelemetry getTelemetry() {
+        return telemetry;
+    }
+
+    /**
+     * Records energy moved by a cable into one of the network's devices
+     */
+    public void recordCableTransfer(BlockPos cablePos, BlockPos targetPos, int sent, int delivered, int transferRate) {
+        telemetry.record(cablePos, targetPos, sent, delivered, transferRate);
+    }
+
+    /**
+     * Closes the telemetry window if it is due, pushing the snapshot to listeners
+     * Called by subscribers, so readings keep moving while cables sleep.
+     */
+    public void tickTelemetry(long gameTime) {
+        telemetry.tick(gameTime, energyNodes.size());
+    }
+
     /**
      * Gets the network ID
      */
@@ -502,6 +727,18 @@ public class EnhancedMftEnergyNetwork {
         return networkId;
     }
 
+    private boolean touchesCable(BlockPos pos) {
+        if (cablePositions.contains(pos)) {
+            return true;
+        }
+        for (Direction direction : Direction.values()) {
+            if (cablePositions.contains(pos.relative(direction))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Checks if the network contains a specific position
      */
@@ -1,6 +1,10 @@
 package com.thewheatking.minecraftfarmertechmod.energy;
 
 import com.thewheatking.minecraftfarmertechmod.common.capabilities.energy.AdaptiveEnergyStorage;
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.MapCodec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import com.thewheatking.minecraftfarmertechmod.common.util.CompactNbt;
 import net.minecraft.nbt.CompoundTag;
 import net.neoforged.neoforge.energy.IEnergyStorage;
 
@@ -135,6 +139,10 @@ public class HybridEnergyStorage extends AdaptiveEnergyStorage {
     private final Set<IEnergyStorage> connectedFeStorages = new HashSet<>();
     private final Set<HybridEnergyStorage> connectedMftStorages = new HashSet<>();
 
+    // Notified after energy is actually received or extracted, used to wake sleeping machines
+    private Runnable receiveListener;
+    private Runnable extractListener;
+
     /**
      * Constructor using energy tier
      */
@@ -204,6 +212,9 @@ public class HybridEnergyStorage extends AdaptiveEnergyStorage {
             if (!simulate) {
                 lastFeReceived = received;
                 triggerOptimization();
+                if (received > 0) {
+                    notifyReceived();
+                }
             }
 
             return received;
@@ -241,6 +252,9 @@ public class HybridEnergyStorage extends AdaptiveEnergyStorage {
             if (!simulate) {
                 lastFeExtracted = extracted;
                 triggerOptimization();
+                if (extracted > 0) {
+                    notifyExtracted();
+                }
             }
 
             return extracted;
@@ -460,6 +474,47 @@ public class HybridEnergyStorage extends AdaptiveEnergyStorage {
         operationCounts.merge(operation, 1, Integer::sum);
     }
 
+    @Override
+    public double receiveMftEnergy(double maxReceive, boolean simulate) {
+        double received = super.receiveMftEnergy(maxReceive, simulate);
+        if (!simulate && received > 0) {
+            notifyReceived();
+        }
+        return received;
+    }
+
+    @Override
+    public double extractMftEnergy(double maxExtract, boolean simulate) {
+        double extracted = super.extractMftEnergy(maxExtract, simulate);
+        if (!simulate && extracted > 0) {
+            notifyExtracted();
+        }
+        return extracted;
+    }
+
+    private void notifyReceived() {
+        if (receiveListener != null) {
+            receiveListener.run();
+        }
+    }
+
+    private void notifyExtracted() {
+        if (extractListener != null) {
+            extractListener.run();
+        }
+    }
+
+    public void setReceiveListener(Runnable receiveListener) {
+        this.receiveListener = receiveListener;
+    }
+
+    /**
+     * Notified when a consumer draws energy, so a sleeping storage notices its load came back
+     */
+    public void setExtractListener(Runnable extractListener) {
+        this.extractListener = extractListener;
+    }
+
     // Configuration Methods
 
     public void setPriority(EnergyPriority priority) {
@@ -510,21 +565,63 @@ public class HybridEnergyStorage extends AdaptiveEnergyStorage {
 
     // NBT Serialization
 
+    // Compact save format, see CompactNbt. Config flags are packed into one int and omitted while at defaults.
+    private static final int FORMAT_VERSION = 1;
+    private static final double DEFAULT_CONVERSION_EFFICIENCY = 0.95;
+    private static final int DEFAULT_CONFIG = packConfig(true, true, EnergyPriority.BALANCED, EnergyMode.HYBRID);
+
+    private record SavedState(int energy, Optional<Double> mftEnergy, int config, double conversionEfficiency) {
+        static final MapCodec<SavedState> CODEC = RecordCodecBuilder.mapCodec(instance -> instance.group(
+                Codec.INT.optionalFieldOf("e", 0).forGetter(SavedState::energy),
+                Codec.DOUBLE.optionalFieldOf("m").forGetter(SavedState::mftEnergy),
+                Codec.INT.optionalFieldOf("c", DEFAULT_CONFIG).forGetter(SavedState::config),
+                Codec.DOUBLE.optionalFieldOf("x", DEFAULT_CONVERSION_EFFICIENCY).forGetter(SavedState::conversionEfficiency)
+        ).apply(instance, SavedState::new));
+    }
+
+    private static int packConfig(boolean autoConversion, boolean energyBalancing, EnergyPriority priority, EnergyMode mode) {
+        return (autoConversion ? 1 : 0)
+                | (energyBalancing ? 2 : 0)
+                | (priority.ordinal() << 2)
+                | (mode.ordinal() << 4);
+    }
+
     public CompoundTag serializeNBT() {
         CompoundTag tag = new CompoundTag();
+        tag.putInt(CompactNbt.VERSION_KEY, FORMAT_VERSION);
 
-        tag.putInt("energy", getEnergyStored());
-        tag.putDouble("mftEnergy", getMftEnergyStored());
-        tag.putString("priority", priority.name());
-        tag.putBoolean("autoConversion", autoConversion);
-        tag.putBoolean("energyBalancing", energyBalancing);
-        tag.putDouble("conversionEfficiency", conversionEfficiency);
-        tag.putString("mode", getMode().name());
+        // MFT energy is only stored when it is not just the FE amount converted
+        double derivedMft = getEnergyStored() * getFeToMftRatio();
+        Optional<Double> mft = getMftEnergyStored() != derivedMft ? Optional.of(getMftEnergyStored()) : Optional.empty();
 
+        CompactNbt.write(SavedState.CODEC, new SavedState(getEnergyStored(), mft,
+                packConfig(autoConversion, energyBalancing, priority, getMode()), conversionEfficiency), tag);
         return tag;
     }
 
     public void deserializeNBT(CompoundTag tag) {
+        if (CompactNbt.version(tag) == CompactNbt.LEGACY_VERSION) {
+            deserializeLegacyNBT(tag);
+            return;
+        }
+
+        CompactNbt.read(SavedState.CODEC, tag).ifPresent(state -> {
+            int config = state.config();
+            autoConversion = (config & 1) != 0;
+            energyBalancing = (config & 2) != 0;
+            priority = EnergyPriority.values()[Math.min((config >> 2) & 3, EnergyPriority.values().length - 1)];
+            setMode(EnergyMode.values()[Math.min((config >> 4) & 3, EnergyMode.values().length - 1)]);
+            conversionEfficiency = state.conversionEfficiency();
+
+            setEnergyStored(state.energy());
+            state.mftEnergy().ifPresent(this::setMftEnergyStored);
+        });
+    }
+
+    /**
+     * Reads the string-keyed format written before FORMAT_VERSION 1
+     */
+    private void deserializeLegacyNBT(CompoundTag tag) {
         setEnergyStored(tag.getInt("energy"));
         setMftEnergyStored(tag.getDouble("mftEnergy"));
 
@@ -74,6 +74,15 @@ public class MftEnergyStorage implements IEnergyStorage {
         this.energy = Math.max(0, Math.min(capacity, energy));
     }
 
+    /**
+     * Changes the capacity and receive rate, energy past the new capacity is lost
+     */
+    public void setLimits(int capacity, int maxReceive) {
+        this.capacity = capacity;
+        this.maxReceive = maxReceive;
+        setEnergyStored(energy);
+    }
+
     @Override
     public boolean canExtract() {
         return this.maxExtract > 0;
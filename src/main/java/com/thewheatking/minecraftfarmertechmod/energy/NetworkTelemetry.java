@@ -0,0 +1,181 @@
+package com.thewheatking.minecraftfarmertechmod.energy;
+
+import net.minecraft.core.BlockPos;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Measured transfer counters for an energy network
+ */
+public class NetworkTelemetry {
+
+    public static final int WINDOW_TICKS = 20;
+
+    /**
+     * Directed edge between two positions, a device or a cable
+     */
+    public record Edge(BlockPos from, BlockPos to) {
+    }
+
+    public static final class Counters {
+        private long sent;
+        private long delivered;
+        private long windowSent;
+        private long windowDelivered;
+        private int capacity; // Per tick, edges only
+
+        public long getSent() { return sent; }
+        public long getDelivered() { return delivered; }
+        public long getLost() { return sent - delivered; }
+    }
+
+    /**
+     * Per-tick averages over one closed window
+     */
+    public record Snapshot(long gameTime, int inputPerTick, int outputPerTick, int lossPerTick, float loadPercentage,
+                           int nodeCount, int activeNodes, int activeEdges) {
+
+        public static final Snapshot EMPTY = new Snapshot(0L, 0, 0, 0, 0.0f, 0, 0, 0);
+
+        public float efficiency() {
+            return inputPerTick > 0 ? 100.0f * outputPerTick / inputPerTick : 100.0f;
+        }
+    }
+
+    @FunctionalInterface
+    public interface Listener {
+        void onTelemetry(Snapshot snapshot);
+    }
+
+    private final Map<BlockPos, Counters> nodes = new HashMap<>();
+    private final Map<Edge, Counters> edges = new HashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private long windowStart = -1L;
+    private Snapshot lastSnapshot = Snapshot.EMPTY;
+
+    // ========== RECORDING ==========
+
+    /**
+     * Records one transfer along an edge
+     * capacity is the edge's transfer rate per tick, used for the load reading.
+     */
+    public synchronized void record(BlockPos from, BlockPos to, int sent, int delivered, int capacity) {
+        if (sent <= 0) {
+            return;
+        }
+
+        Counters edge = edges.computeIfAbsent(new Edge(from, to), key -> new Counters());
+        edge.sent += sent;
+        edge.delivered += delivered;
+        edge.windowSent += sent;
+        edge.windowDelivered += delivered;
+        edge.capacity = capacity;
+
+        Counters source = nodes.computeIfAbsent(from, key -> new Counters());
+        source.sent += sent;
+        source.windowSent += sent;
+
+        Counters target = nodes.computeIfAbsent(to, key -> new Counters());
+        target.delivered += delivered;
+        target.windowDelivered += delivered;
+    }
+
+    /**
+     * Closes the current window if it is due and pushes the snapshot to listeners
+     * Safe to call from every cable of the network, only the first call per window does anything.
+     */
+    public void tick(long gameTime, int nodeCount) {
+        Snapshot snapshot;
+        synchronized (this) {
+            if (windowStart < 0) {
+                windowStart = gameTime;
+                return;
+            }
+            long ticks = gameTime - windowStart;
+            if (ticks < WINDOW_TICKS) {
+                return;
+            }
+            snapshot = closeWindow(gameTime, (int) ticks, nodeCount);
+            windowStart = gameTime;
+            lastSnapshot = snapshot;
+        }
+
+        for (Listener listener : listeners) {
+            listener.onTelemetry(snapshot);
+        }
+    }
+
+    private Snapshot closeWindow(long gameTime, int ticks, int nodeCount) {
+        long sent = 0;
+        long delivered = 0;
+        float peakLoad = 0.0f;
+        int activeEdges = 0;
+
+        for (Counters edge : edges.values()) {
+            if (edge.windowSent > 0) {
+                activeEdges++;
+                sent += edge.windowSent;
+                delivered += edge.windowDelivered;
+                if (edge.capacity > 0) {
+                    peakLoad = Math.max(peakLoad, 100.0f * edge.windowSent / ((float) edge.capacity * ticks));
+                }
+            }
+            edge.windowSent = 0;
+            edge.windowDelivered = 0;
+        }
+
+        int activeNodes = 0;
+        for (Counters node : nodes.values()) {
+            if (node.windowSent > 0 || node.windowDelivered > 0) {
+                activeNodes++;
+            }
+            node.windowSent = 0;
+            node.windowDelivered = 0;
+        }
+
+        return new Snapshot(gameTime, (int) (sent / ticks), (int) (delivered / ticks), (int) ((sent - delivered) / ticks),
+                peakLoad, nodeCount, activeNodes, activeEdges);
+    }
+
+    /**
+     * Drops counters for positions that are no longer part of the network
+     */
+    public synchronized void retain(Set<BlockPos> positions) {
+        nodes.keySet().retainAll(positions);
+        edges.keySet().removeIf(edge -> !positions.contains(edge.from()) || !positions.contains(edge.to()));
+    }
+
+    // ========== LISTENERS ==========
+
+    public void addListener(Listener listener) {
+        if (!listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    // ========== QUERIES ==========
+
+    public Snapshot getLastSnapshot() {
+        return lastSnapshot;
+    }
+
+    @Nullable
+    public synchronized Counters getNodeCounters(BlockPos pos) {
+        return nodes.get(pos);
+    }
+
+    @Nullable
+    public synchronized Counters getEdgeCounters(BlockPos from, BlockPos to) {
+        return edges.get(new Edge(from, to));
+    }
+}
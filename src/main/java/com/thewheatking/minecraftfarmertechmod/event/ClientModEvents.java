@@ -1,6 +1,7 @@
 package com.thewheatking.minecraftfarmertechmod.event;
 
 import com.thewheatking.minecraftfarmertechmod.MinecraftFarmerTechMod;
+import com.thewheatking.minecraftfarmertechmod.hybrid.HybridMenuTypes;
 import com.thewheatking.minecraftfarmertechmod.screen.ModMenuTypes;
 import com.thewheatking.minecraftfarmertechmod.screen.CoalGeneratorScreen;
 import com.thewheatking.minecraftfarmertechmod.screen.IronFurnaceScreen;
@@ -75,7 +76,8 @@ public class ClientModEvents {
 
         // ========== HYBRID SPECIALIZED INTERFACE SCREEN REGISTRATIONS ==========
         event.register(ModMenuTypes.ENERGY_ANALYZER_MENU.get(), EnergyAnalyzerScreen::new);
-        event.register(ModMenuTypes.NETWORK_DASHBOARD_MENU.get(), NetworkDashboardScreen::new);
+        // The dashboard block opens the hybrid menu, which carries the topology channel
+        event.register(HybridMenuTypes.NETWORK_DASHBOARD.get(), NetworkDashboardScreen::new);
         event.register(ModMenuTypes.HYBRID_CONFIGURATOR_MENU.get(), HybridConfiguratorScreen::new);
     }
 }
\ No newline at end of file
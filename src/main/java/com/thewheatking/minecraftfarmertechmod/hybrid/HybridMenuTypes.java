@@ -1,11 +1,10 @@
 package com.thewheatking.minecraftfarmertechmod.hybrid;
 
 import com.thewheatking.minecraftfarmertechmod.MinecraftFarmerTechMod;
+import com.thewheatking.minecraftfarmertechmod.common.sync.DashboardTopologyChannel;
 import com.thewheatking.minecraftfarmertechmod.menu.base.BaseEnergyStorageMenu;
 import net.minecraft.world.inventory.AbstractContainerMenu;
-import net.minecraft.world.inventory.ContainerData;
 import net.minecraft.world.inventory.MenuType;
-import net.minecraft.world.inventory.SimpleContainerData;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.world.entity.player.Inventory;
@@ -113,34 +112,16 @@ public class HybridMenuTypes {
      * Basic Energy Storage Menu
      */
     public static class BasicEnergyStorageMenu extends BaseEnergyStorageMenu {
-        private final ContainerData data;
-
         public BasicEnergyStorageMenu(int containerId, Inventory playerInventory, FriendlyByteBuf extraData) {
             super(BASIC_ENERGY_STORAGE.get(), containerId, playerInventory, extraData);
-            if (blockEntity instanceof com.thewheatking.minecraftfarmertechmod.common.blockentity.storage.BasicEnergyStorageBlockEntity basicStorage) {
-                this.data = new BasicEnergyStorageDataProvider(basicStorage);
-                addDataSlots(data);
-            } else {
-                this.data = new SimpleContainerData(4);
-            }
         }
 
         public BasicEnergyStorageMenu(int containerId, Inventory playerInventory, BlockEntity blockEntity) {
             super(BASIC_ENERGY_STORAGE.get(), containerId, playerInventory, blockEntity);
-            if (blockEntity instanceof com.thewheatking.minecraftfarmertechmod.common.blockentity.storage.BasicEnergyStorageBlockEntity basicStorage) {
-                this.data = new BasicEnergyStorageDataProvider(basicStorage);
-                addDataSlots(data);
-            } else {
-                this.data = new SimpleContainerData(4);
-            }
         }
 
-        public int getCurrentEnergy() { return data.get(0); }
-        public int getMaxEnergy() { return data.get(1); }
-        public float getEnergyPercentage() {
-            int max = getMaxEnergy();
-            return max == 0 ? 0.0f : (float) getCurrentEnergy() / max;
-        }
+        public int getCurrentEnergy() { return getEnergyStored(); }
+        public int getMaxEnergy() { return getMaxEnergyStored(); }
 
         @Override
         public ItemStack quickMoveStack(Player player, int index) {
@@ -152,34 +133,16 @@ public class HybridMenuTypes {
      * Enhanced Energy Storage Menu
      */
     public static class EnhancedEnergyStorageMenu extends BaseEnergyStorageMenu {
-        private final ContainerData data;
-
         public EnhancedEnergyStorageMenu(int containerId, Inventory playerInventory, FriendlyByteBuf extraData) {
             super(ENHANCED_ENERGY_STORAGE.get(), containerId, playerInventory, extraData);
-            if (blockEntity instanceof com.thewheatking.minecraftfarmertechmod.common.blockentity.storage.EnhancedEnergyStorageBlockEntity enhancedStorage) {
-                this.data = new EnhancedEnergyStorageDataProvider(enhancedStorage);
-                addDataSlots(data);
-            } else {
-                this.data = new SimpleContainerData(4);
-            }
         }
 
         public EnhancedEnergyStorageMenu(int containerId, Inventory playerInventory, BlockEntity blockEntity) {
             super(ENHANCED_ENERGY_STORAGE.get(), containerId, playerInventory, blockEntity);
-            if (blockEntity instanceof com.thewheatking.minecraftfarmertechmod.common.blockentity.storage.EnhancedEnergyStorageBlockEntity enhancedStorage) {
-                this.data = new EnhancedEnergyStorageDataProvider(enhancedStorage);
-                addDataSlots(data);
-            } else {
-                this.data = new SimpleContainerData(4);
-            }
         }
 
-        public int getCurrentEnergy() { return data.get(0); }
-        public int getMaxEnergy() { return data.get(1); }
-        public float getEnergyPercentage() {
-            int max = getMaxEnergy();
-            return max == 0 ? 0.0f : (float) getCurrentEnergy() / max;
-        }
+        public int getCurrentEnergy() { return getEnergyStored(); }
+        public int getMaxEnergy() { return getMaxEnergyStored(); }
 
         @Override
         public ItemStack quickMoveStack(Player player, int index) {
@@ -191,34 +154,16 @@ public class HybridMenuTypes {
      * Advanced Energy Storage Menu
      */
     public static class AdvancedEnergyStorageMenu extends BaseEnergyStorageMenu {
-        private final ContainerData data;
-
         public AdvancedEnergyStorageMenu(int containerId, Inventory playerInventory, FriendlyByteBuf extraData) {
             super(ADVANCED_ENERGY_STORAGE.get(), containerId, playerInventory, extraData);
-            if (blockEntity instanceof com.thewheatking.minecraftfarmertechmod.common.blockentity.storage.AdvancedEnergyStorageBlockEntity advancedStorage) {
-                this.data = new AdvancedEnergyStorageDataProvider(advancedStorage);
-                addDataSlots(data);
-            } else {
-                this.data = new SimpleContainerData(4);
-            }
         }
 
         public AdvancedEnergyStorageMenu(int containerId, Inventory playerInventory, BlockEntity blockEntity) {
             super(ADVANCED_ENERGY_STORAGE.get(), containerId, playerInventory, blockEntity);
-            if (blockEntity instanceof com.thewheatking.minecraftfarmertechmod.common.blockentity.storage.AdvancedEnergyStorageBlockEntity advancedStorage) {
-                this.data = new AdvancedEnergyStorageDataProvider(advancedStorage);
-                addDataSlots(data);
-            } else {
-                this.data = new SimpleContainerData(4);
-            }
         }
 
-        public int getCurrentEnergy() { return data.get(0); }
-        public int getMaxEnergy() { return data.get(1); }
-        public float getEnergyPercentage() {
-            int max = getMaxEnergy();
-            return max == 0 ? 0.0f : (float) getCurrentEnergy() / max;
-        }
+        public int getCurrentEnergy() { return getEnergyStored(); }
+        public int getMaxEnergy() { return getMaxEnergyStored(); }
 
         @Override
         public ItemStack quickMoveStack(Player player, int index) {
@@ -230,34 +175,16 @@ public class HybridMenuTypes {
      * Superior Energy Storage Menu
      */
     public static class SuperiorEnergyStorageMenu extends BaseEnergyStorageMenu {
-        private final ContainerData data;
-
         public SuperiorEnergyStorageMenu(int containerId, Inventory playerInventory, FriendlyByteBuf extraData) {
             super(SUPERIOR_ENERGY_STORAGE.get(), containerId, playerInventory, extraData);
-            if (blockEntity instanceof com.thewheatking.minecraftfarmertechmod.common.blockentity.storage.SuperiorEnergyStorageBlockEntity superiorStorage) {
-                this.data = new SuperiorEnergyStorageDataProvider(superiorStorage);
-                addDataSlots(data);
-            } else {
-                this.data = new SimpleContainerData(4);
-            }
         }
 
         public SuperiorEnergyStorageMenu(int containerId, Inventory playerInventory, BlockEntity blockEntity) {
             super(SUPERIOR_ENERGY_STORAGE.get(), containerId, playerInventory, blockEntity);
-            if (blockEntity instanceof com.thewheatking.minecraftfarmertechmod.common.blockentity.storage.SuperiorEnergyStorageBlockEntity superiorStorage) {
-                this.data = new SuperiorEnergyStorageDataProvider(superiorStorage);
-                addDataSlots(data);
-            } else {
-                this.data = new SimpleContainerData(4);
-            }
         }
 
-        public int getCurrentEnergy() { return data.get(0); }
-        public int getMaxEnergy() { return data.get(1); }
-        public float getEnergyPercentage() {
-            int max = getMaxEnergy();
-            return max == 0 ? 0.0f : (float) getCurrentEnergy() / max;
-        }
+        public int getCurrentEnergy() { return getEnergyStored(); }
+        public int getMaxEnergy() { return getMaxEnergyStored(); }
 
         @Override
         public ItemStack quickMoveStack(Player player, int index) {
@@ -269,34 +196,16 @@ public class HybridMenuTypes {
      * Quantum Energy Storage Menu
      */
     public static class QuantumEnergyStorageMenu extends BaseEnergyStorageMenu {
-        private final ContainerData data;
-
         public QuantumEnergyStorageMenu(int containerId, Inventory playerInventory, FriendlyByteBuf extraData) {
             super(QUANTUM_ENERGY_STORAGE.get(), containerId, playerInventory, extraData);
-            if (blockEntity instanceof com.thewheatking.minecraftfarmertechmod.common.blockentity.storage.QuantumEnergyStorageBlockEntity quantumStorage) {
-                this.data = new QuantumEnergyStorageDataProvider(quantumStorage);
-                addDataSlots(data);
-            } else {
-                this.data = new SimpleContainerData(4);
-            }
         }
 
         public QuantumEnergyStorageMenu(int containerId, Inventory playerInventory, BlockEntity blockEntity) {
             super(QUANTUM_ENERGY_STORAGE.get(), containerId, playerInventory, blockEntity);
-            if (blockEntity instanceof com.thewheatking.minecraftfarmertechmod.common.blockentity.storage.QuantumEnergyStorageBlockEntity quantumStorage) {
-                this.data = new QuantumEnergyStorageDataProvider(quantumStorage);
-                addDataSlots(data);
-            } else {
-                this.data = new SimpleContainerData(4);
-            }
         }
 
-        public int getCurrentEnergy() { return data.get(0); }
-        public int getMaxEnergy() { return data.get(1); }
-        public float getEnergyPercentage() {
-            int max = getMaxEnergy();
-            return max == 0 ? 0.0f : (float) getCurrentEnergy() / max;
-        }
+        public int getCurrentEnergy() { return getEnergyStored(); }
+        public int getMaxEnergy() { return getMaxEnergyStored(); }
 
         @Override
         public ItemStack quickMoveStack(Player player, int index) {
@@ -542,17 +451,22 @@ public class HybridMenuTypes {
     /**
      * Network Dashboard Menu
      */
-    public static class NetworkDashboardMenu extends BaseEnergyStorageMenu {
+    public static class NetworkDashboardMenu extends BaseEnergyStorageMenu implements DashboardTopologyChannel.Provider {
         private final com.thewheatking.minecraftfarmertechmod.common.blockentity.machines.NetworkDashboardBlockEntity dashboardBlockEntity;
 
+        // Device map streamed in pages and deltas instead of through the block entity tag
+        private final DashboardTopologyChannel topologyChannel;
+
         public NetworkDashboardMenu(int containerId, Inventory playerInventory, FriendlyByteBuf extraData) {
             super(NETWORK_DASHBOARD.get(), containerId, playerInventory, extraData);
             this.dashboardBlockEntity = (com.thewheatking.minecraftfarmertechmod.common.blockentity.machines.NetworkDashboardBlockEntity) blockEntity;
+            this.topologyChannel = new DashboardTopologyChannel(this, player, dashboardBlockEntity);
         }
 
         public NetworkDashboardMenu(int containerId, Inventory playerInventory, BlockEntity blockEntity) {
             super(NETWORK_DASHBOARD.get(), containerId, playerInventory, blockEntity);
             this.dashboardBlockEntity = (com.thewheatking.minecraftfarmertechmod.common.blockentity.machines.NetworkDashboardBlockEntity) blockEntity;
+            this.topologyChannel = new DashboardTopologyChannel(this, player, dashboardBlockEntity);
         }
 
         @Override
@@ -560,6 +474,17 @@ public class HybridMenuTypes {
             return ItemStack.EMPTY;
         }
 
+        @Override
+        public void broadcastChanges() {
+            super.broadcastChanges();
+            topologyChannel.broadcast();
+        }
+
+        @Override
+        public DashboardTopologyChannel getTopologyChannel() {
+            return topologyChannel;
+        }
+
         public com.thewheatking.minecraftfarmertechmod.common.blockentity.machines.NetworkDashboardBlockEntity getDashboardBlockEntity() {
             return dashboardBlockEntity;
         }
@@ -590,141 +515,4 @@ public class HybridMenuTypes {
             return configuratorBlockEntity;
         }
     }
-
-    // ========== DATA PROVIDER HELPER CLASSES ==========
-
-    private static class BasicEnergyStorageDataProvider implements ContainerData {
-        private final com.thewheatking.minecraftfarmertechmod.common.blockentity.storage.BasicEnergyStorageBlockEntity storage;
-
-        public BasicEnergyStorageDataProvider(com.thewheatking.minecraftfarmertechmod.common.blockentity.storage.BasicEnergyStorageBlockEntity storage) {
-            this.storage = storage;
-        }
-
-        @Override
-        public int get(int index) {
-            return switch (index) {
-                case 0 -> storage.getEnergyStorage().getEnergyStored();
-                case 1 -> storage.getEnergyStorage().getMaxEnergyStored();
-                default -> 0;
-            };
-        }
-
-        @Override
-        public void set(int index, int value) {
-            // Read-only data
-        }
-
-        @Override
-        public int getCount() {
-            return 2;
-        }
-    }
-
-    private static class EnhancedEnergyStorageDataProvider implements ContainerData {
-        private final com.thewheatking.minecraftfarmertechmod.common.blockentity.storage.EnhancedEnergyStorageBlockEntity storage;
-
-        public EnhancedEnergyStorageDataProvider(com.thewheatking.minecraftfarmertechmod.common.blockentity.storage.EnhancedEnergyStorageBlockEntity storage) {
-            this.storage = storage;
-        }
-
-        @Override
-        public int get(int index) {
-            return switch (index) {
-                case 0 -> storage.getEnergyStorage().getEnergyStored();
-                case 1 -> storage.getEnergyStorage().getMaxEnergyStored();
-                default -> 0;
-            };
-        }
-
-        @Override
-        public void set(int index, int value) {
-            // Read-only data
-        }
-
-        @Override
-        public int getCount() {
-            return 2;
-        }
-    }
-
-    private static class AdvancedEnergyStorageDataProvider implements ContainerData {
-        private final com.thewheatking.minecraftfarmertechmod.common.blockentity.storage.AdvancedEnergyStorageBlockEntity storage;
-
-        public AdvancedEnergyStorageDataProvider(com.thewheatking.minecraftfarmertechmod.common.blockentity.storage.AdvancedEnergyStorageBlockEntity storage) {
-            this.storage = storage;
-        }
-
-        @Override
-        public int get(int index) {
-            return switch (index) {
-                case 0 -> storage.getEnergyStorage().getEnergyStored();
-                case 1 -> storage.getEnergyStorage().getMaxEnergyStored();
-                default -> 0;
-            };
-        }
-
-        @Override
-        public void set(int index, int value) {
-            // Read-only data
-        }
-
-        @Override
-        public int getCount() {
-            return 2;
-        }
-    }
-
-    private static class SuperiorEnergyStorageDataProvider implements ContainerData {
-        private final com.thewheatking.minecraftfarmertechmod.common.blockentity.storage.SuperiorEnergyStorageBlockEntity storage;
-
-        public SuperiorEnergyStorageDataProvider(com.thewheatking.minecraftfarmertechmod.common.blockentity.storage.SuperiorEnergyStorageBlockEntity storage) {
-            this.storage = storage;
-        }
-
-        @Override
-        public int get(int index) {
-            return switch (index) {
-                case 0 -> storage.getEnergyStorage().getEnergyStored();
-                case 1 -> storage.getEnergyStorage().getMaxEnergyStored();
-                default -> 0;
-            };
-        }
-
-        @Override
-        public void set(int index, int value) {
-            // Read-only data
-        }
-
-        @Override
-        public int getCount() {
-            return 2;
-        }
-    }
-
-    private static class QuantumEnergyStorageDataProvider implements ContainerData {
-        private final com.thewheatking.minecraftfarmertechmod.common.blockentity.storage.QuantumEnergyStorageBlockEntity storage;
-
-        public QuantumEnergyStorageDataProvider(com.thewheatking.minecraftfarmertechmod.common.blockentity.storage.QuantumEnergyStorageBlockEntity storage) {
-            this.storage = storage;
-        }
-
-        @Override
-        public int get(int index) {
-            return switch (index) {
-                case 0 -> storage.getEnergyStorage().getEnergyStored();
-                case 1 -> storage.getEnergyStorage().getMaxEnergyStored();
-                default -> 0;
-            };
-        }
-
-        @Override
-        public void set(int index, int value) {
-            // Read-only data
-        }
-
-        @Override
-        public int getCount() {
-            return 2;
-        }
-    }
-}
\ No newline at end of file
+}
@@ -1,5 +1,7 @@
 package com.thewheatking.minecraftfarmertechmod.menu.base;
 
+import com.thewheatking.minecraftfarmertechmod.common.blockentity.base.BaseMachineBlockEntity;
+import com.thewheatking.minecraftfarmertechmod.common.sync.MenuSyncChannel;
 import com.thewheatking.minecraftfarmertechmod.energy.HybridEnergyCapabilityProviders.IHybridEnergyBlockEntity;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.FriendlyByteBuf;
@@ -11,12 +13,17 @@ import net.minecraft.world.inventory.Slot;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.neoforged.neoforge.energy.IEnergyStorage;
 
-public abstract class BaseEnergyStorageMenu extends AbstractContainerMenu {
+public abstract class BaseEnergyStorageMenu extends AbstractContainerMenu implements MenuSyncChannel.Provider {
 
     protected final BlockEntity blockEntity;
     protected final IHybridEnergyBlockEntity energyBlockEntity;
     protected final Player player;
 
+    // Full-width data sync while the menu is open; subclasses add their own slots after these
+    protected final MenuSyncChannel syncChannel;
+    private final MenuSyncChannel.IntSlot energySlot;
+    private final MenuSyncChannel.IntSlot maxEnergySlot;
+
     // Constructor for client-side (from network data)
     protected BaseEnergyStorageMenu(MenuType<?> menuType, int containerId, Inventory playerInventory, FriendlyByteBuf extraData) {
         super(menuType, containerId);
@@ -32,6 +39,10 @@ public abstract class BaseEnergyStorageMenu extends AbstractContainerMenu {
             this.energyBlockEntity = null;
         }
 
+        this.syncChannel = new MenuSyncChannel(this, player);
+        this.energySlot = syncChannel.addInt(this::readEnergyStored);
+        this.maxEnergySlot = syncChannel.addInt(this::readMaxEnergyStored);
+
         // Add player inventory slots
         addPlayerInventorySlots(playerInventory);
     }
@@ -48,6 +59,15 @@ public abstract class BaseEnergyStorageMenu extends AbstractContainerMenu {
             this.energyBlockEntity = null;
         }
 
+        // Opening the GUI wakes a sleeping machine so the player sees live values
+        if (blockEntity instanceof BaseMachineBlockEntity machine) {
+            machine.wake();
+        }
+
+        this.syncChannel = new MenuSyncChannel(this, player);
+        this.energySlot = syncChannel.addInt(this::readEnergyStored);
+        this.maxEnergySlot = syncChannel.addInt(this::readMaxEnergyStored);
+
         // Add player inventory slots
         addPlayerInventorySlots(playerInventory);
     }
@@ -95,8 +115,27 @@ public abstract class BaseEnergyStorageMenu extends AbstractContainerMenu {
                         blockEntity.getBlockPos().getZ() + 0.5D) <= 64.0D;
     }
 
+    @Override
+    public MenuSyncChannel getSyncChannel() {
+        return syncChannel;
+    }
+
+    @Override
+    public void broadcastChanges() {
+        super.broadcastChanges();
+        syncChannel.broadcast();
+    }
+
     // Energy-related getter methods for client-side UI
     public int getEnergyStored() {
+        return energySlot.get();
+    }
+
+    public int getMaxEnergyStored() {
+        return maxEnergySlot.get();
+    }
+
+    private int readEnergyStored() {
         if (energyBlockEntity != null) {
             IEnergyStorage energyStorage = energyBlockEntity.getEnergyStorage(null);
             return energyStorage != null ? energyStorage.getEnergyStored() : 0;
@@ -104,7 +143,7 @@ public abstract class BaseEnergyStorageMenu extends AbstractContainerMenu {
         return 0;
     }
 
-    public int getMaxEnergyStored() {
+    private int readMaxEnergyStored() {
         if (energyBlockEntity != null) {
             IEnergyStorage energyStorage = energyBlockEntity.getEnergyStorage(null);
             return energyStorage != null ? energyStorage.getMaxEnergyStored() : 0;
@@ -0,0 +1,45 @@
+package com.thewheatking.minecraftfarmertechmod.network;
+
+import com.thewheatking.minecraftfarmertechmod.MinecraftFarmerTechMod;
+import com.thewheatking.minecraftfarmertechmod.common.sync.DashboardTopologyChannel;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.player.Player;
+import net.neoforged.neoforge.network.handling.IPayloadContext;
+
+/**
+ * One page, delta or stats update of the Network Dashboard topology
+ */
+public record DashboardTopologyPayload(int containerId, byte[] data) implements CustomPacketPayload {
+
+    public static final Type<DashboardTopologyPayload> TYPE =
+            new Type<>(ResourceLocation.fromNamespaceAndPath(MinecraftFarmerTechMod.MOD_ID, "dashboard_topology"));
+
+    public static final StreamCodec<RegistryFriendlyByteBuf, DashboardTopologyPayload> STREAM_CODEC = StreamCodec.composite(
+            ByteBufCodecs.VAR_INT, DashboardTopologyPayload::containerId,
+            ByteBufCodecs.BYTE_ARRAY, DashboardTopologyPayload::data,
+            DashboardTopologyPayload::new);
+
+    @Override
+    public Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+
+    /**
+     * Client-side handler, applies the message to the open dashboard's channel
+     */
+    public static void handle(DashboardTopologyPayload payload, IPayloadContext context) {
+        context.enqueueWork(() -> {
+            Player player = context.player();
+            if (player.containerMenu.containerId == payload.containerId()
+                    && player.containerMenu instanceof DashboardTopologyChannel.Provider provider) {
+                provider.getTopologyChannel().read(new FriendlyByteBuf(Unpooled.wrappedBuffer(payload.data())));
+            }
+        });
+    }
+}
@@ -0,0 +1,45 @@
+package com.thewheatking.minecraftfarmertechmod.network;
+
+import com.thewheatking.minecraftfarmertechmod.MinecraftFarmerTechMod;
+import com.thewheatking.minecraftfarmertechmod.common.sync.DashboardTopologyChannel;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.player.Player;
+import net.neoforged.neoforge.network.handling.IPayloadContext;
+
+import java.util.List;
+
+/**
+ * Node IDs currently visible on a player's Network Dashboard map
+ */
+public record DashboardViewportPayload(int containerId, List<Integer> visibleIds) implements CustomPacketPayload {
+
+    public static final Type<DashboardViewportPayload> TYPE =
+            new Type<>(ResourceLocation.fromNamespaceAndPath(MinecraftFarmerTechMod.MOD_ID, "dashboard_viewport"));
+
+    public static final StreamCodec<RegistryFriendlyByteBuf, DashboardViewportPayload> STREAM_CODEC = StreamCodec.composite(
+            ByteBufCodecs.VAR_INT, DashboardViewportPayload::containerId,
+            ByteBufCodecs.VAR_INT.apply(ByteBufCodecs.list(DashboardTopologyChannel.MAX_VISIBLE)), DashboardViewportPayload::visibleIds,
+            DashboardViewportPayload::new);
+
+    @Override
+    public Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+
+    /**
+     * Server-side handler, updates the viewer's visible set if the dashboard is still open
+     */
+    public static void handle(DashboardViewportPayload payload, IPayloadContext context) {
+        context.enqueueWork(() -> {
+            Player player = context.player();
+            if (player.containerMenu.containerId == payload.containerId()
+                    && player.containerMenu instanceof DashboardTopologyChannel.Provider provider) {
+                provider.getTopologyChannel().setVisible(payload.visibleIds());
+            }
+        });
+    }
+}
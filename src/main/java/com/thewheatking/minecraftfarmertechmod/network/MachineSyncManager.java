@@ -0,0 +1,103 @@
+package com.thewheatking.minecraftfarmertechmod.network;
+
+import com.thewheatking.minecraftfarmertechmod.MinecraftFarmerTechMod;
+import com.thewheatking.minecraftfarmertechmod.common.blockentity.base.BaseMachineBlockEntity;
+import com.thewheatking.minecraftfarmertechmod.common.sync.SyncFieldSet;
+import com.thewheatking.minecraftfarmertechmod.common.util.MftProfiler;
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
+import net.neoforged.neoforge.network.PacketDistributor;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Server-side collector for machine delta sync
+ */
+@EventBusSubscriber(modid = MinecraftFarmerTechMod.MOD_ID, bus = EventBusSubscriber.Bus.GAME)
+public class MachineSyncManager {
+
+    private static final Map<Level, Long2ObjectMap<Set<BaseMachineBlockEntity>>> PENDING = new IdentityHashMap<>();
+
+    /**
+     * Queues a machine for the next flush. Cheap enough to call on every state change.
+     */
+    public static void queue(BaseMachineBlockEntity machine) {
+        Level level = machine.getLevel();
+        if (level == null || level.isClientSide()) {
+            return;
+        }
+        PENDING.computeIfAbsent(level, key -> new Long2ObjectOpenHashMap<>())
+                .computeIfAbsent(ChunkPos.asLong(machine.getBlockPos()), key -> new LinkedHashSet<>())
+                .add(machine);
+    }
+
+    @SubscribeEvent
+    public static void onLevelTick(LevelTickEvent.Post event) {
+        if (event.getLevel() instanceof ServerLevel serverLevel) {
+            long profileStart = MftProfiler.begin();
+            flush(serverLevel);
+            MftProfiler.end(MftProfiler.Category.SYNC, "machine_sync", null, profileStart);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof Level level) {
+            PENDING.remove(level);
+        }
+    }
+
+    private static void flush(ServerLevel level) {
+        Long2ObjectMap<Set<BaseMachineBlockEntity>> byChunk = PENDING.get(level);
+        if (byChunk == null || byChunk.isEmpty()) {
+            return;
+        }
+
+        for (Long2ObjectMap.Entry<Set<BaseMachineBlockEntity>> chunkEntry : byChunk.long2ObjectEntrySet()) {
+            List<MachineSyncPayload.Entry> entries = new ArrayList<>();
+
+            for (BaseMachineBlockEntity machine : chunkEntry.getValue()) {
+                if (machine.isRemoved()) {
+                    continue;
+                }
+
+                SyncFieldSet fields = machine.getSyncFields();
+                int mask = fields.collectDirty();
+                if (mask == 0) {
+                    continue;
+                }
+
+                RegistryFriendlyByteBuf buf = new RegistryFriendlyByteBuf(Unpooled.buffer(), level.registryAccess());
+                try {
+                    fields.write(buf, mask);
+                    byte[] data = new byte[buf.readableBytes()];
+                    buf.readBytes(data);
+                    entries.add(new MachineSyncPayload.Entry(machine.getBlockPos(), mask, data));
+                } finally {
+                    buf.release();
+                }
+            }
+
+            if (!entries.isEmpty()) {
+                PacketDistributor.sendToPlayersTrackingChunk(level, new ChunkPos(chunkEntry.getLongKey()),
+                        new MachineSyncPayload(entries));
+            }
+        }
+
+        byChunk.clear();
+    }
+}
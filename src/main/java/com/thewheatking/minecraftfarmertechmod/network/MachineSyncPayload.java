@@ -0,0 +1,63 @@
+package com.thewheatking.minecraftfarmertechmod.network;
+
+import com.thewheatking.minecraftfarmertechmod.MinecraftFarmerTechMod;
+import com.thewheatking.minecraftfarmertechmod.common.blockentity.base.BaseMachineBlockEntity;
+import io.netty.buffer.Unpooled;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.Level;
+import net.neoforged.neoforge.network.handling.IPayloadContext;
+
+import java.util.List;
+
+/**
+ * Delta update for every dirty MFT machine in one chunk
+ */
+public record MachineSyncPayload(List<Entry> entries) implements CustomPacketPayload {
+
+    public static final Type<MachineSyncPayload> TYPE =
+            new Type<>(ResourceLocation.fromNamespaceAndPath(MinecraftFarmerTechMod.MOD_ID, "machine_sync"));
+
+    /**
+     * One machine's changed fields. The payload bytes are only meaningful to that machine's SyncFieldSet,
+     * so unknown positions can be skipped without desyncing the rest of the packet.
+     */
+    public record Entry(BlockPos pos, int mask, byte[] data) {
+        public static final StreamCodec<RegistryFriendlyByteBuf, Entry> STREAM_CODEC = StreamCodec.composite(
+                BlockPos.STREAM_CODEC, Entry::pos,
+                ByteBufCodecs.VAR_INT, Entry::mask,
+                ByteBufCodecs.BYTE_ARRAY, Entry::data,
+                Entry::new);
+    }
+
+    public static final StreamCodec<RegistryFriendlyByteBuf, MachineSyncPayload> STREAM_CODEC =
+            Entry.STREAM_CODEC.apply(ByteBufCodecs.list()).map(MachineSyncPayload::new, MachineSyncPayload::entries);
+
+    @Override
+    public Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+
+    /**
+     * Client-side handler, applies each entry to the matching machine
+     */
+    public static void handle(MachineSyncPayload payload, IPayloadContext context) {
+        context.enqueueWork(() -> {
+            Level level = context.player().level();
+            for (Entry entry : payload.entries()) {
+                if (!level.isLoaded(entry.pos())) {
+                    continue;
+                }
+                if (level.getBlockEntity(entry.pos()) instanceof BaseMachineBlockEntity machine) {
+                    RegistryFriendlyByteBuf buf = new RegistryFriendlyByteBuf(
+                            Unpooled.wrappedBuffer(entry.data()), level.registryAccess());
+                    machine.getSyncFields().read(buf, entry.mask());
+                }
+            }
+        });
+    }
+}
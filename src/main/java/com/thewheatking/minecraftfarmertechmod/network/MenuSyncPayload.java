@@ -0,0 +1,46 @@
+package com.thewheatking.minecraftfarmertechmod.network;
+
+import com.thewheatking.minecraftfarmertechmod.MinecraftFarmerTechMod;
+import com.thewheatking.minecraftfarmertechmod.common.sync.MenuSyncChannel;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.player.Player;
+import net.neoforged.neoforge.network.handling.IPayloadContext;
+
+/**
+ * Changed menu sync slots for the player's open container, ignored if it was closed in the meantime
+ */
+public record MenuSyncPayload(int containerId, byte[] data) implements CustomPacketPayload {
+
+    public static final Type<MenuSyncPayload> TYPE =
+            new Type<>(ResourceLocation.fromNamespaceAndPath(MinecraftFarmerTechMod.MOD_ID, "menu_sync"));
+
+    public static final StreamCodec<RegistryFriendlyByteBuf, MenuSyncPayload> STREAM_CODEC = StreamCodec.composite(
+            ByteBufCodecs.VAR_INT, MenuSyncPayload::containerId,
+            ByteBufCodecs.BYTE_ARRAY, MenuSyncPayload::data,
+            MenuSyncPayload::new);
+
+    @Override
+    public Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+
+    /**
+     * Client-side handler, applies the delta to the open menu's channel
+     */
+    public static void handle(MenuSyncPayload payload, IPayloadContext context) {
+        context.enqueueWork(() -> {
+            Player player = context.player();
+            if (player.containerMenu.containerId == payload.containerId()
+                    && player.containerMenu instanceof MenuSyncChannel.Provider provider) {
+                RegistryFriendlyByteBuf buf = new RegistryFriendlyByteBuf(
+                        Unpooled.wrappedBuffer(payload.data()), player.level().registryAccess());
+                provider.getSyncChannel().read(buf);
+            }
+        });
+    }
+}
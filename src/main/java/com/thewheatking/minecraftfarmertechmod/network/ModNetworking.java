@@ -0,0 +1,27 @@
+package com.thewheatking.minecraftfarmertechmod.network;
+
+import com.thewheatking.minecraftfarmertechmod.MinecraftFarmerTechMod;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.network.event.RegisterPayloadHandlersEvent;
+import net.neoforged.neoforge.network.registration.PayloadRegistrar;
+
+/**
+ * Registration for MFT custom network payloads
+ */
+@EventBusSubscriber(modid = MinecraftFarmerTechMod.MOD_ID, bus = EventBusSubscriber.Bus.MOD)
+public class ModNetworking {
+
+    // Bump when any payload layout changes
+    private static final String PROTOCOL_VERSION = "2";
+
+    @SubscribeEvent
+    public static void registerPayloads(RegisterPayloadHandlersEvent event) {
+        PayloadRegistrar registrar = event.registrar(PROTOCOL_VERSION);
+
+        registrar.playToClient(MachineSyncPayload.TYPE, MachineSyncPayload.STREAM_CODEC, MachineSyncPayload::handle);
+        registrar.playToClient(MenuSyncPayload.TYPE, MenuSyncPayload.STREAM_CODEC, MenuSyncPayload::handle);
+        registrar.playToClient(DashboardTopologyPayload.TYPE, DashboardTopologyPayload.STREAM_CODEC, DashboardTopologyPayload::handle);
+        registrar.playToServer(DashboardViewportPayload.TYPE, DashboardViewportPayload.STREAM_CODEC, DashboardViewportPayload::handle);
+    }
+}
@@ -1,7 +1,7 @@
 package com.thewheatking.minecraftfarmertechmod.screen;
 
 import com.thewheatking.minecraftfarmertechmod.common.blockentity.storage.BasicEnergyStorageBlockEntity;
-import com.thewheatking.minecraftfarmertechmod.hybrid.HybridMenuTypes;
+import com.thewheatking.minecraftfarmertechmod.common.sync.MenuSyncChannel;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.entity.player.Player;
@@ -15,47 +15,67 @@ import net.minecraft.world.level.block.entity.BlockEntity;
  * Based on TWheatKing's MFT framework patterns
  * Minecraft 1.21 | NeoForge 21.0.167
  */
-public class BasicEnergyStorageMenu extends AbstractContainerMenu {
+public class BasicEnergyStorageMenu extends AbstractContainerMenu implements MenuSyncChannel.Provider {
     public final BasicEnergyStorageBlockEntity blockEntity;
     private final Level level;
-    private final ContainerData data;
+
+    // Full-width sync, storage tiers go far past the 16-bit ContainerData limit
+    private final MenuSyncChannel syncChannel;
+    private final MenuSyncChannel.IntSlot energySlot;
+    private final MenuSyncChannel.IntSlot maxEnergySlot;
+    private final MenuSyncChannel.IntSlot inputRateSlot;
+    private final MenuSyncChannel.IntSlot outputRateSlot;
 
     // Constructor for network creation (like your CoalGeneratorMenu)
     public BasicEnergyStorageMenu(int pContainerId, Inventory inv, FriendlyByteBuf extraData) {
-        this(pContainerId, inv, inv.player.level().getBlockEntity(extraData.readBlockPos()), new SimpleContainerData(4));
+        this(pContainerId, inv, inv.player.level().getBlockEntity(extraData.readBlockPos()));
     }
 
     // Constructor for direct creation (like your CoalGeneratorMenu)
-    public BasicEnergyStorageMenu(int pContainerId, Inventory inv, BlockEntity entity, ContainerData data) {
-        super(HybridMenuTypes.BASIC_ENERGY_STORAGE_MENU.get(), pContainerId);
+    public BasicEnergyStorageMenu(int pContainerId, Inventory inv, BlockEntity entity) {
+        super(ModMenuTypes.BASIC_ENERGY_STORAGE_MENU.get(), pContainerId);
         // Note: Energy storage doesn't need checkContainerSize since it has no item slots
         blockEntity = ((BasicEnergyStorageBlockEntity) entity);
         this.level = inv.player.level();
-        this.data = data;
 
         addPlayerInventory(inv);
         addPlayerHotbar(inv);
 
         // No item slots needed for basic energy storage - it's just a battery
 
-        addDataSlots(data);
+        this.syncChannel = new MenuSyncChannel(this, inv.player);
+        this.energySlot = syncChannel.addInt(blockEntity::getCurrentEnergy);
+        this.maxEnergySlot = syncChannel.addInt(blockEntity::getMaxEnergy);
+        this.inputRateSlot = syncChannel.addInt(blockEntity::getEnergyInputRate);
+        this.outputRateSlot = syncChannel.addInt(blockEntity::getEnergyOutputRate);
+    }
+
+    @Override
+    public MenuSyncChannel getSyncChannel() {
+        return syncChannel;
+    }
+
+    @Override
+    public void broadcastChanges() {
+        super.broadcastChanges();
+        syncChannel.broadcast();
     }
 
     // Energy status methods (similar to how CoalGeneratorMenu has isBurning(), getScaledBurnProgress())
     public boolean isActive() {
-        return data.get(0) > 0; // Has energy stored
+        return getCurrentEnergy() > 0; // Has energy stored
     }
 
     public int getCurrentEnergy() {
-        return data.get(0);
+        return energySlot.get();
     }
 
     public int getMaxEnergy() {
-        return data.get(1);
+        return maxEnergySlot.get();
     }
 
     public int getPreviousEnergy() {
-        return data.get(2);
+        return getCurrentEnergy() - inputRateSlot.get() + outputRateSlot.get();
     }
 
     public float getEnergyPercentage() {
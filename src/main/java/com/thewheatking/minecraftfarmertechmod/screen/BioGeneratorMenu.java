@@ -1,51 +1,68 @@
 package com.thewheatking.minecraftfarmertechmod.screen;
 
 import com.thewheatking.minecraftfarmertechmod.block.entity.BioGeneratorBlockEntity;
+import com.thewheatking.minecraftfarmertechmod.common.sync.MenuSyncChannel;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.AbstractContainerMenu;
-import net.minecraft.world.inventory.ContainerData;
 import net.minecraft.world.inventory.ContainerLevelAccess;
-import net.minecraft.world.inventory.SimpleContainerData;
 import net.minecraft.world.inventory.Slot;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.neoforged.neoforge.items.SlotItemHandler;
 
-public class BioGeneratorMenu extends AbstractContainerMenu {
+public class BioGeneratorMenu extends AbstractContainerMenu implements MenuSyncChannel.Provider {
     public final BioGeneratorBlockEntity blockEntity;
     private final Level level;
-    private final ContainerData data;
+
+    private final MenuSyncChannel syncChannel;
+    private final MenuSyncChannel.IntSlot fuelBurnTimeSlot;
+    private final MenuSyncChannel.IntSlot maxFuelBurnTimeSlot;
+    private final MenuSyncChannel.IntSlot energySlot;
+    private final MenuSyncChannel.IntSlot maxEnergySlot;
 
     public BioGeneratorMenu(int pContainerId, Inventory inv, FriendlyByteBuf extraData) {
-        this(pContainerId, inv, inv.player.level().getBlockEntity(extraData.readBlockPos()), new SimpleContainerData(6));
+        this(pContainerId, inv, inv.player.level().getBlockEntity(extraData.readBlockPos()));
     }
 
-    public BioGeneratorMenu(int pContainerId, Inventory inv, BlockEntity entity, ContainerData data) {
+    public BioGeneratorMenu(int pContainerId, Inventory inv, BlockEntity entity) {
         super(ModMenuTypes.BIO_GENERATOR_MENU.get(), pContainerId);
-        checkContainerDataCount(data, 6);
         blockEntity = ((BioGeneratorBlockEntity) entity);
         this.level = inv.player.level();
-        this.data = data;
+
+        this.syncChannel = new MenuSyncChannel(this, inv.player);
+        this.fuelBurnTimeSlot = syncChannel.addInt(blockEntity::getFuelBurnTime);
+        this.maxFuelBurnTimeSlot = syncChannel.addInt(blockEntity::getMaxFuelBurnTime);
+        this.energySlot = syncChannel.addInt(() -> blockEntity.getEnergyStored().getEnergyStored());
+        this.maxEnergySlot = syncChannel.addInt(() -> blockEntity.getEnergyStored().getMaxEnergyStored());
 
         addPlayerInventory(inv);
         addPlayerHotbar(inv);
 
         this.addSlot(new SlotItemHandler(blockEntity.getItemHandler(), 0, 80, 35));
         this.addSlot(new SlotItemHandler(blockEntity.getItemHandler(), 1, 116, 35));
+    }
 
-        addDataSlots(data);
+    @Override
+    public MenuSyncChannel getSyncChannel() {
+        return syncChannel;
+    }
+
+    @Override
+    public void broadcastChanges() {
+        super.broadcastChanges();
+        syncChannel.broadcast();
     }
 
     public boolean isBurning() {
-        return data.get(2) > 0;
+        return fuelBurnTimeSlot.get() > 0;
     }
 
     public int getScaledBurnProgress() {
-        int fuelBurnTime = this.data.get(2);
-        int maxFuelBurnTime = this.data.get(3);
+        int fuelBurnTime = fuelBurnTimeSlot.get();
+        int maxFuelBurnTime = maxFuelBurnTimeSlot.get();
         int burnTimePixels = 14;
 
         if (maxFuelBurnTime == 0) {
@@ -56,19 +73,19 @@ public class BioGeneratorMenu extends AbstractContainerMenu {
     }
 
     public int getScaledEnergyProgress() {
-        int energy = this.data.get(4);
-        int maxEnergy = this.data.get(5);
+        int energy = energySlot.get();
+        int maxEnergy = maxEnergySlot.get();
         int energyBarHeight = 52; // As seen in BioGeneratorScreen
 
         return maxEnergy != 0 ? (int)(((long)energy * energyBarHeight) / maxEnergy) : 0;
     }
 
     public int getEnergyStored() {
-        return this.data.get(4);
+        return energySlot.get();
     }
 
     public int getMaxEnergyStored() {
-        return this.data.get(5);
+        return maxEnergySlot.get();
     }
 
     private static final int HOTBAR_SLOT_COUNT = 9;
@@ -1,6 +1,7 @@
 package com.thewheatking.minecraftfarmertechmod.screen;
 
 import com.thewheatking.minecraftfarmertechmod.block.entity.CoalGeneratorBlockEntity;
+import com.thewheatking.minecraftfarmertechmod.common.sync.MenuSyncChannel;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.entity.player.Player;
@@ -10,46 +11,65 @@ import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.neoforged.neoforge.items.SlotItemHandler;
 
-public class CoalGeneratorMenu extends AbstractContainerMenu {
+public class CoalGeneratorMenu extends AbstractContainerMenu implements MenuSyncChannel.Provider {
     public final CoalGeneratorBlockEntity blockEntity;
     private final Level level;
-    private final ContainerData data;
+
+    private final MenuSyncChannel syncChannel;
+    private final MenuSyncChannel.IntSlot burnTimeSlot;
+    private final MenuSyncChannel.IntSlot maxBurnTimeSlot;
+    private final MenuSyncChannel.IntSlot energySlot;
+    private final MenuSyncChannel.IntSlot maxEnergySlot;
 
     public CoalGeneratorMenu(int pContainerId, Inventory inv, FriendlyByteBuf extraData) {
-        this(pContainerId, inv, inv.player.level().getBlockEntity(extraData.readBlockPos()), new SimpleContainerData(4));
+        this(pContainerId, inv, inv.player.level().getBlockEntity(extraData.readBlockPos()));
     }
 
-    public CoalGeneratorMenu(int pContainerId, Inventory inv, BlockEntity entity, ContainerData data) {
+    public CoalGeneratorMenu(int pContainerId, Inventory inv, BlockEntity entity) {
         super(ModMenuTypes.COAL_GENERATOR_MENU.get(), pContainerId);
         checkContainerSize(inv, 1);
         blockEntity = ((CoalGeneratorBlockEntity) entity);
         this.level = inv.player.level();
-        this.data = data;
+
+        this.syncChannel = new MenuSyncChannel(this, inv.player);
+        this.burnTimeSlot = syncChannel.addInt(blockEntity::getBurnTime);
+        this.maxBurnTimeSlot = syncChannel.addInt(blockEntity::getMaxBurnTime);
+        this.energySlot = syncChannel.addInt(() -> blockEntity.getEnergyStorage(null).getEnergyStored());
+        this.maxEnergySlot = syncChannel.addInt(() -> blockEntity.getEnergyStorage(null).getMaxEnergyStored());
 
         addPlayerInventory(inv);
         addPlayerHotbar(inv);
 
         // Add the fuel slot
         this.addSlot(new SlotItemHandler(blockEntity.getItemHandler(), 0, 80, 35)); // Fuel slot (center)
+    }
 
-        addDataSlots(data);
+    @Override
+    public MenuSyncChannel getSyncChannel() {
+        return syncChannel;
+    }
+
+    @Override
+    public void broadcastChanges() {
+        super.broadcastChanges();
+        syncChannel.broadcast();
     }
 
     public boolean isBurning() {
-        return data.get(0) > 0; // burnTime > 0
+        return burnTimeSlot.get() > 0; // burnTime > 0
     }
 
     public int getScaledBurnProgress() {
-        int burnTime = this.data.get(0);
-        int maxBurnTime = this.data.get(1);
+        int burnTime = burnTimeSlot.get();
+        int maxBurnTime = maxBurnTimeSlot.get();
         int burnProgressSize = 14; // Height of the fire icon
 
         return maxBurnTime != 0 && burnTime > 0 ? burnTime * burnProgressSize / maxBurnTime : 0;
     }
 
     public int getScaledEnergyProgress() {
-        int energy = this.data.get(2);
-        int maxEnergy = this.data.get(3);
+        int energy = energySlot.get();
+        int maxEnergy = maxEnergySlot.get();
         int energyBarHeight = 52;
 
         if (maxEnergy == 0) return 0;
@@ -60,11 +80,11 @@ public class CoalGeneratorMenu extends AbstractContainerMenu {
     }
 
     public int getEnergyStored() {
-        return data.get(2);
+        return energySlot.get();
     }
 
     public int getMaxEnergyStored() {
-        return data.get(3);
+        return maxEnergySlot.get();
     }
 
     // Slot management for shift-clicking
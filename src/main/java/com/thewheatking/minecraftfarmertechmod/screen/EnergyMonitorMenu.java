@@ -2,6 +2,7 @@ package com.thewheatking.minecraftfarmertechmod.screen;
 
 
 import com.thewheatking.minecraftfarmertechmod.common.blockentity.machines.EnergyMonitorBlockEntity;
+import com.thewheatking.minecraftfarmertechmod.common.sync.MenuSyncChannel;
 import com.thewheatking.minecraftfarmertechmod.menu.base.BaseEnergyStorageMenu;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.world.entity.player.Inventory;
@@ -13,9 +14,41 @@ public class EnergyMonitorMenu extends BaseEnergyStorageMenu {
 
     private final EnergyMonitorBlockEntity monitorBlockEntity;
 
+    // Values synced through the menu channel instead of reading the client copy of the block entity
+    private static final int HISTORY_LENGTH = 60;
+    private static final int FLAG_OVERLOADED = 1;
+    private static final int FLAG_CRITICAL = 1 << 1;
+    private static final int FLAG_STARVED = 1 << 2;
+    private static final int FLAG_STABLE = 1 << 3;
+    private static final int FLAG_OVERHEATING = 1 << 4;
+    private static final int FLAG_MAINTENANCE = 1 << 5;
+    private static final int FLAG_MONITORING = 1 << 6;
+    private static final int FLAG_ALERTS = 1 << 7;
+
+    private MenuSyncChannel.IntSlot energyInputSlot;
+    private MenuSyncChannel.IntSlot energyOutputSlot;
+    private MenuSyncChannel.IntSlot averageUsageSlot;
+    private MenuSyncChannel.IntSlot peakUsageSlot;
+    private MenuSyncChannel.IntSlot minUsageSlot;
+    private MenuSyncChannel.LongSlot totalProcessedSlot;
+    private MenuSyncChannel.FloatSlot systemLoadSlot;
+    private MenuSyncChannel.IntSlot connectedDevicesSlot;
+    private MenuSyncChannel.IntSlot activeDevicesSlot;
+    private MenuSyncChannel.FloatSlot networkEfficiencySlot;
+    private MenuSyncChannel.IntSlot energyLossRateSlot;
+    private MenuSyncChannel.IntSlot alertCountSlot;
+    private MenuSyncChannel.IntSlot flagsSlot;
+    private MenuSyncChannel.IntSlot temperatureSlot;
+    private MenuSyncChannel.IntSlot predictedDemandSlot;
+    private MenuSyncChannel.LongSlot timeToOverloadSlot;
+    private MenuSyncChannel.IntArraySlot energyHistorySlot;
+    private MenuSyncChannel.FloatArraySlot efficiencyHistorySlot;
+    private MenuSyncChannel.FloatArraySlot loadHistorySlot;
+
     public EnergyMonitorMenu(int containerId, Inventory playerInventory, FriendlyByteBuf extraData) {
         super(getMenuType(), containerId, playerInventory, extraData);
         this.monitorBlockEntity = (EnergyMonitorBlockEntity) blockEntity;
+        registerSyncSlots();
 
         // No inventory slots needed - this is a monitoring interface only
     }
@@ -24,6 +57,49 @@ public class EnergyMonitorMenu extends BaseEnergyStorageMenu {
     public EnergyMonitorMenu(int containerId, Inventory playerInventory, EnergyMonitorBlockEntity blockEntity) {
         super(getMenuType(), containerId, playerInventory, blockEntity);
         this.monitorBlockEntity = blockEntity;
+        registerSyncSlots();
+    }
+
+    /**
+     * Registers synced values, same order on both sides. Sources are only read on the server.
+     */
+    private void registerSyncSlots() {
+        energyInputSlot = syncChannel.addInt(() -> monitorBlockEntity.getEnergyInput());
+        energyOutputSlot = syncChannel.addInt(() -> monitorBlockEntity.getEnergyOutput());
+        averageUsageSlot = syncChannel.addInt(() -> monitorBlockEntity.getAverageEnergyUsage());
+        peakUsageSlot = syncChannel.addInt(() -> monitorBlockEntity.getPeakEnergyUsage());
+        minUsageSlot = syncChannel.addInt(() -> monitorBlockEntity.getMinEnergyUsage());
+        totalProcessedSlot = syncChannel.addLong(() -> monitorBlockEntity.getTotalEnergyProcessed());
+        systemLoadSlot = syncChannel.addFloat(() -> monitorBlockEntity.getSystemLoadPercentage());
+        connectedDevicesSlot = syncChannel.addInt(() -> monitorBlockEntity.getConnectedDevicesCount());
+        activeDevicesSlot = syncChannel.addInt(() -> monitorBlockEntity.getActiveDevicesCount());
+        networkEfficiencySlot = syncChannel.addFloat(() -> monitorBlockEntity.getNetworkEfficiency());
+        energyLossRateSlot = syncChannel.addInt(() -> monitorBlockEntity.getEnergyLossRate());
+        alertCountSlot = syncChannel.addInt(() -> monitorBlockEntity.getAlertCount());
+        flagsSlot = syncChannel.addInt(this::collectFlags);
+        temperatureSlot = syncChannel.addInt(() -> monitorBlockEntity.getSystemTemperature());
+        predictedDemandSlot = syncChannel.addInt(() -> monitorBlockEntity.getPredictedEnergyDemand());
+        timeToOverloadSlot = syncChannel.addLong(() -> monitorBlockEntity.getEstimatedTimeToOverload());
+        energyHistorySlot = syncChannel.addIntArray(HISTORY_LENGTH, () -> monitorBlockEntity.getEnergyHistory());
+        efficiencyHistorySlot = syncChannel.addFloatArray(HISTORY_LENGTH, () -> monitorBlockEntity.getEfficiencyHistory());
+        loadHistorySlot = syncChannel.addFloatArray(HISTORY_LENGTH, () -> monitorBlockEntity.getLoadHistory());
+    }
+
+    private int collectFlags() {
+        int flags = 0;
+        if (monitorBlockEntity.isSystemOverloaded()) flags |= FLAG_OVERLOADED;
+        if (monitorBlockEntity.isCriticalOverload()) flags |= FLAG_CRITICAL;
+        if (monitorBlockEntity.isEnergyStarved()) flags |= FLAG_STARVED;
+        if (monitorBlockEntity.isSystemStable()) flags |= FLAG_STABLE;
+        if (monitorBlockEntity.isOverheating()) flags |= FLAG_OVERHEATING;
+        if (monitorBlockEntity.isMaintenanceRequired()) flags |= FLAG_MAINTENANCE;
+        if (monitorBlockEntity.isMonitoring()) flags |= FLAG_MONITORING;
+        if (monitorBlockEntity.hasActiveAlerts()) flags |= FLAG_ALERTS;
+        return flags;
+    }
+
+    private boolean hasFlag(int flag) {
+        return (flagsSlot.get() & flag) != 0;
     }
 
     private static MenuType<?> getMenuType() {
@@ -53,11 +129,11 @@ public class EnergyMonitorMenu extends BaseEnergyStorageMenu {
 
     // Energy Flow Monitoring
     public int getEnergyInput() {
-        return monitorBlockEntity != null ? monitorBlockEntity.getEnergyInput() : 0;
+        return energyInputSlot.get();
     }
 
     public int getEnergyOutput() {
-        return monitorBlockEntity != null ? monitorBlockEntity.getEnergyOutput() : 0;
+        return energyOutputSlot.get();
     }
 
     public int getNetEnergyFlow() {
@@ -70,54 +146,54 @@ public class EnergyMonitorMenu extends BaseEnergyStorageMenu {
 
     // Usage Statistics
     public int getAverageEnergyUsage() {
-        return monitorBlockEntity != null ? monitorBlockEntity.getAverageEnergyUsage() : 0;
+        return averageUsageSlot.get();
     }
 
     public int getPeakEnergyUsage() {
-        return monitorBlockEntity != null ? monitorBlockEntity.getPeakEnergyUsage() : 0;
+        return peakUsageSlot.get();
     }
 
     public int getMinEnergyUsage() {
-        return monitorBlockEntity != null ? monitorBlockEntity.getMinEnergyUsage() : 0;
+        return minUsageSlot.get();
     }
 
     public long getTotalEnergyProcessed() {
-        return monitorBlockEntity != null ? monitorBlockEntity.getTotalEnergyProcessed() : 0L;
+        return totalProcessedSlot.get();
     }
 
     // System Health Monitoring
     public boolean isSystemOverloaded() {
-        return monitorBlockEntity != null && monitorBlockEntity.isSystemOverloaded();
+        return hasFlag(FLAG_OVERLOADED);
     }
 
     public float getSystemLoadPercentage() {
-        return monitorBlockEntity != null ? monitorBlockEntity.getSystemLoadPercentage() : 0.0f;
+        return systemLoadSlot.get();
     }
 
     public int getConnectedDevicesCount() {
-        return monitorBlockEntity != null ? monitorBlockEntity.getConnectedDevicesCount() : 0;
+        return connectedDevicesSlot.get();
     }
 
     public int getActiveDevicesCount() {
-        return monitorBlockEntity != null ? monitorBlockEntity.getActiveDevicesCount() : 0;
+        return activeDevicesSlot.get();
     }
 
     // Network Efficiency
     public float getNetworkEfficiency() {
-        return monitorBlockEntity != null ? monitorBlockEntity.getNetworkEfficiency() : 0.0f;
+        return networkEfficiencySlot.get();
     }
 
     public int getEnergyLossRate() {
-        return monitorBlockEntity != null ? monitorBlockEntity.getEnergyLossRate() : 0;
+        return energyLossRateSlot.get();
     }
 
     // Alert System
     public boolean hasActiveAlerts() {
-        return monitorBlockEntity != null && monitorBlockEntity.hasActiveAlerts();
+        return hasFlag(FLAG_ALERTS);
     }
 
     public int getAlertCount() {
-        return monitorBlockEntity != null ? monitorBlockEntity.getAlertCount() : 0;
+        return alertCountSlot.get();
     }
 
     public String[] getActiveAlerts() {
@@ -126,37 +202,37 @@ public class EnergyMonitorMenu extends BaseEnergyStorageMenu {
 
     // Critical System Status
     public boolean isCriticalOverload() {
-        return monitorBlockEntity != null && monitorBlockEntity.isCriticalOverload();
+        return hasFlag(FLAG_CRITICAL);
     }
 
     public boolean isEnergyStarved() {
-        return monitorBlockEntity != null && monitorBlockEntity.isEnergyStarved();
+        return hasFlag(FLAG_STARVED);
     }
 
     public boolean isSystemStable() {
-        return monitorBlockEntity != null && monitorBlockEntity.isSystemStable();
+        return hasFlag(FLAG_STABLE);
     }
 
     // Historical Data (last few measurements)
     public int[] getEnergyHistory() {
-        return monitorBlockEntity != null ? monitorBlockEntity.getEnergyHistory() : new int[0];
+        return energyHistorySlot.get();
     }
 
     public float[] getEfficiencyHistory() {
-        return monitorBlockEntity != null ? monitorBlockEntity.getEfficiencyHistory() : new float[0];
+        return efficiencyHistorySlot.get();
     }
 
     public float[] getLoadHistory() {
-        return monitorBlockEntity != null ? monitorBlockEntity.getLoadHistory() : new float[0];
+        return loadHistorySlot.get();
     }
 
     // Temperature and Performance Monitoring
     public int getSystemTemperature() {
-        return monitorBlockEntity != null ? monitorBlockEntity.getSystemTemperature() : 0;
+        return temperatureSlot.get();
     }
 
     public boolean isOverheating() {
-        return monitorBlockEntity != null && monitorBlockEntity.isOverheating();
+        return hasFlag(FLAG_OVERHEATING);
     }
 
     public float getPerformanceRating() {
@@ -178,15 +254,15 @@ public class EnergyMonitorMenu extends BaseEnergyStorageMenu {
 
     // Predictive Analytics
     public int getPredictedEnergyDemand() {
-        return monitorBlockEntity != null ? monitorBlockEntity.getPredictedEnergyDemand() : 0;
+        return predictedDemandSlot.get();
     }
 
     public long getEstimatedTimeToOverload() {
-        return monitorBlockEntity != null ? monitorBlockEntity.getEstimatedTimeToOverload() : -1L;
+        return timeToOverloadSlot.get();
     }
 
     public boolean isMaintenanceRequired() {
-        return monitorBlockEntity != null && monitorBlockEntity.isMaintenanceRequired();
+        return hasFlag(FLAG_MAINTENANCE);
     }
 
     // Control Methods (for emergency actions)
@@ -255,7 +331,7 @@ public class EnergyMonitorMenu extends BaseEnergyStorageMenu {
 
     // Real-time monitoring status
     public boolean isMonitoring() {
-        return monitorBlockEntity != null && monitorBlockEntity.isMonitoring();
+        return hasFlag(FLAG_MONITORING);
     }
 
     public long getLastUpdateTime() {
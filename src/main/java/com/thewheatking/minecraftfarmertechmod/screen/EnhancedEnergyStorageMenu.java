@@ -1,6 +1,7 @@
 package com.thewheatking.minecraftfarmertechmod.screen;
 
 import com.thewheatking.minecraftfarmertechmod.common.blockentity.storage.EnhancedEnergyStorageBlockEntity;
+import com.thewheatking.minecraftfarmertechmod.common.sync.MenuSyncChannel;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.entity.player.Player;
@@ -14,31 +15,52 @@ import net.minecraft.world.level.block.entity.BlockEntity;
  * Based on TWheatKing's MFT framework patterns (copied from BasicEnergyStorageMenu)
  * Minecraft 1.21 | NeoForge 21.0.167
  */
-public class EnhancedEnergyStorageMenu extends AbstractContainerMenu {
+public class EnhancedEnergyStorageMenu extends AbstractContainerMenu implements MenuSyncChannel.Provider {
     public final EnhancedEnergyStorageBlockEntity blockEntity;
     private final Level level;
-    private final ContainerData data;
+
+    // Full-width sync, 200k FE is past the 16-bit ContainerData limit
+    private final MenuSyncChannel syncChannel;
+    private final MenuSyncChannel.IntSlot energySlot;
+    private final MenuSyncChannel.IntSlot maxEnergySlot;
+    private final MenuSyncChannel.IntSlot inputRateSlot;
+    private final MenuSyncChannel.IntSlot outputRateSlot;
 
     public EnhancedEnergyStorageMenu(int pContainerId, Inventory inv, FriendlyByteBuf extraData) {
-        this(pContainerId, inv, inv.player.level().getBlockEntity(extraData.readBlockPos()), new SimpleContainerData(4));
+        this(pContainerId, inv, inv.player.level().getBlockEntity(extraData.readBlockPos()));
     }
 
-    public EnhancedEnergyStorageMenu(int pContainerId, Inventory inv, BlockEntity entity, ContainerData data) {
+    public EnhancedEnergyStorageMenu(int pContainerId, Inventory inv, BlockEntity entity) {
         super(ModMenuTypes.ENHANCED_ENERGY_STORAGE_MENU.get(), pContainerId);
         blockEntity = ((EnhancedEnergyStorageBlockEntity) entity);
         this.level = inv.player.level();
-        this.data = data;
 
         addPlayerInventory(inv);
         addPlayerHotbar(inv);
-        addDataSlots(data);
+
+        this.syncChannel = new MenuSyncChannel(this, inv.player);
+        this.energySlot = syncChannel.addInt(blockEntity::getCurrentEnergy);
+        this.maxEnergySlot = syncChannel.addInt(blockEntity::getMaxEnergy);
+        this.inputRateSlot = syncChannel.addInt(blockEntity::getEnergyInputRate);
+        this.outputRateSlot = syncChannel.addInt(blockEntity::getEnergyOutputRate);
+    }
+
+    @Override
+    public MenuSyncChannel getSyncChannel() {
+        return syncChannel;
+    }
+
+    @Override
+    public void broadcastChanges() {
+        super.broadcastChanges();
+        syncChannel.broadcast();
     }
 
     // Energy status methods (same as Basic, just different capacity values)
-    public boolean isActive() { return data.get(0) > 0; }
-    public int getCurrentEnergy() { return data.get(0); }
-    public int getMaxEnergy() { return data.get(1); }
-    public int getPreviousEnergy() { return data.get(2); }
+    public boolean isActive() { return getCurrentEnergy() > 0; }
+    public int getCurrentEnergy() { return energySlot.get(); }
+    public int getMaxEnergy() { return maxEnergySlot.get(); }
+    public int getPreviousEnergy() { return getCurrentEnergy() - inputRateSlot.get() + outputRateSlot.get(); }
 
     public float getEnergyPercentage() {
         int max = getMaxEnergy();
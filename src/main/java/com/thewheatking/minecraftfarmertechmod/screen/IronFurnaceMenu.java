@@ -1,6 +1,7 @@
 package com.thewheatking.minecraftfarmertechmod.screen;
 
 import com.thewheatking.minecraftfarmertechmod.block.entity.IronFurnaceBlockEntity;
+import com.thewheatking.minecraftfarmertechmod.common.sync.MenuSyncChannel;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.entity.player.Player;
@@ -10,21 +11,31 @@ import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.neoforged.neoforge.items.SlotItemHandler;
 
-public class IronFurnaceMenu extends AbstractContainerMenu {
+public class IronFurnaceMenu extends AbstractContainerMenu implements MenuSyncChannel.Provider {
     public final IronFurnaceBlockEntity blockEntity;
     private final Level level;
-    private final ContainerData data;
+
+    private final MenuSyncChannel syncChannel;
+    private final MenuSyncChannel.IntSlot progressSlot;
+    private final MenuSyncChannel.IntSlot maxProgressSlot;
+    private final MenuSyncChannel.IntSlot fuelTimeSlot;
+    private final MenuSyncChannel.IntSlot maxFuelTimeSlot;
 
     public IronFurnaceMenu(int pContainerId, Inventory inv, FriendlyByteBuf extraData) {
-        this(pContainerId, inv, inv.player.level().getBlockEntity(extraData.readBlockPos()), new SimpleContainerData(4));
+        this(pContainerId, inv, inv.player.level().getBlockEntity(extraData.readBlockPos()));
     }
 
-    public IronFurnaceMenu(int pContainerId, Inventory inv, BlockEntity entity, ContainerData data) {
+    public IronFurnaceMenu(int pContainerId, Inventory inv, BlockEntity entity) {
         super(ModMenuTypes.IRON_FURNACE_MENU.get(), pContainerId);
         checkContainerSize(inv, 4);
         blockEntity = ((IronFurnaceBlockEntity) entity);
         this.level = inv.player.level();
-        this.data = data;
+
+        this.syncChannel = new MenuSyncChannel(this, inv.player);
+        this.progressSlot = syncChannel.addInt(blockEntity::getProgress);
+        this.maxProgressSlot = syncChannel.addInt(blockEntity::getMaxProgress);
+        this.fuelTimeSlot = syncChannel.addInt(blockEntity::getFuelTime);
+        this.maxFuelTimeSlot = syncChannel.addInt(blockEntity::getMaxFuelTime);
 
         addPlayerInventory(inv);
         addPlayerHotbar(inv);
@@ -34,29 +45,38 @@ public class IronFurnaceMenu extends AbstractContainerMenu {
         this.addSlot(new SlotItemHandler(blockEntity.getItemHandler(), 1, 56, 53)); // Fuel slot
         this.addSlot(new SlotItemHandler(blockEntity.getItemHandler(), 2, 116, 35)); // Output slot 1
         this.addSlot(new SlotItemHandler(blockEntity.getItemHandler(), 3, 116, 59)); // Output slot 2
+    }
 
-        addDataSlots(data);
+    @Override
+    public MenuSyncChannel getSyncChannel() {
+        return syncChannel;
+    }
+
+    @Override
+    public void broadcastChanges() {
+        super.broadcastChanges();
+        syncChannel.broadcast();
     }
 
     public boolean isCrafting() {
-        return data.get(0) > 0;
+        return progressSlot.get() > 0;
     }
 
     public boolean hasFuel() {
-        return data.get(2) > 0;
+        return fuelTimeSlot.get() > 0;
     }
 
     public int getScaledProgress() {
-        int progress = this.data.get(0);
-        int maxProgress = this.data.get(1);
+        int progress = progressSlot.get();
+        int maxProgress = maxProgressSlot.get();
         int progressArrowSize = 24; // This is the width of the arrow
 
         return maxProgress != 0 && progress != 0 ? progress * progressArrowSize / maxProgress : 0;
     }
 
     public int getScaledFuelProgress() {
-        int fuelProgress = this.data.get(2); // Current fuel time remaining
-        int maxFuelProgress = this.data.get(3); // Max fuel time
+        int fuelProgress = fuelTimeSlot.get(); // Current fuel time remaining
+        int maxFuelProgress = maxFuelTimeSlot.get(); // Max fuel time
         int fuelProgressSize = 14; // Height of the fire icon
 
         // Fixed: Show fire height based on remaining fuel (not burned fuel)
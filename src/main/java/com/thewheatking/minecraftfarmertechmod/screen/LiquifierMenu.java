@@ -1,35 +1,48 @@
 package com.thewheatking.minecraftfarmertechmod.screen;
 
 import com.thewheatking.minecraftfarmertechmod.block.entity.LiquifierBlockEntity;
+import com.thewheatking.minecraftfarmertechmod.common.sync.MenuSyncChannel;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.AbstractContainerMenu;
-import net.minecraft.world.inventory.ContainerData;
 import net.minecraft.world.inventory.ContainerLevelAccess;
-import net.minecraft.world.inventory.SimpleContainerData;
 import net.minecraft.world.inventory.Slot;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.neoforged.neoforge.items.SlotItemHandler;
 
-public class LiquifierMenu extends AbstractContainerMenu {
+public class LiquifierMenu extends AbstractContainerMenu implements MenuSyncChannel.Provider {
     public final LiquifierBlockEntity blockEntity;
     private final Level level;
-    private final ContainerData data;
+
+    // Full-width sync, tank and energy amounts go past the 16-bit ContainerData limit
+    private final MenuSyncChannel syncChannel;
+    private final MenuSyncChannel.IntSlot progressSlot;
+    private final MenuSyncChannel.IntSlot maxProgressSlot;
+    private final MenuSyncChannel.IntSlot waterSlot;
+    private final MenuSyncChannel.IntSlot bioFuelSlot;
+    private final MenuSyncChannel.IntSlot energySlot;
+    private final MenuSyncChannel.IntSlot maxEnergySlot;
 
     public LiquifierMenu(int pContainerId, Inventory inv, FriendlyByteBuf extraData) {
-        this(pContainerId, inv, inv.player.level().getBlockEntity(extraData.readBlockPos()), new SimpleContainerData(6));
+        this(pContainerId, inv, inv.player.level().getBlockEntity(extraData.readBlockPos()));
     }
 
-    public LiquifierMenu(int pContainerId, Inventory inv, BlockEntity entity, ContainerData data) {
+    public LiquifierMenu(int pContainerId, Inventory inv, BlockEntity entity) {
         super(ModMenuTypes.LIQUIFIER_MENU.get(), pContainerId);
-        checkContainerSize(inv, 4);
-        checkContainerDataCount(data, 6); // Updated to 6 for energy data
+        checkContainerSize(inv, LiquifierBlockEntity.SLOT_COUNT);
         blockEntity = ((LiquifierBlockEntity) entity);
         this.level = inv.player.level();
-        this.data = data;
+
+        this.syncChannel = new MenuSyncChannel(this, inv.player);
+        this.progressSlot = syncChannel.addInt(blockEntity::getProgress);
+        this.maxProgressSlot = syncChannel.addInt(blockEntity::getMaxProgress);
+        this.waterSlot = syncChannel.addInt(blockEntity::getWaterAmount);
+        this.bioFuelSlot = syncChannel.addInt(blockEntity::getBioFuelAmount);
+        this.energySlot = syncChannel.addInt(blockEntity::getEnergyStored);
+        this.maxEnergySlot = syncChannel.addInt(blockEntity::getMaxEnergyStored);
 
         addPlayerInventory(inv);
         addPlayerHotbar(inv);
@@ -39,36 +52,51 @@ public class LiquifierMenu extends AbstractContainerMenu {
         this.addSlot(new SlotItemHandler(blockEntity.getItemHandler(), 1, 8, 53));  // Water bucket input
         this.addSlot(new SlotItemHandler(blockEntity.getItemHandler(), 2, 152, 53)); // Empty bucket input
         this.addSlot(new SlotItemHandler(blockEntity.getItemHandler(), 3, 116, 35)); // Bio fuel output
+        this.addSlot(new SlotItemHandler(blockEntity.getItemHandler(), 4, 134, 17)); // Speed upgrades
+        this.addSlot(new SlotItemHandler(blockEntity.getItemHandler(), 5, 152, 17)); // Efficiency upgrades
+    }
 
-        addDataSlots(data);
+    @Override
+    public MenuSyncChannel getSyncChannel() {
+        return syncChannel;
+    }
+
+    @Override
+    public void broadcastChanges() {
+        super.broadcastChanges();
+        syncChannel.broadcast();
     }
 
     public boolean isCrafting() {
-        return data.get(0) > 0;
+        return progressSlot.get() > 0;
     }
 
     public int getScaledProgress() {
-        int progress = this.data.get(0);
-        int maxProgress = this.data.get(1);
+        int progress = progressSlot.get();
+        int maxProgress = maxProgressSlot.get();
         int progressArrowWidth = 22; // Width of the progress arrow in the GUI texture
 
         return maxProgress != 0 && progress != 0 ? progress * progressArrowWidth / maxProgress : 0;
     }
 
     public int getWaterAmount() {
-        return data.get(2);
+        return waterSlot.get();
     }
 
     public int getBioFuelAmount() {
-        return data.get(3);
+        return bioFuelSlot.get();
     }
 
     public int getEnergyAmount() {
-        return data.get(4);
+        return energySlot.get();
     }
 
     public int getMaxEnergyAmount() {
-        return data.get(5);
+        return maxEnergySlot.get();
+    }
+
+    public boolean isMachineSlotEmpty(int slot) {
+        return slots.get(TE_INVENTORY_FIRST_SLOT_INDEX + slot).getItem().isEmpty();
     }
 
     public int getScaledWaterLevel() {
@@ -108,7 +136,7 @@ public class LiquifierMenu extends AbstractContainerMenu {
     private static final int VANILLA_SLOT_COUNT = HOTBAR_SLOT_COUNT + PLAYER_INVENTORY_SLOT_COUNT;
     private static final int VANILLA_FIRST_SLOT_INDEX = 0;
     private static final int TE_INVENTORY_FIRST_SLOT_INDEX = VANILLA_FIRST_SLOT_INDEX + VANILLA_SLOT_COUNT;
-    private static final int TE_INVENTORY_SLOT_COUNT = 4;
+    private static final int TE_INVENTORY_SLOT_COUNT = LiquifierBlockEntity.SLOT_COUNT;
 
     @Override
     public ItemStack quickMoveStack(Player playerIn, int pIndex) {
@@ -1,11 +1,15 @@
 package com.thewheatking.minecraftfarmertechmod.screen;
 
 import com.thewheatking.minecraftfarmertechmod.MinecraftFarmerTechMod;
+import com.thewheatking.minecraftfarmertechmod.block.entity.LiquifierBlockEntity;
+import com.thewheatking.minecraftfarmertechmod.hybrid.HybridItems;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.screens.inventory.AbstractContainerScreen;
+import net.minecraft.client.renderer.RenderType;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.item.ItemStack;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -37,6 +41,22 @@ public class LiquifierScreen extends AbstractContainerScreen<LiquifierMenu> {
         renderWaterBar(guiGraphics, x, y);
         renderBioFuelBar(guiGraphics, x, y);
         renderProgressArrow(guiGraphics, x, y);
+        renderUpgradeSlot(guiGraphics, x + 134, y + 17, LiquifierBlockEntity.SPEED_UPGRADE_SLOT, new ItemStack(HybridItems.SPEED_UPGRADE.get()));
+        renderUpgradeSlot(guiGraphics, x + 152, y + 17, LiquifierBlockEntity.EFFICIENCY_UPGRADE_SLOT, new ItemStack(HybridItems.EFFICIENCY_UPGRADE.get()));
+    }
+
+    /**
+     * The GUI texture has no upgrade slots, so draw a vanilla-style slot with a ghost of the upgrade it takes
+     */
+    private void renderUpgradeSlot(GuiGraphics guiGraphics, int slotX, int slotY, int slot, ItemStack ghost) {
+        guiGraphics.fill(slotX - 1, slotY - 1, slotX + 17, slotY + 17, 0xFF373737); // Shadow, top and left
+        guiGraphics.fill(slotX, slotY, slotX + 17, slotY + 17, 0xFFFFFFFF);         // Highlight, bottom and right
+        guiGraphics.fill(slotX, slotY, slotX + 16, slotY + 16, 0xFF8B8B8B);         // Slot face
+
+        if (menu.isMachineSlotEmpty(slot)) {
+            guiGraphics.renderFakeItem(ghost, slotX, slotY);
+            guiGraphics.fill(RenderType.guiGhostRecipeOverlay(), slotX, slotY, slotX + 16, slotY + 16, 0x308B8B8B);
+        }
     }
 
     private void renderEnergyBar(GuiGraphics guiGraphics, int x, int y) {
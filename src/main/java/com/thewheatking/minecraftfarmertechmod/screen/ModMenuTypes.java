@@ -125,11 +125,6 @@ public class ModMenuTypes {
                     IMenuTypeExtension.create((containerId, inventory, data) ->
                             new EnergyAnalyzerMenu(containerId, inventory, data)));
 
-    public static final DeferredHolder<MenuType<?>, MenuType<NetworkDashboardMenu>> NETWORK_DASHBOARD_MENU =
-            MENUS.register("network_dashboard_menu", () ->
-                    IMenuTypeExtension.create((containerId, inventory, data) ->
-                            new NetworkDashboardMenu(containerId, inventory, data)));
-
     public static final DeferredHolder<MenuType<?>, MenuType<HybridMenuTypes.HybridConfiguratorMenu>> HYBRID_CONFIGURATOR_MENU =
             MENUS.register("hybrid_configurator_menu", () ->
                     IMenuTypeExtension.create((containerId, inventory, data) ->
@@ -1,12 +1,12 @@
 package com.thewheatking.minecraftfarmertechmod.screen;
 
+import com.thewheatking.minecraftfarmertechmod.common.blockentity.base.BaseMachineBlockEntity;
+import com.thewheatking.minecraftfarmertechmod.common.sync.MenuSyncChannel;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.AbstractContainerMenu;
-import net.minecraft.world.inventory.ContainerData;
 import net.minecraft.world.inventory.ContainerLevelAccess;
-import net.minecraft.world.inventory.SimpleContainerData;
 import net.minecraft.world.inventory.Slot;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
@@ -17,34 +17,50 @@ import net.minecraft.world.level.block.entity.BlockEntity;
  * Based on TWheatKing's MFT framework patterns
  * Minecraft 1.21 | NeoForge 21.0.167
  */
-public class NetworkAmplifierMenu extends AbstractContainerMenu {
+public class NetworkAmplifierMenu extends AbstractContainerMenu implements MenuSyncChannel.Provider {
     public final BlockEntity blockEntity;
     private final Level level;
-    private final ContainerData data;
+
+    private final MenuSyncChannel syncChannel;
+    private final MenuSyncChannel.IntSlot activeSlot;
+    private final MenuSyncChannel.IntSlot energySlot;
+    private final MenuSyncChannel.IntSlot maxEnergySlot;
 
     public NetworkAmplifierMenu(int containerId, Inventory playerInventory, FriendlyByteBuf extraData) {
-        this(containerId, playerInventory, playerInventory.player.level().getBlockEntity(extraData.readBlockPos()),
-                new SimpleContainerData(4));
+        this(containerId, playerInventory, playerInventory.player.level().getBlockEntity(extraData.readBlockPos()));
     }
 
-    public NetworkAmplifierMenu(int containerId, Inventory playerInventory, BlockEntity entity, ContainerData data) {
-        super(ModMenuTypes.MENUS.get().get(), containerId);
-        checkContainerDataCount(data, 4);
+    public NetworkAmplifierMenu(int containerId, Inventory playerInventory, BlockEntity entity) {
+        super(ModMenuTypes.NETWORK_AMPLIFIER_MENU.get(), containerId);
         this.blockEntity = entity;
         this.level = playerInventory.player.level();
-        this.data = data;
 
         addPlayerInventory(playerInventory);
         addPlayerHotbar(playerInventory);
-        addDataSlots(data);
+
+        BaseMachineBlockEntity machine = entity instanceof BaseMachineBlockEntity baseMachine ? baseMachine : null;
+        this.syncChannel = new MenuSyncChannel(this, playerInventory.player);
+        this.activeSlot = syncChannel.addInt(() -> machine != null && machine.isActive() ? 1 : 0);
+        this.energySlot = syncChannel.addInt(() -> machine != null ? machine.getEnergyStorage(null).getEnergyStored() : 0);
+        this.maxEnergySlot = syncChannel.addInt(() -> machine != null ? machine.getEnergyStorage(null).getMaxEnergyStored() : 0);
+    }
+
+    @Override
+    public MenuSyncChannel getSyncChannel() {
+        return syncChannel;
+    }
+
+    @Override
+    public void broadcastChanges() {
+        super.broadcastChanges();
+        syncChannel.broadcast();
     }
 
-    public boolean isAmplifying() { return data.get(0) > 0; }
-    public int getAmplificationLevel() { return data.get(1); }
+    public boolean isAmplifying() { return activeSlot.get() > 0; }
     public int getScaledEnergyLevel() {
-        int energy = this.data.get(2);
-        int maxEnergy = this.data.get(3);
-        return maxEnergy != 0 ? energy * 52 / maxEnergy : 0;
+        int energy = energySlot.get();
+        int maxEnergy = maxEnergySlot.get();
+        return maxEnergy != 0 ? (int) ((long) energy * 52 / maxEnergy) : 0;
     }
 
     private void addPlayerInventory(Inventory playerInventory) {
@@ -71,4 +87,4 @@ public class NetworkAmplifierMenu extends AbstractContainerMenu {
         return stillValid(ContainerLevelAccess.create(level, blockEntity.getBlockPos()),
                 player, level.getBlockState(blockEntity.getBlockPos()).getBlock());
     }
-}
\ No newline at end of file
+}
@@ -1,46 +0,0 @@
-package com.thewheatking.minecraftfarmertechmod.screen;
-
-import com.thewheatking.minecraftfarmertechmod.menu.base.BaseEnergyStorageMenu;
-import com.thewheatking.minecraftfarmertechmod.common.blockentity.machines.NetworkDashboardBlockEntity;
-import net.minecraft.network.FriendlyByteBuf;
-import net.minecraft.world.entity.player.Inventory;
-import net.minecraft.world.entity.player.Player;
-import net.minecraft.world.inventory.MenuType;
-import net.minecraft.world.item.ItemStack;
-
-public class NetworkDashboardMenu extends BaseEnergyStorageMenu {
-
-    private final NetworkDashboardBlockEntity dashboardBlockEntity;
-
-    public NetworkDashboardMenu(int containerId, Inventory playerInventory, FriendlyByteBuf extraData) {
-        super(getMenuType(), containerId, playerInventory, extraData);
-        this.dashboardBlockEntity = (NetworkDashboardBlockEntity) blockEntity;
-    }
-
-    public NetworkDashboardMenu(int containerId, Inventory playerInventory, NetworkDashboardBlockEntity blockEntity) {
-        super(getMenuType(), containerId, playerInventory, blockEntity);
-        this.dashboardBlockEntity = blockEntity;
-    }
-
-    private static MenuType<?> getMenuType() {
-        return null;
-    }
-
-    @Override
-    public ItemStack quickMoveStack(Player player, int index) {
-        return ItemStack.EMPTY;
-    }
-
-    @Override
-    public boolean stillValid(Player player) {
-        return dashboardBlockEntity != null &&
-                !dashboardBlockEntity.isRemoved() &&
-                player.distanceToSqr(dashboardBlockEntity.getBlockPos().getX() + 0.5D,
-                        dashboardBlockEntity.getBlockPos().getY() + 0.5D,
-                        dashboardBlockEntity.getBlockPos().getZ() + 0.5D) <= 64.0D;
-    }
-
-    public NetworkDashboardBlockEntity getDashboardBlockEntity() {
-        return dashboardBlockEntity;
-    }
-}
\ No newline at end of file
@@ -1,15 +1,181 @@
 package com.thewheatking.minecraftfarmertechmod.screen;
+
 import com.thewheatking.minecraftfarmertechmod.MinecraftFarmerTechMod;
+import com.thewheatking.minecraftfarmertechmod.common.blockentity.machines.NetworkDashboardBlockEntity.DeviceType;
+import com.thewheatking.minecraftfarmertechmod.common.sync.DashboardTopologyChannel;
+import com.thewheatking.minecraftfarmertechmod.common.sync.TopologyLayoutCache;
+import com.thewheatking.minecraftfarmertechmod.hybrid.HybridMenuTypes;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.screens.inventory.AbstractContainerScreen;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.Mth;
 import net.minecraft.world.entity.player.Inventory;
 
-public class NetworkDashboardScreen extends AbstractContainerScreen<NetworkDashboardMenu> {
+import java.util.List;
+
+/**
+ * Network Dashboard screen, draws the device map streamed by the menu's topology channel
+ */
+public class NetworkDashboardScreen extends AbstractContainerScreen<HybridMenuTypes.NetworkDashboardMenu> {
     private static final ResourceLocation TEXTURE = ResourceLocation.fromNamespaceAndPath(MinecraftFarmerTechMod.MOD_ID, "textures/gui/network_dashboard_gui.png");
-    public NetworkDashboardScreen(NetworkDashboardMenu menu, Inventory playerInventory, Component title) { super(menu, playerInventory, title); }
-    @Override protected void init() { super.init(); this.titleLabelX = (this.imageWidth - this.font.width(this.title)) / 2; this.titleLabelY = 6; this.inventoryLabelY = this.imageHeight - 94; }
-    @Override protected void renderBg(GuiGraphics guiGraphics, float partialTick, int mouseX, int mouseY) { int x = (width - imageWidth) / 2; int y = (height - imageHeight) / 2; guiGraphics.blit(TEXTURE, x, y, 0, 0, imageWidth, imageHeight); }
-    @Override public void render(GuiGraphics guiGraphics, int mouseX, int mouseY, float delta) { renderBackground(guiGraphics, mouseX, mouseY, delta); super.render(guiGraphics, mouseX, mouseY, delta); renderTooltip(guiGraphics, mouseX, mouseY); }
-}
\ No newline at end of file
+
+    // Map area, above the player inventory
+    private static final int MAP_X = 8;
+    private static final int MAP_Y = 18;
+    private static final int MAP_WIDTH = 160;
+    private static final int MAP_HEIGHT = 60;
+    private static final int NODE_SIZE = 4;
+
+    private static final float MIN_ZOOM = 0.1f;
+    private static final float MAX_ZOOM = 3.0f;
+
+    // Map pixels at the centre of the view, and screen pixels per map pixel
+    private double panX = 0;
+    private double panY = 0;
+    private float zoom = 0.5f;
+
+    public NetworkDashboardScreen(HybridMenuTypes.NetworkDashboardMenu menu, Inventory playerInventory, Component title) {
+        super(menu, playerInventory, title);
+    }
+
+    @Override
+    protected void init() {
+        super.init();
+        this.titleLabelX = (this.imageWidth - this.font.width(this.title)) / 2;
+        this.titleLabelY = 6;
+        this.inventoryLabelY = this.imageHeight - 94;
+    }
+
+    @Override
+    protected void containerTick() {
+        super.containerTick();
+        // Only sends when the set of visible nodes changed
+        int halfWidth = (int) Math.ceil(MAP_WIDTH / 2.0 / zoom);
+        int halfHeight = (int) Math.ceil(MAP_HEIGHT / 2.0 / zoom);
+        menu.getTopologyChannel().updateViewport((int) panX - halfWidth, (int) panY - halfHeight,
+                (int) panX + halfWidth, (int) panY + halfHeight);
+    }
+
+    @Override
+    protected void renderBg(GuiGraphics guiGraphics, float partialTick, int mouseX, int mouseY) {
+        int x = (width - imageWidth) / 2;
+        int y = (height - imageHeight) / 2;
+        guiGraphics.blit(TEXTURE, x, y, 0, 0, imageWidth, imageHeight);
+        renderMap(guiGraphics, x + MAP_X, y + MAP_Y);
+    }
+
+    private void renderMap(GuiGraphics guiGraphics, int left, int top) {
+        guiGraphics.fill(left, top, left + MAP_WIDTH, top + MAP_HEIGHT, 0xFF101418);
+        guiGraphics.enableScissor(left, top, left + MAP_WIDTH, top + MAP_HEIGHT);
+
+        DashboardTopologyChannel channel = menu.getTopologyChannel();
+        TopologyLayoutCache layout = channel.getLayout();
+        for (DashboardTopologyChannel.Node node : channel.getNodes()) {
+            TopologyLayoutCache.Slot slot = layout.getSlot(node.id());
+            if (slot == null) continue;
+
+            int nodeX = left + toScreenX(slot.x());
+            int nodeY = top + toScreenY(slot.y());
+            if (nodeX + NODE_SIZE < left || nodeX > left + MAP_WIDTH || nodeY + NODE_SIZE < top || nodeY > top + MAP_HEIGHT) {
+                continue;
+            }
+
+            DashboardTopologyChannel.NodeStats stats = channel.getStats(node.id());
+            if (stats != null && stats.isOverloaded()) {
+                guiGraphics.fill(nodeX - 1, nodeY - 1, nodeX + NODE_SIZE + 1, nodeY + NODE_SIZE + 1, 0xFFFF3030);
+            }
+            int color = colorOf(node.type());
+            if (stats != null && !stats.isActive()) {
+                color = (color & 0x00FFFFFF) | 0x80000000; // Idle devices are drawn faded
+            }
+            guiGraphics.fill(nodeX, nodeY, nodeX + NODE_SIZE, nodeY + NODE_SIZE, color);
+        }
+
+        guiGraphics.disableScissor();
+    }
+
+    private int toScreenX(int mapX) {
+        return (int) Math.round((mapX - panX) * zoom) + MAP_WIDTH / 2 - NODE_SIZE / 2;
+    }
+
+    private int toScreenY(int mapY) {
+        return (int) Math.round((mapY - panY) * zoom) + MAP_HEIGHT / 2 - NODE_SIZE / 2;
+    }
+
+    private static int colorOf(DeviceType type) {
+        return switch (type) {
+            case CABLE -> 0xFF808080;
+            case STORAGE -> 0xFF3070FF;
+            case GENERATOR -> 0xFFFFC030;
+            case CONTROLLER -> 0xFFB050FF;
+            case CONVERTER -> 0xFF30D0D0;
+            case MACHINE -> 0xFF40D040;
+        };
+    }
+
+    @Override
+    protected void renderLabels(GuiGraphics guiGraphics, int mouseX, int mouseY) {
+        super.renderLabels(guiGraphics, mouseX, mouseY);
+        DashboardTopologyChannel channel = menu.getTopologyChannel();
+        String status = channel.isComplete() ? String.valueOf(channel.getNodes().size()) : "...";
+        guiGraphics.drawString(this.font, status, imageWidth - 8 - this.font.width(status), inventoryLabelY, 0x404040, false);
+    }
+
+    @Override
+    protected void renderTooltip(GuiGraphics guiGraphics, int mouseX, int mouseY) {
+        super.renderTooltip(guiGraphics, mouseX, mouseY);
+        if (!isOverMap(mouseX, mouseY)) return;
+
+        int left = leftPos + MAP_X;
+        int top = topPos + MAP_Y;
+        DashboardTopologyChannel channel = menu.getTopologyChannel();
+        for (DashboardTopologyChannel.Node node : channel.getNodes()) {
+            TopologyLayoutCache.Slot slot = channel.getLayout().getSlot(node.id());
+            if (slot == null) continue;
+
+            int nodeX = left + toScreenX(slot.x());
+            int nodeY = top + toScreenY(slot.y());
+            if (mouseX >= nodeX && mouseX < nodeX + NODE_SIZE && mouseY >= nodeY && mouseY < nodeY + NODE_SIZE) {
+                DashboardTopologyChannel.NodeStats stats = channel.getStats(node.id());
+                List<Component> lines = stats == null
+                        ? List.of(Component.literal(node.type().name()), Component.literal(node.position().toShortString()))
+                        : List.of(Component.literal(node.type().name()), Component.literal(node.position().toShortString()),
+                        Component.literal(stats.energyStored() + " / " + stats.maxEnergyStored() + " FE"));
+                guiGraphics.renderComponentTooltip(this.font, lines, mouseX, mouseY);
+                return;
+            }
+        }
+    }
+
+    private boolean isOverMap(double mouseX, double mouseY) {
+        return mouseX >= leftPos + MAP_X && mouseX < leftPos + MAP_X + MAP_WIDTH
+                && mouseY >= topPos + MAP_Y && mouseY < topPos + MAP_Y + MAP_HEIGHT;
+    }
+
+    @Override
+    public boolean mouseDragged(double mouseX, double mouseY, int button, double dragX, double dragY) {
+        if (button == 0 && isOverMap(mouseX, mouseY)) {
+            panX -= dragX / zoom;
+            panY -= dragY / zoom;
+            return true;
+        }
+        return super.mouseDragged(mouseX, mouseY, button, dragX, dragY);
+    }
+
+    @Override
+    public boolean mouseScrolled(double mouseX, double mouseY, double scrollX, double scrollY) {
+        if (isOverMap(mouseX, mouseY)) {
+            zoom = Mth.clamp(zoom * (scrollY > 0 ? 1.25f : 0.8f), MIN_ZOOM, MAX_ZOOM);
+            return true;
+        }
+        return super.mouseScrolled(mouseX, mouseY, scrollX, scrollY);
+    }
+
+    @Override
+    public void render(GuiGraphics guiGraphics, int mouseX, int mouseY, float delta) {
+        renderBackground(guiGraphics, mouseX, mouseY, delta);
+        super.render(guiGraphics, mouseX, mouseY, delta);
+        renderTooltip(guiGraphics, mouseX, mouseY);
+    }
+}
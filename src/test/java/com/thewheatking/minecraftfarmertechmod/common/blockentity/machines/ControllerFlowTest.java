@@ -0,0 +1,115 @@
+package com.thewheatking.minecraftfarmertechmod.common.blockentity.machines;
+
+import com.thewheatking.minecraftfarmertechmod.config.SideConfig;
+import net.minecraft.core.Direction;
+import net.neoforged.neoforge.energy.EnergyStorage;
+import net.neoforged.neoforge.energy.IEnergyStorage;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ControllerFlowTest {
+
+    /**
+     * Energy comes in from the north and leaves below, the other sides are closed
+     */
+    private static SideConfig northToDown() {
+        SideConfig config = new SideConfig();
+        config.setSideMode(Direction.NORTH, SideConfig.SideMode.ENERGY_INPUT);
+        config.setSideMode(Direction.DOWN, SideConfig.SideMode.ENERGY_OUTPUT);
+        return config;
+    }
+
+    private static Map<Direction, IEnergyStorage> neighbours(int energy) {
+        Map<Direction, IEnergyStorage> neighbours = new EnumMap<>(Direction.class);
+        for (Direction direction : Direction.values()) {
+            neighbours.put(direction, new EnergyStorage(10000, 10000, 10000, energy));
+        }
+        return neighbours;
+    }
+
+    @Test
+    void pushesOnlyLeaveByOutputSides() {
+        ControllerFlow flow = new ControllerFlow();
+        Map<Direction, IEnergyStorage> neighbours = neighbours(0);
+
+        assertEquals(400, flow.transfer(0L, 1000, northToDown(), Map.of(), neighbours::get, Direction.NORTH, 400, false, false));
+        assertEquals(400, neighbours.get(Direction.DOWN).getEnergyStored());
+        assertEquals(0, neighbours.get(Direction.NORTH).getEnergyStored());
+        assertEquals(0, neighbours.get(Direction.UP).getEnergyStored());
+    }
+
+    @Test
+    void wrongWayTransfersAreRefused() {
+        ControllerFlow flow = new ControllerFlow();
+        Map<Direction, IEnergyStorage> neighbours = neighbours(500);
+
+        // Pushing into the output side, or pulling out through the input side, would pass energy back
+        assertEquals(0, flow.transfer(0L, 1000, northToDown(), Map.of(), neighbours::get, Direction.DOWN, 400, false, false));
+        assertEquals(0, flow.transfer(0L, 1000, northToDown(), Map.of(), neighbours::get, Direction.NORTH, 400, true, false));
+        // Closed sides take part in neither direction
+        assertEquals(0, flow.transfer(0L, 1000, northToDown(), Map.of(), neighbours::get, Direction.EAST, 400, false, false));
+    }
+
+    @Test
+    void pullsDrawFromInputSides() {
+        ControllerFlow flow = new ControllerFlow();
+        Map<Direction, IEnergyStorage> neighbours = neighbours(500);
+
+        assertEquals(300, flow.transfer(0L, 1000, northToDown(), Map.of(), neighbours::get, Direction.DOWN, 300, true, false));
+        assertEquals(200, neighbours.get(Direction.NORTH).getEnergyStored());
+        assertEquals(500, neighbours.get(Direction.UP).getEnergyStored());
+    }
+
+    @Test
+    void budgetIsClampedPerTick() {
+        ControllerFlow flow = new ControllerFlow();
+        Map<Direction, IEnergyStorage> neighbours = neighbours(0);
+        SideConfig config = northToDown();
+
+        assertEquals(200, flow.transfer(5L, 300, config, Map.of(), neighbours::get, Direction.NORTH, 200, false, false));
+        assertEquals(100, flow.transfer(5L, 300, config, Map.of(), neighbours::get, Direction.NORTH, 200, false, false));
+        assertEquals(0, flow.transfer(5L, 300, config, Map.of(), neighbours::get, Direction.NORTH, 200, false, false));
+        assertEquals(0, flow.remainingBudget(5L, 300));
+
+        // The next tick starts from a full budget and reports what the last one passed
+        assertEquals(300, flow.getFlowLastTick(6L));
+        assertEquals(300, flow.remainingBudget(6L, 300));
+        assertEquals(300, flow.getFlowLastTick(6L));
+        assertEquals(0, flow.getFlowLastTick(8L));
+    }
+
+    @Test
+    void simulatedTransfersSpendNoBudget() {
+        ControllerFlow flow = new ControllerFlow();
+        Map<Direction, IEnergyStorage> neighbours = neighbours(0);
+
+        assertEquals(300, flow.transfer(0L, 300, northToDown(), Map.of(), neighbours::get, Direction.NORTH, 500, false, true));
+        assertEquals(300, flow.remainingBudget(0L, 300));
+        assertEquals(0, neighbours.get(Direction.DOWN).getEnergyStored());
+    }
+
+    @Test
+    void energyIsNotPassedBackIntoItsOwnNetwork() {
+        ControllerFlow flow = new ControllerFlow();
+        Map<Direction, IEnergyStorage> neighbours = neighbours(0);
+        Object network = new Object();
+        Object otherNetwork = new Object();
+
+        Map<Direction, Object> sameOnBothSides = Map.of(Direction.NORTH, network, Direction.DOWN, network);
+        assertTrue(ControllerFlow.sameNetwork(sameOnBothSides, Direction.NORTH, Direction.DOWN));
+        assertEquals(0, flow.transfer(0L, 1000, northToDown(), sameOnBothSides, neighbours::get, Direction.NORTH, 400, false, false));
+
+        Map<Direction, Object> separate = Map.of(Direction.NORTH, network, Direction.DOWN, otherNetwork);
+        assertFalse(ControllerFlow.sameNetwork(separate, Direction.NORTH, Direction.DOWN));
+        assertEquals(400, flow.transfer(0L, 1000, northToDown(), separate, neighbours::get, Direction.NORTH, 400, false, false));
+    }
+
+    @Test
+    void sidesWithoutANetworkNeverMatch() {
+        assertFalse(ControllerFlow.sameNetwork(Map.of(), Direction.NORTH, Direction.DOWN));
+    }
+}
@@ -0,0 +1,100 @@
+package com.thewheatking.minecraftfarmertechmod.common.blockentity.machines;
+
+import net.minecraft.core.Direction;
+import net.neoforged.neoforge.energy.EnergyStorage;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PassThroughMeterTest {
+
+    private static PassThroughMeter meter() {
+        PassThroughMeter meter = new PassThroughMeter(1000);
+        meter.setSides(Direction.WEST, Direction.EAST);
+        return meter;
+    }
+
+    @Test
+    void firstTransferLearnsTheDirection() {
+        PassThroughMeter meter = meter();
+        EnergyStorage west = new EnergyStorage(10000);
+
+        // Energy arrives from the east first, so east is the input
+        assertEquals(300, meter.pass(Direction.EAST, west, 300, false, 0.0));
+        assertTrue(meter.isDirectionLearned());
+        assertEquals(Direction.EAST, meter.getInputSide());
+        assertEquals(Direction.WEST, meter.getOutputSide());
+    }
+
+    @Test
+    void energyIsNotBouncedBack() {
+        PassThroughMeter meter = meter();
+        EnergyStorage east = new EnergyStorage(10000);
+        EnergyStorage west = new EnergyStorage(10000, 1000, 1000, 500);
+
+        assertEquals(200, meter.pass(Direction.WEST, east, 200, false, 0.0));
+
+        // The downstream line pushing back in, or pulling from upstream through the input side, is refused
+        assertFalse(meter.canEnter(Direction.EAST));
+        assertEquals(0, meter.pass(Direction.EAST, west, 200, false, 0.0));
+        assertEquals(0, meter.pull(Direction.WEST, east, 200, false));
+        assertEquals(Direction.WEST, meter.getInputSide());
+        assertEquals(200, meter.getPassed());
+    }
+
+    @Test
+    void directionStaysUntilTheSidesChange() {
+        PassThroughMeter meter = meter();
+        meter.pass(Direction.WEST, new EnergyStorage(1000), 10, false, 0.0);
+
+        assertFalse(meter.setSides(Direction.EAST, Direction.WEST));
+        assertEquals(Direction.WEST, meter.getInputSide());
+        assertTrue(meter.isDirectionLearned());
+
+        assertTrue(meter.setSides(Direction.UP, Direction.WEST));
+        assertFalse(meter.isDirectionLearned());
+    }
+
+    @Test
+    void refusalIsNotLoss() {
+        PassThroughMeter meter = meter();
+        EnergyStorage nearlyFull = new EnergyStorage(1000, 1000, 1000, 900);
+
+        assertEquals(100, meter.pass(Direction.WEST, nearlyFull, 500, false, 0.0));
+        assertEquals(100, meter.getDrawn());
+        assertEquals(100, meter.getPassed());
+    }
+
+    @Test
+    void feedingLineLossIsCounted() {
+        PassThroughMeter meter = meter();
+
+        assertEquals(90, meter.pass(Direction.WEST, new EnergyStorage(1000), 90, false, 0.1));
+        assertEquals(100, meter.getDrawn());
+        assertEquals(90, meter.getPassed());
+    }
+
+    @Test
+    void simulationCountsNothingAndLearnsNothing() {
+        PassThroughMeter meter = meter();
+        EnergyStorage target = new EnergyStorage(1000);
+
+        assertEquals(250, meter.pass(Direction.EAST, target, 250, true, 0.0));
+        assertFalse(meter.isDirectionLearned());
+        assertEquals(0, meter.getPassed());
+        assertEquals(0, target.getEnergyStored());
+    }
+
+    @Test
+    void transfersAreCappedPerTick() {
+        PassThroughMeter meter = meter();
+        EnergyStorage target = new EnergyStorage(10000, 10000);
+
+        assertEquals(1000, meter.pass(Direction.WEST, target, 800, false, 0.0)
+                + meter.pass(Direction.WEST, target, 800, false, 0.0));
+        assertEquals(0, meter.pass(Direction.WEST, target, 800, false, 0.0));
+
+        meter.resetCounters();
+        assertEquals(800, meter.pass(Direction.WEST, target, 800, false, 0.0));
+    }
+}
@@ -0,0 +1,94 @@
+package com.thewheatking.minecraftfarmertechmod.common.blockentity.storage;
+
+import net.neoforged.neoforge.energy.EnergyStorage;
+import net.neoforged.neoforge.energy.IEnergyStorage;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnergyStorageBankTest {
+
+    private static EnergyStorage source(int energy) {
+        return new EnergyStorage(100000, 100000, 100000, energy);
+    }
+
+    @Test
+    void budgetSplitsEvenly() {
+        EnergyStorage source = source(10000);
+        EnergyStorage a = new EnergyStorage(10000);
+        EnergyStorage b = new EnergyStorage(10000);
+        EnergyStorage c = new EnergyStorage(10000);
+
+        assertEquals(300, EnergyStorageBank.pushEvenly(source, 300, List.of(a, b, c), 1000));
+        assertEquals(100, a.getEnergyStored());
+        assertEquals(100, b.getEnergyStored());
+        assertEquals(100, c.getEnergyStored());
+        assertEquals(9700, source.getEnergyStored());
+    }
+
+    @Test
+    void leftoverBudgetGoesToLaterReceivers() {
+        EnergyStorage source = source(10000);
+        EnergyStorage nearlyFull = new EnergyStorage(1000, 1000, 1000, 950);
+        EnergyStorage empty = new EnergyStorage(10000);
+
+        // The first receiver takes 50 of its 150, the second is offered the remaining 250
+        assertEquals(300, EnergyStorageBank.pushEvenly(source, 300, List.of(nearlyFull, empty), 1000));
+        assertEquals(1000, nearlyFull.getEnergyStored());
+        assertEquals(250, empty.getEnergyStored());
+        assertEquals(9700, source.getEnergyStored());
+    }
+
+    @Test
+    void smallBudgetGoesToTheFirstReceivers() {
+        EnergyStorage source = source(10000);
+        List<IEnergyStorage> receivers = List.of(new EnergyStorage(1000), new EnergyStorage(1000), new EnergyStorage(1000));
+
+        assertEquals(2, EnergyStorageBank.pushEvenly(source, 2, receivers, 1000));
+        assertEquals(1, receivers.get(0).getEnergyStored());
+        assertEquals(1, receivers.get(1).getEnergyStored());
+        assertEquals(0, receivers.get(2).getEnergyStored());
+    }
+
+    @Test
+    void offersAreCappedAtTheFaceRate() {
+        EnergyStorage source = source(10000);
+        EnergyStorage a = new EnergyStorage(10000);
+        EnergyStorage b = new EnergyStorage(10000);
+
+        assertEquals(200, EnergyStorageBank.pushEvenly(source, 1000, List.of(a, b), 100));
+        assertEquals(100, a.getEnergyStored());
+        assertEquals(100, b.getEnergyStored());
+    }
+
+    @Test
+    void refusedEnergyStaysInTheSource() {
+        EnergyStorage source = source(500);
+        EnergyStorage full = new EnergyStorage(1000, 1000, 1000, 1000);
+
+        assertEquals(0, EnergyStorageBank.pushEvenly(source, 500, List.of(full), 1000));
+        assertEquals(500, source.getEnergyStored());
+    }
+
+    @Test
+    void sharesAddUpToThePool() {
+        int pool = 1003;
+        int members = 4;
+        int total = 0;
+        for (int i = 0; i < members; i++) {
+            total += EnergyStorageBank.share(pool, members, i);
+        }
+        assertEquals(pool, total);
+    }
+
+    @Test
+    void remainderGoesToTheFirstMembers() {
+        assertEquals(251, EnergyStorageBank.share(1003, 4, 0));
+        assertEquals(251, EnergyStorageBank.share(1003, 4, 2));
+        assertEquals(250, EnergyStorageBank.share(1003, 4, 3));
+        assertEquals(0, EnergyStorageBank.share(2, 3, 2));
+        assertEquals(1, EnergyStorageBank.share(2, 3, 1));
+    }
+}
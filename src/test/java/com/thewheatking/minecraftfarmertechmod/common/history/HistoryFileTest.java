@@ -0,0 +1,79 @@
+package com.thewheatking.minecraftfarmertechmod.common.history;
+
+import com.thewheatking.minecraftfarmertechmod.common.history.EnergyHistoryStore.Resolution;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistoryFileTest {
+
+    @TempDir
+    Path directory;
+
+    private static float[] sample(float value) {
+        return new float[]{value, value * 2, 0, 0};
+    }
+
+    @Test
+    void closedBucketHoldsTheAverage() throws IOException {
+        HistoryFile file = HistoryFile.open(directory.resolve("a.bin"));
+        file.append(0, sample(10));
+        file.append(10, sample(20));
+        assertTrue(file.slice(Resolution.SECOND).isEmpty());
+
+        file.append(20, sample(0));
+        HistorySlice slice = file.slice(Resolution.SECOND);
+        assertEquals(1, slice.size());
+        assertEquals(0L, slice.getTime(0));
+        assertEquals(15.0f, slice.getValue(0, 0));
+        assertEquals(30.0f, slice.getValue(0, 1));
+    }
+
+    @Test
+    void openBucketSurvivesReopening() throws IOException {
+        Path path = directory.resolve("b.bin");
+        HistoryFile first = HistoryFile.open(path);
+        first.append(0, sample(10));
+        first.force();
+
+        HistoryFile reopened = HistoryFile.open(path);
+        reopened.append(10, sample(30));
+        reopened.append(20, sample(0));
+
+        HistorySlice slice = reopened.slice(Resolution.SECOND);
+        assertEquals(1, slice.size());
+        assertEquals(20.0f, slice.getValue(0, 0));
+    }
+
+    @Test
+    void ringKeepsTheNewestRecords() throws IOException {
+        HistoryFile file = HistoryFile.open(directory.resolve("c.bin"));
+        int capacity = Resolution.SECOND.capacity;
+        for (int bucket = 0; bucket <= capacity + 5; bucket++) {
+            file.append(bucket * 20L, sample(bucket));
+        }
+
+        HistorySlice slice = file.slice(Resolution.SECOND);
+        assertEquals(capacity, slice.size());
+        assertEquals(5.0f, slice.getValue(0, 0));
+        assertEquals(capacity + 4.0f, slice.getValue(capacity - 1, 0));
+    }
+
+    @Test
+    void clearDropsRecordsAndOpenBuckets() throws IOException {
+        HistoryFile file = HistoryFile.open(directory.resolve("d.bin"));
+        file.append(0, sample(10));
+        file.append(20, sample(10));
+        file.clear();
+        file.append(40, sample(4));
+        file.append(60, sample(0));
+
+        HistorySlice slice = file.slice(Resolution.SECOND);
+        assertEquals(1, slice.size());
+        assertEquals(4.0f, slice.getValue(0, 0));
+    }
+}
@@ -0,0 +1,85 @@
+package com.thewheatking.minecraftfarmertechmod.common.sync;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyncFieldSetTest {
+
+    private int energy;
+    private boolean active;
+    private int clientEnergy;
+    private boolean clientActive;
+
+    private SyncFieldSet server() {
+        return new SyncFieldSet()
+                .add("energy", ByteBufCodecs.VAR_INT, () -> energy, value -> energy = value)
+                .add("active", ByteBufCodecs.BOOL, () -> active, value -> active = value);
+    }
+
+    private SyncFieldSet client() {
+        return new SyncFieldSet()
+                .add("energy", ByteBufCodecs.VAR_INT, () -> clientEnergy, value -> clientEnergy = value)
+                .add("active", ByteBufCodecs.BOOL, () -> clientActive, value -> clientActive = value);
+    }
+
+    private static RegistryFriendlyByteBuf buffer() {
+        return new RegistryFriendlyByteBuf(Unpooled.buffer(), RegistryAccess.EMPTY);
+    }
+
+    @Test
+    void onlyChangedFieldsAreDirty() {
+        SyncFieldSet fields = server();
+        fields.captureBaseline();
+        assertEquals(0, fields.collectDirty());
+
+        energy = 500;
+        assertEquals(0b01, fields.collectDirty());
+        active = true;
+        assertEquals(0b11, fields.collectDirty());
+    }
+
+    @Test
+    void writtenFieldsRoundTripAndAreRecordedAsSent() {
+        SyncFieldSet fields = server();
+        fields.captureBaseline();
+        energy = 1_000_000;
+
+        int mask = fields.collectDirty();
+        RegistryFriendlyByteBuf buf = buffer();
+        fields.write(buf, mask);
+        assertEquals(0, fields.collectDirty());
+
+        client().read(buf, mask);
+        assertEquals(1_000_000, clientEnergy);
+        assertFalse(clientActive);
+        assertEquals(0, buf.readableBytes());
+    }
+
+    @Test
+    void forcedFieldIsSentWithoutChange() {
+        SyncFieldSet fields = server();
+        fields.captureBaseline();
+        fields.markDirty("active");
+        assertEquals(0b10, fields.collectDirty());
+
+        fields.markAllDirty();
+        assertEquals(0b11, fields.collectDirty());
+        fields.captureBaseline();
+        assertEquals(0, fields.collectDirty());
+    }
+
+    @Test
+    void rejectsMoreThanMaxFields() {
+        SyncFieldSet fields = new SyncFieldSet();
+        for (int i = 0; i < SyncFieldSet.MAX_FIELDS; i++) {
+            fields.add("f" + i, ByteBufCodecs.VAR_INT, () -> 0, value -> { });
+        }
+        assertThrows(IllegalStateException.class,
+                () -> fields.add("extra", ByteBufCodecs.VAR_INT, () -> 0, value -> { }));
+    }
+}
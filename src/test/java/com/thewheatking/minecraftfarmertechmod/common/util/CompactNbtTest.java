@@ -0,0 +1,59 @@
+package com.thewheatking.minecraftfarmertechmod.common.util;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.MapCodec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import net.minecraft.nbt.CompoundTag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactNbtTest {
+
+    private record State(int version, int energy, boolean active) {
+        static final MapCodec<State> CODEC = RecordCodecBuilder.mapCodec(instance -> instance.group(
+                Codec.INT.fieldOf(CompactNbt.VERSION_KEY).forGetter(State::version),
+                Codec.INT.optionalFieldOf("e", 0).forGetter(State::energy),
+                Codec.BOOL.optionalFieldOf("a", false).forGetter(State::active)
+        ).apply(instance, State::new));
+    }
+
+    @Test
+    void roundTripsIntoAnExistingTag() {
+        CompoundTag tag = new CompoundTag();
+        tag.putString("id", "kept");
+        CompactNbt.write(State.CODEC, new State(1, 500, true), tag);
+
+        assertEquals("kept", tag.getString("id"));
+        assertEquals(1, CompactNbt.version(tag));
+        assertEquals(new State(1, 500, true), CompactNbt.read(State.CODEC, tag).orElseThrow());
+    }
+
+    @Test
+    void defaultsAreOmitted() {
+        CompoundTag tag = new CompoundTag();
+        CompactNbt.write(State.CODEC, new State(1, 0, false), tag);
+
+        assertFalse(tag.contains("e"));
+        assertFalse(tag.contains("a"));
+        assertEquals(new State(1, 0, false), CompactNbt.read(State.CODEC, tag).orElseThrow());
+    }
+
+    @Test
+    void untaggedDataIsLegacy() {
+        CompoundTag tag = new CompoundTag();
+        tag.putInt("Energy", 500);
+        assertEquals(CompactNbt.LEGACY_VERSION, CompactNbt.version(tag));
+    }
+
+    @Test
+    void sidesRoundTrip() {
+        boolean[] sides = {true, false, false, true, false, true};
+        int bits = CompactNbt.packSides(sides);
+        assertEquals(0b101001, bits);
+
+        boolean[] unpacked = new boolean[6];
+        CompactNbt.unpackSides(bits, unpacked);
+        assertArrayEquals(sides, unpacked);
+    }
+}
@@ -0,0 +1,57 @@
+package com.thewheatking.minecraftfarmertechmod.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobScheduleTest {
+
+    @Test
+    void firstTickIsAlwaysDue() {
+        JobSchedule schedule = new JobSchedule();
+        assertTrue(schedule.isDue(500));
+        assertEquals(0, schedule.skippedTicks(500));
+        assertEquals(500, schedule.simulatedUpTo(500));
+    }
+
+    @Test
+    void skipsUntilTheNextEvent() {
+        JobSchedule schedule = new JobSchedule();
+        schedule.ran(100, 110);
+        for (long tick = 101; tick < 110; tick++) {
+            assertFalse(schedule.isDue(tick));
+        }
+        assertTrue(schedule.isDue(110));
+        assertEquals(9, schedule.skippedTicks(110));
+        assertEquals(10, schedule.ticksSinceRun(110));
+        assertEquals(100, schedule.simulatedUpTo(110));
+    }
+
+    @Test
+    void inputChangeMakesTheNextTickDue() {
+        JobSchedule schedule = new JobSchedule();
+        schedule.ran(100, JobSchedule.NO_EVENT);
+        assertFalse(schedule.isDue(5000));
+        schedule.markInputsChanged();
+        assertTrue(schedule.isDue(101));
+        schedule.ran(101, JobSchedule.NO_EVENT);
+        assertFalse(schedule.isDue(102));
+    }
+
+    @Test
+    void eventInThePastRunsNextTick() {
+        JobSchedule schedule = new JobSchedule();
+        schedule.ran(100, 50);
+        assertTrue(schedule.isDue(101));
+        assertEquals(0, schedule.skippedTicks(101));
+    }
+
+    @Test
+    void resetRunsOnceWithoutSkippedTicks() {
+        JobSchedule schedule = new JobSchedule();
+        schedule.ran(100, JobSchedule.NO_EVENT);
+        schedule.reset(900);
+        assertTrue(schedule.isDue(901));
+        assertEquals(0, schedule.skippedTicks(901));
+    }
+}
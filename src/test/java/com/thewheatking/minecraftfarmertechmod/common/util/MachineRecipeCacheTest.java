@@ -0,0 +1,97 @@
+package com.thewheatking.minecraftfarmertechmod.common.util;
+
+import net.minecraft.core.component.DataComponents;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.crafting.*;
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MachineRecipeCacheTest {
+
+    private static final RecipeHolder<SmeltingRecipe> IRON = new RecipeHolder<>(
+            ResourceLocation.withDefaultNamespace("iron_ingot"),
+            new SmeltingRecipe("", CookingBookCategory.MISC, Ingredient.of(Items.IRON_ORE),
+                    new ItemStack(Items.IRON_INGOT), 0.7f, 200));
+
+    /**
+     * Matches iron ore only and records the hint of every real lookup
+     */
+    private static final class CountingLookup implements MachineRecipeCache.Lookup<SmeltingRecipe> {
+        final List<ResourceLocation> hints = new ArrayList<>();
+
+        @Override
+        public Optional<RecipeHolder<SmeltingRecipe>> find(SingleRecipeInput input, @Nullable ResourceLocation hint) {
+            hints.add(hint);
+            return input.item().is(Items.IRON_ORE) ? Optional.of(IRON) : Optional.empty();
+        }
+    }
+
+    private final MachineRecipeCache<SmeltingRecipe> cache = new MachineRecipeCache<>(RecipeType.SMELTING);
+    private final CountingLookup lookup = new CountingLookup();
+
+    @Test
+    void sameInputIsLookedUpOnce() {
+        assertEquals(Optional.of(IRON), cache.getRecipe(new ItemStack(Items.IRON_ORE, 64), lookup));
+        assertEquals(Optional.of(IRON), cache.getRecipe(new ItemStack(Items.IRON_ORE, 3), lookup));
+        assertEquals(1, lookup.hints.size());
+    }
+
+    @Test
+    void missesAreCachedToo() {
+        assertTrue(cache.getRecipe(new ItemStack(Items.DIRT), lookup).isEmpty());
+        assertTrue(cache.getRecipe(new ItemStack(Items.DIRT), lookup).isEmpty());
+        assertEquals(1, lookup.hints.size());
+    }
+
+    @Test
+    void changedComponentsLookUpAgainWithTheLastRecipeAsHint() {
+        cache.getRecipe(new ItemStack(Items.IRON_ORE), lookup);
+
+        ItemStack renamed = new ItemStack(Items.IRON_ORE);
+        renamed.set(DataComponents.CUSTOM_NAME, Component.literal("Ore"));
+        assertEquals(Optional.of(IRON), cache.getRecipe(renamed, lookup));
+
+        assertEquals(2, lookup.hints.size());
+        assertNull(lookup.hints.get(0));
+        assertEquals(IRON.id(), lookup.hints.get(1));
+    }
+
+    @Test
+    void inputChangesOnlyDropADifferentItem() {
+        cache.getRecipe(new ItemStack(Items.IRON_ORE), lookup);
+
+        cache.onInputChanged(new ItemStack(Items.IRON_ORE, 10));
+        cache.getRecipe(new ItemStack(Items.IRON_ORE), lookup);
+        assertEquals(1, lookup.hints.size());
+
+        cache.onInputChanged(new ItemStack(Items.DIRT));
+        cache.getRecipe(new ItemStack(Items.IRON_ORE), lookup);
+        assertEquals(2, lookup.hints.size());
+    }
+
+    @Test
+    void reloadDropsTheEntryAndTheHint() {
+        cache.getRecipe(new ItemStack(Items.IRON_ORE), lookup);
+
+        MachineRecipeCache.onRecipesReloaded();
+        cache.getRecipe(new ItemStack(Items.IRON_ORE), lookup);
+
+        assertEquals(2, lookup.hints.size());
+        assertNull(lookup.hints.get(1));
+    }
+
+    @Test
+    void emptyInputNeverLooksUp() {
+        assertTrue(cache.getRecipe(ItemStack.EMPTY, lookup).isEmpty());
+        assertTrue(lookup.hints.isEmpty());
+    }
+}
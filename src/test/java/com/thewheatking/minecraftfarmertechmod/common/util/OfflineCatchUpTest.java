@@ -0,0 +1,38 @@
+package com.thewheatking.minecraftfarmertechmod.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OfflineCatchUpTest {
+
+    @Test
+    void nothingToBurn() {
+        assertEquals(new OfflineCatchUp.BurnResult(0, 0, 50), OfflineCatchUp.burn(0, 50, 200, 3));
+        assertEquals(new OfflineCatchUp.BurnResult(0, 0, 0), OfflineCatchUp.burn(100, 0, 200, 0));
+    }
+
+    @Test
+    void currentFuelCoversTheGap() {
+        assertEquals(new OfflineCatchUp.BurnResult(30, 0, 20), OfflineCatchUp.burn(30, 50, 200, 3));
+        assertEquals(new OfflineCatchUp.BurnResult(50, 0, 0), OfflineCatchUp.burn(50, 50, 200, 3));
+    }
+
+    @Test
+    void newItemsAreLitOnlyWhenNeeded() {
+        // 50 left, then one full item and 50 ticks of the next
+        assertEquals(new OfflineCatchUp.BurnResult(300, 2, 150), OfflineCatchUp.burn(300, 50, 200, 5));
+        // Exactly used up, no item lit past the gap
+        assertEquals(new OfflineCatchUp.BurnResult(250, 1, 0), OfflineCatchUp.burn(250, 50, 200, 5));
+    }
+
+    @Test
+    void runsOutOfItems() {
+        assertEquals(new OfflineCatchUp.BurnResult(450, 2, 0), OfflineCatchUp.burn(10000, 50, 200, 2));
+    }
+
+    @Test
+    void unknownFuelBurnsOnlyWhatIsLit() {
+        assertEquals(new OfflineCatchUp.BurnResult(50, 0, 0), OfflineCatchUp.burn(10000, 50, 0, 5));
+    }
+}
@@ -0,0 +1,92 @@
+package com.thewheatking.minecraftfarmertechmod.common.util;
+
+import net.minecraft.core.BlockPos;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PeriodicTaskTest {
+
+    @AfterEach
+    void clearObserver() {
+        PeriodicTask.setObserver(null);
+    }
+
+    @Test
+    void phaseIsStableAndInRange() {
+        BlockPos pos = new BlockPos(123, 64, -456);
+        int phase = PeriodicTask.phaseFor(pos, 20);
+        assertTrue(phase >= 0 && phase < 20);
+        assertEquals(phase, PeriodicTask.phaseFor(new BlockPos(123, 64, -456), 20));
+        assertEquals(0, PeriodicTask.phaseFor(pos, 1));
+    }
+
+    @Test
+    void dueExactlyOncePerInterval() {
+        PeriodicTask task = new PeriodicTask("test", new BlockPos(7, 70, 9), 20);
+        int due = 0;
+        long firstDue = -1;
+        for (long tick = 1000; tick < 1100; tick++) {
+            if (task.isDue(tick)) {
+                if (firstDue < 0) firstDue = tick;
+                else assertEquals(0, (tick - firstDue) % 20);
+                due++;
+            }
+        }
+        assertEquals(5, due);
+        assertEquals(5, task.getRunCount());
+    }
+
+    @Test
+    void phasesSpreadAcrossNeighbouringPositions() {
+        boolean[] seen = new boolean[20];
+        int distinct = 0;
+        for (int x = 0; x < 64; x++) {
+            int phase = PeriodicTask.phaseFor(new BlockPos(x, 64, 0), 20);
+            if (!seen[phase]) {
+                seen[phase] = true;
+                distinct++;
+            }
+        }
+        // A row of machines should not all land on a handful of ticks
+        assertTrue(distinct >= 15, "only " + distinct + " distinct phases");
+    }
+
+    @Test
+    void nextDueIsTheFollowingDueTickAndCountsNoRun() {
+        PeriodicTask task = new PeriodicTask("test", new BlockPos(7, 70, 9), 20);
+        for (long tick = 500; tick < 540; tick++) {
+            long next = task.nextDue(tick);
+            assertTrue(next > tick && next <= tick + 20);
+            for (long between = tick + 1; between < next; between++) {
+                assertFalse(task.isDue(between));
+            }
+            assertTrue(task.isDue(next));
+        }
+        assertEquals(40, task.getRunCount());
+    }
+
+    @Test
+    void setIntervalRederivesPhaseAndClampsToOne() {
+        PeriodicTask task = new PeriodicTask("test", new BlockPos(1, 2, 3), 40);
+        task.setInterval(0);
+        assertEquals(1, task.getInterval());
+        assertEquals(0, task.getPhase());
+        assertTrue(task.isDue(12345));
+    }
+
+    @Test
+    void observerSeesEveryRun() {
+        List<Long> runs = new ArrayList<>();
+        PeriodicTask.setObserver((task, gameTime) -> runs.add(gameTime));
+        PeriodicTask task = new PeriodicTask("test", BlockPos.ZERO, 5);
+        for (long tick = 0; tick < 20; tick++) {
+            task.isDue(tick);
+        }
+        assertEquals(4, runs.size());
+    }
+}
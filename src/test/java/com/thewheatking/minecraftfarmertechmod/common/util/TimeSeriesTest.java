@@ -0,0 +1,46 @@
+package com.thewheatking.minecraftfarmertechmod.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeSeriesTest {
+
+    @Test
+    void largeEnergyTotalsStayExact() {
+        TimeSeries series = new TimeSeries(4);
+        series.add(2_000_000_001L);
+        series.add(2_000_000_003L);
+
+        assertEquals(2_000_000_003.0, series.latest());
+        assertEquals(2_000_000_001.0, series.min());
+        assertEquals(2_000_000_002.0, series.average());
+    }
+
+    @Test
+    void aggregatesSlideWithTheWindow() {
+        TimeSeries series = new TimeSeries(3);
+        for (int value : new int[]{5, 1, 4, 2, 3}) {
+            series.add(value);
+        }
+
+        // Window holds 4, 2, 3
+        assertEquals(3, series.size());
+        assertEquals(4.0, series.get(0));
+        assertEquals(2.0, series.min());
+        assertEquals(4.0, series.max());
+        assertEquals(3.0, series.average());
+    }
+
+    @Test
+    void fullBucketsCascadeIntoTiers() {
+        TimeSeries series = new TimeSeries(100, 2, 10, TimeSeries.DEFAULT_EMA_ALPHA);
+        series.add(10);
+        assertTrue(series.ring(TimeSeries.Resolution.SECOND).isEmpty());
+
+        series.add(20);
+        assertEquals(1, series.ring(TimeSeries.Resolution.SECOND).size());
+        assertEquals(15.0, series.ring(TimeSeries.Resolution.SECOND).latest());
+        assertTrue(series.ring(TimeSeries.Resolution.MINUTE).isEmpty());
+    }
+}
@@ -0,0 +1,43 @@
+package com.thewheatking.minecraftfarmertechmod.datamap;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameIndexTest {
+
+    private static final List<String> FUELS = List.of("Blaze Rod", "Charcoal", "Coal", "Coal Block", "Dried Kelp Block", "Lava Bucket");
+
+    private final NameIndex<String> index = new NameIndex<>(FUELS, Function.identity());
+
+    @Test
+    void emptyQueryListsEverything() {
+        assertEquals(FUELS, index.search("  "));
+    }
+
+    @Test
+    void shortQueriesMatchWordStarts() {
+        assertEquals(List.of("Coal", "Coal Block"), index.search("co"));
+        assertEquals(List.of("Blaze Rod", "Coal Block", "Dried Kelp Block", "Lava Bucket"), index.search("B"));
+        // "oa" is inside "Coal" but starts no word
+        assertEquals(List.of(), index.search("oa"));
+    }
+
+    @Test
+    void longerQueriesMatchSubstrings() {
+        assertEquals(List.of("Charcoal", "Coal", "Coal Block"), index.search("coal"));
+        assertEquals(List.of("Lava Bucket"), index.search("VA BU"));
+        assertEquals(List.of(), index.search("coke"));
+    }
+
+    @Test
+    void everyTrigramPresentIsNotEnough() {
+        // abc, bcd and cdx all occur, but never as "abcdx"
+        NameIndex<String> scattered = new NameIndex<>(List.of("abcq bcdx"), Function.identity());
+        assertEquals(List.of(), scattered.search("abcdx"));
+        assertEquals(List.of("abcq bcdx"), scattered.search("bcdx"));
+    }
+}